@@ -0,0 +1,169 @@
+package benchmark;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * <p>
+ * A BenchmarkRunner measures the throughput and allocation rate of a single benchmark operation. It follows the
+ * structure of a JMH throughput benchmark: a number of timed warmup iterations, which are discarded so the
+ * just-in-time compiler can optimize the operation, are followed by a number of timed measurement iterations.
+ * </p>
+ * <p>
+ * For each benchmark the runner reports the mean throughput in filtered samples per second with the
+ * minimum and maximum throughput of the measurement iterations, the allocation rate in megabytes per second, the
+ * normalized allocation in bytes per filtered sample and the number of garbage collections during measurement.
+ * These are the same metrics reported by the gc profiler of JMH as gc.alloc.rate, gc.alloc.rate.norm and gc.count.
+ * </p>
+ * <p>
+ * Allocation is measured with the per-thread allocation counter of the HotSpot ThreadMXBean. When the running
+ * virtual machine does not support the counter, the allocation columns are reported as NaN.
+ * </p>
+ * <p>
+ * The results of every operation are accumulated into a volatile field so the just-in-time compiler cannot
+ * eliminate the filtering work as dead code.
+ * </p>
+ *
+ * @author Shaun Howard
+ */
+public class BenchmarkRunner {
+
+    /**
+     * <p>
+     * An Operation filters one block of samples and returns a value derived from the filtered output.
+     * </p>
+     */
+    public interface Operation {
+
+        /**
+         * Filters one block of samples.
+         *
+         * @return a value derived from the filtered output which prevents dead code elimination
+         * @throws Exception - if the filter under measurement throws an exception
+         */
+        public double run() throws Exception;
+    }
+
+    // The number of discarded warmup iterations.
+    private final int warmupIterations;
+
+    // The number of measured iterations.
+    private final int measurementIterations;
+
+    // The length of each iteration in milliseconds.
+    private final long iterationMillis;
+
+    // The sink for operation results.
+    private volatile double sink;
+
+    /**
+     * Constructs a BenchmarkRunner with the specified iteration counts and iteration length.
+     *
+     * @param warmupIterations - the number of discarded warmup iterations
+     * @param measurementIterations - the number of measured iterations
+     * @param iterationMillis - the length of each iteration in milliseconds
+     */
+    public BenchmarkRunner(int warmupIterations, int measurementIterations, long iterationMillis) {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationMillis = iterationMillis;
+    }
+
+    /**
+     * Prints the header of the table of results to the standard output stream.
+     */
+    public void printHeader() {
+        System.out.println(String.format("%-44s %16s %16s %16s %14s %12s %8s",
+                "Benchmark", "ops/s", "min ops/s", "max ops/s", "alloc MB/s", "alloc B/op", "gc.count"));
+    }
+
+    /**
+     * Measures the specified operation and prints one row of results to the standard output stream.
+     *
+     * @param name - the name of the benchmark
+     * @param samplesPerOperation - the number of samples filtered by one run of the operation
+     * @param operation - the operation to measure
+     * @throws Exception - if the filter under measurement throws an exception
+     */
+    public void run(String name, int samplesPerOperation, Operation operation) throws Exception {
+        for (int iteration = 0; iteration < warmupIterations; iteration++) {
+            iterate(operation);
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long gcBefore = gcCount();
+        long bytesBefore = allocatedBytes(threads);
+        long totalOperations = 0;
+        long totalNanos = 0;
+        double min = Double.MAX_VALUE;
+        double max = 0;
+        for (int iteration = 0; iteration < measurementIterations; iteration++) {
+            long start = System.nanoTime();
+            long operations = iterate(operation);
+            long nanos = System.nanoTime() - start;
+            double throughput = operations * samplesPerOperation * 1e9 / nanos;
+            min = Math.min(min, throughput);
+            max = Math.max(max, throughput);
+            totalOperations += operations;
+            totalNanos += nanos;
+        }
+        long bytes = allocatedBytes(threads) - bytesBefore;
+        long gcCount = gcCount() - gcBefore;
+
+        long samples = totalOperations * samplesPerOperation;
+        double mean = samples * 1e9 / totalNanos;
+        double allocRate = bytesBefore < 0 ? Double.NaN : (bytes / (1024.0 * 1024.0)) / (totalNanos / 1e9);
+        double allocNorm = bytesBefore < 0 ? Double.NaN : (double) bytes / samples;
+        System.out.println(String.format("%-44s %16.0f %16.0f %16.0f %14.3f %12.3f %8d",
+                name, mean, min, max, allocRate, allocNorm, gcCount));
+    }
+
+    /**
+     * Runs the operation repeatedly for the length of one iteration.
+     *
+     * @param operation - the operation to run
+     * @return the number of times the operation was run
+     * @throws Exception - if the filter under measurement throws an exception
+     */
+    private long iterate(Operation operation) throws Exception {
+        long deadline = System.nanoTime() + iterationMillis * 1000000L;
+        long operations = 0;
+        double result = 0;
+        do {
+            result += operation.run();
+            operations++;
+        } while (System.nanoTime() < deadline);
+        sink += result;
+        return operations;
+    }
+
+    /**
+     * Gets the number of bytes allocated by the current thread.
+     *
+     * @param threads - the thread management bean of the virtual machine
+     * @return the number of bytes allocated by the current thread or -1 if unsupported
+     */
+    private static long allocatedBytes(ThreadMXBean threads) {
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+            if (hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled()) {
+                return hotspot.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the total number of garbage collections performed by the virtual machine.
+     *
+     * @return the total number of garbage collections
+     */
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(collector.getCollectionCount(), 0);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,422 @@
+package benchmark;
+
+import filter.AveragingFilter;
+import filter.AveragingFilterBank;
+import filter.AveragingFilterN;
+import filter.BinomialFilter;
+import filter.ConvolutionMode;
+import filter.DoubleMaxFilterN;
+import filter.DoubleMinFilterN;
+import filter.FIRFilter;
+import filter.FIRFilterBank;
+import filter.Filter;
+import filter.FilterBank;
+import filter.FilterCascade;
+import filter.GainFilter;
+import filter.GainFilterBank;
+import filter.IdentityFilter;
+import filter.MaxFilter;
+import filter.MaxFilterN;
+import filter.MinFilter;
+import filter.MinFilterN;
+import filter.ParallelFilterExecutor;
+import filter.ScalarFilter;
+import filter.ScalarFilterCascade;
+import filter.ScalarLinearFilter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * FilterBenchmark measures the throughput and allocation rate of every filter in the filter package with a
+ * BenchmarkRunner. Each benchmark filters blocks of 4096 pseudo-random samples and reports its throughput in
+ * filtered samples per second.
+ * </p>
+ * <p>
+ * Every ScalarFilter is measured through the boxed filter(Double) method, the primitive filterDouble(double) method
+ * and the batch filter(double[], double[]) method. Every generic Filter is measured through the boxed filter method
+ * and the boxed batch method. Windowed filters are measured with window sizes of 16, 1024 and 65536, FIR filters with
+ * 4, 64 and 256 taps, sparse comb FIR filters with 1024 and 65536 taps of which 16 are non-zero, ScalarLinearFilters
+ * with orders M = N of 2, 8 and 32, BinomialFilters with 4 and 16 taps and both FilterCascades and
+ * ScalarFilterCascades with 1, 4 and 8 stages. A FIRFilter and an AveragingFilterN are also
+ * measured filtering blocks of 4194304 samples both with the batch method and with a ParallelFilterExecutor.
+ * </p>
+ * <p>
+ * The benchmarks are run by the benchmark target of the Ant build or directly with:
+ * java -cp bin benchmark.FilterBenchmark [regex] [-wi warmupIterations] [-i iterations] [-t iterationMillis].
+ * When a regular expression is specified, only the benchmarks whose names contain a match are run.
+ * </p>
+ *
+ * @author Shaun Howard
+ */
+public class FilterBenchmark {
+
+    // The number of samples filtered by one benchmark operation.
+    private static final int BLOCK = 4096;
+
+    // The window sizes of the FilterN implementations.
+    private static final int[] WINDOW_SIZES = {16, 1024, 65536};
+
+    // The tap counts of the FIRFilters.
+    private static final int[] TAP_COUNTS = {4, 64, 256};
+
+    // The tap counts of the FIRFilters measured in every convolution mode.
+    private static final int[] LONG_TAP_COUNTS = {1024, 4096};
+
+    // The tap counts of the sparse comb FIRFilters.
+    private static final int[] COMB_TAP_COUNTS = {1024, 65536};
+
+    // The number of non-zero taps of each sparse comb FIRFilter.
+    private static final int COMB_TEETH = 16;
+
+    // The orders M = N of the ScalarLinearFilters.
+    private static final int[] ORDERS = {2, 8, 32};
+
+    // The tap counts of the BinomialFilters.
+    private static final int[] BINOMIAL_TAPS = {4, 16};
+
+    // The number of stages of the FilterCascades.
+    private static final int[] CASCADE_DEPTHS = {1, 4, 8};
+
+    // The number of channels of the FilterBanks, which divides BLOCK.
+    private static final int BANK_CHANNELS = 256;
+
+    // The number of samples filtered by one operation of the parallel benchmarks.
+    private static final int PARALLEL_BLOCK = 1 << 22;
+
+    // The runner which measures each benchmark.
+    private final BenchmarkRunner runner;
+
+    // The pattern that selects which benchmarks are run.
+    private final Pattern include;
+
+    // The primitive input samples.
+    private final double[] samples;
+
+    // The boxed input samples.
+    private final Double[] boxedSamples;
+
+    // The primitive output samples.
+    private final double[] output;
+
+    // The boxed output samples.
+    private final Double[] boxedOutput;
+
+    // The primitive input samples of the parallel benchmarks, allocated on first use.
+    private double[] parallelSamples;
+
+    // The primitive output samples of the parallel benchmarks, allocated on first use.
+    private double[] parallelOutput;
+
+    /**
+     * Constructs a FilterBenchmark which runs the benchmarks selected by the specified pattern.
+     *
+     * @param runner - the runner which measures each benchmark
+     * @param include - the pattern that selects which benchmarks are run
+     */
+    public FilterBenchmark(BenchmarkRunner runner, Pattern include) {
+        this.runner = runner;
+        this.include = include;
+        Random random = new Random(42);
+        samples = new double[BLOCK];
+        boxedSamples = new Double[BLOCK];
+        for (int j = 0; j < BLOCK; j++) {
+            samples[j] = random.nextGaussian();
+            boxedSamples[j] = samples[j];
+        }
+        output = new double[BLOCK];
+        boxedOutput = new Double[BLOCK];
+    }
+
+    /**
+     * Runs the filter benchmarks.
+     *
+     * @param args - an optional regular expression followed by the optional options -wi, -i and -t
+     * @throws Exception - if a filter under measurement throws an exception
+     */
+    public static void main(String[] args) throws Exception {
+        String regex = "";
+        int warmupIterations = 5;
+        int measurementIterations = 5;
+        long iterationMillis = 1000;
+        for (int j = 0; j < args.length; j++) {
+            if ("-wi".equals(args[j])) {
+                warmupIterations = Integer.parseInt(args[++j]);
+            } else if ("-i".equals(args[j])) {
+                measurementIterations = Integer.parseInt(args[++j]);
+            } else if ("-t".equals(args[j])) {
+                iterationMillis = Long.parseLong(args[++j]);
+            } else {
+                regex = args[j];
+            }
+        }
+        BenchmarkRunner runner = new BenchmarkRunner(warmupIterations, measurementIterations, iterationMillis);
+        new FilterBenchmark(runner, Pattern.compile(regex)).runAll();
+    }
+
+    /**
+     * Runs every selected benchmark.
+     *
+     * @throws Exception - if a filter under measurement throws an exception
+     */
+    public void runAll() throws Exception {
+        runner.printHeader();
+
+        scalar("AveragingFilter", new AveragingFilter());
+        for (int n : WINDOW_SIZES) {
+            scalar("AveragingFilterN(n=" + n + ")", new AveragingFilterN(n));
+        }
+
+        generic("IdentityFilter", new IdentityFilter<Double, Double>());
+        generic("MaxFilter", new MaxFilter<Double, Double>());
+        generic("MinFilter", new MinFilter<Double, Double>());
+        for (int n : WINDOW_SIZES) {
+            generic("MaxFilterN(n=" + n + ")", new MaxFilterN<Double, Double>(n));
+            generic("MinFilterN(n=" + n + ")", new MinFilterN<Double, Double>(n));
+            scalar("DoubleMaxFilterN(n=" + n + ")", new DoubleMaxFilterN(n));
+            scalar("DoubleMinFilterN(n=" + n + ")", new DoubleMinFilterN(n));
+        }
+
+        scalar("GainFilter", new GainFilter(0.5));
+        for (int taps : TAP_COUNTS) {
+            scalar("FIRFilter(N=" + taps + ")", new FIRFilter(taps, coefficients(taps, 1.0 / taps, 0)));
+        }
+        for (int taps : LONG_TAP_COUNTS) {
+            for (ConvolutionMode mode : ConvolutionMode.values()) {
+                FIRFilter filter = new FIRFilter(taps, coefficients(taps, 1.0 / taps, 0));
+                filter.setConvolutionMode(mode);
+                scalar("FIRFilter(N=" + taps + "," + mode + ")", filter);
+            }
+        }
+        for (int taps : COMB_TAP_COUNTS) {
+            scalar("FIRFilter(comb,N=" + taps + ")", new FIRFilter(taps, comb(taps, COMB_TEETH)));
+        }
+        for (int taps : BINOMIAL_TAPS) {
+            scalar("BinomialFilter(N=" + taps + ")", new BinomialFilter(taps, coefficients(taps, 0.0, 0)));
+        }
+        for (int order : ORDERS) {
+            scalar("ScalarLinearFilter(M=N=" + order + ")", new ScalarLinearFilter(order, order,
+                    coefficients(order, 0.5 / order, 1.0), coefficients(order, 1.0 / order, 0)));
+        }
+
+        for (int depth : CASCADE_DEPTHS) {
+            generic("FilterCascade(depth=" + depth + ")",
+                    new FilterCascade<Double, Double>(new ArrayList<Filter<Double, Double>>(stages(depth))));
+            scalar("ScalarFilterCascade(depth=" + depth + ")", new ScalarFilterCascade(stages(depth)));
+        }
+
+        bank("GainFilterBank(channels=" + BANK_CHANNELS + ")", new GainFilterBank(BANK_CHANNELS, 0.5));
+        for (int taps : TAP_COUNTS) {
+            bank("FIRFilterBank(channels=" + BANK_CHANNELS + ",N=" + taps + ")",
+                    new FIRFilterBank(BANK_CHANNELS, taps, coefficients(taps, 1.0 / taps, 0)));
+        }
+        bank("AveragingFilterBank(channels=" + BANK_CHANNELS + ")", new AveragingFilterBank(BANK_CHANNELS));
+
+        ParallelFilterExecutor executor = new ParallelFilterExecutor();
+        final FIRFilter fir = new FIRFilter(256, coefficients(256, 1.0 / 256, 0));
+        parallel("FIRFilter(N=256)", fir, new BenchmarkRunner.Operation() {
+            @Override
+            public double run() throws Exception {
+                executor.filter(fir, parallelSamples, 0, parallelOutput, 0, PARALLEL_BLOCK);
+                return parallelOutput[PARALLEL_BLOCK - 1];
+            }
+        });
+        final AveragingFilterN averaging = new AveragingFilterN(1024);
+        parallel("AveragingFilterN(n=1024)", averaging, new BenchmarkRunner.Operation() {
+            @Override
+            public double run() throws Exception {
+                executor.filter(averaging, parallelSamples, 0, parallelOutput, 0, PARALLEL_BLOCK);
+                return parallelOutput[PARALLEL_BLOCK - 1];
+            }
+        });
+    }
+
+    /**
+     * Measures a ScalarFilter filtering a large block of samples through its batch filter method and
+     * through a ParallelFilterExecutor, so that the speedup of the executor can be compared directly.
+     *
+     * @param name - the name of the filter
+     * @param filter - the filter to measure
+     * @param parallel - the operation which filters the large block with the executor
+     * @throws Exception - if the filter throws an exception
+     */
+    private void parallel(String name, final ScalarFilter filter, BenchmarkRunner.Operation parallel)
+            throws Exception {
+        if (!selected(name + ".largeBatch") && !selected(name + ".parallel")) {
+            return;
+        }
+        if (parallelSamples == null) {
+            parallelSamples = new double[PARALLEL_BLOCK];
+            parallelOutput = new double[PARALLEL_BLOCK];
+            for (int j = 0; j < PARALLEL_BLOCK; j++) {
+                parallelSamples[j] = samples[j % BLOCK];
+            }
+        }
+        if (selected(name + ".largeBatch")) {
+            runner.run(name + ".largeBatch", PARALLEL_BLOCK, new BenchmarkRunner.Operation() {
+                @Override
+                public double run() throws Exception {
+                    filter.filter(parallelSamples, parallelOutput);
+                    return parallelOutput[PARALLEL_BLOCK - 1];
+                }
+            });
+        }
+        if (selected(name + ".parallel")) {
+            runner.run(name + ".parallel", PARALLEL_BLOCK, parallel);
+        }
+    }
+
+    /**
+     * Measures a FilterBank filtering the samples as interleaved frames, counting one operation per sample.
+     *
+     * @param name - the name of the filter bank
+     * @param bank - the filter bank to measure
+     * @throws Exception - if the filter bank throws an exception
+     */
+    private void bank(String name, final FilterBank bank) throws Exception {
+        if (selected(name + ".interleaved")) {
+            final int frames = BLOCK / bank.getChannels();
+            runner.run(name + ".interleaved", BLOCK, new BenchmarkRunner.Operation() {
+                @Override
+                public double run() throws Exception {
+                    bank.filterInterleaved(samples, 0, output, 0, frames);
+                    return output[BLOCK - 1];
+                }
+            });
+        }
+    }
+
+    /**
+     * Measures a ScalarFilter through its boxed, primitive and batch filter methods.
+     *
+     * @param name - the name of the filter
+     * @param filter - the filter to measure
+     * @throws Exception - if the filter throws an exception
+     */
+    private void scalar(String name, final ScalarFilter filter) throws Exception {
+        generic(name, filter);
+        if (selected(name + ".filterDouble")) {
+            runner.run(name + ".filterDouble", BLOCK, new BenchmarkRunner.Operation() {
+                @Override
+                public double run() throws Exception {
+                    double result = 0;
+                    for (int j = 0; j < BLOCK; j++) {
+                        result += filter.filterDouble(samples[j]);
+                    }
+                    return result;
+                }
+            });
+        }
+        if (selected(name + ".batch")) {
+            runner.run(name + ".batch", BLOCK, new BenchmarkRunner.Operation() {
+                @Override
+                public double run() throws Exception {
+                    filter.filter(samples, output);
+                    return output[BLOCK - 1];
+                }
+            });
+        }
+    }
+
+    /**
+     * Measures a generic Filter through its boxed single value and boxed batch filter methods.
+     *
+     * @param name - the name of the filter
+     * @param filter - the filter to measure
+     * @throws Exception - if the filter throws an exception
+     */
+    private void generic(String name, final Filter<Double, Double> filter) throws Exception {
+        if (selected(name + ".filter")) {
+            runner.run(name + ".filter", BLOCK, new BenchmarkRunner.Operation() {
+                @Override
+                public double run() throws Exception {
+                    double result = 0;
+                    for (int j = 0; j < BLOCK; j++) {
+                        result += filter.filter(boxedSamples[j]);
+                    }
+                    return result;
+                }
+            });
+        }
+        if (selected(name + ".boxedBatch")) {
+            runner.run(name + ".boxedBatch", BLOCK, new BenchmarkRunner.Operation() {
+                @Override
+                public double run() throws Exception {
+                    filter.filter(boxedSamples, boxedOutput);
+                    return boxedOutput[BLOCK - 1];
+                }
+            });
+        }
+    }
+
+    /**
+     * Determines whether the benchmark with the specified name is selected.
+     *
+     * @param name - the name of the benchmark
+     * @return true if the benchmark should be run
+     */
+    private boolean selected(String name) {
+        return include.matcher(name).find();
+    }
+
+    /**
+     * Creates a list of count multipliers which all equal value, except for the first multiplier.
+     *
+     * @param count - the number of multipliers
+     * @param value - the value of every multiplier after the first
+     * @param first - the value of the first multiplier, or zero to use value
+     * @return the list of multipliers
+     */
+    private static ArrayList<Double> coefficients(int count, double value, double first) {
+        ArrayList<Double> list = new ArrayList<>();
+        for (int j = 0; j < count; j++) {
+            list.add(j == 0 && first != 0 ? first : value);
+        }
+        return list;
+    }
+
+    /**
+     * Creates a list of multipliers which is zero except for the specified number of evenly spaced
+     * multipliers, the first at delay zero, whose sum is one.
+     *
+     * @param count - the number of multipliers
+     * @param teeth - the number of non-zero multipliers
+     * @return the list of multipliers
+     */
+    private static ArrayList<Double> comb(int count, int teeth) {
+        ArrayList<Double> list = new ArrayList<>(Collections.nCopies(count, 0.0));
+        for (int t = 0; t < teeth; t++) {
+            list.set(t * (count / teeth), 1.0 / teeth);
+        }
+        return list;
+    }
+
+    /**
+     * Creates the stages of a cascade of the specified depth which alternates GainFilters,
+     * FIRFilters and AveragingFilters.
+     *
+     * @param depth - the number of stages in the cascade
+     * @return the stages of the cascade
+     */
+    private static List<ScalarFilter> stages(int depth) {
+        List<ScalarFilter> stages = new ArrayList<>();
+        for (int stage = 0; stage < depth; stage++) {
+            switch (stage % 3) {
+                case 0:
+                    stages.add(new GainFilter(1.0001));
+                    break;
+                case 1:
+                    stages.add(new FIRFilter(8, coefficients(8, 0.125, 0)));
+                    break;
+                default:
+                    stages.add(new AveragingFilter());
+                    break;
+            }
+        }
+        return stages;
+    }
+}
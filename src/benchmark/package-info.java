@@ -0,0 +1,4 @@
+/**
+ * Provides the classes necessary to measure the throughput and allocation rate of the filter project series.
+ */
+package benchmark;
@@ -1,13 +1,32 @@
 package exception;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.function.Supplier;
+
 /**
  * A NullValueException is thrown when a value under operation is null but should
  * not be null for proper operation.
+ * <p>
+ * A NullValueException can also be constructed as a lightweight exception, which does not capture a stack trace and
+ * builds its detail message only when the message is first requested. Lightweight exceptions are thrown by the
+ * FilterValidator when its lightweight exception mode is enabled, so that rejecting bad input on the hot path of
+ * a filter costs little more than the allocation of the exception itself.
+ * </p>
  *
  * @author Shaun Howard
  */
 public class NullValueException extends Exception {
 
+    // The version of the serialized form of the exception.
+    private static final long serialVersionUID = 1L;
+
+    // The supplier of the detail message of a lightweight exception, which is not serialized.
+    private transient Supplier<String> messageSupplier;
+
+    // The detail message of a lightweight exception once it has been built.
+    private String builtMessage;
+
     /**
      * Constructs an EmptyListException with the specified detail message.
      *
@@ -17,4 +36,44 @@ public class NullValueException extends Exception {
     public NullValueException(String message) {
         super(message);
     }
+
+    /**
+     * Constructs a lightweight NullValueException whose detail message is built by the specified supplier
+     * the first time it is requested. Suppression is disabled, and the stack trace is only captured when
+     * writableStackTrace is true, so a lightweight exception without a stack trace may safely be shared.
+     *
+     * @param messageSupplier - the supplier of the detail message which is called at most once, when the
+     *                        Throwable.getMessage() method is first called.
+     * @param writableStackTrace - whether the stack trace should be captured
+     */
+    public NullValueException(Supplier<String> messageSupplier, boolean writableStackTrace) {
+        super(null, null, false, writableStackTrace);
+        this.messageSupplier = messageSupplier;
+    }
+
+    /**
+     * Gets the detail message of this exception, building the message of a lightweight
+     * exception from its supplier the first time it is requested.
+     *
+     * @return the detail message of this exception
+     */
+    @Override
+    public String getMessage() {
+        if (builtMessage == null && messageSupplier != null) {
+            builtMessage = messageSupplier.get();
+        }
+        return builtMessage != null ? builtMessage : super.getMessage();
+    }
+
+    /**
+     * Builds the detail message of a lightweight exception before the exception is serialized,
+     * since its supplier is not serialized.
+     *
+     * @param out - the stream the exception is written to
+     * @throws java.io.IOException - if the exception cannot be written
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        getMessage();
+        out.defaultWriteObject();
+    }
 }
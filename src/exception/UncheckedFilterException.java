@@ -0,0 +1,24 @@
+package exception;
+
+/**
+ * An UncheckedFilterException wraps a checked NullValueException, EmptyListException or IncorrectSizeException
+ * thrown by a filter where a checked exception cannot be thrown, such as inside a java.util.function operator or
+ * a java.util.stream pipeline. The wrapped exception is available as the cause.
+ *
+ * @author Shaun Howard
+ */
+public class UncheckedFilterException extends RuntimeException {
+
+    // The version of the serialized form of the exception.
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs an UncheckedFilterException which wraps the specified checked filter exception.
+     * The detail message is the detail message of the cause.
+     *
+     * @param cause - the checked exception thrown by the filter
+     */
+    public UncheckedFilterException(Exception cause) {
+        super(cause.getMessage(), cause);
+    }
+}
@@ -1,7 +1,12 @@
 package filter;
 
+import exception.IncorrectSizeException;
 import exception.NullValueException;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * <p>
  * An averaging implementation of the ScalarFilter interface. Implements all ScalarFilter operations
@@ -22,7 +27,7 @@ import exception.NullValueException;
  *
  * @author Shaun Howard
  */
-public class AveragingFilter implements ScalarFilter {
+public class AveragingFilter implements ScalarFilter, Snapshottable {
 
     // The average of previously entered values.
     private double baseAverage;
@@ -50,11 +55,54 @@ public class AveragingFilter implements ScalarFilter {
     @Override
     public Double filter(Double value) throws NullValueException {
         FilterValidator.throwExceptionWhenNull(value);
-        double primValue = value;
-        baseAverage = ((baseAverage * count) + primValue) / ++count;
+        return filterDouble(value);
+    }
+
+    /**
+     * Recalculates the average of values filtered since instantiation or
+     * the last reset without boxing the input or output value.
+     * Increments the count of values filtered since instantiation or the last reset.
+     *
+     * @param value - the double value to filter
+     * @return the average of the values filtered since instantiation or the last reset
+     */
+    @Override
+    public double filterDouble(double value) {
+        baseAverage = ((baseAverage * count) + value) / ++count;
         return baseAverage;
     }
 
+    /**
+     * Recalculates the running average once for each value in the slice of the input array and writes
+     * each intermediate average to the slice of the output array. The base average and count are kept
+     * in local variables for the duration of the loop and stored when the loop completes.
+     *
+     * @param values - the array of values to filter
+     * @param offset - the index of the first value to filter
+     * @param output - the array that receives the filtered values
+     * @param outputOffset - the index that receives the first filtered value
+     * @param length - the number of values to filter
+     * @throws exception.NullValueException - if either array is null
+     * @throws exception.IncorrectSizeException - if either slice does not lie within its array
+     */
+    @Override
+    public void filter(double[] values, int offset, double[] output, int outputOffset, int length)
+            throws NullValueException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(values, output);
+        FilterValidator.throwWhenSliceOutOfRange(values.length, offset, length);
+        FilterValidator.throwWhenSliceOutOfRange(output.length, outputOffset, length);
+        FilterEvents.BatchEvent event = FilterEvents.beginBatch();
+        double average = baseAverage;
+        int filtered = count;
+        for (int j = 0; j < length; j++) {
+            average = ((average * filtered) + values[offset + j]) / ++filtered;
+            output[outputOffset + j] = average;
+        }
+        baseAverage = average;
+        count = filtered;
+        FilterEvents.commitBatch(event, this, length);
+    }
+
     /**
      * Resets the filter by setting base average and count to zero values.
      */
@@ -62,6 +110,32 @@ public class AveragingFilter implements ScalarFilter {
     public void reset(){
         baseAverage = 0.0;
         count = 0;
+        FilterEvents.reset(this);
+    }
+
+    /**
+     * Writes the base average and the count of values filtered to the specified output.
+     *
+     * @param out - the output the state is written to
+     * @throws java.io.IOException - if the state cannot be written
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeDouble(baseAverage);
+        out.writeInt(count);
+    }
+
+    /**
+     * Replaces the base average and the count of values filtered with the state read from the specified input.
+     *
+     * @param in - the input the state is read from
+     * @throws java.io.IOException - if the state cannot be read
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        double average = in.readDouble();
+        count = FilterSnapshot.readSize(in, Integer.MAX_VALUE);
+        baseAverage = average;
     }
 
     /**
@@ -0,0 +1,127 @@
+package filter;
+
+import exception.IncorrectSizeException;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * An AveragingFilterBank is the FilterBank equivalent of an AveragingFilter. Each channel filters its input values
+ * into the average of every value of that channel filtered since instantiation or the last reset, and produces
+ * exactly the values an AveragingFilter would produce for the values of that channel.
+ * </p>
+ * <p>
+ * The base average of every channel is stored in a single primitive array and the count of filtered values is
+ * shared by all channels, since every channel filters one value per frame. Each frame filtered takes
+ * O(channels) time.
+ * </p>
+ *
+ * @see filter.AveragingFilter
+ *
+ * @author Shaun Howard
+ */
+public class AveragingFilterBank extends FilterBank implements Snapshottable {
+
+    // The average of previously entered values of each channel.
+    private final double[] baseAverages;
+
+    // The count of entered frames.
+    private int count;
+
+    /**
+     * Constructs an AveragingFilterBank of the specified number of channels.
+     *
+     * @param channels - the number of channels filtered
+     * @throws exception.IncorrectSizeException - if channels is not in the range [1, INTEGER_MAX_VALUE]
+     */
+    public AveragingFilterBank(int channels) throws IncorrectSizeException {
+        super(channels);
+        baseAverages = new double[channels];
+        count = 0;
+    }
+
+    /**
+     * Recalculates the average of every channel with the value of that channel in the input frame.
+     *
+     * @param input - the array holding the input frame
+     * @param inputOffset - the index of the value of channel zero in the input array
+     * @param output - the array that receives the filtered frame
+     * @param outputOffset - the index that receives the value of channel zero in the output array
+     */
+    @Override
+    protected void advance(double[] input, int inputOffset, double[] output, int outputOffset) {
+        int filtered = count;
+        int next = ++count;
+        for (int c = 0; c < baseAverages.length; c++) {
+            double average = ((baseAverages[c] * filtered) + input[inputOffset + c]) / next;
+            baseAverages[c] = average;
+            output[outputOffset + c] = average;
+        }
+    }
+
+    /**
+     * Resets every channel by setting its base average and the count to zero values.
+     */
+    @Override
+    public void reset() {
+        Arrays.fill(baseAverages, 0.0);
+        count = 0;
+        FilterEvents.reset(this);
+    }
+
+    /**
+     * Writes the number of channels, the count of frames filtered and the base average of every channel
+     * to the specified output.
+     *
+     * @param out - the output the state is written to
+     * @throws java.io.IOException - if the state cannot be written
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(baseAverages.length);
+        out.writeInt(count);
+        for (double average : baseAverages) {
+            out.writeDouble(average);
+        }
+    }
+
+    /**
+     * Replaces the count of frames filtered and the base average of every channel with the state read
+     * from the specified input.
+     *
+     * @param in - the input the state is read from
+     * @throws java.io.IOException - if the state cannot be read or was written by a bank of a different number
+     * of channels
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        FilterSnapshot.check("number of channels", in.readInt(), baseAverages.length);
+        int frames = FilterSnapshot.readSize(in, Integer.MAX_VALUE);
+        for (int c = 0; c < baseAverages.length; c++) {
+            baseAverages[c] = in.readDouble();
+        }
+        count = frames;
+    }
+
+    /**
+     * Gets the base average of the specified channel since instantiation or the last reset.
+     *
+     * @param channel - the channel to get the base average of
+     * @return the base average of the channel at this point
+     */
+    public double getBaseAverage(int channel) {
+        return baseAverages[channel];
+    }
+
+    /**
+     * Gets the count of frames filtered since instantiation or the last reset.
+     *
+     * @return the count of frames filtered by this point
+     */
+    public int getCount() {
+        return count;
+    }
+}
@@ -4,6 +4,10 @@ import exception.EmptyListException;
 import exception.IncorrectSizeException;
 import exception.NullValueException;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * <p>
  * An averaging implementation of the ScalarFilter interface. Implements all ScalarFilter operations
@@ -13,7 +17,11 @@ import exception.NullValueException;
  * provides a method to obtain the stored average value as well.
  * </p>
  * <p>
- * All operations run in constant time.
+ * All operations run in amortized constant time. The last n input values are stored in a SlidingMean, a primitive
+ * circular buffer that maintains a compensated running sum of its values and recomputes the sum with compensated
+ * summation once every n updates, so the average is updated with one addition and one subtraction per value and its
+ * error does not grow with the number of values filtered. The recomputation runs inline and takes linear time in n,
+ * so on a large window every n-th filter call takes noticeably longer than the others.
  * </p>
  * <p>
  * Each AveragingFilterN has a double-precision floating point base average value that is maintained either from construction,
@@ -31,11 +39,14 @@ import exception.NullValueException;
  *
  * @author Shaun Howard
  */
-public class AveragingFilterN extends FilterN<Double> implements ScalarFilter {
+public class AveragingFilterN extends FilterN<Double> implements ScalarFilter, Snapshottable {
 
     // The average of previously entered values.
     double baseAverage;
 
+    // The window of the last n input values, which is also the list of values of this filter.
+    private final SlidingMean window;
+
     /**
      * Constructs an Averaging Filter that resets after N
      * values are filtered.
@@ -43,7 +54,19 @@ public class AveragingFilterN extends FilterN<Double> implements ScalarFilter {
      * @param n - the number of calls to reset the AveragingFilterN at
      */
     public AveragingFilterN(int n){
-        super(n);
+        this(n, new SlidingMean());
+    }
+
+    /**
+     * Constructs an Averaging Filter of the last N values
+     * which stores them in the specified window.
+     *
+     * @param n - the number of calls to reset the AveragingFilterN at
+     * @param window - the empty window of the last n input values
+     */
+    AveragingFilterN(int n, SlidingMean window) {
+        super(n, window);
+        this.window = window;
         baseAverage = 0;
     }
 
@@ -71,16 +94,66 @@ public class AveragingFilterN extends FilterN<Double> implements ScalarFilter {
     @Override
     public Double filter(Double value) throws NullValueException, EmptyListException, IncorrectSizeException {
         FilterValidator.throwExceptionWhenNull(value);
+        return filterDouble(value);
+    }
+
+    /**
+     * Recalculates the average of the last n values filtered without boxing the output value.
+     * Calls the maintainN() method to maintain the number of values used in average calculation,
+     * adds the specified input value to the stored input values and calls average() to calculate
+     * the average of the last n values input thus far.
+     *
+     * @param value - the double value to filter
+     * @return the average of the values filtered since instantiation or the last reset
+     * @throws exception.EmptyListException - if any lists under operation are empty but must not be
+     * @throws exception.IncorrectSizeException - if n is not within the range [0, INTEGER_MAX_VALUE]
+     */
+    @Override
+    public double filterDouble(double value) throws EmptyListException, IncorrectSizeException {
         maintainN();
-        getValues().add(value);
+        window.addDouble(value);
         return average();
     }
 
+    /**
+     * Filters each value in the slice of the input array exactly as filterDouble(double value) does and
+     * writes each average to the slice of the output array. The value of n is validated once per call
+     * rather than once per value and no value is boxed.
+     *
+     * @param values - the array of values to filter
+     * @param offset - the index of the first value to filter
+     * @param output - the array that receives the filtered values
+     * @param outputOffset - the index that receives the first filtered value
+     * @param length - the number of values to filter
+     * @throws exception.NullValueException - if either array is null
+     * @throws exception.EmptyListException - if the list of stored input values is empty but must not be
+     * @throws exception.IncorrectSizeException - if either slice does not lie within its array or n is not within
+     * the range [0, INTEGER_MAX_VALUE]
+     */
+    @Override
+    public void filter(double[] values, int offset, double[] output, int outputOffset, int length)
+            throws NullValueException, EmptyListException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(values, output);
+        FilterValidator.throwWhenSliceOutOfRange(values.length, offset, length);
+        FilterValidator.throwWhenSliceOutOfRange(output.length, outputOffset, length);
+        FilterEvents.BatchEvent event = FilterEvents.beginBatch();
+        int n = getN();
+        for (int j = 0; j < length; j++) {
+            if (window.size() >= n) {
+                FilterValidator.throwExceptionWhenEmpty(window);
+                window.removeFirst();
+            }
+            window.addDouble(values[offset + j]);
+            output[outputOffset + j] = window.getMean();
+        }
+        baseAverage = window.getMean();
+        FilterEvents.commitBatch(event, this, length);
+    }
+
     /**
      * Maintains the last n values input to the filter method in a data structure.
      * If more than n values are filtered, only the last n values are retained.
-     * Recalculates the base average of the numbers seen thus far (N) after
-     * truncating the values stored before the last n values.
+     * Removing the first value also subtracts it from the running sum of the window.
      *
      * @throws exception.EmptyListException - if the list of stored input values is empty
      * @throws exception.IncorrectSizeException - if n is not within the range [0, INTEGER_MAX_VALUE]
@@ -88,31 +161,59 @@ public class AveragingFilterN extends FilterN<Double> implements ScalarFilter {
     @Override
     public void maintainN() throws EmptyListException, IncorrectSizeException {
         if (getValues().size() >= getN()) {
-            FilterValidator.throwExceptionWhenEmpty(getValues());
-            double firstValue = getValues().get(0);
-            int count = getValues().size();
-            getValues().remove(0);
-            baseAverage = ((baseAverage * count) - firstValue) / --count;
+            FilterValidator.throwExceptionWhenEmpty(window);
+            window.removeFirst();
+            baseAverage = window.getMean();
         }
     }
 
+    /**
+     * Writes n, the base average and the window of the last n input values with its running sum to the
+     * specified output.
+     *
+     * @param out - the output the state is written to
+     * @throws java.io.IOException - if the state cannot be written or n is not within the range [0, INTEGER_MAX_VALUE]
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(getSnapshotN());
+        out.writeDouble(baseAverage);
+        window.writeState(out);
+    }
+
+    /**
+     * Replaces the base average and the window of the last n input values with the state read from the
+     * specified input, so that the filter produces exactly the same averages as the filter written.
+     *
+     * @param in - the input the state is read from
+     * @throws java.io.IOException - if the state cannot be read or was written by a filter of a different n
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        int n = getSnapshotN();
+        FilterSnapshot.check("n", in.readInt(), n);
+        double average = in.readDouble();
+        window.readState(in, n);
+        baseAverage = average;
+    }
+
     /**
      * Calculates the average of the previous n filtered input values.
      *
      * @return the average of the previous n filtered input values
      */
     private double average() {
-        int count = getValues().size() - 1;
-        double primValue = getValues().get(count);
-        baseAverage = ((baseAverage * count) + primValue) / ++count;
+        baseAverage = window.getMean();
         return baseAverage;
     }
 
     /**
-     * Resets the filter by clearing any stored input values.
+     * Resets the filter by clearing any stored input values and the running sum.
      */
     @Override
     public void reset() {
-        getValues().clear();
+        window.clear();
+        baseAverage = 0;
+        FilterEvents.reset(this);
     }
 }
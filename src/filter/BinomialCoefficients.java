@@ -0,0 +1,91 @@
+package filter;
+
+import exception.IncorrectSizeException;
+
+import java.math.BigInteger;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * A BinomialCoefficients class holds a process-wide cache of the coefficient sets of BinomialFilter instances by
+ * filter size. The set of size N holds the binomial coefficients (N C 0) to (N C N - 1) of row N of Pascal's
+ * triangle, which are computed exactly with the multiplicative formula (N C i) = (N C i - 1) * (N - i + 1) / i up
+ * to the middle of the row and mirrored into the rest of it. The formula is evaluated in long arithmetic while each
+ * product fits in a long, and in arbitrary precision integers once it would not, and each coefficient is rounded
+ * only once, to the nearest double, so every coefficient up to 2^53 is exact and every larger one is correctly
+ * rounded. The integers stop growing once a coefficient is too large for a double, which first happens at N = 1030,
+ * as every coefficient from there to the middle of the row is positive infinity, so a row takes O(N) time.
+ * </p>
+ * <p>
+ * The sets of sizes up to CACHED_SIZE are interned and cached, so constructing a filter of such a size whose set is
+ * already cached neither computes nor copies any coefficient, and all of the filters of one size share one pair of
+ * arrays. The cache therefore holds at most CACHED_SIZE sets of at most CACHED_SIZE coefficients each, however many
+ * sizes of filter are constructed. The set of a larger size is computed for each filter and is not interned, so it
+ * is released with the filter. The cache is safe for use by several threads at once.
+ * </p>
+ *
+ * @see filter.BinomialFilter
+ *
+ * @author Shaun Howard
+ */
+final class BinomialCoefficients {
+
+    // The largest filter size whose coefficient set is interned and cached.
+    static final int CACHED_SIZE = 256;
+
+    // The cached coefficient sets by filter size, for sizes up to CACHED_SIZE.
+    private static final ConcurrentHashMap<Integer, CoefficientSet> SETS = new ConcurrentHashMap<>();
+
+    /**
+     * Prevents instantiation of this class of static methods.
+     */
+    private BinomialCoefficients() {
+    }
+
+    /**
+     * Gets the coefficient set of a BinomialFilter of size N, computing and caching it on first use
+     * when N is at most CACHED_SIZE.
+     *
+     * @param N - the input boundary coefficient
+     * @return the coefficient set of the binomial coefficients (N C 0) to (N C N - 1)
+     * @throws exception.IncorrectSizeException - if N is not in the range [1, INTEGER_MAX_VALUE - 1]
+     */
+    static CoefficientSet of(int N) throws IncorrectSizeException {
+        FilterValidator.throwWhenOutOfRange(N, 1, Integer.MAX_VALUE - 1);
+        if (N > CACHED_SIZE) {
+            return CoefficientSet.unshared(new double[0], row(N));
+        }
+        return SETS.computeIfAbsent(N, n -> CoefficientSet.intern(new double[0], row(n)));
+    }
+
+    /**
+     * Computes the binomial coefficients (n C 0) to (n C n - 1) of row n of Pascal's triangle.
+     *
+     * @param n - the positive row number
+     * @return a new array of the first n binomial coefficients of row n
+     */
+    static double[] row(int n) {
+        double[] row = new double[n];
+        long exact = 1;
+        BigInteger large = null;
+        row[0] = 1.0;
+        for (int i = 1; i <= n / 2; i++) {
+            //(n C i) = (n C i - 1) * (n - i + 1) / i, where the product is exactly divisible by i
+            long factor = n - i + 1;
+            if (large == null && Math.multiplyHigh(exact, factor) == 0 && exact * factor >= 0) {
+                exact = exact * factor / i;
+                row[i] = exact;
+            } else {
+                if (large == null) {
+                    large = BigInteger.valueOf(exact);
+                }
+                if (large.bitLength() <= Double.MAX_EXPONENT + 1) {
+                    large = large.multiply(BigInteger.valueOf(factor)).divide(BigInteger.valueOf(i));
+                }
+                row[i] = large.doubleValue();
+            }
+            row[n - i] = row[i];
+        }
+        return row;
+    }
+}
@@ -1,6 +1,7 @@
 package filter;
 
 import exception.IncorrectSizeException;
+import exception.NullValueException;
 
 import java.util.ArrayList;
 
@@ -12,9 +13,12 @@ import java.util.ArrayList;
  * will remain the same as the last affected value of filtering unless reset is called.
  * </p>
  * <p>
- * The setBinomials operation runs in O(nlogn) time. The binomialC operation runs in O(logn) time.
- * The setBinomials method calls the binomialC method to calculate b(i) = (nCi) for each binomial
- * coefficient multiplier in the scalar linear equation. Thus, when a user filters a given value,
+ * The binomial coefficient multipliers b(i) = (nCi) of the scalar linear equation are taken from row n of Pascal's
+ * triangle, which is computed in O(n) time. A BinomialFilter constructed with only its size N shares the interned
+ * CoefficientSet of its size with every other such filter, so constructing many filters of a cached size computes
+ * and copies no coefficient after the first, and each filter holds only its history. A filter constructed with a
+ * placeholder list sets each value of the list to its coefficient with the setBinomials operation, in O(n) time,
+ * and copies the list when it is configured like any ScalarLinearFilter. Thus, when a user filters a given value,
  * the value is multiplied by the binomial coefficient at the given iteration of filtering in
  * the scalar linear equation and is added to the previously summed input calculation of the equation.
  * </p>
@@ -49,6 +53,7 @@ public class BinomialFilter extends FIRFilter {
      * setBinomials() method to setup the binomial coefficient values
      * b(i) = (n C i) indexed by i in the specified list of doubles.
      * N must be equal to the size of the input list for proper operation.
+     * The filter is reset afterwards so that the calculated coefficients take effect.
      * </p>
      *
      * @param b - the gain factor of the filter
@@ -56,37 +61,37 @@ public class BinomialFilter extends FIRFilter {
     public BinomialFilter(int N, ArrayList<Double> b) {
         super(N, b);
         setBinomials();
+        reset();
+    }
+
+    /**
+     * Constructs a BinomialFilter with input coefficient N which shares the CoefficientSet of the
+     * binomial coefficients of its size, so no placeholder list needs to be specified. The multiplier
+     * list of the filter is the unmodifiable list of the set.
+     *
+     * @param N - the input boundary coefficient
+     * @throws exception.IncorrectSizeException - if N is not in the range [1, INTEGER_MAX_VALUE - 1]
+     * @throws exception.NullValueException - never, as the coefficient set of a valid size is never null
+     */
+    public BinomialFilter(int N) throws IncorrectSizeException, NullValueException {
+        super(BinomialCoefficients.of(N));
     }
 
     /**
      * Sets b(i) to N choose i, where i is a given iteration count, for each b in the collection of
-     * input multipliers where i ranges from 0 to N.
+     * input multipliers where i ranges from 0 to N. The coefficients are read from the coefficient
+     * set of size N.
      */
     private void setBinomials() {
         try {
             FilterValidator.throwIncorrectSizeException(this.getB(), this.getN());
+            double[] binomials = BinomialCoefficients.of(this.getN()).b();
             for (int i = 0; i < this.getN(); i++){
-                double b = binomialC(this.getN(), i);
-                this.getB().set(i, b);
+                this.getB().set(i, binomials[i]);
             }
         } catch (IncorrectSizeException ise) {
             System.err.println("The binomial list is not the correct size.");
         }
 
     }
-
-    /**
-     * Calculates the binomial coefficient based on the input numbers.
-     * Uses a dynamic programming algorithm for efficient logarithmic runtime.
-     *
-     * @param n - the number to choose from
-     * @param i - the number that can be chosen
-     * @return the binomial coefficient (n C i)
-     */
-    private int binomialC(int n, int i){
-        if (i == 0){
-            return 1;
-        }
-        return (binomialC(n-1, i-1) * n) / i;
-    }
 }
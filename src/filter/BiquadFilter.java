@@ -0,0 +1,246 @@
+package filter;
+
+import exception.EmptyListException;
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * A BiquadFilter is a ScalarFilter which filters values through a cascade of second order sections, or biquads, each
+ * of which solves the linear equation (y(i) + a(1)y(i - 1) + a(2)y(i - 2) = b(0)x(i) + b(1)x(i - 1) + b(2)x(i - 2))
+ * on the output of the section before it. It is the preferred form of a high order IIR filter: a ScalarLinearFilter
+ * with large M and N sums every multiplier for every value, and in that direct form the rounding of the multipliers
+ * moves the poles of a sharp filter so far that the filter may become inaccurate or unstable, while the sections of
+ * a BiquadFilter each hold only two poles and two zeros and keep their accuracy at any order.
+ * </p>
+ * <p>
+ * Each section is computed in transposed direct form II, which keeps two primitive state values per section:
+ * y(i) = b(0)x(i) + s1, then s1 = b(1)x(i) - a(1)y(i) + s2 and s2 = b(2)x(i) - a(2)y(i). Each value costs five
+ * multiply-adds per section and filtering never allocates. The batch filter operation runs the whole slice through
+ * one section at a time with its state held in local variables, and produces exactly the values of filtering each
+ * value on its own.
+ * </p>
+ * <p>
+ * The sections are given as an array of five multipliers per section, b(0), b(1), b(2), a(1) and a(2), with a(0)
+ * equal to one, which is copied at construction. The fromLinear method converts the multipliers of a linear equation,
+ * such as those of a ScalarLinearFilter, into sections by factoring the input and output polynomials, as described by
+ * the SecondOrderSections class. A BiquadFilter constructed by fromLinear filters the values of the ScalarLinearFilter
+ * of the same multipliers after instantiation or a reset with zero, up to the rounding of the factorization.
+ * </p>
+ *
+ * @see filter.ScalarLinearFilter
+ *
+ * @author Shaun Howard
+ */
+public class BiquadFilter implements ScalarFilter, Snapshottable {
+
+    // The multipliers b(0), b(1), b(2), a(1) and a(2) of every section.
+    private final double[] sections;
+
+    // The state values s1 and s2 of every section.
+    private final double[] state;
+
+    /**
+     * Constructs a BiquadFilter of the specified sections.
+     *
+     * @param sections - the multipliers b(0), b(1), b(2), a(1) and a(2) of every section, in the order the
+     * sections filter
+     * @throws exception.NullValueException - if the array of sections is null
+     * @throws exception.IncorrectSizeException - if the array is empty or its length is not a multiple of five
+     */
+    public BiquadFilter(double[] sections) throws NullValueException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(sections);
+        FilterValidator.throwWhenOutOfRange(sections.length, SecondOrderSections.STRIDE, Integer.MAX_VALUE);
+        FilterValidator.throwWhenOutOfRange(sections.length % SecondOrderSections.STRIDE, 0, 0);
+        this.sections = sections.clone();
+        this.state = new double[sections.length / SecondOrderSections.STRIDE * 2];
+        FilterEvents.constructed(this, getSectionCount());
+    }
+
+    /**
+     * Constructs a BiquadFilter equivalent to the linear equation of the specified boundary coefficients and
+     * multiplier lists, which are validated exactly as a ScalarLinearFilter validates them.
+     *
+     * @param M - the output boundary coefficient
+     * @param N - the input boundary coefficient
+     * @param a - the multiplier list for output, where a(0) is ignored
+     * @param b - the multiplier list for input
+     * @return the BiquadFilter of the linear equation
+     * @throws exception.NullValueException - if multiplier list a or b is null or contains a null value
+     * @throws exception.EmptyListException - if multiplier list b is empty
+     * @throws exception.IncorrectSizeException - if the size of multiplier list a or b does not equal M or N, or
+     * if the sections found do not reproduce the equation to within the tolerance of the SecondOrderSections class
+     */
+    public static BiquadFilter fromLinear(int M, int N, List<Double> a, List<Double> b)
+            throws NullValueException, EmptyListException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(a, b);
+        FilterValidator.throwExceptionWhenEmpty(b);
+        FilterValidator.throwIncorrectSizeException(b, N);
+        FilterValidator.throwIncorrectSizeException(a, M);
+        return new BiquadFilter(SecondOrderSections.design(ScalarLinearFilter.toArray(a),
+                ScalarLinearFilter.toArray(b)));
+    }
+
+    /**
+     * Constructs a BiquadFilter equivalent to the linear equation of the multipliers of the specified filter.
+     * The state of the filter is not copied.
+     *
+     * @param filter - the filter whose multipliers to convert
+     * @return the BiquadFilter of the linear equation of the filter
+     * @throws exception.NullValueException - if the filter or either of its multiplier lists is null
+     * or contains a null value
+     * @throws exception.EmptyListException - if the multiplier list for input is empty
+     * @throws exception.IncorrectSizeException - if the size of either multiplier list does not equal M or N
+     */
+    public static BiquadFilter fromLinear(ScalarLinearFilter filter)
+            throws NullValueException, EmptyListException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(filter);
+        return fromLinear(filter.getM(), filter.getN(), filter.getA(), filter.getB());
+    }
+
+    /**
+     * Filters the specified value through every section.
+     *
+     * @param value - the Double value to filter
+     * @return the value filtered by the last section
+     * @throws exception.NullValueException - if the input value is null
+     */
+    @Override
+    public Double filter(Double value) throws NullValueException {
+        FilterValidator.throwExceptionWhenNull(value);
+        return filterDouble(value);
+    }
+
+    /**
+     * Filters the specified primitive value through every section without boxing it.
+     *
+     * @param value - the double value to filter
+     * @return the value filtered by the last section
+     */
+    @Override
+    public double filterDouble(double value) {
+        double x = value;
+        for (int c = 0, s = 0; c < sections.length; c += SecondOrderSections.STRIDE, s += 2) {
+            double y = sections[c] * x + state[s];
+            state[s] = sections[c + 1] * x - sections[c + 3] * y + state[s + 1];
+            state[s + 1] = sections[c + 2] * x - sections[c + 4] * y;
+            x = y;
+        }
+        return x;
+    }
+
+    /**
+     * Filters the slice of the input array into the slice of the output array one section at a time,
+     * holding the state and multipliers of the section in local variables.
+     *
+     * @param values - the array of values to filter
+     * @param offset - the index of the first value to filter
+     * @param output - the array that receives the filtered values
+     * @param outputOffset - the index that receives the first filtered value
+     * @param length - the number of values to filter
+     * @throws exception.NullValueException - if either array is null
+     * @throws exception.IncorrectSizeException - if either slice does not lie within its array
+     */
+    @Override
+    public void filter(double[] values, int offset, double[] output, int outputOffset, int length)
+            throws NullValueException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(values, output);
+        FilterValidator.throwWhenSliceOutOfRange(values.length, offset, length);
+        FilterValidator.throwWhenSliceOutOfRange(output.length, outputOffset, length);
+        FilterEvents.BatchEvent event = FilterEvents.beginBatch();
+        double[] input = values;
+        int inputOffset = offset;
+        for (int c = 0, s = 0; c < sections.length; c += SecondOrderSections.STRIDE, s += 2) {
+            double b0 = sections[c];
+            double b1 = sections[c + 1];
+            double b2 = sections[c + 2];
+            double a1 = sections[c + 3];
+            double a2 = sections[c + 4];
+            double s1 = state[s];
+            double s2 = state[s + 1];
+            for (int j = 0; j < length; j++) {
+                double x = input[inputOffset + j];
+                double y = b0 * x + s1;
+                s1 = b1 * x - a1 * y + s2;
+                s2 = b2 * x - a2 * y;
+                output[outputOffset + j] = y;
+            }
+            state[s] = s1;
+            state[s + 1] = s2;
+            input = output;
+            inputOffset = outputOffset;
+        }
+        FilterEvents.commitBatch(event, this, length);
+    }
+
+    /**
+     * Resets the state of every section to zero.
+     */
+    @Override
+    public void reset() {
+        for (int s = 0; s < state.length; s++) {
+            state[s] = 0.0;
+        }
+        FilterEvents.reset(this);
+    }
+
+    /**
+     * Writes the number of sections and the state values of every section to the specified output.
+     * The multipliers are not written.
+     *
+     * @param out - the output the state is written to
+     * @throws java.io.IOException - if the state cannot be written
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(getSectionCount());
+        for (double value : state) {
+            out.writeDouble(value);
+        }
+    }
+
+    /**
+     * Replaces the state values of every section with the state read from the specified input.
+     *
+     * @param in - the input the state is read from
+     * @throws java.io.IOException - if the state cannot be read or was written by a filter of a different
+     * number of sections
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        FilterSnapshot.check("number of sections", in.readInt(), getSectionCount());
+        double[] values = new double[state.length];
+        for (int s = 0; s < values.length; s++) {
+            values[s] = in.readDouble();
+        }
+        System.arraycopy(values, 0, state, 0, values.length);
+    }
+
+    /**
+     * Gets the number of second order sections.
+     *
+     * @return the number of sections
+     */
+    public int getSectionCount() {
+        return sections.length / SecondOrderSections.STRIDE;
+    }
+
+    /**
+     * Gets a list of the multipliers b(0), b(1), b(2), a(1) and a(2) of every section.
+     *
+     * @return a new list of the multipliers of every section
+     */
+    public List<Double> getSections() {
+        List<Double> list = new ArrayList<>(sections.length);
+        for (double multiplier : sections) {
+            list.add(multiplier);
+        }
+        return list;
+    }
+}
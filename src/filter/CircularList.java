@@ -0,0 +1,197 @@
+package filter;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * <p>
+ * A CircularList is an array-backed implementation of the List interface that stores its elements in a circular
+ * buffer. It is designed to hold the window of values tracked by a FilterN, where values are always appended to the
+ * end of the list and removed from the front of the list.
+ * </p>
+ * <p>
+ * The get, set, size, add and remove(0) operations run in constant time, where add runs in amortized constant time
+ * because the backing array doubles in capacity when it is full. Inserting or removing at any other index runs in
+ * linear time. Unlike an ArrayList, removing the first element does not shift the remaining elements.
+ * </p>
+ * <p>
+ * A CircularList permits null elements, although no FilterN stores them. Its iterators are fail-fast as documented
+ * by AbstractList.
+ * </p>
+ *
+ * @param <E> - the type of elements stored in the list
+ *
+ * @author Shaun Howard
+ */
+class CircularList<E> extends AbstractList<E> implements RandomAccess {
+
+    // The initial capacity of the backing array.
+    private static final int INITIAL_CAPACITY = 16;
+
+    // The circular array of stored elements.
+    private Object[] elements;
+
+    // The index of the first element in the backing array.
+    private int head;
+
+    // The number of elements in the list.
+    private int size;
+
+    /**
+     * Constructs an empty CircularList.
+     */
+    CircularList() {
+        elements = new Object[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Gets the element at the specified index of the list.
+     *
+     * @param index - the index of the element to get
+     * @return the element at the specified index
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index, size);
+        return (E) elements[physical(index)];
+    }
+
+    /**
+     * Replaces the element at the specified index of the list.
+     *
+     * @param index - the index of the element to replace
+     * @param element - the element to store at the index
+     * @return the element previously at the specified index
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        checkIndex(index, size);
+        int physical = physical(index);
+        E previous = (E) elements[physical];
+        elements[physical] = element;
+        return previous;
+    }
+
+    /**
+     * Gets the number of elements in the list.
+     *
+     * @return the number of elements in the list
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Appends the specified element to the end of the list.
+     *
+     * @param element - the element to append
+     * @return true, as specified by Collection.add
+     */
+    @Override
+    public boolean add(E element) {
+        ensureCapacity();
+        elements[physical(size)] = element;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Inserts the specified element at the specified index of the list, shifting
+     * any subsequent elements one position towards the end.
+     *
+     * @param index - the index to insert the element at
+     * @param element - the element to insert
+     */
+    @Override
+    public void add(int index, E element) {
+        checkIndex(index, size + 1);
+        ensureCapacity();
+        for (int j = size; j > index; j--) {
+            elements[physical(j)] = elements[physical(j - 1)];
+        }
+        elements[physical(index)] = element;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Removes the element at the specified index of the list. Removing the first element
+     * advances the head of the circular buffer and does not shift any elements.
+     *
+     * @param index - the index of the element to remove
+     * @return the removed element
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        checkIndex(index, size);
+        E removed = (E) elements[physical(index)];
+        if (index == 0) {
+            elements[head] = null;
+            head = physical(1);
+        } else {
+            for (int j = index; j < size - 1; j++) {
+                elements[physical(j)] = elements[physical(j + 1)];
+            }
+            elements[physical(size - 1)] = null;
+        }
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Removes all elements from the list.
+     */
+    @Override
+    public void clear() {
+        for (int j = 0; j < size; j++) {
+            elements[physical(j)] = null;
+        }
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Doubles the capacity of the backing array when it is full and
+     * moves the stored elements to the front of the new array.
+     */
+    private void ensureCapacity() {
+        if (size == elements.length) {
+            Object[] grown = new Object[elements.length * 2];
+            for (int j = 0; j < size; j++) {
+                grown[j] = elements[physical(j)];
+            }
+            elements = grown;
+            head = 0;
+        }
+    }
+
+    /**
+     * Converts a logical list index into an index of the backing array.
+     *
+     * @param index - the logical index within the list
+     * @return the index within the backing array
+     */
+    private int physical(int index) {
+        int physical = head + index;
+        return physical < elements.length ? physical : physical - elements.length;
+    }
+
+    /**
+     * Throws an IndexOutOfBoundsException when the index is not within [0, bound).
+     *
+     * @param index - the index to check
+     * @param bound - the exclusive upper bound of the index
+     */
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + bound);
+        }
+    }
+}
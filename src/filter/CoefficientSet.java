@@ -0,0 +1,427 @@
+package filter;
+
+import exception.EmptyListException;
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * A CoefficientSet is an immutable set of the boundary coefficients M and N and the multipliers a and b of the linear
+ * equation (y(i) + a(1)y(i - 1) +...+ a(M)y(i - M) = b(0)x(i) +...+ b(N)x(i - N)), held in primitive arrays, which
+ * any number of ScalarLinearFilter, FIRFilter and GainFilter instances may share. A filter constructed with a
+ * CoefficientSet keeps only references to the arrays of the set, so many filters of one design, such as one filter
+ * per sensor, hold a single copy of its multipliers rather than one list of boxed Doubles each. Each filter still
+ * holds its own history of previous input and output values and, once it has filtered a batch, the buffers of its
+ * batch filter operation, as documented by ScalarLinearFilter.
+ * </p>
+ * <p>
+ * Coefficient sets are interned: the of methods validate the multipliers exactly as a ScalarLinearFilter validates
+ * them and return the one CoefficientSet of the process with the same boundary coefficients and multipliers, so
+ * filters constructed from the same design share the same arrays however their multipliers were specified.
+ * Multipliers are the same when their bits are the same, so 0.0 and -0.0 make different sets. Interned sets are
+ * held through weak references, so a set which no filter or caller refers to any longer may be collected, after
+ * which interning the same multipliers creates a new set; the entries of collected sets are removed as sets are
+ * interned. Interned sets may be used by several threads at once. A BinomialFilter of a size too large to cache
+ * holds a set of its own which is not interned until it is passed to the of method.
+ * </p>
+ * <p>
+ * The getA and getB methods return unmodifiable lists which read the arrays of the set without copying them.
+ * Interning a set takes time linear in M and N; a filter constructed with a set copies nothing.
+ * </p>
+ *
+ * @see filter.ScalarLinearFilter
+ *
+ * @author Shaun Howard
+ */
+public final class CoefficientSet {
+
+    // The weak references to the interned coefficient sets, keyed by their multipliers.
+    private static final ConcurrentHashMap<Key, Interned> INTERNED = new ConcurrentHashMap<>();
+
+    // The queue the references to interned sets are enqueued on once the sets are collected.
+    private static final ReferenceQueue<CoefficientSet> COLLECTED = new ReferenceQueue<>();
+
+    // The output boundary coefficient for the linear equation.
+    private final int M;
+
+    // The input boundary coefficient for the linear equation.
+    private final int N;
+
+    // The output multipliers, where a(0) is ignored.
+    private final double[] a;
+
+    // The input multipliers.
+    private final double[] b;
+
+    // The unmodifiable list view of the output multipliers.
+    private final List<Double> aList;
+
+    // The unmodifiable list view of the input multipliers.
+    private final List<Double> bList;
+
+    // The sum of the input multipliers b(0) to b(N), used by the reset of a filter.
+    private final double inputGain;
+
+    // One plus the sum of the output multipliers a(1) to a(M), used by the reset of a filter.
+    private final double outputGain;
+
+    // The non-zero input multipliers and their delays when the input multipliers are sparse, otherwise null.
+    private final SparseKernel sparse;
+
+    // The hash code of the boundary coefficients and multipliers.
+    private final int hash;
+
+    /**
+     * Constructs a CoefficientSet which takes ownership of the specified validated arrays.
+     *
+     * @param a - the output multipliers
+     * @param b - the input multipliers
+     */
+    private CoefficientSet(double[] a, double[] b) {
+        this.M = a.length;
+        this.N = b.length;
+        this.a = a;
+        this.b = b;
+        this.aList = new ArrayView(a);
+        this.bList = new ArrayView(b);
+        double dividend = 0;
+        double quotient = 1;
+        for (int n = 0; n < N; n++) {
+            dividend += b[n];
+        }
+        for (int m = 1; m < M; m++) {
+            quotient += a[m];
+        }
+        this.inputGain = dividend;
+        this.outputGain = quotient;
+        this.sparse = SparseKernel.of(b);
+        this.hash = 31 * Arrays.hashCode(a) + Arrays.hashCode(b);
+    }
+
+    /**
+     * Gets the interned CoefficientSet of the specified boundary coefficients and multiplier lists,
+     * which are validated exactly as a ScalarLinearFilter validates them.
+     *
+     * @param M - the output boundary coefficient
+     * @param N - the input boundary coefficient
+     * @param a - the multiplier list for output, where a(0) is ignored
+     * @param b - the multiplier list for input
+     * @return the interned CoefficientSet of the multipliers
+     * @throws exception.NullValueException - if multiplier list a or b is null or contains a null value
+     * @throws exception.EmptyListException - if multiplier list b is empty
+     * @throws exception.IncorrectSizeException - if the size of multiplier list a or b does not equal M or N
+     */
+    public static CoefficientSet of(int M, int N, List<Double> a, List<Double> b)
+            throws NullValueException, EmptyListException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(a, b);
+        FilterValidator.throwExceptionWhenEmpty(b);
+        FilterValidator.throwIncorrectSizeException(b, N);
+        FilterValidator.throwIncorrectSizeException(a, M);
+        return intern(ScalarLinearFilter.toArray(a), ScalarLinearFilter.toArray(b));
+    }
+
+    /**
+     * Gets the interned CoefficientSet of the current boundary coefficients and multipliers of the specified
+     * filter, which is the set the filter was constructed with if it was constructed with one.
+     *
+     * @param filter - the filter whose multipliers to intern
+     * @return the interned CoefficientSet of the multipliers of the filter
+     * @throws exception.NullValueException - if the filter or either of its multiplier lists is null
+     * or contains a null value
+     * @throws exception.EmptyListException - if the multiplier list for input is empty
+     * @throws exception.IncorrectSizeException - if the size of either multiplier list does not equal M or N
+     */
+    public static CoefficientSet of(ScalarLinearFilter filter)
+            throws NullValueException, EmptyListException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(filter);
+        CoefficientSet shared = filter.getCoefficientSet();
+        return shared != null ? intern(shared) : of(filter.getM(), filter.getN(), filter.getA(), filter.getB());
+    }
+
+    /**
+     * Gets the interned CoefficientSet of the specified arrays of valid multipliers, which the set
+     * takes ownership of if it is the first set of these multipliers.
+     *
+     * @param a - the output multipliers, which must not be modified afterwards
+     * @param b - the non-empty input multipliers, which must not be modified afterwards
+     * @return the interned CoefficientSet of the multipliers
+     */
+    static CoefficientSet intern(double[] a, double[] b) {
+        return intern(new CoefficientSet(a, b));
+    }
+
+    /**
+     * Creates a CoefficientSet of the specified arrays of valid multipliers which is not interned, for the
+     * multipliers of a single filter which should not be held for the life of the process.
+     *
+     * @param a - the output multipliers, which must not be modified afterwards
+     * @param b - the non-empty input multipliers, which must not be modified afterwards
+     * @return a new CoefficientSet which owns the arrays
+     */
+    static CoefficientSet unshared(double[] a, double[] b) {
+        return new CoefficientSet(a, b);
+    }
+
+    /**
+     * Interns the specified CoefficientSet, first removing the entries of interned sets which were collected.
+     *
+     * @param candidate - the set to intern
+     * @return the interned set equal to the candidate, which is the candidate if no equal set is interned
+     */
+    private static CoefficientSet intern(CoefficientSet candidate) {
+        Reference<? extends CoefficientSet> collected;
+        while ((collected = COLLECTED.poll()) != null) {
+            INTERNED.remove(((Interned) collected).key, collected);
+        }
+        Key key = new Key(candidate.a, candidate.b, candidate.hash);
+        Interned reference = new Interned(candidate, key);
+        while (true) {
+            Interned existing = INTERNED.putIfAbsent(key, reference);
+            if (existing == null) {
+                return candidate;
+            }
+            CoefficientSet interned = existing.get();
+            if (interned != null) {
+                return interned;
+            }
+            if (INTERNED.replace(key, existing, reference)) {
+                return candidate;
+            }
+        }
+    }
+
+    /**
+     * Gets the output boundary coefficient of the linear equation.
+     *
+     * @return the output boundary coefficient
+     */
+    public int getM() {
+        return M;
+    }
+
+    /**
+     * Gets the input boundary coefficient of the linear equation.
+     *
+     * @return the input boundary coefficient
+     */
+    public int getN() {
+        return N;
+    }
+
+    /**
+     * Gets an unmodifiable list of the output multipliers, which reads the array of the set.
+     *
+     * @return the unmodifiable list of output multipliers
+     */
+    public List<Double> getA() {
+        return aList;
+    }
+
+    /**
+     * Gets an unmodifiable list of the input multipliers, which reads the array of the set.
+     *
+     * @return the unmodifiable list of input multipliers
+     */
+    public List<Double> getB() {
+        return bList;
+    }
+
+    /**
+     * Gets the array of output multipliers, which must not be modified.
+     *
+     * @return the shared array of output multipliers
+     */
+    double[] a() {
+        return a;
+    }
+
+    /**
+     * Gets the array of input multipliers, which must not be modified.
+     *
+     * @return the shared array of input multipliers
+     */
+    double[] b() {
+        return b;
+    }
+
+    /**
+     * Gets the sum of the input multipliers b(0) to b(N), summed in order.
+     *
+     * @return the sum of the input multipliers
+     */
+    double inputGain() {
+        return inputGain;
+    }
+
+    /**
+     * Gets one plus the sum of the output multipliers a(1) to a(M), summed in order.
+     *
+     * @return one plus the sum of the output multipliers
+     */
+    double outputGain() {
+        return outputGain;
+    }
+
+    /**
+     * Gets the sparse kernel of the input multipliers, which is shared by every filter of the set.
+     *
+     * @return the sparse kernel of the input multipliers, or null if they are not sparse
+     */
+    SparseKernel sparse() {
+        return sparse;
+    }
+
+    /**
+     * Determines whether the specified object is a CoefficientSet with the same boundary
+     * coefficients and the same bits in every multiplier.
+     *
+     * @param obj - the object to compare
+     * @return true if the object is an equal CoefficientSet
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof CoefficientSet)) {
+            return false;
+        }
+        CoefficientSet other = (CoefficientSet) obj;
+        return hash == other.hash && Arrays.equals(a, other.a) && Arrays.equals(b, other.b);
+    }
+
+    /**
+     * Gets the hash code of the boundary coefficients and multipliers.
+     *
+     * @return the hash code of the set
+     */
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * The multipliers of an interned set, which key its weak reference without referring to the set itself.
+     */
+    private static final class Key {
+
+        // The output multipliers of the set.
+        private final double[] a;
+
+        // The input multipliers of the set.
+        private final double[] b;
+
+        // The hash code of the set.
+        private final int hash;
+
+        /**
+         * Constructs the key of the specified multipliers of a set.
+         *
+         * @param a - the output multipliers
+         * @param b - the input multipliers
+         * @param hash - the hash code of the set
+         */
+        private Key(double[] a, double[] b, int hash) {
+            this.a = a;
+            this.b = b;
+            this.hash = hash;
+        }
+
+        /**
+         * Determines whether the specified object is a key of the same multipliers.
+         *
+         * @param obj - the object to compare
+         * @return true if the object is an equal key
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hash == other.hash && Arrays.equals(a, other.a) && Arrays.equals(b, other.b);
+        }
+
+        /**
+         * Gets the hash code of the multipliers.
+         *
+         * @return the hash code of the key
+         */
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * A weak reference to an interned set which remembers the key it is mapped by, so that its entry
+     * can be removed once the set is collected.
+     */
+    private static final class Interned extends WeakReference<CoefficientSet> {
+
+        // The key the reference is mapped by.
+        private final Key key;
+
+        /**
+         * Constructs a weak reference to the specified set, registered with the queue of collected sets.
+         *
+         * @param set - the interned set
+         * @param key - the key of the multipliers of the set
+         */
+        private Interned(CoefficientSet set, Key key) {
+            super(set, COLLECTED);
+            this.key = key;
+        }
+    }
+
+    /**
+     * An unmodifiable list which reads the values of a primitive array.
+     */
+    private static final class ArrayView extends AbstractList<Double> implements RandomAccess {
+
+        // The array of values of the list.
+        private final double[] values;
+
+        /**
+         * Constructs a list view of the specified array.
+         *
+         * @param values - the array of values
+         */
+        private ArrayView(double[] values) {
+            this.values = values;
+        }
+
+        /**
+         * Gets the value at the specified index.
+         *
+         * @param index - the index of the value
+         * @return the value at the index
+         */
+        @Override
+        public Double get(int index) {
+            return values[index];
+        }
+
+        /**
+         * Gets the number of values.
+         *
+         * @return the number of values
+         */
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+}
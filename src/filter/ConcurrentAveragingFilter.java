@@ -0,0 +1,413 @@
+package filter;
+
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * <p>
+ * A ConcurrentAveragingFilter is a thread-safe implementation of the ScalarFilter interface which filters a given
+ * input value based on the average of every value filtered since either instantiation or the last reset, as an
+ * AveragingFilter does. Any number of threads may filter values at once without external synchronization.
+ * </p>
+ * <p>
+ * The sum and count of the filtered values are striped over several accumulators in the style of
+ * java.util.concurrent.atomic.DoubleAdder. Each stripe keeps a compensated sum and a count which are updated together
+ * under the write lock of a StampedLock of its own. Each thread keeps a probe, first derived from its thread
+ * identifier, which chooses the stripe it adds to. Since there may be more threads than stripes, two threads may share
+ * a stripe; a thread which finds the write lock of its stripe held rehashes its probe and tries another stripe, as
+ * DoubleAdder does, so threads which collide move apart and later adds usually take an uncontended lock. A thread tries
+ * at most as many stripes as there are and waits for the lock of the last one it tries. The stripes are combined by
+ * optimistic reads, which validate the stamp of each stripe rather than acquire its lock, so combining them never
+ * writes to the memory of another stripe and producers do not invalidate one another's cache lines. Only a read which
+ * overlaps a write to the same stripe falls back to the read lock of that stripe. The average is the compensated sum of
+ * every stripe divided by the total count.
+ * </p>
+ * <p>
+ * The average returned by the filter method, and by getBaseAverage(), is the compensated average of a set of values
+ * which includes the value filtered by the call itself and every value whose filter call completed before the call
+ * began. Values being filtered by other threads at the same time may or may not be included, so the averages observed
+ * by concurrent calls are not totally ordered. The average of every value is read once all filter calls have completed.
+ * Since the average does not depend on the order in which values are filtered, this is sufficient for a running average
+ * fed by several producers; a filter whose output depends on the order of its input values should be wrapped in a
+ * LinearizableScalarFilter instead.
+ * </p>
+ * <p>
+ * Each filter call reads every stripe to combine them, which takes time proportional to the number of stripes. A
+ * producer which does not need the average of each value should call add instead, which only writes one stripe,
+ * and read the average with getBaseAverage when it is needed. Since the average is computed from a sum
+ * rather than updated one value at a time, an average may differ from that of an AveragingFilter in the last bits.
+ * The reset method clears each stripe in turn and is not atomic with respect to concurrent filter calls.
+ * </p>
+ *
+ * @see filter.AveragingFilter
+ * @see filter.LinearizableScalarFilter
+ *
+ * @author Shaun Howard
+ */
+public class ConcurrentAveragingFilter implements ScalarFilter, Snapshottable {
+
+    // The number of values a batch adds under one acquisition of the write lock of a stripe.
+    private static final int BLOCK = 256;
+
+    // The probe of each thread, which chooses the stripe it adds to and is rehashed when that stripe is contended.
+    private static final ThreadLocal<int[]> PROBE = ThreadLocal.withInitial(ConcurrentAveragingFilter::initialProbe);
+
+    // The stripes of the sum and count of filtered values.
+    private final Stripe[] stripes;
+
+    /**
+     * Constructs a ConcurrentAveragingFilter with one stripe for each available processor.
+     */
+    public ConcurrentAveragingFilter() {
+        stripes = createStripes(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a ConcurrentAveragingFilter with the specified number of stripes.
+     *
+     * @param stripes - the number of stripes of the sum and count
+     * @throws exception.IncorrectSizeException - if stripes is not in the range [1, INTEGER_MAX_VALUE]
+     */
+    public ConcurrentAveragingFilter(int stripes) throws IncorrectSizeException {
+        FilterValidator.throwWhenOutOfRange(stripes, 1, Integer.MAX_VALUE);
+        this.stripes = createStripes(stripes);
+    }
+
+    /**
+     * Creates the specified number of empty stripes.
+     *
+     * @param count - the number of stripes
+     * @return the empty stripes
+     */
+    private static Stripe[] createStripes(int count) {
+        Stripe[] stripes = new Stripe[count];
+        for (int s = 0; s < count; s++) {
+            stripes[s] = new Stripe();
+        }
+        return stripes;
+    }
+
+    /**
+     * Adds the specified value to the average of values filtered since instantiation or the last reset.
+     *
+     * @param value - the Double value to filter
+     * @return the average of the values filtered since instantiation or the last reset
+     * @throws exception.NullValueException - if the input value is null
+     */
+    @Override
+    public Double filter(Double value) throws NullValueException {
+        FilterValidator.throwExceptionWhenNull(value);
+        return filterDouble(value);
+    }
+
+    /**
+     * Adds the specified value to the average of values filtered since instantiation or the last reset
+     * without boxing the input or output value.
+     *
+     * @param value - the double value to filter
+     * @return the average of the values filtered since instantiation or the last reset
+     */
+    @Override
+    public double filterDouble(double value) {
+        add(value);
+        return getBaseAverage();
+    }
+
+    /**
+     * Adds the specified value to the average of values filtered since instantiation or the last reset
+     * without combining the stripes, so only the stripe the current thread acquires is read or written.
+     *
+     * @param value - the double value to add
+     */
+    public void add(double value) {
+        Stripe stripe = acquire();
+        try {
+            stripe.addLocked(value);
+        } finally {
+            stripe.release();
+        }
+    }
+
+    /**
+     * Adds each value in the slice of the input array to a stripe and writes each intermediate average to the slice
+     * of the output array. The slice is added in blocks of at most 256 values, each under one acquisition of the
+     * write lock of a stripe, so a thread which shares or reads that stripe waits for at most one block rather than
+     * the whole slice. The other stripes are combined once for each block, so each output is the average of the
+     * values of this slice up to it and the values of the other stripes at the start of its block. The stripes are
+     * read before the write lock is acquired, since a thread which held one stripe's lock while waiting to read
+     * another could deadlock with a batch holding the other.
+     *
+     * @param values - the array of values to filter
+     * @param offset - the index of the first value to filter
+     * @param output - the array that receives the filtered values
+     * @param outputOffset - the index that receives the first filtered value
+     * @param length - the number of values to filter
+     * @throws exception.NullValueException - if either array is null
+     * @throws exception.IncorrectSizeException - if either slice does not lie within its array
+     */
+    @Override
+    public void filter(double[] values, int offset, double[] output, int outputOffset, int length)
+            throws NullValueException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(values, output);
+        FilterValidator.throwWhenSliceOutOfRange(values.length, offset, length);
+        FilterValidator.throwWhenSliceOutOfRange(output.length, outputOffset, length);
+        FilterEvents.BatchEvent event = FilterEvents.beginBatch();
+        double[] read = new double[stripes.length * Stripe.FIELDS];
+        double[] others = new double[Stripe.FIELDS];
+        for (int start = 0; start < length; start += BLOCK) {
+            int end = Math.min(length, start + BLOCK);
+            Arrays.fill(read, 0.0);
+            for (int s = 0; s < stripes.length; s++) {
+                stripes[s].read(read, s * Stripe.FIELDS);
+            }
+            Stripe own = acquire();
+            try {
+                Arrays.fill(others, 0.0);
+                for (int s = 0; s < stripes.length; s++) {
+                    if (stripes[s] != own) {
+                        for (int f = 0; f < Stripe.FIELDS; f++) {
+                            others[f] += read[s * Stripe.FIELDS + f];
+                        }
+                    }
+                }
+                for (int j = start; j < end; j++) {
+                    own.addLocked(values[offset + j]);
+                    output[outputOffset + j] = ((others[0] + own.sum) + (others[1] + own.compensation))
+                            / ((long) others[2] + own.count);
+                }
+            } finally {
+                own.release();
+            }
+        }
+        FilterEvents.commitBatch(event, this, length);
+    }
+
+    /**
+     * Resets the filter by clearing the sum and count of every stripe.
+     */
+    @Override
+    public void reset() {
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.writeLock();
+            try {
+                stripe.sum = 0;
+                stripe.compensation = 0;
+                stripe.count = 0;
+            } finally {
+                stripe.unlockWrite(stamp);
+            }
+        }
+        FilterEvents.reset(this);
+    }
+
+    /**
+     * Gets the base average of this filter since instantiation or its last reset by combining every stripe.
+     *
+     * @return the base average of the filter at this point, or zero if no value has been filtered
+     */
+    public double getBaseAverage() {
+        double[] totals = new double[Stripe.FIELDS];
+        combine(totals);
+        long count = (long) totals[2];
+        return count == 0 ? 0.0 : (totals[0] + totals[1]) / count;
+    }
+
+    /**
+     * Gets the count of values filtered since instantiation or its last reset by combining every stripe.
+     *
+     * @return the count of values filtered by this point
+     */
+    public long getCount() {
+        double[] totals = new double[Stripe.FIELDS];
+        combine(totals);
+        return (long) totals[2];
+    }
+
+    /**
+     * Adds the sum, compensation and count of every stripe to the specified totals, reading each stripe
+     * optimistically.
+     *
+     * @param totals - the sum, compensation and count to add each stripe to
+     */
+    private void combine(double[] totals) {
+        for (Stripe stripe : stripes) {
+            stripe.read(totals, 0);
+        }
+    }
+
+    /**
+     * Writes the sum, compensation and count of every stripe to the specified output. Each stripe is read
+     * consistently, but the snapshot is not atomic with respect to concurrent filter calls.
+     *
+     * @param out - the output the state is written to
+     * @throws java.io.IOException - if the state cannot be written
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(stripes.length);
+        for (Stripe stripe : stripes) {
+            double[] state = new double[Stripe.FIELDS];
+            stripe.read(state, 0);
+            out.writeDouble(state[0]);
+            out.writeDouble(state[1]);
+            out.writeLong((long) state[2]);
+        }
+    }
+
+    /**
+     * Replaces the sum and count of every stripe with the state read from the specified input. When the snapshot
+     * has a different number of stripes, such as when it was taken on a machine with a different number of
+     * processors, each stripe of the snapshot is added to a stripe of this filter, so the average and count are
+     * preserved up to the rounding of the additions. Like reset, it is not atomic with respect to concurrent
+     * filter calls.
+     *
+     * @param in - the input the state is read from
+     * @throws java.io.IOException - if the state cannot be read
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        int count = FilterSnapshot.readSize(in, Integer.MAX_VALUE);
+        reset();
+        for (int s = 0; s < count; s++) {
+            double sum = in.readDouble();
+            double compensation = in.readDouble();
+            long values = in.readLong();
+            Stripe stripe = stripes[s % stripes.length];
+            long stamp = stripe.writeLock();
+            try {
+                stripe.sum += sum;
+                stripe.compensation += compensation;
+                stripe.count += values;
+            } finally {
+                stripe.unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of stripes of the sum and count.
+     *
+     * @return the number of stripes
+     */
+    public int getStripes() {
+        return stripes.length;
+    }
+
+    /**
+     * Acquires the write lock of the stripe chosen by the probe of the current thread. When the lock is held by
+     * another thread, the probe is rehashed and the stripe it then chooses is tried. The thread tries at most as many
+     * stripes as there are and waits for the lock of the last one it tries.
+     *
+     * @return the stripe whose write lock the current thread now holds
+     */
+    private Stripe acquire() {
+        int[] probe = PROBE.get();
+        for (int attempt = 1; ; attempt++) {
+            Stripe stripe = stripes[Math.floorMod(probe[0], stripes.length)];
+            long stamp = attempt < stripes.length ? stripe.tryWriteLock() : stripe.writeLock();
+            if (stamp != 0) {
+                stripe.stamp = stamp;
+                return stripe;
+            }
+            probe[0] ^= probe[0] << 13;
+            probe[0] ^= probe[0] >>> 17;
+            probe[0] ^= probe[0] << 5;
+        }
+    }
+
+    /**
+     * Creates the probe of the current thread by mixing the bits of its identifier. The probe is never zero, since
+     * the xorshift that rehashes it would leave zero unchanged.
+     *
+     * @return the probe of the current thread
+     */
+    private static int[] initialProbe() {
+        int probe = (int) ((Thread.currentThread().getId() * 0x9E3779B97F4A7C15L) >>> 32);
+        return new int[]{probe == 0 ? 1 : probe};
+    }
+
+    /**
+     * A stripe of the sum and count of filtered values, which is its own StampedLock so that the lock
+     * state and the values it guards share the memory of one object.
+     */
+    private static final class Stripe extends StampedLock {
+
+        // The version of the serialized form of the stripe, which is never serialized.
+        private static final long serialVersionUID = 1L;
+
+        // The number of values read from a stripe: the sum, the compensation and the count.
+        private static final int FIELDS = 3;
+
+        // The sum of the values added to the stripe.
+        private double sum;
+
+        // The running compensation of the rounding error of the sum.
+        private double compensation;
+
+        // The count of values added to the stripe.
+        private long count;
+
+        // The stamp of the write lock of the stripe while a thread holds it.
+        private long stamp;
+
+        // Padding which keeps the values of adjacent stripes off the same cache line.
+        private long p0, p1, p2, p3, p4, p5, p6;
+
+        /**
+         * Releases the write lock of the stripe, which the current thread acquired with acquire.
+         */
+        private void release() {
+            unlockWrite(stamp);
+        }
+
+        /**
+         * Adds the specified value to the compensated sum and increments the count.
+         * Must be called while holding the write lock of the stripe.
+         *
+         * @param value - the value to add
+         */
+        private void addLocked(double value) {
+            double total = sum + value;
+            if (Math.abs(sum) >= Math.abs(value)) {
+                compensation += (sum - total) + value;
+            } else {
+                compensation += (value - total) + sum;
+            }
+            sum = total;
+            count++;
+        }
+
+        /**
+         * Adds the sum, compensation and count of the stripe, read consistently, to the specified totals. The
+         * stripe is read optimistically, and only read under its read lock if a write overlapped the read.
+         *
+         * @param totals - the sum, compensation and count to add the stripe to
+         * @param offset - the index of the sum within the totals
+         */
+        private void read(double[] totals, int offset) {
+            long stamp = tryOptimisticRead();
+            double readSum = sum;
+            double readCompensation = compensation;
+            long readCount = count;
+            if (!validate(stamp)) {
+                stamp = readLock();
+                try {
+                    readSum = sum;
+                    readCompensation = compensation;
+                    readCount = count;
+                } finally {
+                    unlockRead(stamp);
+                }
+            }
+            totals[offset] += readSum;
+            totals[offset + 1] += readCompensation;
+            totals[offset + 2] += readCount;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package filter;
+
+import exception.NullValueException;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>
+ * A ConcurrentMaxFilter is a thread-safe implementation of the Filter interface which filters a given input value
+ * based on the maximum value seen since either instantiation or the last reset, exactly as a MaxFilter does. Any
+ * number of threads may filter values at once without external synchronization. This class also implements the
+ * Resettable interface.
+ * </p>
+ * <p>
+ * The maximum is held in an AtomicReference and updated with a compare-and-set loop, so the filter never blocks. A
+ * value which is not greater than the current maximum only reads the maximum, so once the maximum has settled most
+ * filter calls do not write shared memory at all. Each call returns the maximum immediately after its own value was
+ * considered, which is the maximum of its own value and every value filtered before it. Since the maximum does not
+ * depend on the order in which values are filtered, the final maximum is the same for any interleaving of calls.
+ * </p>
+ * <p>
+ * The specified input value must not be null or a checked NullValueException will be thrown. The reset method sets
+ * the maximum to the specified value at once, and a value filtered concurrently with a reset may be compared with
+ * either the previous maximum or the reset value.
+ * </p>
+ * <p>
+ * This class only supports types A and B where B is a subclass of A, as with a MaxFilter.
+ * </p>
+ *
+ * @param <A> - the comparable type of input element to filter
+ * @param <B> - the type of output element produced by the filter
+ *
+ * @see filter.MaxFilter
+ *
+ * @author Shaun Howard
+ */
+public class ConcurrentMaxFilter<A extends Comparable<A>, B> implements Filter<A, B>, Resettable<A>,
+        Snapshottable {
+
+    // The maximum value found thus far.
+    private final AtomicReference<A> max = new AtomicReference<>();
+
+    /**
+     * Filters the maximum input value since the filter was initialized or
+     * was last reset.
+     *
+     * @param value - the value to filter
+     * @return the maximum seen by the filter thus far as type B
+     * @throws exception.NullValueException - thrown when the input value is null
+     */
+    @Override
+    public B filter(A value) throws NullValueException {
+        FilterValidator.throwExceptionWhenNull(value);
+        A current;
+        do {
+            current = max.get();
+            if (current != null && value.compareTo(current) <= 0) {
+                return cast(current);
+            }
+        } while (!max.compareAndSet(current, value));
+        return cast(value);
+    }
+
+    /**
+     * Resets the filter with the specified value.
+     *
+     * @param value - the value to reset the filter with
+     * @throws exception.NullValueException - thrown when the input value is null
+     */
+    @Override
+    public void reset(A value) throws NullValueException {
+        FilterValidator.throwExceptionWhenNull(value);
+        max.set(value);
+        FilterEvents.reset(this);
+    }
+
+    /**
+     * Writes the max value seen thus far to the specified output.
+     *
+     * @param out - the output the state is written to
+     * @throws java.io.IOException - if the state cannot be written or the value is of a type unsupported by
+     * FilterSnapshot.writeValue
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        FilterSnapshot.writeValue(out, max.get());
+    }
+
+    /**
+     * Replaces the max value seen thus far with the value read from the specified input.
+     *
+     * @param in - the input the state is read from
+     * @throws java.io.IOException - if the state cannot be read
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void readState(DataInput in) throws IOException {
+        max.set((A) FilterSnapshot.readValue(in));
+    }
+
+    /**
+     * Gets the max value thus far.
+     *
+     * @return the max value seen thus far
+     */
+    public A getMax() {
+        return max.get();
+    }
+
+    /**
+     * Casts the specified maximum to the output type.
+     *
+     * @param value - the maximum to cast
+     * @return the maximum as type B, or null if it cannot be cast
+     */
+    @SuppressWarnings("unchecked") // the class only supports types B of which the values of type A are instances
+    private B cast(A value) {
+        try {
+            return (B) value;
+        } catch (ClassCastException cce) {
+            System.err.println("Cannot cast properly with typing of ConcurrentMaxFilter.");
+            return null;
+        }
+    }
+}
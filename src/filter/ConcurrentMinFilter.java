@@ -0,0 +1,128 @@
+package filter;
+
+import exception.NullValueException;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>
+ * A ConcurrentMinFilter is a thread-safe implementation of the Filter interface which filters a given input value
+ * based on the minimum value seen since either instantiation or the last reset, exactly as a MinFilter does. Any
+ * number of threads may filter values at once without external synchronization. This class also implements the
+ * Resettable interface.
+ * </p>
+ * <p>
+ * The minimum is held in an AtomicReference and updated with a compare-and-set loop, so the filter never blocks. A
+ * value which is not less than the current minimum only reads the minimum, so once the minimum has settled most
+ * filter calls do not write shared memory at all. Each call returns the minimum immediately after its own value was
+ * considered, which is the minimum of its own value and every value filtered before it. Since the minimum does not
+ * depend on the order in which values are filtered, the final minimum is the same for any interleaving of calls.
+ * </p>
+ * <p>
+ * The specified input value must not be null or a checked NullValueException will be thrown. The reset method sets
+ * the minimum to the specified value at once, and a value filtered concurrently with a reset may be compared with
+ * either the previous minimum or the reset value.
+ * </p>
+ * <p>
+ * This class only supports types A and B where B is a subclass of A, as with a MinFilter.
+ * </p>
+ *
+ * @param <A> - the comparable type of input element to filter
+ * @param <B> - the type of output element produced by the filter
+ *
+ * @see filter.MinFilter
+ *
+ * @author Shaun Howard
+ */
+public class ConcurrentMinFilter<A extends Comparable<A>, B> implements Filter<A, B>, Resettable<A>,
+        Snapshottable {
+
+    // The minimum value found thus far.
+    private final AtomicReference<A> min = new AtomicReference<>();
+
+    /**
+     * Filters the minimum input value since the filter was initialized or
+     * was last reset.
+     *
+     * @param value - the value to filter
+     * @return the minimum seen by the filter thus far as type B
+     * @throws exception.NullValueException - thrown when the input value is null
+     */
+    @Override
+    public B filter(A value) throws NullValueException {
+        FilterValidator.throwExceptionWhenNull(value);
+        A current;
+        do {
+            current = min.get();
+            if (current != null && value.compareTo(current) >= 0) {
+                return cast(current);
+            }
+        } while (!min.compareAndSet(current, value));
+        return cast(value);
+    }
+
+    /**
+     * Resets the filter with the specified value.
+     *
+     * @param value - the value to reset the filter with
+     * @throws exception.NullValueException - thrown when the input value is null
+     */
+    @Override
+    public void reset(A value) throws NullValueException {
+        FilterValidator.throwExceptionWhenNull(value);
+        min.set(value);
+        FilterEvents.reset(this);
+    }
+
+    /**
+     * Writes the min value seen thus far to the specified output.
+     *
+     * @param out - the output the state is written to
+     * @throws java.io.IOException - if the state cannot be written or the value is of a type unsupported by
+     * FilterSnapshot.writeValue
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        FilterSnapshot.writeValue(out, min.get());
+    }
+
+    /**
+     * Replaces the min value seen thus far with the value read from the specified input.
+     *
+     * @param in - the input the state is read from
+     * @throws java.io.IOException - if the state cannot be read
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void readState(DataInput in) throws IOException {
+        min.set((A) FilterSnapshot.readValue(in));
+    }
+
+    /**
+     * Gets the min value thus far.
+     *
+     * @return the min value seen thus far
+     */
+    public A getMin() {
+        return min.get();
+    }
+
+    /**
+     * Casts the specified minimum to the output type.
+     *
+     * @param value - the minimum to cast
+     * @return the minimum as type B, or null if it cannot be cast
+     */
+    @SuppressWarnings("unchecked") // the class only supports types B of which the values of type A are instances
+    private B cast(A value) {
+        try {
+            return (B) value;
+        } catch (ClassCastException cce) {
+            System.err.println("Cannot cast properly with typing of ConcurrentMinFilter.");
+            return null;
+        }
+    }
+}
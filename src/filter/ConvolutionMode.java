@@ -0,0 +1,37 @@
+package filter;
+
+/**
+ * <p>
+ * A ConvolutionMode determines how the batch filter operation of a FIRFilter convolves its input values with its
+ * multipliers.
+ * </p>
+ * <p>
+ * DIRECT sums every multiplier times every input value with the FIR kernel, which produces exactly the values of
+ * filtering each value on its own and is the default. FFT convolves blocks of input values by fast Fourier transform
+ * with the overlap-save method, which costs O(log N) rather than O(N) time per value but may differ from the direct
+ * sums by floating point rounding within the tolerance documented by the FIRFilter class. AUTO chooses FFT for each
+ * batch when its estimated cost, given the number of multipliers and the number of values in the batch, is lower
+ * than the estimated cost of DIRECT, and DIRECT otherwise.
+ * </p>
+ *
+ * @see filter.FIRFilter
+ *
+ * @author Shaun Howard
+ */
+public enum ConvolutionMode {
+
+    /**
+     * Sums every multiplier times every input value.
+     */
+    DIRECT,
+
+    /**
+     * Convolves blocks of input values by fast Fourier transform.
+     */
+    FFT,
+
+    /**
+     * Chooses FFT for a batch when it is estimated to be faster than DIRECT.
+     */
+    AUTO
+}
@@ -0,0 +1,80 @@
+package filter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * <p>
+ * A DirectMemory class provides static methods which allocate and free the direct buffers used as off-heap storage
+ * by the off-heap windowed filters. A direct buffer is allocated outside of the Java heap, so the garbage collector
+ * neither copies nor scans its contents, and its values are stored in the native byte order of the platform.
+ * </p>
+ * <p>
+ * The memory of a direct buffer is normally released only once the buffer object itself is collected, which may not
+ * happen for a long time after it is last used. When the running JVM provides sun.misc.Unsafe.invokeCleaner, the
+ * free method releases the memory immediately; otherwise the memory is released when the buffer is collected. A freed
+ * buffer must never be used again, so each buffer must be freed by its only owner after the last access to it.
+ * </p>
+ *
+ * @author Shaun Howard
+ */
+final class DirectMemory {
+
+    // The method which releases the memory of a direct buffer, or null if the JVM does not provide one.
+    private static final MethodHandle INVOKE_CLEANER = findCleaner();
+
+    /**
+     * Prevents instantiation of this class of static methods.
+     */
+    private DirectMemory() {
+    }
+
+    /**
+     * Allocates a zeroed direct buffer of the specified number of bytes in the native byte order.
+     *
+     * @param bytes - the number of bytes of the buffer
+     * @return the direct buffer
+     */
+    static ByteBuffer allocate(int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Releases the memory of the specified direct buffer immediately when the JVM allows it.
+     * The buffer must not be used after this call.
+     *
+     * @param buffer - the direct buffer to free, which must not be a slice or a duplicate
+     */
+    static void free(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null || buffer == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invokeExact(buffer);
+        } catch (Throwable ignored) {
+            // The memory is released when the buffer is collected.
+        }
+    }
+
+    /**
+     * Looks up sun.misc.Unsafe.invokeCleaner bound to the Unsafe instance.
+     *
+     * @return the bound method, or null if it is not available
+     */
+    private static MethodHandle findCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            MethodHandle invokeCleaner = MethodHandles.lookup().findVirtual(unsafeClass, "invokeCleaner",
+                    MethodType.methodType(void.class, ByteBuffer.class));
+            return invokeCleaner.bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
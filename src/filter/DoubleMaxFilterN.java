@@ -0,0 +1,186 @@
+package filter;
+
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * <p>
+ * A DoubleMaxFilterN is the primitive double specialization of MaxFilterN<Double, Double>. It filters a given input
+ * value based on the maximum value seen in the last n filter calls since either instantiation or the last reset.
+ * Implements all ScalarFilter operations and all Resettable operations with a type of Double.
+ * </p>
+ * <p>
+ * The window of the last n filter input values is tracked by a DoubleSlidingExtremum, so neither the input values
+ * nor the filtered output values are boxed when filterDouble is called. Values are ordered as by Double.compareTo,
+ * and thus a DoubleMaxFilterN produces the same values as a MaxFilterN<Double, Double> of the same n.
+ * </p>
+ * <p>
+ * The filter and filterDouble operations take amortized constant time. All other operations take constant time.
+ * </p>
+ * <p>
+ * A DoubleMaxFilterN has a limitation on the size of n. When n is not within the range [1, INTEGER_MAX_VALUE],
+ * a checked IncorrectSizeException is thrown by the filter methods.
+ * </p>
+ *
+ * @see filter.MaxFilterN
+ *
+ * @author Shaun Howard
+ */
+public class DoubleMaxFilterN implements ScalarFilter, Resettable<Double>, Snapshottable {
+
+    // The number of previous inputs tracked.
+    private final int n;
+
+    // The sliding window maximum of the last n filter input values.
+    private final DoubleSlidingExtremum extremum;
+
+    /**
+     * Constructs a primitive Max Filter that only filters the last N
+     * filter input values.
+     *
+     * @param n - the number of input values to filter
+     */
+    public DoubleMaxFilterN(int n) {
+        this(n, new DoubleSlidingExtremum(n, true));
+    }
+
+    /**
+     * Constructs a primitive Max Filter of the last N filter input
+     * values which tracks them with the specified extremum.
+     *
+     * @param n - the number of input values to filter
+     * @param extremum - the empty sliding window maximum of the last n input values
+     */
+    DoubleMaxFilterN(int n, DoubleSlidingExtremum extremum) {
+        this.n = n;
+        this.extremum = extremum;
+        FilterEvents.constructed(this, n);
+    }
+
+    /**
+     * Filters the input value by returning the maximum value input since
+     * instantiation, the last N inputs or since the last reset.
+     *
+     * @param value - the value to filter
+     * @return the maximum value yet seen by the filter
+     * @throws exception.NullValueException - if the input value is null
+     * @throws exception.IncorrectSizeException - if n is not in the range [1, INTEGER_MAX_VALUE]
+     */
+    @Override
+    public Double filter(Double value) throws NullValueException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(value);
+        return filterDouble(value);
+    }
+
+    /**
+     * Filters the primitive input value by returning the maximum value input since
+     * instantiation, the last N inputs or since the last reset.
+     *
+     * @param value - the value to filter
+     * @return the maximum value yet seen by the filter
+     * @throws exception.IncorrectSizeException - if n is not in the range [1, INTEGER_MAX_VALUE]
+     */
+    @Override
+    public double filterDouble(double value) throws IncorrectSizeException {
+        FilterValidator.throwWhenOutOfRange(n, 1, Integer.MAX_VALUE);
+        return extremum.add(value);
+    }
+
+    /**
+     * Filters each value in the slice of the input array exactly as filterDouble(double value) does and
+     * writes each maximum to the slice of the output array. The value of n is validated once per call
+     * rather than once per value.
+     *
+     * @param values - the array of values to filter
+     * @param offset - the index of the first value to filter
+     * @param output - the array that receives the filtered values
+     * @param outputOffset - the index that receives the first filtered value
+     * @param length - the number of values to filter
+     * @throws exception.NullValueException - if either array is null
+     * @throws exception.IncorrectSizeException - if either slice does not lie within its array or n is not
+     * in the range [1, INTEGER_MAX_VALUE]
+     */
+    @Override
+    public void filter(double[] values, int offset, double[] output, int outputOffset, int length)
+            throws NullValueException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(values, output);
+        FilterValidator.throwWhenSliceOutOfRange(values.length, offset, length);
+        FilterValidator.throwWhenSliceOutOfRange(output.length, outputOffset, length);
+        FilterValidator.throwWhenOutOfRange(n, 1, Integer.MAX_VALUE);
+        FilterEvents.BatchEvent event = FilterEvents.beginBatch();
+        for (int j = 0; j < length; j++) {
+            output[outputOffset + j] = extremum.add(values[offset + j]);
+        }
+        FilterEvents.commitBatch(event, this, length);
+    }
+
+    /**
+     * Resets the filter by forgetting all previous input values.
+     */
+    @Override
+    public void reset() {
+        extremum.clear();
+        FilterEvents.reset(this);
+    }
+
+    /**
+     * Resets the filter with the given value.
+     *
+     * @param value - the value to reset the filter with
+     * @throws exception.NullValueException - if the input value is null
+     */
+    @Override
+    public void reset(Double value) throws NullValueException {
+        FilterValidator.throwExceptionWhenNull(value);
+        extremum.clear();
+        extremum.add(value);
+        FilterEvents.reset(this);
+    }
+
+    /**
+     * Writes n and the state of the sliding window maximum to the specified output.
+     *
+     * @param out - the output the state is written to
+     * @throws java.io.IOException - if the state cannot be written
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(n);
+        extremum.writeState(out);
+    }
+
+    /**
+     * Replaces the state of the sliding window maximum with the state read from the specified input.
+     *
+     * @param in - the input the state is read from
+     * @throws java.io.IOException - if the state cannot be read or was written by a filter of a different n
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        FilterSnapshot.check("n", in.readInt(), n);
+        extremum.readState(in);
+    }
+
+    /**
+     * Gets the maximum of the last n values input thus far.
+     *
+     * @return the maximum of the last n values or NaN if no values have been input since
+     * instantiation or the last reset
+     */
+    public double getMax() {
+        return extremum.getExtremum();
+    }
+
+    /**
+     * Gets the maximum count of values to filter, n.
+     *
+     * @return the maximum count of values to filter
+     */
+    public int getN() {
+        return n;
+    }
+}
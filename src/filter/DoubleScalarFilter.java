@@ -0,0 +1,42 @@
+package filter;
+
+import exception.EmptyListException;
+import exception.IncorrectSizeException;
+
+/**
+ * <p>
+ * A primitive scalar filter designed to produce a distinctly filtered double output value from a double input value.
+ * The DoubleScalarFilter interface is the unboxed counterpart of the ScalarFilter interface. A primitive double can
+ * never be null, so no input validation is necessary and neither the input nor the output value is boxed into a
+ * Double object when filtering.
+ * </p>
+ * <p>
+ * The DoubleScalarFilter interface provides one method to filter a specified double value. The method should perform
+ * within a maximum of linear time operation depending on the implementation. Every ScalarFilter implementation
+ * in the filter package implements this method natively and delegates the boxed filter method to it, so mixing calls
+ * to both methods on the same instance is permitted and produces the same results as calling either one alone.
+ * </p>
+ * <p>
+ * Checked EmptyListException and IncorrectSizeExceptions are thrown when the implementation utilizes
+ * a validation from the FilterValidator class. The earlier exception is thrown when the list operated on
+ * contains zero elements but should contain at least one element for proper filter operation. The latter exception is thrown when
+ * the values operated on are not within the ranges necessary for filter operation.
+ * </p>
+ *
+ * @see filter.ScalarFilter
+ *
+ * @author Shaun Howard
+ */
+public interface DoubleScalarFilter {
+
+    /**
+     * Returns a filtered double value from the specified double value without boxing either value.
+     * The method of filtering the specified value depends on the implementation.
+     *
+     * @param value - specified value to filter
+     * @return value filtered as a primitive double
+     * @throws exception.EmptyListException - if any lists under operation are empty
+     * @throws exception.IncorrectSizeException - if any variable sizes are out of necessary operating range
+     */
+    public double filterDouble(double value) throws EmptyListException, IncorrectSizeException;
+}
@@ -0,0 +1,270 @@
+package filter;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * <p>
+ * A DoubleSlidingExtremum tracks either the maximum or the minimum of the last n primitive double values added to it
+ * with a monotonic deque. It is the primitive specialization of SlidingExtremum and stores its candidate values in
+ * a primitive array, so adding a value never boxes it.
+ * </p>
+ * <p>
+ * Values are ordered as by Double.compare, which is the same order used by Double.compareTo. Thus NaN is considered
+ * greater than every other value and 0.0 is considered greater than -0.0, and a DoubleSlidingExtremum reports the
+ * same extremum as a SlidingExtremum of Double values would.
+ * </p>
+ * <p>
+ * The add operation runs in amortized constant time. All other operations run in constant time.
+ * </p>
+ * <p>
+ * The deque never holds more than n values. Its backing arrays start small and double in capacity as needed, up to
+ * the size of the window. A window size of less than one is treated as a window size of one.
+ * </p>
+ *
+ * @see filter.SlidingExtremum
+ *
+ * @author Shaun Howard
+ */
+public class DoubleSlidingExtremum {
+
+    // The initial capacity of the deque.
+    private static final int INITIAL_CAPACITY = 16;
+
+    // The number of most recent values the extremum is taken over.
+    private final int window;
+
+    // Whether the maximum (true) or the minimum (false) is tracked.
+    private final boolean maximum;
+
+    // The circular array of candidate values.
+    private double[] values;
+
+    // The sequence number of each candidate value.
+    private long[] sequence;
+
+    // The index of the front of the deque.
+    private int head;
+
+    // The number of candidate values in the deque.
+    private int size;
+
+    // The sequence number of the next value added.
+    private long next;
+
+    /**
+     * Constructs a DoubleSlidingExtremum over the last window values.
+     *
+     * @param window - the number of most recent values the extremum is taken over
+     * @param maximum - true to track the maximum, false to track the minimum
+     */
+    public DoubleSlidingExtremum(int window, boolean maximum) {
+        this.window = Math.max(window, 1);
+        this.maximum = maximum;
+        int capacity = Math.min(this.window, INITIAL_CAPACITY);
+        values = new double[capacity];
+        sequence = new long[capacity];
+    }
+
+    /**
+     * Constructs a DoubleSlidingExtremum over the last window values for a subclass which stores its
+     * candidates elsewhere by overriding the valueAt, sequenceAt, store, capacity and resize methods.
+     *
+     * @param window - the number of most recent values the extremum is taken over
+     * @param maximum - true to track the maximum, false to track the minimum
+     * @param capacity - the capacity of the backing arrays, or zero if the subclass provides its own storage
+     */
+    DoubleSlidingExtremum(int window, boolean maximum, int capacity) {
+        this.window = Math.max(window, 1);
+        this.maximum = maximum;
+        values = new double[capacity];
+        sequence = new long[capacity];
+    }
+
+    /**
+     * Adds the specified value to the window, evicting the oldest value once more than
+     * n values have been added, and returns the extremum of the window.
+     *
+     * @param value - the value to add to the window
+     * @return the extremum of the last n values added
+     */
+    public double add(double value) {
+        long evict = next - window;
+        while (size > 0 && sequenceAt(head) <= evict) {
+            head = wrap(head + 1);
+            size--;
+        }
+        if (maximum) {
+            while (size > 0 && Double.compare(valueAt(wrap(head + size - 1)), value) < 0) {
+                size--;
+            }
+        } else {
+            while (size > 0 && Double.compare(valueAt(wrap(head + size - 1)), value) > 0) {
+                size--;
+            }
+        }
+        if (size == capacity()) {
+            resize((int) Math.min((long) capacity() * 2, window), head, size);
+            head = 0;
+        }
+        store(wrap(head + size), value, next++);
+        size++;
+        return valueAt(head);
+    }
+
+    /**
+     * Gets the extremum of the last n values added.
+     *
+     * @return the extremum of the window or NaN if no value has been added since construction or the last clear
+     */
+    public double getExtremum() {
+        return size == 0 ? Double.NaN : valueAt(head);
+    }
+
+    /**
+     * Determines whether no value has been added since construction or the last clear.
+     *
+     * @return true if the window is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all values from the window.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+        next = 0;
+    }
+
+    /**
+     * Writes the size of the window, the sequence number of the next value and the candidate values of
+     * the deque with their sequence numbers, from front to back, to the specified output.
+     *
+     * @param out - the output the state is written to
+     * @throws java.io.IOException - if the state cannot be written
+     */
+    void writeState(DataOutput out) throws IOException {
+        out.writeInt(window);
+        out.writeLong(next);
+        out.writeInt(size);
+        for (int j = 0; j < size; j++) {
+            int slot = wrap(head + j);
+            out.writeDouble(valueAt(slot));
+            out.writeLong(sequenceAt(slot));
+        }
+    }
+
+    /**
+     * Replaces the deque with the state read from the specified input, which was written by
+     * writeState of a DoubleSlidingExtremum of the same window. The whole state is read before any of it is
+     * stored, so the deque is left unchanged when the state cannot be read.
+     *
+     * @param in - the input the state is read from
+     * @throws java.io.IOException - if the state cannot be read or its window does not match this window
+     */
+    void readState(DataInput in) throws IOException {
+        FilterSnapshot.check("window", in.readInt(), window);
+        long number = in.readLong();
+        int count = FilterSnapshot.readSize(in, window);
+        double[] restored = new double[count];
+        long[] numbers = new long[count];
+        for (int j = 0; j < count; j++) {
+            restored[j] = in.readDouble();
+            numbers[j] = in.readLong();
+        }
+        clear();
+        if (capacity() < count) {
+            resize(count, 0, 0);
+        }
+        for (int j = 0; j < count; j++) {
+            store(j, restored[j], numbers[j]);
+        }
+        size = count;
+        next = number;
+    }
+
+    /**
+     * Gets the number of most recent values the extremum is taken over.
+     *
+     * @return the size of the window
+     */
+    public int getWindow() {
+        return window;
+    }
+
+    /**
+     * Gets the candidate value stored in the specified slot of the deque.
+     *
+     * @param slot - the index within the backing arrays
+     * @return the value stored in the slot
+     */
+    double valueAt(int slot) {
+        return values[slot];
+    }
+
+    /**
+     * Gets the sequence number of the candidate value stored in the specified slot of the deque.
+     *
+     * @param slot - the index within the backing arrays
+     * @return the sequence number stored in the slot
+     */
+    long sequenceAt(int slot) {
+        return sequence[slot];
+    }
+
+    /**
+     * Stores the specified candidate value and its sequence number in the specified slot of the deque.
+     *
+     * @param slot - the index within the backing arrays
+     * @param value - the candidate value
+     * @param number - the sequence number of the value
+     */
+    void store(int slot, double value, long number) {
+        values[slot] = value;
+        sequence[slot] = number;
+    }
+
+    /**
+     * Gets the number of slots of the deque.
+     *
+     * @return the capacity of the backing arrays
+     */
+    int capacity() {
+        return values.length;
+    }
+
+    /**
+     * Replaces the backing arrays with arrays of the specified capacity which hold, from their first slot,
+     * the specified number of candidates stored in order from the specified slot of the current arrays.
+     *
+     * @param capacity - the capacity of the new arrays
+     * @param head - the slot of the front of the deque in the current arrays
+     * @param size - the number of candidate values
+     */
+    void resize(int capacity, int head, int size) {
+        double[] grownValues = new double[capacity];
+        long[] grownSequence = new long[capacity];
+        for (int j = 0; j < size; j++) {
+            int slot = wrap(head + j);
+            grownValues[j] = values[slot];
+            grownSequence[j] = sequence[slot];
+        }
+        values = grownValues;
+        sequence = grownSequence;
+    }
+
+    /**
+     * Wraps an index that may have passed the end of the backing arrays.
+     *
+     * @param index - an index in the range [0, 2 * capacity)
+     * @return the index within the backing arrays
+     */
+    private int wrap(int index) {
+        int capacity = capacity();
+        return index < capacity ? index : index - capacity;
+    }
+}
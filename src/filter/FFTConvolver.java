@@ -0,0 +1,226 @@
+package filter;
+
+/**
+ * <p>
+ * An FFTConvolver convolves blocks of contiguous input values with a fixed list of multipliers by fast Fourier
+ * transform, using the overlap-save method. It computes the same outputs as a FIRKernel, where output j is the sum of
+ * coefficients[n] * signal[last + j - n] over every multiplier n, up to floating point rounding.
+ * </p>
+ * <p>
+ * The transform size L is the smallest power of two which is at least four times the number of multipliers N, and
+ * each segment of L input values produces B = L - N + 1 outputs. The spectrum of the multipliers is computed once, at
+ * construction. Since the multipliers are real, two consecutive segments are transformed together as the real and
+ * imaginary parts of one complex sequence, multiplied by the spectrum and transformed back, after which the real
+ * part holds the outputs of the first segment and the imaginary part holds the outputs of the second. Thus, each pair
+ * of segments costs one forward and one inverse complex transform of size L, for a cost of O(log N) per output.
+ * </p>
+ * <p>
+ * The transform is an iterative radix-2 transform with precomputed twiddle factors. The rounding error of each
+ * output grows with log2(L) and with the magnitude of the products summed, as documented by the FIRFilter class.
+ * </p>
+ *
+ * @author Shaun Howard
+ */
+final class FFTConvolver {
+
+    // The half length of a butterfly run from which the transform visits the values of each run in order.
+    private static final int CONTIGUOUS_HALF = 16;
+
+    // The number of multipliers.
+    private final int taps;
+
+    // The size of the transform.
+    private final int size;
+
+    // The number of outputs produced by each segment.
+    private final int step;
+
+    // The real part of the spectrum of the multipliers.
+    private final double[] spectrumRe;
+
+    // The imaginary part of the spectrum of the multipliers.
+    private final double[] spectrumIm;
+
+    // The cosines of the twiddle factors.
+    private final double[] cos;
+
+    // The sines of the twiddle factors.
+    private final double[] sin;
+
+    // The sines of the conjugate twiddle factors of the inverse transform.
+    private final double[] inverseSin;
+
+    // The bit reversal permutation of the transform indices.
+    private final int[] reversed;
+
+    // The real part of the sequence being transformed.
+    private final double[] re;
+
+    // The imaginary part of the sequence being transformed.
+    private final double[] im;
+
+    /**
+     * Constructs an FFTConvolver for the specified multipliers.
+     *
+     * @param coefficients - the multipliers of the convolution
+     * @param taps - the number of multipliers, at least one
+     */
+    FFTConvolver(double[] coefficients, int taps) {
+        this.taps = taps;
+        size = transformSize(taps);
+        step = size - taps + 1;
+        cos = new double[size / 2];
+        sin = new double[size / 2];
+        inverseSin = new double[size / 2];
+        for (int k = 0; k < size / 2; k++) {
+            double angle = -2 * Math.PI * k / size;
+            cos[k] = Math.cos(angle);
+            sin[k] = Math.sin(angle);
+            inverseSin[k] = -sin[k];
+        }
+        reversed = new int[size];
+        int bits = Integer.numberOfTrailingZeros(size);
+        for (int k = 0; k < size; k++) {
+            reversed[k] = bits == 0 ? 0 : Integer.reverse(k) >>> (32 - bits);
+        }
+        re = new double[size];
+        im = new double[size];
+        spectrumRe = new double[size];
+        spectrumIm = new double[size];
+        System.arraycopy(coefficients, 0, spectrumRe, 0, taps);
+        transform(spectrumRe, spectrumIm, false);
+    }
+
+    /**
+     * Gets the size of the transform used for the specified number of multipliers, which is the
+     * smallest power of two that is at least four times the number of multipliers.
+     *
+     * @param taps - the number of multipliers
+     * @return the size of the transform
+     */
+    static int transformSize(int taps) {
+        return Math.max(4, Integer.highestOneBit(4 * taps - 1) << 1);
+    }
+
+    /**
+     * Gets the number of outputs produced by each pair of segments, which is the largest
+     * number of outputs computed with a single pair of transforms.
+     *
+     * @return the number of outputs produced by each pair of segments
+     */
+    int getBlock() {
+        return 2 * step;
+    }
+
+    /**
+     * Computes length outputs of the convolution of the multipliers with the signal, where output j is the
+     * sum of coefficients[n] * signal[last + j - n] over n from 0 to taps - 1. The signal must hold
+     * taps - 1 values before index last.
+     *
+     * @param signal - the contiguous input values
+     * @param last - the index of the newest input value of the first output
+     * @param sums - the array that receives the outputs
+     * @param length - the number of outputs
+     */
+    void convolve(double[] signal, int last, double[] sums, int length) {
+        int history = taps - 1;
+        for (int start = 0; start < length; start += 2 * step) {
+            int first = Math.min(step, length - start);
+            int second = Math.min(step, length - start - first);
+            load(re, signal, last + start - history, history + first);
+            load(im, signal, last + start + first - history, second == 0 ? 0 : history + second);
+            transform(re, im, false);
+            for (int k = 0; k < size; k++) {
+                double real = re[k] * spectrumRe[k] - im[k] * spectrumIm[k];
+                im[k] = re[k] * spectrumIm[k] + im[k] * spectrumRe[k];
+                re[k] = real;
+            }
+            transform(re, im, true);
+            double scale = 1.0 / size;
+            for (int j = 0; j < first; j++) {
+                sums[start + j] = re[history + j] * scale;
+            }
+            for (int j = 0; j < second; j++) {
+                sums[start + first + j] = im[history + j] * scale;
+            }
+        }
+    }
+
+    /**
+     * Copies the specified number of signal values into the segment and zeroes the rest of it.
+     *
+     * @param segment - the segment to load
+     * @param signal - the contiguous input values
+     * @param from - the index of the first signal value to copy
+     * @param count - the number of signal values to copy
+     */
+    private void load(double[] segment, double[] signal, int from, int count) {
+        System.arraycopy(signal, from, segment, 0, count);
+        for (int k = count; k < size; k++) {
+            segment[k] = 0;
+        }
+    }
+
+    /**
+     * Transforms the complex sequence in place with an iterative radix-2 fast Fourier transform. The inverse
+     * transform uses conjugate twiddle factors and is not scaled.
+     *
+     * @param re - the real part of the sequence
+     * @param im - the imaginary part of the sequence
+     * @param inverse - whether to compute the inverse transform
+     */
+    private void transform(double[] re, double[] im, boolean inverse) {
+        for (int k = 0; k < size; k++) {
+            int r = reversed[k];
+            if (r > k) {
+                double swap = re[k];
+                re[k] = re[r];
+                re[r] = swap;
+                swap = im[k];
+                im[k] = im[r];
+                im[r] = swap;
+            }
+        }
+        double[] sines = inverse ? inverseSin : sin;
+        for (int length = 2; length <= size; length <<= 1) {
+            int half = length >> 1;
+            int stride = size / length;
+            if (half < CONTIGUOUS_HALF) {
+                //few twiddle factors, so apply each one to every butterfly that uses it
+                for (int k = 0, twiddle = 0; k < half; k++, twiddle += stride) {
+                    double wr = cos[twiddle];
+                    double wi = sines[twiddle];
+                    for (int even = k; even < size; even += length) {
+                        butterfly(re, im, even, even + half, wr, wi);
+                    }
+                }
+            } else {
+                //long runs of butterflies, so visit the values of each run in order
+                for (int start = 0; start < size; start += length) {
+                    for (int k = 0, twiddle = 0; k < half; k++, twiddle += stride) {
+                        butterfly(re, im, start + k, start + k + half, cos[twiddle], sines[twiddle]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Combines the values at the even and odd indices with the twiddle factor wr + i * wi.
+     *
+     * @param re - the real part of the sequence
+     * @param im - the imaginary part of the sequence
+     * @param even - the index of the first value of the butterfly
+     * @param odd - the index of the second value of the butterfly
+     * @param wr - the real part of the twiddle factor
+     * @param wi - the imaginary part of the twiddle factor
+     */
+    private static void butterfly(double[] re, double[] im, int even, int odd, double wr, double wi) {
+        double tr = re[odd] * wr - im[odd] * wi;
+        double ti = re[odd] * wi + im[odd] * wr;
+        re[odd] = re[even] - tr;
+        im[odd] = im[even] - ti;
+        re[even] += tr;
+        im[even] += ti;
+    }
+}
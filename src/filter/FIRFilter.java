@@ -1,5 +1,8 @@
 package filter;
 
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+
 import java.util.ArrayList;
 
 /**
@@ -14,6 +17,23 @@ import java.util.ArrayList;
  * No operations from ScalarLinearFilter are overridden in a FIRFilter, and thus, a FIRFilter behaves like a
  * ScalarLinearFilter.
  * </p>
+ * <p>
+ * Since a FIRFilter has no output multipliers, its batch filter operation convolves blocks of input values with the
+ * FIR kernel, which uses the Java Vector API when the jdk.incubator.vector module is available and a scalar loop
+ * otherwise. Either kernel produces exactly the values of filtering each value on its own.
+ * </p>
+ * <p>
+ * Long multiplier lists may instead be convolved by fast Fourier transform with the overlap-save method by setting
+ * the convolution mode to FFT, or to AUTO to let each batch choose whichever of the two is estimated to be faster
+ * given N and the number of values in the batch. An FFT convolution produces each output y(i) within a tolerance of
+ * 1e-12 * (|b(0)| +...+ |b(N)|) * max(|x(i)|,..., |x(i - N)|) of the direct sum, which for multipliers and
+ * input values of similar magnitudes amounts to an error of a few units in the last place. The first N - 1 values
+ * filtered after instantiation or a reset, and every value filtered by the filter methods for single values, are
+ * always summed directly.
+ * </p>
+ * <p>
+ * A FIRFilter constructed with a CoefficientSet shares the multipliers of the set with every other filter of the set.
+ * </p>
  *
  * @see filter.ScalarLinearFilter
  *
@@ -35,4 +55,61 @@ public class FIRFilter extends ScalarLinearFilter {
     public FIRFilter(int N, ArrayList<Double> b) {
         super(0, N, new ArrayList<Double>(), b);
     }
+
+    /**
+     * Constructs a FIRFilter with the input boundary coefficient and multipliers of the specified
+     * CoefficientSet, which the filter shares rather than copies.
+     *
+     * @param coefficients - the shared multipliers of the filter
+     * @throws exception.NullValueException - if the coefficient set is null
+     * @throws exception.IncorrectSizeException - if the output boundary coefficient M of the set is not 0 or 1
+     */
+    public FIRFilter(CoefficientSet coefficients) throws NullValueException, IncorrectSizeException {
+        super(finite(coefficients));
+    }
+
+    /**
+     * Validates that the specified CoefficientSet has no output multipliers other than a(0), which is ignored.
+     *
+     * @param coefficients - the coefficient set to validate
+     * @return the coefficient set
+     * @throws exception.NullValueException - if the coefficient set is null
+     * @throws exception.IncorrectSizeException - if the output boundary coefficient M of the set is not 0 or 1
+     */
+    private static CoefficientSet finite(CoefficientSet coefficients) throws NullValueException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(coefficients);
+        FilterValidator.throwWhenOutOfRange(coefficients.getM(), 0, 1);
+        return coefficients;
+    }
+
+    /**
+     * Sets how the batch filter operation convolves input values. The default mode, DIRECT,
+     * produces exactly the values of filtering each value on its own.
+     *
+     * @param mode - the convolution mode
+     * @throws exception.NullValueException - if the convolution mode is null
+     */
+    public void setConvolutionMode(ConvolutionMode mode) throws NullValueException {
+        FilterValidator.throwExceptionWhenNull(mode);
+        setConvolution(mode);
+    }
+
+    /**
+     * Gets how the batch filter operation convolves input values.
+     *
+     * @return the convolution mode
+     */
+    public ConvolutionMode getConvolutionMode() {
+        return getConvolution();
+    }
+
+    /**
+     * Gets the name of the FIR kernel the batch filter operation of every FIRFilter convolves with, which
+     * is "scalar" for the scalar kernel and begins with "vector" for the Vector API kernel.
+     *
+     * @return the name of the FIR kernel in use
+     */
+    public static String getKernelName() {
+        return FIRKernel.INSTANCE.getName();
+    }
 }
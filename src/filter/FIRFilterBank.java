@@ -0,0 +1,52 @@
+package filter;
+
+import exception.EmptyListException;
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * A FIRFilterBank is the FilterBank equivalent of a FIRFilter. It is a LinearFilterBank with no multipliers for
+ * output, so the output boundary coefficient M is zero and no sum of multiplied output values is calculated. Each
+ * channel produces exactly the values a FIRFilter constructed with the same input boundary coefficient and
+ * multiplier list would produce for the values of that channel.
+ * </p>
+ *
+ * @see filter.FIRFilter
+ *
+ * @author Shaun Howard
+ */
+public class FIRFilterBank extends LinearFilterBank {
+
+    /**
+     * Constructs a FIRFilterBank of the specified number of channels with input
+     * boundary coefficient N and list of multipliers b for input.
+     *
+     * @param channels - the number of channels filtered
+     * @param N - the input boundary coefficient
+     * @param b - the multiplier list for input
+     * @throws exception.NullValueException - if multiplier list b is null or contains a null value
+     * @throws exception.EmptyListException - if multiplier list b is empty
+     * @throws exception.IncorrectSizeException - if channels is not in the range [1, INTEGER_MAX_VALUE] or the size
+     * of multiplier list b does not equal N
+     */
+    public FIRFilterBank(int channels, int N, List<Double> b)
+            throws NullValueException, EmptyListException, IncorrectSizeException {
+        super(channels, 0, N, new ArrayList<Double>(), b);
+    }
+
+    /**
+     * Constructs a FIRFilterBank of the specified number of channels with the array of multipliers
+     * b for input, whose length is the input boundary coefficient N.
+     *
+     * @param channels - the number of channels filtered
+     * @param bCoefficients - the non-empty multipliers for input
+     * @throws exception.IncorrectSizeException - if channels is not in the range [1, INTEGER_MAX_VALUE]
+     */
+    FIRFilterBank(int channels, double[] bCoefficients) throws IncorrectSizeException {
+        super(channels, new double[0], bCoefficients);
+    }
+}
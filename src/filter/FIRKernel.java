@@ -0,0 +1,108 @@
+package filter;
+
+/**
+ * <p>
+ * A FIRKernel is the engine that convolves a block of contiguous input values with the input multipliers of a
+ * ScalarLinearFilter which has no output multipliers, such as a FIRFilter or a BinomialFilter. It computes many
+ * outputs per pass over the multipliers: each multiplier is loaded once and applied to a run of adjacent outputs,
+ * so the loop over the outputs runs over adjacent values of two arrays and can be vectorized.
+ * </p>
+ * <p>
+ * Every output is summed in order of increasing multiplier index with a separate multiplication and addition, in
+ * exactly the order the ScalarLinearFilter sums a single output, so a kernel produces the same values as filtering
+ * each value on its own. Vectorizing across outputs rather than across multipliers is what keeps the values
+ * identical, since the sum of each output is never reassociated.
+ * </p>
+ * <p>
+ * The kernel in use is chosen once, when this class is initialized. When the classes of the jdk.incubator.vector
+ * module and the VectorFIRKernel class are both available, as when the JVM runs with the option
+ * --add-modules jdk.incubator.vector and the optional incubator sources are compiled, the VectorFIRKernel is used.
+ * Otherwise, or when the system property filter.vectorKernel is set to false, a scalar kernel which accumulates
+ * four adjacent outputs at a time in registers is used.
+ * </p>
+ *
+ * @author Shaun Howard
+ */
+abstract class FIRKernel {
+
+    // The kernel used by every FIR filter.
+    static final FIRKernel INSTANCE = load();
+
+    /**
+     * Computes length outputs of the convolution of the multipliers with the signal, where output j is
+     * the sum of coefficients[n] * signal[last + j - n] over n from 0 to taps - 1, summed in order of
+     * increasing n starting from zero. The signal must hold taps - 1 values before index last.
+     *
+     * @param coefficients - the multipliers of the convolution
+     * @param taps - the number of multipliers
+     * @param signal - the contiguous input values
+     * @param last - the index of the newest input value of the first output
+     * @param sums - the array that receives the outputs
+     * @param length - the number of outputs
+     */
+    abstract void convolve(double[] coefficients, int taps, double[] signal, int last, double[] sums, int length);
+
+    /**
+     * Gets the name of the kernel.
+     *
+     * @return the name of the kernel
+     */
+    abstract String getName();
+
+    /**
+     * Loads the vector kernel when it is enabled and available, otherwise creates the scalar kernel.
+     *
+     * @return the kernel to use
+     */
+    private static FIRKernel load() {
+        if (Boolean.parseBoolean(System.getProperty("filter.vectorKernel", "true"))) {
+            try {
+                return (FIRKernel) Class.forName("filter.VectorFIRKernel").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError unavailable) {
+                //the incubator module or the vector kernel was not found, so fall back to the scalar kernel
+            }
+        }
+        return new Scalar();
+    }
+
+    /**
+     * The scalar kernel, which accumulates four adjacent outputs at a time in registers so that each
+     * multiplier is loaded once for every four outputs.
+     */
+    static final class Scalar extends FIRKernel {
+
+        @Override
+        void convolve(double[] coefficients, int taps, double[] signal, int last, double[] sums, int length) {
+            int j = 0;
+            for (; j <= length - 4; j += 4) {
+                double sum0 = 0;
+                double sum1 = 0;
+                double sum2 = 0;
+                double sum3 = 0;
+                for (int n = 0, index = last + j; n < taps; n++, index--) {
+                    double coefficient = coefficients[n];
+                    sum0 += coefficient * signal[index];
+                    sum1 += coefficient * signal[index + 1];
+                    sum2 += coefficient * signal[index + 2];
+                    sum3 += coefficient * signal[index + 3];
+                }
+                sums[j] = sum0;
+                sums[j + 1] = sum1;
+                sums[j + 2] = sum2;
+                sums[j + 3] = sum3;
+            }
+            for (; j < length; j++) {
+                double sum = 0;
+                for (int n = 0, index = last + j; n < taps; n++, index--) {
+                    sum += coefficients[n] * signal[index];
+                }
+                sums[j] = sum;
+            }
+        }
+
+        @Override
+        String getName() {
+            return "scalar";
+        }
+    }
+}
@@ -14,7 +14,8 @@ import exception.NullValueException;
  * filtered value.
  * </p>
  * <p>
- * The Filter interface provides one method to filter a specified, comparable value. From a performance
+ * The Filter interface provides one method to filter a specified, comparable value and two batch methods which
+ * filter an array or a slice of an array of values into a caller-supplied output array. From a performance
  * standpoint, the method will perform within a maximum of linear time operation depending on the implementation.
  * The value returned by the filter method will have the precision of the cast from type A to type B. A loss of
  * precision is possible when casting from a wider type to narrower type.
@@ -53,4 +54,54 @@ public interface Filter<A extends Comparable<A>, B> {
      */
     public B filter(A value) throws NullValueException, EmptyListException, IncorrectSizeException;
 
+    /**
+     * Filters every value of the specified input array into the same index of the specified output array.
+     * The result is identical to calling filter(A value) once per input value in index order.
+     *
+     * @param values - the values to filter
+     * @param output - the array that receives the filtered values, at least as long as values
+     * @throws exception.NullValueException - if either array or any input value is null
+     * @throws exception.EmptyListException - if any lists under operation are empty
+     * @throws exception.IncorrectSizeException - if the output array is shorter than the input array or any
+     * variable sizes are out of necessary operating range
+     */
+    public default void filter(A[] values, B[] output)
+            throws NullValueException, EmptyListException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(values, output);
+        filter(values, 0, output, 0, values.length);
+    }
+
+    /**
+     * <p>
+     * Filters the slice of length values of the specified input array starting at offset into the slice of the
+     * specified output array starting at outputOffset. The result is identical to calling filter(A value) once
+     * per input value in index order. Implementations may override this method with a loop that avoids the
+     * per-value overhead of the single value filter method.
+     * </p>
+     * <p>
+     * Filtering stops at the first input value that causes an exception. Every value before it has already been
+     * filtered and written to the output array. The output slice may be the same as the input slice.
+     * </p>
+     *
+     * @param values - the array of values to filter
+     * @param offset - the index of the first value to filter
+     * @param output - the array that receives the filtered values
+     * @param outputOffset - the index that receives the first filtered value
+     * @param length - the number of values to filter
+     * @throws exception.NullValueException - if either array or any input value is null
+     * @throws exception.EmptyListException - if any lists under operation are empty
+     * @throws exception.IncorrectSizeException - if either slice does not lie within its array or any
+     * variable sizes are out of necessary operating range
+     */
+    public default void filter(A[] values, int offset, B[] output, int outputOffset, int length)
+            throws NullValueException, EmptyListException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(values, output);
+        FilterValidator.throwWhenSliceOutOfRange(values.length, offset, length);
+        FilterValidator.throwWhenSliceOutOfRange(output.length, outputOffset, length);
+        FilterEvents.BatchEvent event = FilterEvents.beginBatch();
+        for (int j = 0; j < length; j++) {
+            output[outputOffset + j] = filter(values[offset + j]);
+        }
+        FilterEvents.commitBatch(event, this, length);
+    }
 }
@@ -0,0 +1,131 @@
+package filter;
+
+import exception.EmptyListException;
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+import exception.UncheckedFilterException;
+
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ * A FilterAdapters class provides static methods which expose any Filter, ScalarFilter or FilterCascade through the
+ * functional interfaces of java.util.function and as a stage of a java.util.stream pipeline. The checked
+ * NullValueException, EmptyListException and IncorrectSizeException thrown by a filter cannot be thrown through these
+ * interfaces, so each one is wrapped in an unchecked UncheckedFilterException whose cause is the checked exception.
+ * </p>
+ * <p>
+ * A ScalarFilter is adapted through its filterDouble method, so a DoubleUnaryOperator or DoubleStream stage built from
+ * a ScalarFilter never boxes a value. Every other Filter<Double, Double>, such as a FilterCascade of ScalarFilters, is
+ * adapted through its filter method and boxes each value.
+ * </p>
+ * <p>
+ * Filters are stateful, so each output depends on the values filtered before it. Thus, a stream stage built by one of
+ * the filter methods makes its stream sequential and filters the values in encounter order, and an adapted filter
+ * must not be shared by several streams or threads at once. Neither the adapters nor the stream stages copy the filter,
+ * so the filter may still be reset or inspected directly between uses.
+ * </p>
+ *
+ * @see filter.FilterProcessor
+ *
+ * @author Shaun Howard
+ */
+public final class FilterAdapters {
+
+    /**
+     * Prevents instantiation of this class of static methods.
+     */
+    private FilterAdapters() {
+    }
+
+    /**
+     * Adapts the specified ScalarFilter to a DoubleUnaryOperator which filters each operand with
+     * filterDouble(double value), without boxing the operand or the result.
+     *
+     * @param filter - the filter to adapt
+     * @return an operator which filters each operand with the filter
+     * @throws exception.NullValueException - if the filter is null
+     */
+    public static DoubleUnaryOperator asOperator(ScalarFilter filter) throws NullValueException {
+        FilterValidator.throwExceptionWhenNull(filter);
+        return value -> {
+            try {
+                return filter.filterDouble(value);
+            } catch (EmptyListException | IncorrectSizeException e) {
+                throw new UncheckedFilterException(e);
+            }
+        };
+    }
+
+    /**
+     * Adapts the specified Filter of Doubles, such as a FilterCascade, to a DoubleUnaryOperator which
+     * filters each operand with filter(Double value).
+     *
+     * @param filter - the filter to adapt
+     * @return an operator which filters each operand with the filter
+     * @throws exception.NullValueException - if the filter is null
+     */
+    public static DoubleUnaryOperator asOperator(Filter<Double, Double> filter) throws NullValueException {
+        FilterValidator.throwExceptionWhenNull(filter);
+        if (filter instanceof ScalarFilter) {
+            return asOperator((ScalarFilter) filter);
+        }
+        Function<Double, Double> function = asFunction(filter);
+        return function::apply;
+    }
+
+    /**
+     * Adapts the specified Filter to a Function which filters each argument with filter(A value).
+     *
+     * @param filter - the filter to adapt
+     * @param <A> - the comparable type of input element to filter
+     * @param <B> - the type of output element produced by the filter
+     * @return a function which filters each argument with the filter
+     * @throws exception.NullValueException - if the filter is null
+     */
+    public static <A extends Comparable<A>, B> Function<A, B> asFunction(Filter<A, B> filter)
+            throws NullValueException {
+        FilterValidator.throwExceptionWhenNull(filter);
+        return value -> {
+            try {
+                return filter.filter(value);
+            } catch (NullValueException | EmptyListException | IncorrectSizeException e) {
+                throw new UncheckedFilterException(e);
+            }
+        };
+    }
+
+    /**
+     * Adds a stage to the specified DoubleStream which filters each value with the specified ScalarFilter.
+     * The stream is made sequential so that the values are filtered one at a time in encounter order.
+     *
+     * @param stream - the stream of values to filter
+     * @param filter - the filter of the stage
+     * @return a sequential stream of the filtered values
+     * @throws exception.NullValueException - if the stream or the filter is null
+     */
+    public static DoubleStream filter(DoubleStream stream, ScalarFilter filter) throws NullValueException {
+        FilterValidator.throwExceptionWhenNull(stream, filter);
+        return stream.sequential().map(asOperator(filter));
+    }
+
+    /**
+     * Adds a stage to the specified Stream which filters each value with the specified Filter.
+     * The stream is made sequential so that the values are filtered one at a time in encounter order.
+     *
+     * @param stream - the stream of values to filter
+     * @param filter - the filter of the stage
+     * @param <A> - the comparable type of input element to filter
+     * @param <B> - the type of output element produced by the filter
+     * @return a sequential stream of the filtered values
+     * @throws exception.NullValueException - if the stream or the filter is null
+     */
+    public static <A extends Comparable<A>, B> Stream<B> filter(Stream<A> stream, Filter<A, B> filter)
+            throws NullValueException {
+        FilterValidator.throwExceptionWhenNull(stream, filter);
+        return stream.sequential().map(asFunction(filter));
+    }
+}
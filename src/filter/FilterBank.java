@@ -0,0 +1,160 @@
+package filter;
+
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+
+/**
+ * <p>
+ * A FilterBank applies the same scalar filter to a fixed number of independent channels. Rather than keeping one
+ * filter object per channel, each with its own state, a FilterBank keeps the state of every channel in contiguous
+ * primitive arrays indexed by channel, a structure-of-arrays layout, and advances every channel by one time step in
+ * a single loop over the channels. That loop has no branches or calls per channel, so the JIT compiler can unroll
+ * and vectorize it.
+ * </p>
+ * <p>
+ * A frame is one value for each channel at the same time step. Frames may be filtered one at a time, as a block of
+ * interleaved frames, where the values of each frame are adjacent in a single array, or as a block of planar frames,
+ * where the values of each channel are adjacent in an array of their own. Interleaved frames are filtered directly.
+ * Planar frames are gathered into an interleaved frame one time step at a time, so interleaved frames are the faster
+ * layout. Each channel of a FilterBank produces exactly the values the equivalent scalar filter would produce.
+ * </p>
+ * <p>
+ * An output array may be the same array as the input array with the same offset, in which case the values are
+ * filtered in place. The number of channels is specified at construction time and must be within the range
+ * [1, INTEGER_MAX_VALUE], otherwise a checked IncorrectSizeException is thrown. A FilterBank is not thread-safe.
+ * </p>
+ *
+ * @see filter.FIRFilterBank
+ * @see filter.AveragingFilterBank
+ *
+ * @author Shaun Howard
+ */
+public abstract class FilterBank {
+
+    // The number of channels filtered.
+    private final int channels;
+
+    // The frame planar input values are gathered into.
+    private final double[] inputFrame;
+
+    // The frame planar output values are scattered from.
+    private final double[] outputFrame;
+
+    /**
+     * Constructs a FilterBank with the specified number of channels.
+     *
+     * @param channels - the number of channels filtered
+     * @throws exception.IncorrectSizeException - if channels is not in the range [1, INTEGER_MAX_VALUE]
+     */
+    protected FilterBank(int channels) throws IncorrectSizeException {
+        FilterValidator.throwWhenOutOfRange(channels, 1, Integer.MAX_VALUE);
+        this.channels = channels;
+        inputFrame = new double[channels];
+        outputFrame = new double[channels];
+        FilterEvents.constructed(this, channels);
+    }
+
+    /**
+     * Filters a single frame of one value for each channel, where the value of channel c is at index c of the
+     * input frame, and writes the filtered value of channel c to index c of the output frame.
+     *
+     * @param frame - the frame of values to filter
+     * @param output - the frame that receives the filtered values
+     * @throws exception.NullValueException - if either frame is null
+     * @throws exception.IncorrectSizeException - if either frame has fewer values than there are channels
+     */
+    public void filterFrame(double[] frame, double[] output) throws NullValueException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(frame, output);
+        FilterValidator.throwWhenSliceOutOfRange(frame.length, 0, channels);
+        FilterValidator.throwWhenSliceOutOfRange(output.length, 0, channels);
+        advance(frame, 0, output, 0);
+    }
+
+    /**
+     * Filters a block of interleaved frames, where the value of channel c at time step t is at index
+     * offset + t * channels + c, and writes the filtered values to the output array with the same layout.
+     *
+     * @param values - the array of interleaved frames to filter
+     * @param offset - the index of the first value of the first frame
+     * @param output - the array that receives the filtered frames
+     * @param outputOffset - the index that receives the first value of the first filtered frame
+     * @param frames - the number of frames to filter
+     * @throws exception.NullValueException - if either array is null
+     * @throws exception.IncorrectSizeException - if either block of frames does not lie within its array
+     */
+    public void filterInterleaved(double[] values, int offset, double[] output, int outputOffset, int frames)
+            throws NullValueException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(values, output);
+        FilterValidator.throwWhenOutOfRange(frames, 0, Integer.MAX_VALUE / channels);
+        int length = frames * channels;
+        FilterValidator.throwWhenSliceOutOfRange(values.length, offset, length);
+        FilterValidator.throwWhenSliceOutOfRange(output.length, outputOffset, length);
+        FilterEvents.BatchEvent event = FilterEvents.beginBatch();
+        for (int t = 0; t < length; t += channels) {
+            advance(values, offset + t, output, outputOffset + t);
+        }
+        FilterEvents.commitBatch(event, this, length);
+    }
+
+    /**
+     * Filters a block of planar frames, where the value of channel c at time step t is at index offset + t of
+     * array c, and writes the filtered values to the output arrays with the same layout.
+     *
+     * @param values - the array of channel arrays to filter, with one array per channel
+     * @param offset - the index of the first value to filter in each channel array
+     * @param output - the array of channel arrays that receive the filtered values, with one array per channel
+     * @param outputOffset - the index that receives the first filtered value in each channel array
+     * @param frames - the number of frames to filter
+     * @throws exception.NullValueException - if either array or any channel array is null
+     * @throws exception.IncorrectSizeException - if there are fewer arrays than channels or the block of frames
+     * does not lie within every channel array
+     */
+    public void filterPlanar(double[][] values, int offset, double[][] output, int outputOffset, int frames)
+            throws NullValueException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(values, output);
+        FilterValidator.throwWhenSliceOutOfRange(values.length, 0, channels);
+        FilterValidator.throwWhenSliceOutOfRange(output.length, 0, channels);
+        for (int c = 0; c < channels; c++) {
+            FilterValidator.throwExceptionWhenNull(values[c], output[c]);
+            FilterValidator.throwWhenSliceOutOfRange(values[c].length, offset, frames);
+            FilterValidator.throwWhenSliceOutOfRange(output[c].length, outputOffset, frames);
+        }
+        FilterEvents.BatchEvent event = FilterEvents.beginBatch();
+        for (int t = 0; t < frames; t++) {
+            for (int c = 0; c < channels; c++) {
+                inputFrame[c] = values[c][offset + t];
+            }
+            advance(inputFrame, 0, outputFrame, 0);
+            for (int c = 0; c < channels; c++) {
+                output[c][outputOffset + t] = outputFrame[c];
+            }
+        }
+        FilterEvents.commitBatch(event, this, (long) frames * channels);
+    }
+
+    /**
+     * Gets the number of channels filtered by this bank.
+     *
+     * @return the number of channels
+     */
+    public int getChannels() {
+        return channels;
+    }
+
+    /**
+     * Resets every channel of the bank to its state at construction.
+     */
+    public abstract void reset();
+
+    /**
+     * Advances every channel by one time step. The value of channel c is read from index inputOffset + c of the
+     * input array and its filtered value is written to index outputOffset + c of the output array. Both frames
+     * have been validated, and every input value is read before the filtered value of the same channel is written.
+     *
+     * @param input - the array holding the input frame
+     * @param inputOffset - the index of the value of channel zero in the input array
+     * @param output - the array that receives the filtered frame
+     * @param outputOffset - the index that receives the value of channel zero in the output array
+     */
+    protected abstract void advance(double[] input, int inputOffset, double[] output, int outputOffset);
+}
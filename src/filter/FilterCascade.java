@@ -4,6 +4,9 @@ import exception.EmptyListException;
 import exception.IncorrectSizeException;
 import exception.NullValueException;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -29,13 +32,21 @@ import java.util.List;
  * Thus, if incorrect type parameters are used to instantiate a FilterCascade, the filter method will not work properly
  * and will only return null values.
  * </p>
+ * <p>
+ * A FilterCascadeBuilder builds a FilterCascade whose stage types are checked by the compiler as each stage is
+ * appended. A cascade made only of ScalarFilters can instead be compiled into a ScalarFilterCascade, which folds
+ * adjacent FIRFilters together and filters batches of primitive values without boxing between stages.
+ * </p>
  *
  * @param <A> - the comparable type of input element to filter
  * @param <B> - the type of output element produced by the filter
  *
+ * @see filter.FilterCascadeBuilder
+ * @see filter.ScalarFilterCascade
+ *
  * @author Shaun Howard
  */
-public class FilterCascade<A extends Comparable<A>,B> implements Filter<A , B> {
+public class FilterCascade<A extends Comparable<A>,B> implements Filter<A , B>, Snapshottable {
 
     // The filters of the filter cascade.
     private List<Filter<A, B>> filters;
@@ -47,6 +58,7 @@ public class FilterCascade<A extends Comparable<A>,B> implements Filter<A , B> {
      */
     public FilterCascade(List<Filter<A, B>> filters){
         this.filters = filters;
+        FilterEvents.constructed(this, filters == null ? 0 : filters.size());
     }
 
     /**
@@ -63,8 +75,13 @@ public class FilterCascade<A extends Comparable<A>,B> implements Filter<A , B> {
     public B filter(A value) throws NullValueException, EmptyListException, IncorrectSizeException {
         A output = value;
         try {
+            //stage events are only begun when enabled, so that filtering allocates nothing otherwise
+            boolean timed = FilterEvents.isStageEnabled();
+            int stage = 0;
             for (Filter<A, B> filter : filters){
+                FilterEvents.StageEvent event = timed ? FilterEvents.beginStage() : null;
                 output = (A)filter.filter(output);
+                FilterEvents.commitStage(event, this, stage++, filter, 1);
             }
             return (B)output;
         } catch (ClassCastException cce){
@@ -72,4 +89,57 @@ public class FilterCascade<A extends Comparable<A>,B> implements Filter<A , B> {
             return null;
         }
     }
+
+    /**
+     * Writes the number of filters and the class name and state of every filter to the specified output.
+     *
+     * @param out - the output the state is written to
+     * @throws java.io.IOException - if the list of filters is null, or a filter is not Snapshottable or its
+     * state cannot be written
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        checkFilters();
+        out.writeInt(filters.size());
+        for (Filter<A, B> filter : filters) {
+            FilterSnapshot.writeFilter(out, filter);
+        }
+    }
+
+    /**
+     * Replaces the state of every filter with the state read from the specified input, which was
+     * written by a cascade of filters of the same classes and configurations.
+     *
+     * @param in - the input the state is read from
+     * @throws java.io.IOException - if the list of filters is null, the state cannot be read or the filters
+     * do not match the filters written
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        checkFilters();
+        FilterSnapshot.check("number of filters", in.readInt(), filters.size());
+        for (Filter<A, B> filter : filters) {
+            FilterSnapshot.readFilter(in, filter);
+        }
+    }
+
+    /**
+     * Throws an IOException when the list of filters is null, so no snapshot can be taken or restored.
+     *
+     * @throws java.io.IOException - if the list of filters is null
+     */
+    private void checkFilters() throws IOException {
+        if (filters == null) {
+            throw new IOException("The filter cascade has no list of filters.");
+        }
+    }
+
+    /**
+     * Gets the filters of the filter cascade in the order they filter values.
+     *
+     * @return the filters of the filter cascade
+     */
+    List<Filter<A, B>> getFilters() {
+        return filters;
+    }
 }
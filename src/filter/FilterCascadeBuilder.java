@@ -0,0 +1,108 @@
+package filter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ * A FilterCascadeBuilder builds a FilterCascade one stage at a time while checking that the type of input element
+ * of every stage is the type of output element of the previous stage. Because every stage is checked by the compiler
+ * when it is added, a FilterCascade built by a FilterCascadeBuilder never casts a value into a type it does not have,
+ * unlike a FilterCascade constructed directly from a list of filters of a single type.
+ * </p>
+ * <p>
+ * A FilterCascadeBuilder is started with the first stage of the cascade by the startWith method. Each call to the
+ * then method appends a stage whose input type is the output type of the cascade so far and returns a builder whose
+ * output type is the output type of the appended stage. The build method creates a FilterCascade of the stages
+ * appended thus far. A builder is immutable: then leaves the builder it is called on unchanged, so a builder can be
+ * built more than once, extended after building and branched by calling then on it more than once, and every
+ * branch holds only its own stages. Each built FilterCascade shares its stage instances with the builder.
+ * </p>
+ * <p>
+ * The stages are held as an immutable linked list in which each builder refers to the builder it was appended to,
+ * so branches share their common first stages. All operations run in constant time except build, which runs in
+ * linear time in the number of stages.
+ * </p>
+ *
+ * @param <A> - the comparable type of input element of the first stage of the cascade
+ * @param <B> - the comparable type of output element of the last stage of the cascade
+ *
+ * @see filter.FilterCascade
+ * @see filter.ScalarFilterCascade
+ *
+ * @author Shaun Howard
+ */
+public class FilterCascadeBuilder<A extends Comparable<A>, B extends Comparable<B>> {
+
+    // The builder of the stages before the last stage, or null if the last stage is the first stage.
+    private final FilterCascadeBuilder<A, ?> previous;
+
+    // The last stage of the cascade.
+    private final Filter<?, B> stage;
+
+    // The number of stages of the cascade.
+    private final int size;
+
+    /**
+     * Constructs a FilterCascadeBuilder of the stages of the specified builder followed by the specified stage.
+     *
+     * @param previous - the builder of the stages before the stage, or null if the stage is the first stage
+     * @param stage - the last stage of the cascade
+     */
+    private FilterCascadeBuilder(FilterCascadeBuilder<A, ?> previous, Filter<?, B> stage) {
+        this.previous = previous;
+        this.stage = stage;
+        this.size = previous == null ? 1 : previous.size + 1;
+    }
+
+    /**
+     * Starts a FilterCascadeBuilder with the specified first stage.
+     *
+     * @param first - the first stage of the cascade
+     * @param <A> - the comparable type of input element of the cascade
+     * @param <B> - the comparable type of output element of the first stage
+     * @return a builder of a cascade with the single specified stage
+     */
+    public static <A extends Comparable<A>, B extends Comparable<B>> FilterCascadeBuilder<A, B> startWith(
+            Filter<A, B> first) {
+        return new FilterCascadeBuilder<A, B>(null, first);
+    }
+
+    /**
+     * Appends the specified stage to the cascade. This builder is left unchanged.
+     *
+     * @param next - the stage that filters the output of the cascade thus far
+     * @param <C> - the comparable type of output element of the appended stage
+     * @return a new builder of the cascade with the appended stage
+     */
+    public <C extends Comparable<C>> FilterCascadeBuilder<A, C> then(Filter<B, C> next) {
+        return new FilterCascadeBuilder<A, C>(this, next);
+    }
+
+    /**
+     * Builds a FilterCascade of the stages appended thus far.
+     *
+     * @return a cascade of the stages appended thus far
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public FilterCascade<A, B> build() {
+        // the stage types were checked as they were appended, so the unchecked list type is never violated
+        List<Filter<?, ?>> stages = new ArrayList<>(Collections.<Filter<?, ?>>nCopies(size, null));
+        FilterCascadeBuilder<A, ?> builder = this;
+        for (int index = size - 1; index >= 0; index--) {
+            stages.set(index, builder.stage);
+            builder = builder.previous;
+        }
+        return new FilterCascade<A, B>((List) stages);
+    }
+
+    /**
+     * Gets the number of stages appended thus far.
+     *
+     * @return the number of stages in the cascade
+     */
+    public int size() {
+        return size;
+    }
+}
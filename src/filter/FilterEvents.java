@@ -0,0 +1,264 @@
+package filter;
+
+import java.util.function.Supplier;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * <p>
+ * A FilterEvents class defines the Java Flight Recorder events emitted by the filters and provides static methods
+ * which emit them. The events are recorded in the "Filter" category of a recording under the names
+ * filter.Construction, filter.Reset, filter.Batch, filter.Stage and filter.Rejection, so a recording shows when
+ * filters were built and reset, how long batches and cascade stages took and which values were rejected alongside
+ * the garbage collection and CPU samples of the same period.
+ * </p>
+ * <p>
+ * Every event is enabled, disabled or given a threshold through the settings of a recording, such as
+ * "filter.Stage#enabled=true" in a .jfc file or the settings of a jdk.jfr.Recording. By default the construction,
+ * reset and rejection events are enabled, batch events are enabled with a threshold of one millisecond, and the stage
+ * events, which a FilterCascade emits for every value, are disabled. When the flight recorder is not running the
+ * batch and stage events are not even created, so the hot paths of the filters neither allocate nor read the clock
+ * for them, and when an event is disabled it is discarded after a check of its setting without filling in its fields.
+ * </p>
+ *
+ * @author Shaun Howard
+ */
+final class FilterEvents {
+
+    /**
+     * Prevents instantiation of this class of static methods.
+     */
+    private FilterEvents() {
+    }
+
+    /**
+     * An event emitted when a filter, cascade or bank is constructed.
+     */
+    @Name("filter.Construction")
+    @Label("Filter Construction")
+    @Category("Filter")
+    @Description("A filter, cascade or filter bank was constructed")
+    @StackTrace(false)
+    static final class ConstructionEvent extends Event {
+
+        // The class of the filter constructed.
+        @Label("Filter Class")
+        Class<?> filterClass;
+
+        // The size of the filter constructed.
+        @Label("Size")
+        @Description("The window length, number of multipliers, number of stages or number of channels")
+        long size;
+    }
+
+    /**
+     * An event emitted when a filter or bank is reset.
+     */
+    @Name("filter.Reset")
+    @Label("Filter Reset")
+    @Category("Filter")
+    @Description("A filter or filter bank was reset")
+    static final class ResetEvent extends Event {
+
+        // The class of the filter reset.
+        @Label("Filter Class")
+        Class<?> filterClass;
+    }
+
+    /**
+     * An event emitted when a filter, cascade or bank has filtered a batch of values.
+     */
+    @Name("filter.Batch")
+    @Label("Filter Batch")
+    @Category("Filter")
+    @Description("A batch of values was filtered")
+    @Threshold("1 ms")
+    @StackTrace(false)
+    static final class BatchEvent extends Event {
+
+        // The class of the filter of the batch.
+        @Label("Filter Class")
+        Class<?> filterClass;
+
+        // The number of values of the batch.
+        @Label("Values")
+        long values;
+    }
+
+    /**
+     * An event emitted when a stage of a cascade has filtered a value or a batch of values.
+     */
+    @Name("filter.Stage")
+    @Label("Cascade Stage")
+    @Category("Filter")
+    @Description("A stage of a filter cascade filtered a value or a batch of values")
+    @Enabled(false)
+    @StackTrace(false)
+    static final class StageEvent extends Event {
+
+        // The class of the cascade.
+        @Label("Cascade Class")
+        Class<?> cascadeClass;
+
+        // The index of the stage in the cascade.
+        @Label("Stage")
+        int stage;
+
+        // The class of the filter of the stage.
+        @Label("Filter Class")
+        Class<?> filterClass;
+
+        // The number of values filtered by the stage.
+        @Label("Values")
+        long values;
+    }
+
+    /**
+     * An event emitted when the FilterValidator rejects an input with a checked exception.
+     */
+    @Name("filter.Rejection")
+    @Label("Filter Rejection")
+    @Category("Filter")
+    @Description("An input was rejected with a checked exception")
+    static final class RejectionEvent extends Event {
+
+        // The class of the exception thrown.
+        @Label("Exception Class")
+        Class<?> exceptionClass;
+
+        // The message of the exception thrown.
+        @Label("Message")
+        String message;
+    }
+
+    /**
+     * Emits a construction event for the specified filter.
+     *
+     * @param filter - the filter constructed
+     * @param size - the window length, number of multipliers, number of stages or number of channels of the filter
+     */
+    static void constructed(Object filter, long size) {
+        ConstructionEvent event = new ConstructionEvent();
+        if (event.shouldCommit()) {
+            event.filterClass = filter.getClass();
+            event.size = size;
+            event.commit();
+        }
+    }
+
+    /**
+     * Emits a reset event for the specified filter.
+     *
+     * @param filter - the filter reset
+     */
+    static void reset(Object filter) {
+        ResetEvent event = new ResetEvent();
+        if (event.shouldCommit()) {
+            event.filterClass = filter.getClass();
+            event.commit();
+        }
+    }
+
+    /**
+     * Begins timing a batch.
+     *
+     * @return the batch event to commit when the batch has been filtered, or null if the flight recorder is not running
+     */
+    static BatchEvent beginBatch() {
+        if (!FlightRecorder.isInitialized()) {
+            return null;
+        }
+        BatchEvent event = new BatchEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the specified batch event and commits it if it is enabled and exceeds its threshold.
+     *
+     * @param event - the event returned by beginBatch
+     * @param filter - the filter of the batch
+     * @param values - the number of values of the batch
+     */
+    static void commitBatch(BatchEvent event, Object filter, long values) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.filterClass = filter.getClass();
+            event.values = values;
+            event.commit();
+        }
+    }
+
+    /**
+     * Begins timing a stage of a cascade.
+     *
+     * @return the stage event to commit when the stage has filtered its values, or null if the flight recorder
+     * is not running
+     */
+    static StageEvent beginStage() {
+        if (!FlightRecorder.isInitialized()) {
+            return null;
+        }
+        StageEvent event = new StageEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the specified stage event and commits it if it is enabled and exceeds its threshold.
+     *
+     * @param event - the event returned by beginStage
+     * @param cascade - the cascade of the stage
+     * @param stage - the index of the stage in the cascade
+     * @param filter - the filter of the stage
+     * @param values - the number of values filtered by the stage
+     */
+    static void commitStage(StageEvent event, Object cascade, int stage, Object filter, long values) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.cascadeClass = cascade.getClass();
+            event.stage = stage;
+            event.filterClass = filter.getClass();
+            event.values = values;
+            event.commit();
+        }
+    }
+
+    /**
+     * Determines whether stage events are enabled, so a cascade can skip timing its stages otherwise.
+     *
+     * @return true if stage events are recorded
+     */
+    static boolean isStageEnabled() {
+        return FlightRecorder.isInitialized() && new StageEvent().isEnabled();
+    }
+
+    /**
+     * Emits a rejection event for an exception of the specified class. The message is only built
+     * when the event is recorded.
+     *
+     * @param exceptionClass - the class of the exception thrown
+     * @param message - the supplier of the message of the exception
+     */
+    static void rejected(Class<?> exceptionClass, Supplier<String> message) {
+        RejectionEvent event = new RejectionEvent();
+        if (event.shouldCommit()) {
+            event.exceptionClass = exceptionClass;
+            event.message = message.get();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package filter;
+
+import exception.NullValueException;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * <p>
+ * A FilterInstrumentation class provides static methods which instrument filters and cascades with FilterMetrics and
+ * expose the metrics through JMX. A filter is instrumented by wrapping it in an InstrumentedFilter or
+ * InstrumentedScalarFilter, and a cascade is instrumented stage by stage by building an equivalent cascade whose every
+ * stage is wrapped, so the latency and rejections of each stage are recorded under the name of the cascade followed by
+ * ".stage" and the index of the stage. Filters and cascades which are not instrumented are left exactly as they were.
+ * </p>
+ * <p>
+ * The metrics of a filter are registered with the platform MBeanServer under the ObjectName
+ * "filter:type=FilterMetrics,name=" followed by the quoted name of the metrics, where they may be read and enabled or
+ * disabled by any JMX client such as JConsole.
+ * </p>
+ *
+ * @see filter.FilterMetrics
+ *
+ * @author Shaun Howard
+ */
+public final class FilterInstrumentation {
+
+    // The domain of the ObjectName of every FilterMetrics registered.
+    private static final String DOMAIN = "filter";
+
+    /**
+     * Prevents instantiation of this class of static methods.
+     */
+    private FilterInstrumentation() {
+    }
+
+    /**
+     * Instruments the specified filter with new metrics of the specified name.
+     *
+     * @param filter - the filter to instrument
+     * @param name - the name of the metrics
+     * @param <A> - the comparable type of input element to filter
+     * @param <B> - the type of output element produced by the filter
+     * @return the instrumented filter
+     * @throws exception.NullValueException - if the filter or the name is null
+     */
+    public static <A extends Comparable<A>, B> InstrumentedFilter<A, B> instrument(Filter<A, B> filter, String name)
+            throws NullValueException {
+        return new InstrumentedFilter<>(filter, name);
+    }
+
+    /**
+     * Instruments the specified scalar filter with new metrics of the specified name.
+     *
+     * @param filter - the scalar filter to instrument
+     * @param name - the name of the metrics
+     * @return the instrumented scalar filter
+     * @throws exception.NullValueException - if the filter or the name is null
+     */
+    public static InstrumentedScalarFilter instrument(ScalarFilter filter, String name) throws NullValueException {
+        return new InstrumentedScalarFilter(filter, name);
+    }
+
+    /**
+     * Builds a cascade of the stages of the specified cascade, each instrumented with new metrics named after the
+     * specified name and the index of the stage. The stages are shared with the specified cascade, which must no
+     * longer be used to filter values.
+     *
+     * @param cascade - the cascade to instrument
+     * @param name - the name of the cascade
+     * @param <A> - the comparable type of input element to filter
+     * @param <B> - the type of output element produced by the filter
+     * @return the cascade of instrumented stages
+     * @throws exception.NullValueException - if the cascade, its list of filters or the name is null
+     */
+    public static <A extends Comparable<A>, B> FilterCascade<A, B> instrumentStages(FilterCascade<A, B> cascade,
+            String name) throws NullValueException {
+        FilterValidator.throwExceptionWhenNull(cascade, name);
+        List<Filter<A, B>> filters = cascade.getFilters();
+        FilterValidator.throwExceptionWhenNull(filters);
+        List<Filter<A, B>> stages = new ArrayList<>(filters.size());
+        for (Filter<A, B> filter : filters) {
+            stages.add(new InstrumentedFilter<>(filter, stageName(name, stages.size())));
+        }
+        return new FilterCascade<>(stages);
+    }
+
+    /**
+     * Builds a scalar cascade of the compiled stages of the specified cascade, each instrumented with new metrics
+     * named after the specified name and the index of the stage. The stages are shared with the specified cascade,
+     * which must no longer be used to filter values.
+     *
+     * @param cascade - the cascade to instrument
+     * @param name - the name of the cascade
+     * @return the cascade of instrumented stages
+     * @throws exception.NullValueException - if the cascade or the name is null
+     */
+    public static ScalarFilterCascade instrumentStages(ScalarFilterCascade cascade, String name)
+            throws NullValueException {
+        FilterValidator.throwExceptionWhenNull(cascade, name);
+        List<ScalarFilter> stages = new ArrayList<>();
+        for (ScalarFilter filter : cascade.getStages()) {
+            stages.add(new InstrumentedScalarFilter(filter, stageName(name, stages.size())));
+        }
+        return new ScalarFilterCascade(stages);
+    }
+
+    /**
+     * Gets the metrics of every instrumented stage of the specified cascade, in the order of the stages.
+     *
+     * @param cascade - the cascade whose stage metrics to get
+     * @return the metrics of the instrumented stages
+     * @throws exception.NullValueException - if the cascade or its list of filters is null
+     */
+    public static List<FilterMetrics> getStageMetrics(FilterCascade<?, ?> cascade) throws NullValueException {
+        FilterValidator.throwExceptionWhenNull(cascade);
+        FilterValidator.throwExceptionWhenNull(cascade.getFilters());
+        List<FilterMetrics> metrics = new ArrayList<>();
+        for (Filter<?, ?> filter : cascade.getFilters()) {
+            if (filter instanceof InstrumentedFilter) {
+                metrics.add(((InstrumentedFilter<?, ?>) filter).getMetrics());
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Gets the metrics of every instrumented stage of the specified scalar cascade, in the order of the stages.
+     *
+     * @param cascade - the cascade whose stage metrics to get
+     * @return the metrics of the instrumented stages
+     * @throws exception.NullValueException - if the cascade is null
+     */
+    public static List<FilterMetrics> getStageMetrics(ScalarFilterCascade cascade) throws NullValueException {
+        FilterValidator.throwExceptionWhenNull(cascade);
+        List<FilterMetrics> metrics = new ArrayList<>();
+        for (ScalarFilter filter : cascade.getStages()) {
+            if (filter instanceof InstrumentedScalarFilter) {
+                metrics.add(((InstrumentedScalarFilter) filter).getMetrics());
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Registers the specified metrics with the platform MBeanServer.
+     *
+     * @param metrics - the metrics to register
+     * @return the ObjectName the metrics are registered under
+     * @throws javax.management.JMException - if metrics of the same name are already registered
+     * @throws exception.NullValueException - if the metrics are null
+     */
+    public static ObjectName register(FilterMetrics metrics) throws JMException, NullValueException {
+        FilterValidator.throwExceptionWhenNull(metrics);
+        ObjectName objectName = getObjectName(metrics.getName());
+        ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, objectName);
+        return objectName;
+    }
+
+    /**
+     * Unregisters the metrics of the specified name from the platform MBeanServer, if they are registered.
+     *
+     * @param name - the name of the metrics
+     * @return true if metrics of the name were registered
+     * @throws javax.management.JMException - if the metrics cannot be unregistered
+     * @throws exception.NullValueException - if the name is null
+     */
+    public static boolean unregister(String name) throws JMException, NullValueException {
+        FilterValidator.throwExceptionWhenNull(name);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = getObjectName(name);
+        if (!server.isRegistered(objectName)) {
+            return false;
+        }
+        server.unregisterMBean(objectName);
+        return true;
+    }
+
+    /**
+     * Gets the ObjectName the metrics of the specified name are registered under.
+     *
+     * @param name - the name of the metrics
+     * @return the ObjectName of the metrics
+     * @throws javax.management.JMException - if the name cannot form an ObjectName
+     */
+    public static ObjectName getObjectName(String name) throws JMException {
+        return new ObjectName(DOMAIN + ":type=FilterMetrics,name=" + ObjectName.quote(name));
+    }
+
+    /**
+     * Gets the name of the metrics of the stage of the specified index.
+     *
+     * @param name - the name of the cascade
+     * @param stage - the index of the stage
+     * @return the name of the metrics of the stage
+     */
+    private static String stageName(String name, int stage) {
+        return name + ".stage" + stage;
+    }
+}
@@ -0,0 +1,175 @@
+package filter;
+
+import exception.EmptyListException;
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * A FilterMetrics records the metrics of one instrumented filter: the count of values filtered, the count of filter
+ * calls rejected by each checked exception the filter throws, such as those thrown by the FilterValidator for a null
+ * value or an out of range size, and a LatencyHistogram of the time taken to filter each value. A batch filter call
+ * records the mean latency of its values once for each value of the batch.
+ * </p>
+ * <p>
+ * The metrics are recorded by an InstrumentedFilter or InstrumentedScalarFilter and may be read at any time from any
+ * thread, directly or through JMX once registered with FilterInstrumentation.register. Recording can be switched off
+ * with setEnabled, in which case an instrumented filter calls the filter it wraps directly after a single volatile
+ * read, without reading the clock. Filters which are not instrumented are not affected by the metrics at all.
+ * </p>
+ *
+ * @see filter.FilterInstrumentation
+ *
+ * @author Shaun Howard
+ */
+public class FilterMetrics implements FilterMetricsMBean {
+
+    // The name of the instrumented filter.
+    private final String name;
+
+    // The distribution of the latency of each value filtered.
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    // The count of filter calls rejected with a NullValueException.
+    private final LongAdder nullValueRejections = new LongAdder();
+
+    // The count of filter calls rejected with an EmptyListException.
+    private final LongAdder emptyListRejections = new LongAdder();
+
+    // The count of filter calls rejected with an IncorrectSizeException.
+    private final LongAdder incorrectSizeRejections = new LongAdder();
+
+    // Whether the metrics are recorded.
+    private volatile boolean enabled = true;
+
+    /**
+     * Constructs the empty, enabled metrics of the filter of the specified name.
+     *
+     * @param name - the name of the instrumented filter
+     * @throws exception.NullValueException - if the name is null
+     */
+    public FilterMetrics(String name) throws NullValueException {
+        FilterValidator.throwExceptionWhenNull(name);
+        this.name = name;
+    }
+
+    /**
+     * Records the specified number of values filtered successfully in the specified time.
+     *
+     * @param nanos - the time taken to filter the values, in nanoseconds
+     * @param values - the number of values filtered
+     */
+    public void recordSamples(long nanos, long values) {
+        if (values > 0) {
+            latencies.record(nanos / values, values);
+        }
+    }
+
+    /**
+     * Records a filter call rejected with the specified exception.
+     *
+     * @param rejection - the NullValueException, EmptyListException or IncorrectSizeException thrown by the filter
+     */
+    public void recordRejection(Exception rejection) {
+        if (rejection instanceof NullValueException) {
+            nullValueRejections.increment();
+        } else if (rejection instanceof EmptyListException) {
+            emptyListRejections.increment();
+        } else if (rejection instanceof IncorrectSizeException) {
+            incorrectSizeRejections.increment();
+        }
+    }
+
+    /**
+     * Gets the distribution of the latency of each value filtered.
+     *
+     * @return the latency histogram
+     */
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public long getSampleCount() {
+        return latencies.getCount();
+    }
+
+    @Override
+    public long getNullValueRejections() {
+        return nullValueRejections.sum();
+    }
+
+    @Override
+    public long getEmptyListRejections() {
+        return emptyListRejections.sum();
+    }
+
+    @Override
+    public long getIncorrectSizeRejections() {
+        return incorrectSizeRejections.sum();
+    }
+
+    @Override
+    public double getMeanLatency() {
+        return latencies.getMean();
+    }
+
+    @Override
+    public long getMaxLatency() {
+        return latencies.getMax();
+    }
+
+    @Override
+    public long getLatency50() {
+        return percentile(50.0);
+    }
+
+    @Override
+    public long getLatency99() {
+        return percentile(99.0);
+    }
+
+    @Override
+    public long getLatency999() {
+        return percentile(99.9);
+    }
+
+    @Override
+    public void reset() {
+        latencies.reset();
+        nullValueRejections.reset();
+        emptyListRejections.reset();
+        incorrectSizeRejections.reset();
+    }
+
+    /**
+     * Gets the latency at a percentile which is known to be in range.
+     *
+     * @param percentile - the percentile in the range [0, 100]
+     * @return the latency at the percentile in nanoseconds
+     */
+    private long percentile(double percentile) {
+        try {
+            return latencies.getValueAtPercentile(percentile);
+        } catch (IncorrectSizeException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+}
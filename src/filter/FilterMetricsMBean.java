@@ -0,0 +1,104 @@
+package filter;
+
+/**
+ * <p>
+ * The management interface of FilterMetrics, through which the metrics of an instrumented filter are exposed as the
+ * attributes and operations of a standard MBean once registered with FilterInstrumentation.register. Every latency is
+ * in nanoseconds and every percentile is computed from the latency histogram of the filter.
+ * </p>
+ *
+ * @see filter.FilterMetrics
+ *
+ * @author Shaun Howard
+ */
+public interface FilterMetricsMBean {
+
+    /**
+     * Gets the name of the instrumented filter.
+     *
+     * @return the name of the filter
+     */
+    public String getName();
+
+    /**
+     * Determines whether the metrics are recorded.
+     *
+     * @return true if the metrics are recorded
+     */
+    public boolean isEnabled();
+
+    /**
+     * Enables or disables the recording of the metrics.
+     *
+     * @param enabled - true to record the metrics, false to filter without recording them
+     */
+    public void setEnabled(boolean enabled);
+
+    /**
+     * Gets the count of values filtered successfully.
+     *
+     * @return the count of values filtered
+     */
+    public long getSampleCount();
+
+    /**
+     * Gets the count of filter calls rejected with a NullValueException.
+     *
+     * @return the count of null value rejections
+     */
+    public long getNullValueRejections();
+
+    /**
+     * Gets the count of filter calls rejected with an EmptyListException.
+     *
+     * @return the count of empty list rejections
+     */
+    public long getEmptyListRejections();
+
+    /**
+     * Gets the count of filter calls rejected with an IncorrectSizeException.
+     *
+     * @return the count of incorrect size rejections
+     */
+    public long getIncorrectSizeRejections();
+
+    /**
+     * Gets the mean latency of each value filtered.
+     *
+     * @return the mean latency in nanoseconds
+     */
+    public double getMeanLatency();
+
+    /**
+     * Gets the largest latency of a value filtered.
+     *
+     * @return the largest latency in nanoseconds
+     */
+    public long getMaxLatency();
+
+    /**
+     * Gets the median latency of the values filtered.
+     *
+     * @return the 50th percentile latency in nanoseconds
+     */
+    public long getLatency50();
+
+    /**
+     * Gets the 99th percentile latency of the values filtered.
+     *
+     * @return the 99th percentile latency in nanoseconds
+     */
+    public long getLatency99();
+
+    /**
+     * Gets the 99.9th percentile latency of the values filtered.
+     *
+     * @return the 99.9th percentile latency in nanoseconds
+     */
+    public long getLatency999();
+
+    /**
+     * Forgets every count and latency recorded.
+     */
+    public void reset();
+}
@@ -3,7 +3,7 @@ package filter;
 import exception.EmptyListException;
 import exception.IncorrectSizeException;
 
-import java.util.ArrayList;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -23,7 +23,9 @@ import java.util.List;
  * </p>
  * <p>
  * Both a count of values filtered thus far and a data structure of filtered values are maintained
- * in order to track the previous n values since the last maintainN() method call.
+ * in order to track the previous n values since the last maintainN() method call. The filtered values are
+ * stored in a circular list, so appending a value and truncating the first value both run in constant time.
+ * A subclass may store its values in a different list by passing it to the protected constructor.
  * </p>
  * <p>
  * A FilterN has limitations on the usage of methods maintainN() and getN(). The earlier throws either a
@@ -51,8 +53,21 @@ public abstract class FilterN<A extends Comparable<A>> {
      * @param n - the number of previous inputs tracked
      */
     public FilterN(int n){
+        this(n, new CircularList<A>());
+    }
+
+    /**
+     * Constructs a new Filter N that tracks n previous inputs for
+     * filtering in the specified list. This constructor allows a
+     * subclass to store its values in a specialized data structure.
+     *
+     * @param n - the number of previous inputs tracked
+     * @param values - the empty list which stores the previous inputs
+     */
+    protected FilterN(int n, List<A> values){
         this.n = n;
-        values = new ArrayList<>();
+        this.values = values;
+        FilterEvents.constructed(this, n);
     }
 
     /**
@@ -89,4 +104,18 @@ public abstract class FilterN<A extends Comparable<A>> {
         FilterValidator.throwWhenOutOfRange(n, 0, Integer.MAX_VALUE);
         return n;
     }
+
+    /**
+     * Gets n for the snapshot of a filter, which cannot be taken of a filter with an invalid n.
+     *
+     * @return the maximum count of values to filter
+     * @throws java.io.IOException - if n lies outside the range [0, INTEGER_MAX_VALUE]
+     */
+    int getSnapshotN() throws IOException {
+        try {
+            return getN();
+        } catch (IncorrectSizeException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
 }
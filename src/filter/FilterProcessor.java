@@ -0,0 +1,388 @@
+package filter;
+
+import exception.EmptyListException;
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+
+import java.util.concurrent.Flow;
+
+/**
+ * <p>
+ * A FilterProcessor is a java.util.concurrent.Flow.Processor which filters every item published to it with a Filter
+ * and publishes each filtered value to its single subscriber, in order. It allows any Filter, ScalarFilter or
+ * FilterCascade to run as a stage of a reactive pipeline.
+ * </p>
+ * <p>
+ * Each item produces exactly one filtered value, so a FilterProcessor never requests more items from its publisher
+ * than its subscriber has requested and not yet received, and thus never buffers an item. Requests are batched:
+ * items are requested from the publisher in batches of up to the batch size specified at construction, and the next
+ * batch is requested once no more than half of the previous batch remains outstanding, so a subscriber which
+ * requests one item at a time does not cause one request to the publisher per item once it has requested ahead.
+ * </p>
+ * <p>
+ * When the filter throws a checked NullValueException, EmptyListException or IncorrectSizeException, the
+ * subscription to the publisher is cancelled and the exception itself is signalled to the subscriber through
+ * onError, so no exception is wrapped. Errors and completion signalled by the publisher are passed on to the
+ * subscriber, or held until a subscriber subscribes.
+ * </p>
+ * <p>
+ * A FilterProcessor accepts one subscription to a publisher and one subscriber. A second subscription is cancelled
+ * and a second subscriber receives an IllegalStateException through onError. As required of every Flow.Subscriber,
+ * the publisher must signal the processor serially, while the subscriber may request items and cancel from any
+ * thread. The processor signals its subscriber serially too: an error caused by a request of a non-positive number
+ * of items while a filtered value is being published, whether from another thread or from within onNext, is
+ * signalled by the thread publishing the value once onNext has returned.
+ * </p>
+ *
+ * @param <A> - the comparable type of input element to filter
+ * @param <B> - the type of output element produced by the filter
+ *
+ * @see filter.FilterAdapters
+ *
+ * @author Shaun Howard
+ */
+public class FilterProcessor<A extends Comparable<A>, B> implements Flow.Processor<A, B> {
+
+    // The filter of each item.
+    private final Filter<A, B> filter;
+
+    // The largest number of items requested from the publisher at once.
+    private final int batchSize;
+
+    // The lock which guards the demand and the state of the subscriptions.
+    private final Object lock = new Object();
+
+    // The subscription to the publisher.
+    private Flow.Subscription upstream;
+
+    // The subscriber of filtered values.
+    private Flow.Subscriber<? super B> downstream;
+
+    // The number of filtered values requested by the subscriber and not yet published.
+    private long demand;
+
+    // The number of items requested from the publisher and not yet received.
+    private long inFlight;
+
+    // Whether the processor has been cancelled or has signalled an error or completion to its subscriber.
+    private boolean done;
+
+    // The number of filtered values being published to the subscriber, which is more than one when onNext is reentered.
+    private int emitting;
+
+    // The error to signal to the subscriber once no filtered value is being published to it.
+    private Throwable deferredError;
+
+    // The error signalled by the publisher before a subscriber subscribed.
+    private Throwable pendingError;
+
+    // Whether the publisher signalled completion before a subscriber subscribed.
+    private boolean pendingComplete;
+
+    /**
+     * Constructs a FilterProcessor of the specified filter which requests items
+     * in batches of up to Flow.defaultBufferSize() items.
+     *
+     * @param filter - the filter of each item
+     * @throws exception.NullValueException - if the filter is null
+     */
+    public FilterProcessor(Filter<A, B> filter) throws NullValueException {
+        FilterValidator.throwExceptionWhenNull(filter);
+        this.filter = filter;
+        this.batchSize = Flow.defaultBufferSize();
+    }
+
+    /**
+     * Constructs a FilterProcessor of the specified filter which requests items
+     * in batches of up to the specified batch size.
+     *
+     * @param filter - the filter of each item
+     * @param batchSize - the largest number of items requested from the publisher at once
+     * @throws exception.NullValueException - if the filter is null
+     * @throws exception.IncorrectSizeException - if the batch size is not in the range [1, INTEGER_MAX_VALUE]
+     */
+    public FilterProcessor(Filter<A, B> filter, int batchSize) throws NullValueException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(filter);
+        FilterValidator.throwWhenOutOfRange(batchSize, 1, Integer.MAX_VALUE);
+        this.filter = filter;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Subscribes the specified subscriber to the filtered values. Only one subscriber is accepted.
+     *
+     * @param subscriber - the subscriber of filtered values
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super B> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("The subscriber is null.");
+        }
+        Throwable error;
+        boolean complete;
+        boolean rejected;
+        synchronized (lock) {
+            rejected = downstream != null;
+            if (!rejected) {
+                downstream = subscriber;
+            }
+            error = pendingError;
+            complete = pendingComplete;
+            done = done || error != null || complete;
+        }
+        if (rejected) {
+            subscriber.onSubscribe(new Rejected());
+            subscriber.onError(new IllegalStateException("The filter processor already has a subscriber."));
+            return;
+        }
+        subscriber.onSubscribe(new Link());
+        if (error != null) {
+            subscriber.onError(error);
+        } else if (complete) {
+            subscriber.onComplete();
+        }
+    }
+
+    /**
+     * Accepts the subscription to the publisher of items, or cancels it if the processor already has one.
+     *
+     * @param subscription - the subscription to the publisher
+     */
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        long request;
+        synchronized (lock) {
+            if (upstream != null || done) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+            request = replenish();
+        }
+        if (request > 0) {
+            subscription.request(request);
+        }
+    }
+
+    /**
+     * Filters the specified item and publishes the filtered value to the subscriber.
+     *
+     * @param item - the item to filter
+     */
+    @Override
+    public void onNext(A item) {
+        Flow.Subscriber<? super B> subscriber;
+        synchronized (lock) {
+            if (done) {
+                return;
+            }
+            inFlight--;
+            demand--;
+            subscriber = downstream;
+            emitting++;
+        }
+        Exception failure = null;
+        try {
+            subscriber.onNext(filter.filter(item));
+        } catch (NullValueException | EmptyListException | IncorrectSizeException e) {
+            failure = e;
+        } finally {
+            synchronized (lock) {
+                emitting--;
+            }
+        }
+        Throwable deferred = takeDeferredError();
+        if (deferred != null) {
+            subscriber.onError(deferred);
+            return;
+        }
+        if (failure != null) {
+            fail(failure);
+            return;
+        }
+        long request;
+        Flow.Subscription subscription;
+        synchronized (lock) {
+            request = replenish();
+            subscription = upstream;
+        }
+        if (request > 0) {
+            subscription.request(request);
+        }
+    }
+
+    /**
+     * Passes the error signalled by the publisher on to the subscriber.
+     *
+     * @param throwable - the error signalled by the publisher
+     */
+    @Override
+    public void onError(Throwable throwable) {
+        Flow.Subscriber<? super B> subscriber;
+        synchronized (lock) {
+            if (done) {
+                return;
+            }
+            if (downstream == null) {
+                pendingError = throwable;
+                return;
+            }
+            done = true;
+            subscriber = downstream;
+        }
+        subscriber.onError(throwable);
+    }
+
+    /**
+     * Passes the completion signalled by the publisher on to the subscriber.
+     */
+    @Override
+    public void onComplete() {
+        Flow.Subscriber<? super B> subscriber;
+        synchronized (lock) {
+            if (done) {
+                return;
+            }
+            if (downstream == null) {
+                pendingComplete = true;
+                return;
+            }
+            done = true;
+            subscriber = downstream;
+        }
+        subscriber.onComplete();
+    }
+
+    /**
+     * Gets the filter of each item.
+     *
+     * @return the filter of each item
+     */
+    public Filter<A, B> getFilter() {
+        return filter;
+    }
+
+    /**
+     * Gets the largest number of items requested from the publisher at once.
+     *
+     * @return the batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Calculates the number of items to request from the publisher, if any, and counts them as in flight.
+     * The next batch is requested once no more than half of the batch size remains in flight, and no more
+     * items are ever in flight than the subscriber has requested. Must be called while holding the lock.
+     *
+     * @return the number of items to request from the publisher
+     */
+    private long replenish() {
+        if (upstream == null || done || inFlight > batchSize / 2 || inFlight >= demand) {
+            return 0;
+        }
+        long request = Math.min(batchSize - inFlight, demand - inFlight);
+        inFlight += request;
+        return request;
+    }
+
+    /**
+     * Cancels the subscription to the publisher and signals the specified error to the subscriber, or leaves
+     * the error to be signalled by the thread publishing a filtered value if one is being published.
+     *
+     * @param throwable - the error to signal
+     */
+    private void fail(Throwable throwable) {
+        Flow.Subscription subscription;
+        Flow.Subscriber<? super B> subscriber;
+        synchronized (lock) {
+            if (done) {
+                return;
+            }
+            done = true;
+            subscription = upstream;
+            subscriber = downstream;
+            if (emitting > 0) {
+                deferredError = throwable;
+                subscriber = null;
+            }
+        }
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        if (subscriber != null) {
+            subscriber.onError(throwable);
+        }
+    }
+
+    /**
+     * Takes the error left to be signalled once no filtered value is being published, if no filtered
+     * value is still being published.
+     *
+     * @return the error to signal to the subscriber, or null if there is none or a value is still being published
+     */
+    private Throwable takeDeferredError() {
+        synchronized (lock) {
+            if (emitting > 0) {
+                return null;
+            }
+            Throwable error = deferredError;
+            deferredError = null;
+            return error;
+        }
+    }
+
+    /**
+     * The subscription of the subscriber to the filtered values.
+     */
+    private final class Link implements Flow.Subscription {
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("The number of requested values must be positive: " + n));
+                return;
+            }
+            long request;
+            Flow.Subscription subscription;
+            synchronized (lock) {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                request = replenish();
+                subscription = upstream;
+            }
+            if (request > 0) {
+                subscription.request(request);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            Flow.Subscription subscription;
+            synchronized (lock) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                subscription = upstream;
+            }
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+
+    /**
+     * The subscription given to a rejected second subscriber, which ignores every request.
+     */
+    private static final class Rejected implements Flow.Subscription {
+
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package filter;
+
+import exception.NullValueException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <p>
+ * A FilterSnapshot class provides static methods which save the state of a Snapshottable filter, such as an
+ * AveragingFilterN, a ScalarLinearFilter or a FilterCascade of them, as a compact binary snapshot and restore it into
+ * another filter of the same class and configuration. Restoring a snapshot takes time proportional to the size of the
+ * state of the filter, such as n values for an AveragingFilterN, rather than to the number of values filtered, so a
+ * hot standby can resume filtering exactly where the saved filter left off without replaying the values it has seen.
+ * </p>
+ * <p>
+ * A snapshot starts with a header of a magic number, the version of the format and the class name of the filter,
+ * followed by the state written by the writeState method of the filter. The restore methods check the header against
+ * the filter they restore into and throw an IOException when the snapshot was taken of a different class of filter
+ * or with a different version of the format. The stages of a cascade and the filter wrapped by another filter are
+ * written with their class names as well, so the structure of a cascade is checked stage by stage.
+ * </p>
+ * <p>
+ * Generic filters, such as a MaxFilterN of type A, write their stored values with the writeValue method, which
+ * supports null and the Double, Float, Long, Integer, Short, Byte, Character, Boolean and String types. Writing any
+ * other value throws an IOException. Taking a snapshot of a filter does not change its state, but it must not run
+ * concurrently with a filter call unless the filter is thread-safe, such as a LinearizableFilter.
+ * </p>
+ *
+ * @see filter.Snapshottable
+ *
+ * @author Shaun Howard
+ */
+public final class FilterSnapshot {
+
+    // The magic number at the start of every snapshot, "DFS" followed by a version byte.
+    private static final int MAGIC = 0x44465300;
+
+    // The version of the snapshot format.
+    private static final int VERSION = 1;
+
+    // The tags of the types of values written by writeValue.
+    private static final byte NULL = 0, DOUBLE = 1, FLOAT = 2, LONG = 3, INTEGER = 4, SHORT = 5, BYTE = 6,
+            CHARACTER = 7, BOOLEAN = 8, STRING = 9;
+
+    /**
+     * Prevents instantiation of this class of static methods.
+     */
+    private FilterSnapshot() {
+    }
+
+    /**
+     * Takes a snapshot of the state of the specified filter.
+     *
+     * @param filter - the filter to take a snapshot of
+     * @return the snapshot of the filter
+     * @throws java.io.IOException - if the state of the filter cannot be written
+     * @throws exception.NullValueException - if the filter is null
+     */
+    public static byte[] snapshot(Snapshottable filter) throws IOException, NullValueException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        write(filter, bytes);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Restores the state of the specified filter from the specified snapshot, which
+     * must hold exactly one snapshot of a filter of the same class and configuration.
+     *
+     * @param filter - the filter to restore
+     * @param snapshot - the snapshot to restore the filter from
+     * @throws java.io.IOException - if the snapshot is not a snapshot of a filter of the same class and configuration
+     * @throws exception.NullValueException - if the filter or the snapshot is null
+     */
+    public static void restore(Snapshottable filter, byte[] snapshot) throws IOException, NullValueException {
+        FilterValidator.throwExceptionWhenNull(filter, snapshot);
+        ByteArrayInputStream bytes = new ByteArrayInputStream(snapshot);
+        read(filter, bytes);
+        if (bytes.available() > 0) {
+            throw new IOException("The snapshot has " + bytes.available() + " bytes after the state of the filter.");
+        }
+    }
+
+    /**
+     * Writes a snapshot of the state of the specified filter to the specified stream. The stream is not closed.
+     *
+     * @param filter - the filter to take a snapshot of
+     * @param stream - the stream the snapshot is written to
+     * @throws java.io.IOException - if the state of the filter cannot be written
+     * @throws exception.NullValueException - if the filter or the stream is null
+     */
+    public static void write(Snapshottable filter, OutputStream stream) throws IOException, NullValueException {
+        FilterValidator.throwExceptionWhenNull(filter, stream);
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC | VERSION);
+        writeFilter(out, filter);
+        out.flush();
+    }
+
+    /**
+     * Restores the state of the specified filter from a snapshot read from the specified stream. Only the
+     * snapshot is read from the stream, so several snapshots may be read from one stream in turn.
+     *
+     * @param filter - the filter to restore
+     * @param stream - the stream the snapshot is read from
+     * @throws java.io.IOException - if the snapshot is not a snapshot of a filter of the same class and configuration
+     * @throws exception.NullValueException - if the filter or the stream is null
+     */
+    public static void read(Snapshottable filter, InputStream stream) throws IOException, NullValueException {
+        FilterValidator.throwExceptionWhenNull(filter, stream);
+        DataInputStream in = new DataInputStream(stream);
+        int header = in.readInt();
+        if ((header & ~0xFF) != MAGIC) {
+            throw new IOException("The data is not a filter snapshot.");
+        }
+        check("snapshot format version", header & 0xFF, VERSION);
+        readFilter(in, filter);
+    }
+
+    /**
+     * Writes the specified value with a tag of its type, so that readValue returns an equal value of the same type.
+     *
+     * @param out - the output the value is written to
+     * @param value - the value to write, which may be null
+     * @throws java.io.IOException - if the type of the value is not supported or the value cannot be written
+     */
+    public static void writeValue(DataOutput out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Short) {
+            out.writeByte(SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof Character) {
+            out.writeByte(CHARACTER);
+            out.writeChar((Character) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof String) {
+            byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+            out.writeByte(STRING);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        } else {
+            throw new IOException("A value of " + value.getClass().getName() + " cannot be written to a snapshot.");
+        }
+    }
+
+    /**
+     * Reads a value written by writeValue.
+     *
+     * @param in - the input the value is read from
+     * @return the value read, which may be null
+     * @throws java.io.IOException - if the value cannot be read
+     */
+    public static Object readValue(DataInput in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case DOUBLE:
+                return in.readDouble();
+            case FLOAT:
+                return in.readFloat();
+            case LONG:
+                return in.readLong();
+            case INTEGER:
+                return in.readInt();
+            case SHORT:
+                return in.readShort();
+            case BYTE:
+                return in.readByte();
+            case CHARACTER:
+                return in.readChar();
+            case BOOLEAN:
+                return in.readBoolean();
+            case STRING:
+                byte[] bytes = new byte[readSize(in, Integer.MAX_VALUE)];
+                in.readFully(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            default:
+                throw new IOException("Unknown value tag " + tag + " in the snapshot.");
+        }
+    }
+
+    /**
+     * Writes the class name and the state of the specified filter, which is a stage
+     * of a cascade or a filter wrapped by another filter.
+     *
+     * @param out - the output the filter is written to
+     * @param filter - the filter to write
+     * @throws java.io.IOException - if the filter is not Snapshottable or its state cannot be written
+     */
+    static void writeFilter(DataOutput out, Object filter) throws IOException {
+        if (!(filter instanceof Snapshottable)) {
+            throw new IOException((filter == null ? "A null filter" : filter.getClass().getName())
+                    + " cannot be written to a snapshot.");
+        }
+        out.writeUTF(filter.getClass().getName());
+        ((Snapshottable) filter).writeState(out);
+    }
+
+    /**
+     * Reads the class name and the state of a filter written by writeFilter into the
+     * specified filter, which must be of the same class.
+     *
+     * @param in - the input the filter is read from
+     * @param filter - the filter to restore
+     * @throws java.io.IOException - if the filter is not Snapshottable, is not of the class written
+     * or its state cannot be read
+     */
+    static void readFilter(DataInput in, Object filter) throws IOException {
+        String name = in.readUTF();
+        if (!(filter instanceof Snapshottable)) {
+            throw new IOException((filter == null ? "A null filter" : filter.getClass().getName())
+                    + " cannot be restored from a snapshot.");
+        }
+        if (!name.equals(filter.getClass().getName())) {
+            throw new IOException("The snapshot of a " + name + " cannot be restored into a "
+                    + filter.getClass().getName() + ".");
+        }
+        ((Snapshottable) filter).readState(in);
+    }
+
+    /**
+     * Throws an IOException when a size of the configuration of a snapshot does not match the filter.
+     *
+     * @param name - the name of the size
+     * @param snapshot - the size written in the snapshot
+     * @param filter - the size of the filter being restored
+     * @throws java.io.IOException - if the sizes are not equal
+     */
+    static void check(String name, long snapshot, long filter) throws IOException {
+        if (snapshot != filter) {
+            throw new IOException("The " + name + " of the snapshot is " + snapshot + " but the " + name
+                    + " of the filter is " + filter + ".");
+        }
+    }
+
+    /**
+     * Throws an IOException when a value read from a snapshot is null or not of the type of the values it is
+     * restored alongside, so that a snapshot of a filter of one type fails to restore into a filter of another
+     * rather than failing later with a ClassCastException when the value is compared.
+     *
+     * @param value - the value read from the snapshot
+     * @param type - the type of the values restored alongside it, or null if it is the first
+     * @return the type of the values, which is the class of the value when type is null
+     * @throws java.io.IOException - if the value is null or not of the specified type
+     */
+    static Class<?> checkType(Object value, Class<?> type) throws IOException {
+        if (value == null) {
+            throw new IOException("The snapshot holds a null value.");
+        }
+        if (type != null && value.getClass() != type) {
+            throw new IOException("The snapshot holds a value of " + value.getClass().getName()
+                    + " but the filter holds values of " + type.getName() + ".");
+        }
+        return value.getClass();
+    }
+
+    /**
+     * Reads a number of stored values and checks that it lies within the range [0, max].
+     *
+     * @param in - the input the size is read from
+     * @param max - the largest valid size
+     * @return the size read
+     * @throws java.io.IOException - if the size cannot be read or is out of range
+     */
+    static int readSize(DataInput in, int max) throws IOException {
+        int size = in.readInt();
+        if (size < 0 || size > max) {
+            throw new IOException("The size " + size + " in the snapshot is not in the range [0, " + max + "].");
+        }
+        return size;
+    }
+}
@@ -5,6 +5,7 @@ import exception.IncorrectSizeException;
 import exception.NullValueException;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * <p>
@@ -17,7 +18,12 @@ import java.util.List;
  * the specified input objects and their validity.
  * </p>
  * <p>
- * Operations throwIncorrectSizeException and throwWhenOutOfRange run in constant time.
+ * Operations throwIncorrectSizeException, throwWhenOutOfRange and throwWhenSliceOutOfRange run in constant time.
+ * </p>
+ * <p>
+ * Operations throwExceptionWhenNull and throwExceptionWhenEmpty have fixed arity overloads for one, two and three
+ * objects or one and two lists. The compiler selects these overloads over the variable arity methods, so validating
+ * a value on the hot path of a filter does not allocate an array.
  * </p>
  * <p>
  * A FilterValidator properly handles null input by throwing a checked NullValueException when any
@@ -38,7 +44,16 @@ import java.util.List;
  * </p>
  * <p>
  * When any exceptions are thrown, appropriate messages are used to construct the exception which describe what
- * failed during validation checks.
+ * failed during validation checks. Every exception thrown also emits a filter.Rejection flight recorder event,
+ * whose message is only built when the event is recorded.
+ * </p>
+ * <p>
+ * A FilterValidator has a lightweight exception mode, which is enabled by the setLightweightExceptions method or by
+ * setting the filter.lightweightExceptions system property to true. In lightweight mode, exceptions do not capture a
+ * stack trace and their messages are only built when requested. A message describes a list by the size it had when
+ * the exception was thrown, so a list changed afterwards is neither kept alive nor misreported by the exception.
+ * Every NullValueException thrown in lightweight mode is the same preallocated instance, so rejecting a null value
+ * does not allocate at all.
  * </p>
  * <p>
  * A FilterValidator is not intended for incorrect use. Since this is a barrier for bad input data, the programmer
@@ -50,6 +65,80 @@ import java.util.List;
  */
 public class FilterValidator {
 
+    // The detail message of every NullValueException thrown by the validator.
+    private static final String NULL_MESSAGE = "An object is null.";
+
+    // The detail message of every EmptyListException thrown by the validator.
+    private static final String EMPTY_MESSAGE = "The list is empty.";
+
+    // The shared stackless NullValueException thrown in lightweight exception mode.
+    private static final NullValueException LIGHTWEIGHT_NULL_VALUE_EXCEPTION =
+            new NullValueException(() -> NULL_MESSAGE, false);
+
+    // Whether lightweight exceptions are thrown, initially set by the filter.lightweightExceptions system property.
+    private static volatile boolean lightweightExceptions = Boolean.getBoolean("filter.lightweightExceptions");
+
+    /**
+     * Enables or disables the lightweight exception mode of the validator.
+     *
+     * @param enabled - true to throw lightweight exceptions, false to throw exceptions with stack traces
+     */
+    public static void setLightweightExceptions(boolean enabled) {
+        lightweightExceptions = enabled;
+    }
+
+    /**
+     * Determines whether the lightweight exception mode of the validator is enabled.
+     *
+     * @return true if lightweight exceptions are thrown
+     */
+    public static boolean isLightweightExceptions() {
+        return lightweightExceptions;
+    }
+
+    /**
+     * Throws an exception when the input object is null. Unlike the variable
+     * arity overload, this method does not allocate an array on each call.
+     *
+     * @param obj - the object that may be null
+     * @throws exception.NullValueException - if the input object is null
+     */
+    public static void throwExceptionWhenNull(Object obj) throws NullValueException {
+        if (obj == null) {
+            throw nullValueException();
+        }
+    }
+
+    /**
+     * Throws an exception when either of the input objects is null. Unlike the variable
+     * arity overload, this method does not allocate an array on each call.
+     *
+     * @param first - the first object that may be null
+     * @param second - the second object that may be null
+     * @throws exception.NullValueException - if either of the input objects is null
+     */
+    public static void throwExceptionWhenNull(Object first, Object second) throws NullValueException {
+        if (first == null || second == null) {
+            throw nullValueException();
+        }
+    }
+
+    /**
+     * Throws an exception when any of the three input objects are null. Unlike the variable
+     * arity overload, this method does not allocate an array on each call.
+     *
+     * @param first - the first object that may be null
+     * @param second - the second object that may be null
+     * @param third - the third object that may be null
+     * @throws exception.NullValueException - if any of the input objects are null
+     */
+    public static void throwExceptionWhenNull(Object first, Object second, Object third)
+            throws NullValueException {
+        if (first == null || second == null || third == null) {
+            throw nullValueException();
+        }
+    }
+
     /**
      * Throws an exception when any of the input objects are null.
      *
@@ -60,21 +149,47 @@ public class FilterValidator {
     public static void throwExceptionWhenNull(Object... objs) throws NullValueException {
         for (Object obj : objs) {
             if (obj == null) {
-                throw new NullValueException("An object is null.");
+                throw nullValueException();
             }
         }
     }
 
+    /**
+     * Throws an exception when the input list is empty. Unlike the variable
+     * arity overload, this method does not allocate an array on each call.
+     *
+     * @param list - the list to check if empty
+     * @throws exception.EmptyListException - if the input list is empty
+     */
+    public static void throwExceptionWhenEmpty(List<?> list) throws EmptyListException {
+        if (list.isEmpty()) {
+            throw emptyListException();
+        }
+    }
+
+    /**
+     * Throws an exception when either of the input lists is empty. Unlike the variable
+     * arity overload, this method does not allocate an array on each call.
+     *
+     * @param first - the first list to check if empty
+     * @param second - the second list to check if empty
+     * @throws exception.EmptyListException - if either input list is empty
+     */
+    public static void throwExceptionWhenEmpty(List<?> first, List<?> second) throws EmptyListException {
+        throwExceptionWhenEmpty(first);
+        throwExceptionWhenEmpty(second);
+    }
+
     /**
      * Throws an exception when any of the input lists are empty.
      *
      * @param lists - the lists to check if empty
      * @throws exception.EmptyListException - if an input list is empty
      */
-    public static void throwExceptionWhenEmpty(List... lists) throws EmptyListException {
-        for (List list : lists){
+    public static void throwExceptionWhenEmpty(List<?>... lists) throws EmptyListException {
+        for (List<?> list : lists){
             if (list.isEmpty()){
-                throw new EmptyListException("The list: " + list.toString() + " is empty.");
+                throw emptyListException();
             }
         }
     }
@@ -86,10 +201,11 @@ public class FilterValidator {
      * @param size - the size that the list should be
      * @throws IncorrectSizeException - if the size of the list does not equal size
      */
-    public static void throwIncorrectSizeException(List list, int size) throws IncorrectSizeException {
+    public static void throwIncorrectSizeException(List<?> list, int size) throws IncorrectSizeException {
         if (list.size() != size) {
-            throw new IncorrectSizeException("The list: " + list.toString() +
-                    " does not have " + size + " elements.");
+            int actual = list.size();
+            throw incorrectSizeException(() -> "The list of size: " + actual + " does not have " + size
+                    + " elements.");
         }
     }
 
@@ -104,8 +220,59 @@ public class FilterValidator {
     public static void throwWhenOutOfRange(int value, int rangeBegin, int rangeEnd)
             throws IncorrectSizeException {
         if (!(rangeBegin <= value && value <= rangeEnd)) {
-            throw new IncorrectSizeException("The value: " + value + " is not within the range: "
+            throw incorrectSizeException(() -> "The value: " + value + " is not within the range: "
                     + rangeBegin + " to " + rangeEnd);
         }
     }
+
+    /**
+     * Throws an exception when the slice of the given length starting at the given offset
+     * does not lie within an array of the given length.
+     *
+     * @param arrayLength - the length of the array the slice is taken from
+     * @param offset - the index of the first element of the slice
+     * @param length - the number of elements in the slice
+     * @throws IncorrectSizeException - if the slice is not within the bounds of the array
+     */
+    public static void throwWhenSliceOutOfRange(int arrayLength, int offset, int length)
+            throws IncorrectSizeException {
+        if (offset < 0 || length < 0 || offset > arrayLength - length) {
+            throw incorrectSizeException(() -> "The slice at offset: " + offset + " of length: " + length
+                    + " does not lie within an array of length: " + arrayLength);
+        }
+    }
+
+    /**
+     * Creates the NullValueException to throw in the current exception mode and emits a rejection event.
+     *
+     * @return the shared stackless exception in lightweight mode, otherwise a new exception
+     */
+    private static NullValueException nullValueException() {
+        FilterEvents.rejected(NullValueException.class, () -> NULL_MESSAGE);
+        return lightweightExceptions ? LIGHTWEIGHT_NULL_VALUE_EXCEPTION : new NullValueException(NULL_MESSAGE);
+    }
+
+    /**
+     * Creates the EmptyListException to throw in the current exception mode and emits a rejection event.
+     *
+     * @return a new stackless exception in lightweight mode, otherwise a new exception
+     */
+    private static EmptyListException emptyListException() {
+        FilterEvents.rejected(EmptyListException.class, () -> EMPTY_MESSAGE);
+        return lightweightExceptions ? new EmptyListException(() -> EMPTY_MESSAGE, false)
+                : new EmptyListException(EMPTY_MESSAGE);
+    }
+
+    /**
+     * Creates the IncorrectSizeException to throw with the specified message in the current exception mode
+     * and emits a rejection event.
+     *
+     * @param message - the supplier of the detail message
+     * @return a stackless exception with a lazily built message in lightweight mode, otherwise a new exception
+     */
+    static IncorrectSizeException incorrectSizeException(Supplier<String> message) {
+        FilterEvents.rejected(IncorrectSizeException.class, message);
+        return lightweightExceptions ? new IncorrectSizeException(message, false)
+                : new IncorrectSizeException(message.get());
+    }
 }
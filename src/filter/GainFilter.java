@@ -1,5 +1,8 @@
 package filter;
 
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 
@@ -13,6 +16,8 @@ import java.util.Arrays;
  * <p>
  * A GainFilter is constructed with a double-precision floating point value. The super
  * constructor is called with the specified value as a list for implementation purposes.
+ * A GainFilter may instead be constructed with a CoefficientSet of one input multiplier,
+ * which it shares with every other filter of the set.
  * </p>
  * <p>
  * A GainFilter does not override any methods of ScalarLinearFilter, and thus, a GainFilter behaves
@@ -35,4 +40,32 @@ public class GainFilter extends FIRFilter {
     public GainFilter(double b) {
         super(1, new ArrayList<Double>(Arrays.asList(b)));
     }
+
+    /**
+     * Constructs a GainFilter with the gain factor b(0) of the specified CoefficientSet,
+     * which the filter shares rather than copies.
+     *
+     * @param coefficients - the shared multipliers of the filter
+     * @throws exception.NullValueException - if the coefficient set is null
+     * @throws exception.IncorrectSizeException - if the input boundary coefficient N of the set is not 1
+     * or its output boundary coefficient M is not 0 or 1
+     */
+    public GainFilter(CoefficientSet coefficients) throws NullValueException, IncorrectSizeException {
+        super(single(coefficients));
+    }
+
+    /**
+     * Validates that the specified CoefficientSet has a single input multiplier.
+     *
+     * @param coefficients - the coefficient set to validate
+     * @return the coefficient set
+     * @throws exception.NullValueException - if the coefficient set is null
+     * @throws exception.IncorrectSizeException - if the input boundary coefficient N of the set is not 1
+     */
+    private static CoefficientSet single(CoefficientSet coefficients)
+            throws NullValueException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(coefficients);
+        FilterValidator.throwWhenOutOfRange(coefficients.getN(), 1, 1);
+        return coefficients;
+    }
 }
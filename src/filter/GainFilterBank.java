@@ -0,0 +1,28 @@
+package filter;
+
+import exception.IncorrectSizeException;
+
+/**
+ * <p>
+ * A GainFilterBank is the FilterBank equivalent of a GainFilter. It is a FIRFilterBank with a single multiplier
+ * for input, so each channel multiplies its input value by the gain specified at construction and produces exactly
+ * the values a GainFilter with the same gain would produce for the values of that channel.
+ * </p>
+ *
+ * @see filter.GainFilter
+ *
+ * @author Shaun Howard
+ */
+public class GainFilterBank extends FIRFilterBank {
+
+    /**
+     * Constructs a GainFilterBank of the specified number of channels with the gain b.
+     *
+     * @param channels - the number of channels filtered
+     * @param b - the gain to multiply each input value by
+     * @throws exception.IncorrectSizeException - if channels is not in the range [1, INTEGER_MAX_VALUE]
+     */
+    public GainFilterBank(int channels, double b) throws IncorrectSizeException {
+        super(channels, new double[]{b});
+    }
+}
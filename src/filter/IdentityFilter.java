@@ -2,6 +2,10 @@ package filter;
 
 import exception.NullValueException;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * <p>
  * An IdentityFilter is a generic implementation of the Filter interface designed to filter the specified input value
@@ -25,7 +29,7 @@ import exception.NullValueException;
  *
  * @author Shaun Howard
  */
-public class IdentityFilter<A extends Comparable<A>, B> implements Filter<A , B>{
+public class IdentityFilter<A extends Comparable<A>, B> implements Filter<A , B>, Snapshottable {
 
     /**
      * Filters by returning the identity of the input as type B.
@@ -44,4 +48,22 @@ public class IdentityFilter<A extends Comparable<A>, B> implements Filter<A , B>
             return null;
         }
     }
+
+    /**
+     * Writes nothing, since an IdentityFilter has no state.
+     *
+     * @param out - the output the state is written to
+     */
+    @Override
+    public void writeState(DataOutput out) {
+    }
+
+    /**
+     * Reads nothing, since an IdentityFilter has no state.
+     *
+     * @param in - the input the state is read from
+     */
+    @Override
+    public void readState(DataInput in) {
+    }
 }
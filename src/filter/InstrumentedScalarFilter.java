@@ -0,0 +1,189 @@
+package filter;
+
+import exception.EmptyListException;
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * <p>
+ * An InstrumentedScalarFilter is the ScalarFilter equivalent of an InstrumentedFilter. It filters every value with
+ * another ScalarFilter and records the latency of each value filtered and the count of calls rejected by each checked
+ * exception in a FilterMetrics, and keeps the primitive filterDouble and batch paths of the wrapped filter.
+ * </p>
+ * <p>
+ * A batch filter call reads the clock twice for the whole slice and records the mean latency of its values once for
+ * each value, so the cost of the instrumentation is amortized over the slice. When the metrics are disabled, every
+ * call is passed straight to the wrapped filter after a single volatile read.
+ * </p>
+ *
+ * @see filter.InstrumentedFilter
+ *
+ * @author Shaun Howard
+ */
+public class InstrumentedScalarFilter implements ScalarFilter, Snapshottable {
+
+    // The filter of every value.
+    private final ScalarFilter filter;
+
+    // The metrics of the filter.
+    private final FilterMetrics metrics;
+
+    /**
+     * Constructs an InstrumentedScalarFilter of the specified filter with new metrics of the specified name.
+     *
+     * @param filter - the filter of every value
+     * @param name - the name of the metrics
+     * @throws exception.NullValueException - if the filter or the name is null
+     */
+    public InstrumentedScalarFilter(ScalarFilter filter, String name) throws NullValueException {
+        this(filter, new FilterMetrics(name));
+    }
+
+    /**
+     * Constructs an InstrumentedScalarFilter of the specified filter which records into the specified metrics.
+     *
+     * @param filter - the filter of every value
+     * @param metrics - the metrics to record into
+     * @throws exception.NullValueException - if the filter or the metrics are null
+     */
+    public InstrumentedScalarFilter(ScalarFilter filter, FilterMetrics metrics) throws NullValueException {
+        FilterValidator.throwExceptionWhenNull(filter, metrics);
+        this.filter = filter;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Filters the specified value with the wrapped filter and records its latency or rejection.
+     *
+     * @param value - the Double value to filter
+     * @return the value filtered by the wrapped filter
+     * @throws exception.NullValueException - if the input value is null
+     * @throws exception.EmptyListException - if any lists under operation are empty
+     * @throws exception.IncorrectSizeException - if any variable sizes are out of necessary operating range
+     */
+    @Override
+    public Double filter(Double value) throws NullValueException, EmptyListException, IncorrectSizeException {
+        if (!metrics.isEnabled()) {
+            return filter.filter(value);
+        }
+        long start = System.nanoTime();
+        Double filtered;
+        try {
+            filtered = filter.filter(value);
+        } catch (NullValueException | EmptyListException | IncorrectSizeException e) {
+            metrics.recordRejection(e);
+            throw e;
+        }
+        metrics.recordSamples(System.nanoTime() - start, 1);
+        return filtered;
+    }
+
+    /**
+     * Filters the specified value with the wrapped filter, without boxing the input or output value,
+     * and records its latency or rejection.
+     *
+     * @param value - the double value to filter
+     * @return the value filtered by the wrapped filter
+     * @throws exception.EmptyListException - if any lists under operation are empty
+     * @throws exception.IncorrectSizeException - if any variable sizes are out of necessary operating range
+     */
+    @Override
+    public double filterDouble(double value) throws EmptyListException, IncorrectSizeException {
+        if (!metrics.isEnabled()) {
+            return filter.filterDouble(value);
+        }
+        long start = System.nanoTime();
+        double filtered;
+        try {
+            filtered = filter.filterDouble(value);
+        } catch (EmptyListException | IncorrectSizeException e) {
+            metrics.recordRejection(e);
+            throw e;
+        }
+        metrics.recordSamples(System.nanoTime() - start, 1);
+        return filtered;
+    }
+
+    /**
+     * Filters the slice of the input array with the wrapped filter and records the mean latency
+     * of its values or its rejection.
+     *
+     * @param values - the array of values to filter
+     * @param offset - the index of the first value to filter
+     * @param output - the array that receives the filtered values
+     * @param outputOffset - the index that receives the first filtered value
+     * @param length - the number of values to filter
+     * @throws exception.NullValueException - if either array is null
+     * @throws exception.EmptyListException - if any lists under operation are empty
+     * @throws exception.IncorrectSizeException - if either slice does not lie within its array or any
+     * variable sizes are out of necessary operating range
+     */
+    @Override
+    public void filter(double[] values, int offset, double[] output, int outputOffset, int length)
+            throws NullValueException, EmptyListException, IncorrectSizeException {
+        if (!metrics.isEnabled()) {
+            filter.filter(values, offset, output, outputOffset, length);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filter.filter(values, offset, output, outputOffset, length);
+        } catch (NullValueException | EmptyListException | IncorrectSizeException e) {
+            metrics.recordRejection(e);
+            throw e;
+        }
+        metrics.recordSamples(System.nanoTime() - start, length);
+    }
+
+    /**
+     * Resets the wrapped filter. The metrics are not reset.
+     */
+    @Override
+    public void reset() {
+        filter.reset();
+    }
+
+    /**
+     * Writes the class name and state of the wrapped filter to the specified output. The metrics are not written.
+     *
+     * @param out - the output the state is written to
+     * @throws java.io.IOException - if the filter is not Snapshottable or its state cannot be written
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        FilterSnapshot.writeFilter(out, filter);
+    }
+
+    /**
+     * Replaces the state of the wrapped filter with the state read from the specified input.
+     *
+     * @param in - the input the state is read from
+     * @throws java.io.IOException - if the state cannot be read or the filter does not match the filter written
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        FilterSnapshot.readFilter(in, filter);
+    }
+
+    /**
+     * Gets the filter of every value.
+     *
+     * @return the wrapped filter
+     */
+    public ScalarFilter getFilter() {
+        return filter;
+    }
+
+    /**
+     * Gets the metrics recorded by the filter.
+     *
+     * @return the metrics of the filter
+     */
+    public FilterMetrics getMetrics() {
+        return metrics;
+    }
+}
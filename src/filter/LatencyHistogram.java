@@ -0,0 +1,193 @@
+package filter;
+
+import exception.IncorrectSizeException;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>
+ * A LatencyHistogram records a distribution of latencies in nanoseconds in log-linear buckets, in the manner of an
+ * HdrHistogram. Every latency below 128 nanoseconds has a bucket of its own, and every power of two above that is
+ * split into 64 buckets of equal width, so any percentile is reported with a relative error of less than 1.6% while
+ * the histogram holds a fixed 2,240 counts no matter how many latencies are recorded. Latencies of 2^40 nanoseconds,
+ * about eighteen minutes, or more are recorded in the last bucket.
+ * </p>
+ * <p>
+ * Recording a latency takes constant time and does not allocate. The counts are atomic, so latencies may be recorded
+ * by several threads at once and read by another thread, such as a JMX client, while they are recorded. A reading
+ * taken during recording may include some recordings only partially, for instance in the count but not yet in the
+ * total, which is acceptable for monitoring.
+ * </p>
+ *
+ * @author Shaun Howard
+ */
+public class LatencyHistogram {
+
+    // The number of bits of precision of each bucket.
+    private static final int PRECISION_BITS = 7;
+
+    // The number of latencies below the first power of two which is split into buckets, each with its own bucket.
+    private static final int LINEAR = 1 << PRECISION_BITS;
+
+    // The number of buckets each larger power of two is split into.
+    private static final int HALF = LINEAR / 2;
+
+    // The highest bit of the largest latency with a bucket of its own precision.
+    private static final int MAX_BIT = 39;
+
+    // The number of buckets.
+    private static final int BUCKETS = LINEAR + (MAX_BIT - PRECISION_BITS + 1) * HALF;
+
+    // The count of latencies recorded in each bucket.
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    // The count of latencies recorded.
+    private final AtomicLong count = new AtomicLong();
+
+    // The sum of latencies recorded.
+    private final AtomicLong total = new AtomicLong();
+
+    // The largest latency recorded.
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records the specified latency once.
+     *
+     * @param nanos - the latency in nanoseconds, where a negative latency is recorded as zero
+     */
+    public void record(long nanos) {
+        record(nanos, 1);
+    }
+
+    /**
+     * Records the specified latency the specified number of times, such as the mean latency
+     * of each of the values of a batch.
+     *
+     * @param nanos - the latency in nanoseconds, where a negative latency is recorded as zero
+     * @param times - the number of times to record the latency
+     */
+    public void record(long nanos, long times) {
+        if (times <= 0) {
+            return;
+        }
+        long value = Math.max(nanos, 0);
+        counts.addAndGet(bucket(value), times);
+        count.addAndGet(times);
+        total.addAndGet(value * times);
+        long previous;
+        while (value > (previous = max.get()) && !max.compareAndSet(previous, value)) {
+            // retry until the largest latency is stored
+        }
+    }
+
+    /**
+     * Gets the count of latencies recorded since construction or the last reset.
+     *
+     * @return the count of latencies
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Gets the mean of the latencies recorded since construction or the last reset.
+     *
+     * @return the mean latency in nanoseconds, or zero if no latency has been recorded
+     */
+    public double getMean() {
+        long recorded = count.get();
+        return recorded == 0 ? 0.0 : (double) total.get() / recorded;
+    }
+
+    /**
+     * Gets the largest latency recorded since construction or the last reset.
+     *
+     * @return the largest latency in nanoseconds, or zero if no latency has been recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Gets the latency at the specified percentile of the latencies recorded, which is the largest latency
+     * of the bucket holding that percentile, so no more than the specified percentage of the latencies
+     * recorded are greater than it, up to the precision of the buckets.
+     *
+     * @param percentile - the percentile in the range [0, 100]
+     * @return the latency at the percentile in nanoseconds, or zero if no latency has been recorded
+     * @throws exception.IncorrectSizeException - if the percentile is not in the range [0, 100]
+     */
+    public long getValueAtPercentile(double percentile) throws IncorrectSizeException {
+        if (!(percentile >= 0.0 && percentile <= 100.0)) {
+            throw new IncorrectSizeException("The percentile " + percentile + " is not in the range [0, 100].");
+        }
+        long[] snapshot = new long[BUCKETS];
+        long recorded = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            snapshot[b] = counts.get(b);
+            recorded += snapshot[b];
+        }
+        if (recorded == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * recorded));
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += snapshot[b];
+            if (seen >= rank) {
+                return Math.min(highest(b), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Forgets every latency recorded. Latencies recorded during the reset may be partially forgotten.
+     */
+    public void reset() {
+        for (int b = 0; b < BUCKETS; b++) {
+            counts.set(b, 0);
+        }
+        count.set(0);
+        total.set(0);
+        max.set(0);
+    }
+
+    /**
+     * Gets the index of the bucket of the specified latency.
+     *
+     * @param value - the non-negative latency
+     * @return the index of the bucket of the latency
+     */
+    static int bucket(long value) {
+        if (value < LINEAR) {
+            return (int) value;
+        }
+        int bit = 63 - Long.numberOfLeadingZeros(value);
+        if (bit > MAX_BIT) {
+            return BUCKETS - 1;
+        }
+        int shift = bit - (PRECISION_BITS - 1);
+        return LINEAR + (shift - 1) * HALF + (int) (value >>> shift) - HALF;
+    }
+
+    /**
+     * Gets the largest latency of the specified bucket.
+     *
+     * @param bucket - the index of the bucket
+     * @return the largest latency recorded in the bucket
+     */
+    static long highest(int bucket) {
+        if (bucket < LINEAR) {
+            return bucket;
+        }
+        if (bucket == BUCKETS - 1) {
+            return Long.MAX_VALUE;
+        }
+        int offset = bucket - LINEAR;
+        int shift = offset / HALF + 1;
+        long mantissa = offset % HALF + HALF;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
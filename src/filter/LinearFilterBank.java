@@ -0,0 +1,344 @@
+package filter;
+
+import exception.EmptyListException;
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>
+ * A LinearFilterBank is the FilterBank equivalent of a ScalarLinearFilter. Every channel is filtered with the
+ * linear equation (y(i) + a(1)y(i - 1) +...+ a(M)y(i - M) = b(0)x(i) +...+ b(N)x(i - N)) using the same multiplier
+ * lists and boundary coefficients, and each channel produces exactly the values a ScalarLinearFilter constructed
+ * with the same arguments would produce for the values of that channel.
+ * </p>
+ * <p>
+ * The previous input values x and previous output values y of every channel are stored in two primitive circular
+ * buffers of rows, where each row holds the value of every channel at one time step. The sum of each side of the
+ * linear equation is accumulated one multiplier at a time over a whole row, so the loop over the channels runs over
+ * adjacent values with a single multiplier and can be vectorized. Each frame filtered takes O((N + M) * channels)
+ * time and the memory used by a bank remains constant no matter how many frames have been filtered.
+ * </p>
+ * <p>
+ * The multiplier lists are validated and copied at construction, so a checked exception is thrown by the
+ * constructor rather than by the filter operations, and later changes to the lists do not affect the bank.
+ * This implementation of Resettable accepts a Double value to reset every channel exactly as
+ * ScalarLinearFilter.reset(Double r) resets a single filter.
+ * </p>
+ *
+ * @see filter.ScalarLinearFilter
+ *
+ * @author Shaun Howard
+ */
+public class LinearFilterBank extends FilterBank implements Resettable<Double>, Snapshottable {
+
+    // The output boundary coefficient for the linear equation.
+    private final int M;
+
+    // The input boundary coefficient for the linear equation.
+    private final int N;
+
+    // The output multipliers.
+    private final double[] aCoefficients;
+
+    // The input multipliers.
+    private final double[] bCoefficients;
+
+    // The current iteration of the bank.
+    private long i;
+
+    // The sum of the input.
+    private double inputSum;
+
+    // The sum of the output.
+    private double outputSum;
+
+    // The circular buffer of rows of previous input values.
+    private final double[] x;
+
+    // The circular buffer of rows of previous output values.
+    private final double[] y;
+
+    // The row of the most recent input values, x(i), in the input buffer.
+    private int xHead;
+
+    // The row of the most recent output values, y(i - 1), in the output buffer.
+    private int yHead;
+
+    // The input side sum of each channel for the current time step.
+    private final double[] inputSums;
+
+    // The output side sum of each channel for the current time step.
+    private final double[] outputSums;
+
+    /**
+     * Constructs a LinearFilterBank of the specified number of channels with boundary coefficients
+     * N and M and lists of multipliers a and b for output and input consecutively.
+     *
+     * @param channels - the number of channels filtered
+     * @param M - the output boundary coefficient
+     * @param N - the input boundary coefficient
+     * @param a - the multiplier list for output
+     * @param b - the multiplier list for input
+     * @throws exception.NullValueException - if multiplier list a or b is null or contains a null value
+     * @throws exception.EmptyListException - if multiplier list b is empty
+     * @throws exception.IncorrectSizeException - if channels is not in the range [1, INTEGER_MAX_VALUE] or the size
+     * of multiplier list a or b does not equal M or N
+     */
+    public LinearFilterBank(int channels, int M, int N, List<Double> a, List<Double> b)
+            throws NullValueException, EmptyListException, IncorrectSizeException {
+        this(channels, validate(M, N, a, b), ScalarLinearFilter.toArray(b));
+    }
+
+    /**
+     * Constructs a LinearFilterBank of the specified number of channels with arrays of multipliers
+     * a and b for output and input consecutively, whose lengths are the boundary coefficients M and N.
+     * The arrays are used as is and must not be modified afterwards.
+     *
+     * @param channels - the number of channels filtered
+     * @param aCoefficients - the multipliers for output
+     * @param bCoefficients - the non-empty multipliers for input
+     * @throws exception.IncorrectSizeException - if channels is not in the range [1, INTEGER_MAX_VALUE]
+     */
+    LinearFilterBank(int channels, double[] aCoefficients, double[] bCoefficients) throws IncorrectSizeException {
+        super(channels);
+        this.M = aCoefficients.length;
+        this.N = bCoefficients.length;
+        this.aCoefficients = aCoefficients;
+        this.bCoefficients = bCoefficients;
+        x = new double[Math.max(N, 1) * channels];
+        y = new double[Math.max(M, 1) * channels];
+        xHead = Math.max(N, 1) - 1;
+        yHead = Math.max(M, 1) - 1;
+        inputSums = new double[channels];
+        outputSums = new double[channels];
+    }
+
+    /**
+     * Validates the multiplier lists against the boundary coefficients exactly as a
+     * ScalarLinearFilter does and copies the output multipliers into a primitive array.
+     *
+     * @param M - the output boundary coefficient
+     * @param N - the input boundary coefficient
+     * @param a - the multiplier list for output
+     * @param b - the multiplier list for input
+     * @return a primitive array with the output multipliers
+     * @throws exception.NullValueException - if multiplier list a or b is null or contains a null value
+     * @throws exception.EmptyListException - if multiplier list b is empty
+     * @throws exception.IncorrectSizeException - if the size of multiplier list a or b does not equal M or N
+     */
+    private static double[] validate(int M, int N, List<Double> a, List<Double> b)
+            throws NullValueException, EmptyListException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(a, b);
+        FilterValidator.throwExceptionWhenEmpty(b);
+        FilterValidator.throwIncorrectSizeException(b, N);
+        FilterValidator.throwIncorrectSizeException(a, M);
+        return ScalarLinearFilter.toArray(a);
+    }
+
+    /**
+     * Advances every channel by one time step of the linear equation. The input frame is stored as the newest
+     * row of the input buffer, each side of the equation is accumulated one multiplier at a time over all
+     * channels, and the output frame is stored as the newest row of the output buffer.
+     *
+     * @param input - the array holding the input frame
+     * @param inputOffset - the index of the value of channel zero in the input array
+     * @param output - the array that receives the filtered frame
+     * @param outputOffset - the index that receives the value of channel zero in the output array
+     */
+    @Override
+    protected void advance(double[] input, int inputOffset, double[] output, int outputOffset) {
+        int channels = getChannels();
+        int xRows = x.length / channels;
+        int yRows = y.length / channels;
+        if (++xHead == xRows) {
+            xHead = 0;
+        }
+        System.arraycopy(input, inputOffset, x, xHead * channels, channels);
+
+        //x(i-n) and y(i-m) are zero before the first iteration, so only sum over stored rows
+        int inputTaps = (int) Math.min(N, i + 1);
+        int outputTaps = (int) Math.min(M - 1, i);
+        Arrays.fill(inputSums, 0.0);
+        Arrays.fill(outputSums, 0.0);
+        for (int n = 0, row = xHead; n < inputTaps; n++, row = row == 0 ? xRows - 1 : row - 1) {
+            accumulate(inputSums, bCoefficients[n], x, row * channels);
+        }
+        for (int m = 1, row = yHead; m <= outputTaps; m++, row = row == 0 ? yRows - 1 : row - 1) {
+            accumulate(outputSums, aCoefficients[m], y, row * channels);
+        }
+
+        if (++yHead == yRows) {
+            yHead = 0;
+        }
+        int yRow = yHead * channels;
+        for (int c = 0; c < channels; c++) {
+            double out = (inputSums[c] + inputSum) - (outputSums[c] + outputSum);
+            y[yRow + c] = out;
+            output[outputOffset + c] = out;
+        }
+        i++;
+    }
+
+    /**
+     * Adds the multiplier times each value of the specified row to the sum of the same channel.
+     *
+     * @param sums - the sum of each channel
+     * @param coefficient - the multiplier of the row
+     * @param history - the circular buffer of rows
+     * @param row - the index of the first value of the row in the circular buffer
+     */
+    private static void accumulate(double[] sums, double coefficient, double[] history, int row) {
+        for (int c = 0; c < sums.length; c++) {
+            sums[c] += coefficient * history[row + c];
+        }
+    }
+
+    /**
+     * Resets every channel of the bank by resetting it with a zero value.
+     */
+    @Override
+    public void reset() {
+        resetTo(0.0);
+    }
+
+    /**
+     * Resets every channel of the bank with the specified value r.
+     * Sets the record of previous input value to r.
+     * Sets the record of previous output value to the calculation
+     * r(sum of b(0) - b(N)) / (1 + sum of a(1) - a(M)).
+     *
+     * @param r - the value to reset the bank with
+     * @throws exception.NullValueException - if the reset value is null
+     */
+    @Override
+    public void reset(Double r) throws NullValueException {
+        FilterValidator.throwExceptionWhenNull(r);
+        resetTo(r);
+    }
+
+    /**
+     * Resets every channel of the bank with the specified primitive value r.
+     *
+     * @param r - the value to reset the bank with
+     */
+    private void resetTo(double r) {
+        double dividend = 0;
+        double quotient = 1;
+        for (int n = 0; n < N; n++) {
+            dividend += bCoefficients[n];
+        }
+        for (int m = 1; m < M; m++) {
+            quotient += aCoefficients[m];
+        }
+        i = 0;
+        inputSum = r;
+        dividend = r * dividend;
+        outputSum = dividend / quotient;
+        FilterEvents.reset(this);
+    }
+
+    /**
+     * Writes the number of channels, the boundary coefficients M and N, the iteration, the input and output
+     * sums and the rows of previous input and output values, oldest first, to the specified output.
+     *
+     * @param out - the output the state is written to
+     * @throws java.io.IOException - if the state cannot be written
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(getChannels());
+        out.writeInt(M);
+        out.writeInt(N);
+        out.writeLong(i);
+        out.writeDouble(inputSum);
+        out.writeDouble(outputSum);
+        writeRows(out, x, xHead);
+        writeRows(out, y, yHead);
+    }
+
+    /**
+     * Replaces the iteration, the input and output sums and the rows of previous input and output values
+     * with the state read from the specified input, so that a bank with the same multipliers produces exactly
+     * the same frames as the bank written.
+     *
+     * @param in - the input the state is read from
+     * @throws java.io.IOException - if the state cannot be read or was written by a bank of a different number
+     * of channels, M or N
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        FilterSnapshot.check("number of channels", in.readInt(), getChannels());
+        FilterSnapshot.check("output boundary coefficient M", in.readInt(), M);
+        FilterSnapshot.check("input boundary coefficient N", in.readInt(), N);
+        long iteration = in.readLong();
+        if (iteration < 0) {
+            throw new IOException("The iteration " + iteration + " in the snapshot is negative.");
+        }
+        double input = in.readDouble();
+        double output = in.readDouble();
+        for (int n = 0; n < x.length; n++) {
+            x[n] = in.readDouble();
+        }
+        for (int m = 0; m < y.length; m++) {
+            y[m] = in.readDouble();
+        }
+        xHead = x.length / getChannels() - 1;
+        yHead = y.length / getChannels() - 1;
+        i = iteration;
+        inputSum = input;
+        outputSum = output;
+    }
+
+    /**
+     * Writes the rows of the specified circular buffer of rows, oldest first.
+     *
+     * @param out - the output the values are written to
+     * @param history - the circular buffer of rows of previous values
+     * @param head - the row of the most recent values in the circular buffer
+     * @throws java.io.IOException - if the values cannot be written
+     */
+    private void writeRows(DataOutput out, double[] history, int head) throws IOException {
+        int channels = getChannels();
+        int rows = history.length / channels;
+        for (int r = 1; r <= rows; r++) {
+            int row = head + r < rows ? head + r : head + r - rows;
+            for (int c = 0; c < channels; c++) {
+                out.writeDouble(history[row * channels + c]);
+            }
+        }
+    }
+
+    /**
+     * Gets the current iteration of the bank, which is the number of frames filtered
+     * since instantiation or the last reset.
+     *
+     * @return the current iteration of the bank
+     */
+    public long getIteration() {
+        return i;
+    }
+
+    /**
+     * Gets the input boundary coefficient of the linear equation.
+     *
+     * @return the input boundary coefficient of the linear equation
+     */
+    public int getN() {
+        return N;
+    }
+
+    /**
+     * Gets the output boundary coefficient of the linear equation.
+     *
+     * @return the output boundary coefficient of the linear equation
+     */
+    public int getM() {
+        return M;
+    }
+}
@@ -0,0 +1,169 @@
+package filter;
+
+import exception.EmptyListException;
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>
+ * A LinearizableFilter is a thread-safe implementation of the Filter interface which filters every value with another
+ * filter while holding a lock, so that several threads may feed one filter without external synchronization. It is
+ * the linearizable mode for filters whose output depends on the order of their input values, such as the windowed
+ * MaxFilterN, MinFilterN and AveragingFilterN and a FilterCascade: every call takes effect atomically at a single
+ * point between its invocation and its return, so the state of the wrapped filter is always the state reached by
+ * filtering the values one at a time in the order in which the calls acquired the lock, and each call returns
+ * exactly the value the wrapped filter returned for its own input.
+ * </p>
+ * <p>
+ * A batch filter call filters its whole slice under a single acquisition of the lock, so the values of a slice are
+ * filtered consecutively with no value of another thread between them. When the lock is fair, calls acquire the lock
+ * in the order in which they began waiting for it, so the order of filtering follows the order of arrival. A fair
+ * lock gives a lower throughput than the default unfair lock.
+ * </p>
+ * <p>
+ * Other operations of the wrapped filter, such as a reset or a read of its window, are made atomic with respect to
+ * filtering by holding the lock returned by getLock() while they run. The wrapped filter must not be used directly
+ * by any thread without holding the lock. Filters whose output does not depend on the order of their input values
+ * have lock-free alternatives, the ConcurrentMaxFilter, ConcurrentMinFilter and ConcurrentAveragingFilter.
+ * </p>
+ *
+ * @param <A> - the comparable type of input element to filter
+ * @param <B> - the type of output element produced by the filter
+ *
+ * @see filter.LinearizableScalarFilter
+ *
+ * @author Shaun Howard
+ */
+public class LinearizableFilter<A extends Comparable<A>, B> implements Filter<A, B>, Snapshottable {
+
+    // The filter of every value.
+    private final Filter<A, B> filter;
+
+    // The lock held while the filter runs.
+    private final ReentrantLock lock;
+
+    /**
+     * Constructs a LinearizableFilter of the specified filter with an unfair lock.
+     *
+     * @param filter - the filter of every value
+     * @throws exception.NullValueException - if the filter is null
+     */
+    public LinearizableFilter(Filter<A, B> filter) throws NullValueException {
+        this(filter, false);
+    }
+
+    /**
+     * Constructs a LinearizableFilter of the specified filter with a lock of the specified fairness.
+     *
+     * @param filter - the filter of every value
+     * @param fair - whether the lock is granted in the order in which calls began waiting for it
+     * @throws exception.NullValueException - if the filter is null
+     */
+    public LinearizableFilter(Filter<A, B> filter, boolean fair) throws NullValueException {
+        FilterValidator.throwExceptionWhenNull(filter);
+        this.filter = filter;
+        this.lock = new ReentrantLock(fair);
+    }
+
+    /**
+     * Filters the specified value with the wrapped filter while holding the lock.
+     *
+     * @param value - the value to filter
+     * @return the value filtered by the wrapped filter
+     * @throws exception.NullValueException - if the input value is null
+     * @throws exception.EmptyListException - if any lists under operation are empty
+     * @throws exception.IncorrectSizeException - if any variable sizes are out of necessary operating range
+     */
+    @Override
+    public B filter(A value) throws NullValueException, EmptyListException, IncorrectSizeException {
+        lock.lock();
+        try {
+            return filter.filter(value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Filters the slice of the input array with the wrapped filter while holding the lock once for the whole slice.
+     *
+     * @param values - the array of values to filter
+     * @param offset - the index of the first value to filter
+     * @param output - the array that receives the filtered values
+     * @param outputOffset - the index that receives the first filtered value
+     * @param length - the number of values to filter
+     * @throws exception.NullValueException - if either array or any input value is null
+     * @throws exception.EmptyListException - if any lists under operation are empty
+     * @throws exception.IncorrectSizeException - if either slice does not lie within its array or any
+     * variable sizes are out of necessary operating range
+     */
+    @Override
+    public void filter(A[] values, int offset, B[] output, int outputOffset, int length)
+            throws NullValueException, EmptyListException, IncorrectSizeException {
+        lock.lock();
+        try {
+            filter.filter(values, offset, output, outputOffset, length);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the class name and state of the filter to the specified output while holding the lock,
+     * so the snapshot is atomic with respect to every filter call.
+     *
+     * @param out - the output the state is written to
+     * @throws java.io.IOException - if the filter is not Snapshottable or its state cannot be written
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        lock.lock();
+        try {
+            FilterSnapshot.writeFilter(out, filter);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the state of the filter with the state read from the specified input while holding the lock,
+     * so the restore is atomic with respect to every filter call.
+     *
+     * @param in - the input the state is read from
+     * @throws java.io.IOException - if the state cannot be read or the filter does not match the filter written
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        lock.lock();
+        try {
+            FilterSnapshot.readFilter(in, filter);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the filter of every value, which must only be used while holding the lock.
+     *
+     * @return the wrapped filter
+     */
+    public Filter<A, B> getFilter() {
+        return filter;
+    }
+
+    /**
+     * Gets the lock held while the filter runs. Holding it makes any other operation
+     * of the wrapped filter atomic with respect to filtering.
+     *
+     * @return the lock of the filter
+     */
+    public Lock getLock() {
+        return lock;
+    }
+}
@@ -0,0 +1,189 @@
+package filter;
+
+import exception.EmptyListException;
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>
+ * A LinearizableScalarFilter is the ScalarFilter equivalent of a LinearizableFilter. It filters every value with
+ * another ScalarFilter while holding a lock, so that every call takes effect atomically and the wrapped filter sees
+ * the values one at a time in the order in which the calls acquired the lock. It is the linearizable mode for
+ * scalar filters whose output depends on the order of their input values, such as an AveragingFilterN or a
+ * ScalarLinearFilter, and keeps the primitive filterDouble and batch paths of the wrapped filter.
+ * </p>
+ * <p>
+ * A batch filter call filters its whole slice under a single acquisition of the lock, which also amortizes the cost
+ * of the lock over the slice. The reset method resets the wrapped filter while holding the lock. Any other operation
+ * of the wrapped filter is made atomic with respect to filtering by holding the lock returned by getLock().
+ * </p>
+ *
+ * @see filter.LinearizableFilter
+ *
+ * @author Shaun Howard
+ */
+public class LinearizableScalarFilter implements ScalarFilter, Snapshottable {
+
+    // The filter of every value.
+    private final ScalarFilter filter;
+
+    // The lock held while the filter runs.
+    private final ReentrantLock lock;
+
+    /**
+     * Constructs a LinearizableScalarFilter of the specified filter with an unfair lock.
+     *
+     * @param filter - the filter of every value
+     * @throws exception.NullValueException - if the filter is null
+     */
+    public LinearizableScalarFilter(ScalarFilter filter) throws NullValueException {
+        this(filter, false);
+    }
+
+    /**
+     * Constructs a LinearizableScalarFilter of the specified filter with a lock of the specified fairness.
+     *
+     * @param filter - the filter of every value
+     * @param fair - whether the lock is granted in the order in which calls began waiting for it
+     * @throws exception.NullValueException - if the filter is null
+     */
+    public LinearizableScalarFilter(ScalarFilter filter, boolean fair) throws NullValueException {
+        FilterValidator.throwExceptionWhenNull(filter);
+        this.filter = filter;
+        this.lock = new ReentrantLock(fair);
+    }
+
+    /**
+     * Filters the specified value with the wrapped filter while holding the lock.
+     *
+     * @param value - the Double value to filter
+     * @return the value filtered by the wrapped filter
+     * @throws exception.NullValueException - if the input value is null
+     * @throws exception.EmptyListException - if any lists under operation are empty
+     * @throws exception.IncorrectSizeException - if any variable sizes are out of necessary operating range
+     */
+    @Override
+    public Double filter(Double value) throws NullValueException, EmptyListException, IncorrectSizeException {
+        lock.lock();
+        try {
+            return filter.filter(value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Filters the specified value with the wrapped filter while holding the lock, without boxing
+     * the input or output value.
+     *
+     * @param value - the double value to filter
+     * @return the value filtered by the wrapped filter
+     * @throws exception.EmptyListException - if any lists under operation are empty
+     * @throws exception.IncorrectSizeException - if any variable sizes are out of necessary operating range
+     */
+    @Override
+    public double filterDouble(double value) throws EmptyListException, IncorrectSizeException {
+        lock.lock();
+        try {
+            return filter.filterDouble(value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Filters the slice of the input array with the wrapped filter while holding the lock once for the whole slice.
+     *
+     * @param values - the array of values to filter
+     * @param offset - the index of the first value to filter
+     * @param output - the array that receives the filtered values
+     * @param outputOffset - the index that receives the first filtered value
+     * @param length - the number of values to filter
+     * @throws exception.NullValueException - if either array is null
+     * @throws exception.EmptyListException - if any lists under operation are empty
+     * @throws exception.IncorrectSizeException - if either slice does not lie within its array or any
+     * variable sizes are out of necessary operating range
+     */
+    @Override
+    public void filter(double[] values, int offset, double[] output, int outputOffset, int length)
+            throws NullValueException, EmptyListException, IncorrectSizeException {
+        lock.lock();
+        try {
+            filter.filter(values, offset, output, outputOffset, length);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Resets the wrapped filter while holding the lock.
+     */
+    @Override
+    public void reset() {
+        lock.lock();
+        try {
+            filter.reset();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the class name and state of the filter to the specified output while holding the lock,
+     * so the snapshot is atomic with respect to every filter call.
+     *
+     * @param out - the output the state is written to
+     * @throws java.io.IOException - if the filter is not Snapshottable or its state cannot be written
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        lock.lock();
+        try {
+            FilterSnapshot.writeFilter(out, filter);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the state of the filter with the state read from the specified input while holding the lock,
+     * so the restore is atomic with respect to every filter call.
+     *
+     * @param in - the input the state is read from
+     * @throws java.io.IOException - if the state cannot be read or the filter does not match the filter written
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        lock.lock();
+        try {
+            FilterSnapshot.readFilter(in, filter);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the filter of every value, which must only be used while holding the lock.
+     *
+     * @return the wrapped filter
+     */
+    public ScalarFilter getFilter() {
+        return filter;
+    }
+
+    /**
+     * Gets the lock held while the filter runs. Holding it makes any other operation
+     * of the wrapped filter atomic with respect to filtering.
+     *
+     * @return the lock of the filter
+     */
+    public Lock getLock() {
+        return lock;
+    }
+}
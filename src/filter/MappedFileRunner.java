@@ -0,0 +1,244 @@
+package filter;
+
+import exception.EmptyListException;
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * <p>
+ * A MappedFileRunner filters a binary file of little-endian double values into another binary file of the same
+ * format without reading the file into the heap. The input file is memory-mapped with FileChannel.map one region at
+ * a time, the values of each region are copied in blocks into a single primitive array, filtered in place with the
+ * batch filter method of the filter and copied into the matching region of the memory-mapped output file. Since file
+ * positions are long values and each region is mapped separately, files larger than 2GB are supported.
+ * </p>
+ * <p>
+ * A ScalarFilter, including a ScalarFilterCascade, filters every block through its primitive batch method, so no
+ * object is created per value; the only allocations are the block array and one mapping per region. A FilterCascade
+ * whose filters are all ScalarFilters runs each of its filters over the block in turn through their primitive batch
+ * methods, with the same result as filtering each value through the cascade. Any other Filter of Doubles filters each
+ * block through its boxed batch method, which boxes every value.
+ * </p>
+ * <p>
+ * The output file is created, or truncated if it exists, and has the same length as the input file once the run
+ * completes. The values are written through the mapping to the page cache of the operating system, which writes them
+ * to the file even if the JVM exits; calling FileChannel.force is only needed to survive a crash of the system. When
+ * the filter throws a checked exception, the output file holds the values filtered before the failing block. The
+ * length of the input file must be a multiple of eight bytes, and the input and output files must be different files.
+ * </p>
+ *
+ * @author Shaun Howard
+ */
+public class MappedFileRunner {
+
+    // The default number of values filtered by each batch call.
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 13;
+
+    // The default number of values in each mapped region.
+    public static final int DEFAULT_REGION_SIZE = 1 << 24;
+
+    // The number of bytes of a double value.
+    private static final int BYTES = Double.BYTES;
+
+    // The number of values filtered by each batch call.
+    private final int blockSize;
+
+    // The number of values in each mapped region.
+    private final int regionSize;
+
+    /**
+     * Constructs a MappedFileRunner which filters blocks of DEFAULT_BLOCK_SIZE values
+     * and maps regions of DEFAULT_REGION_SIZE values, which is 128MB.
+     */
+    public MappedFileRunner() {
+        this.blockSize = DEFAULT_BLOCK_SIZE;
+        this.regionSize = DEFAULT_REGION_SIZE;
+    }
+
+    /**
+     * Constructs a MappedFileRunner which filters blocks of the specified number of values
+     * and maps regions of the specified number of values.
+     *
+     * @param blockSize - the number of values filtered by each batch call
+     * @param regionSize - the number of values in each mapped region
+     * @throws exception.IncorrectSizeException - if the block size is not in the range [1, INTEGER_MAX_VALUE] or
+     * the region size is not in the range [1, INTEGER_MAX_VALUE / 8]
+     */
+    public MappedFileRunner(int blockSize, int regionSize) throws IncorrectSizeException {
+        FilterValidator.throwWhenOutOfRange(blockSize, 1, Integer.MAX_VALUE);
+        FilterValidator.throwWhenOutOfRange(regionSize, 1, Integer.MAX_VALUE / BYTES);
+        this.blockSize = blockSize;
+        this.regionSize = regionSize;
+    }
+
+    /**
+     * Filters every value of the input file with the specified ScalarFilter into the output file.
+     *
+     * @param filter - the filter of the values
+     * @param input - the file of little-endian double values to filter
+     * @param output - the file that receives the filtered values
+     * @return the number of values filtered
+     * @throws java.io.IOException - if a file cannot be read, written or mapped, or the length of the input
+     * file is not a multiple of eight bytes
+     * @throws exception.NullValueException - if the filter or either path is null
+     * @throws exception.EmptyListException - if any lists under operation are empty
+     * @throws exception.IncorrectSizeException - if any variable sizes are out of necessary operating range
+     */
+    public long run(ScalarFilter filter, Path input, Path output)
+            throws IOException, NullValueException, EmptyListException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(filter, input, output);
+        return run((block, length) -> filter.filter(block, 0, block, 0, length), input, output);
+    }
+
+    /**
+     * Filters every value of the input file with the specified Filter of Doubles, such as a FilterCascade,
+     * into the output file. A ScalarFilter or a FilterCascade of ScalarFilters never boxes a value.
+     *
+     * @param filter - the filter of the values
+     * @param input - the file of little-endian double values to filter
+     * @param output - the file that receives the filtered values
+     * @return the number of values filtered
+     * @throws java.io.IOException - if a file cannot be read, written or mapped, or the length of the input
+     * file is not a multiple of eight bytes
+     * @throws exception.NullValueException - if the filter or either path is null, or the filter produces a null value
+     * @throws exception.EmptyListException - if any lists under operation are empty
+     * @throws exception.IncorrectSizeException - if any variable sizes are out of necessary operating range
+     */
+    public long run(Filter<Double, Double> filter, Path input, Path output)
+            throws IOException, NullValueException, EmptyListException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(filter, input, output);
+        if (filter instanceof ScalarFilter) {
+            return run((ScalarFilter) filter, input, output);
+        }
+        ScalarFilter[] stages = scalarStages(filter);
+        if (stages != null) {
+            return run((block, length) -> {
+                for (ScalarFilter stage : stages) {
+                    stage.filter(block, 0, block, 0, length);
+                }
+            }, input, output);
+        }
+        Double[] boxed = new Double[blockSize];
+        Double[] filtered = new Double[blockSize];
+        return run((block, length) -> {
+            for (int j = 0; j < length; j++) {
+                boxed[j] = block[j];
+            }
+            filter.filter(boxed, 0, filtered, 0, length);
+            for (int j = 0; j < length; j++) {
+                Double value = filtered[j];
+                FilterValidator.throwExceptionWhenNull(value);
+                block[j] = value;
+            }
+        }, input, output);
+    }
+
+    /**
+     * Gets the number of values filtered by each batch call.
+     *
+     * @return the block size
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Gets the number of values in each mapped region.
+     *
+     * @return the region size
+     */
+    public int getRegionSize() {
+        return regionSize;
+    }
+
+    /**
+     * Gets the filters of the specified filter when it is a FilterCascade made only of ScalarFilters.
+     *
+     * @param filter - the filter to inspect
+     * @return the filters of the cascade in order, or null if the filter is not such a cascade
+     */
+    private static ScalarFilter[] scalarStages(Filter<Double, Double> filter) {
+        if (!(filter instanceof FilterCascade)) {
+            return null;
+        }
+        List<Filter<Double, Double>> filters = ((FilterCascade<Double, Double>) filter).getFilters();
+        if (filters == null) {
+            return null;
+        }
+        ScalarFilter[] stages = new ScalarFilter[filters.size()];
+        for (int s = 0; s < stages.length; s++) {
+            Filter<Double, Double> stage = filters.get(s);
+            if (!(stage instanceof ScalarFilter)) {
+                return null;
+            }
+            stages[s] = (ScalarFilter) stage;
+        }
+        return stages;
+    }
+
+    /**
+     * Maps the input and output files one region at a time and filters each region in blocks.
+     *
+     * @param block - the filter operation of a block
+     * @param input - the file of little-endian double values to filter
+     * @param output - the file that receives the filtered values
+     * @return the number of values filtered
+     * @throws java.io.IOException - if a file cannot be read, written or mapped, or the length of the input
+     * file is not a multiple of eight bytes
+     * @throws exception.NullValueException - if a value is null
+     * @throws exception.EmptyListException - if any lists under operation are empty
+     * @throws exception.IncorrectSizeException - if any variable sizes are out of necessary operating range
+     */
+    private long run(Block block, Path input, Path output)
+            throws IOException, NullValueException, EmptyListException, IncorrectSizeException {
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            if (size % BYTES != 0) {
+                throw new IOException("The length of " + input + " is not a multiple of " + BYTES + " bytes.");
+            }
+            double[] values = new double[(int) Math.min(blockSize, size / BYTES)];
+            long regionBytes = (long) regionSize * BYTES;
+            for (long position = 0; position < size; position += regionBytes) {
+                long bytes = Math.min(regionBytes, size - position);
+                DoubleBuffer source = in.map(FileChannel.MapMode.READ_ONLY, position, bytes)
+                        .order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+                DoubleBuffer target = out.map(FileChannel.MapMode.READ_WRITE, position, bytes)
+                        .order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+                while (source.hasRemaining()) {
+                    int length = Math.min(values.length, source.remaining());
+                    source.get(values, 0, length);
+                    block.filter(values, length);
+                    target.put(values, 0, length);
+                }
+            }
+            return size / BYTES;
+        }
+    }
+
+    /**
+     * The filter operation of a block of values, which filters the values in place.
+     */
+    private interface Block {
+
+        /**
+         * Filters the first length values of the block in place.
+         *
+         * @param values - the block of values
+         * @param length - the number of values in the block
+         * @throws exception.NullValueException - if a value is null
+         * @throws exception.EmptyListException - if any lists under operation are empty
+         * @throws exception.IncorrectSizeException - if any variable sizes are out of necessary operating range
+         */
+        void filter(double[] values, int length) throws NullValueException, EmptyListException, IncorrectSizeException;
+    }
+}
@@ -4,6 +4,12 @@ import exception.EmptyListException;
 import exception.IncorrectSizeException;
 import exception.NullValueException;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * <p>
  * A MaxFilter is a generic implementation of the Filter interface designed to filter a given input value based on
@@ -26,8 +32,11 @@ import exception.NullValueException;
  * is thrown. Thus, no previous data is retained after reset is called.
  * </p>
  * <p>
- * The filter and max operations take linear time due to the comparison of all n stored filter input values.
- * All other operations take constant time.
+ * The maximum of the window is tracked by a SlidingExtremum, a monotonic deque which only retains the stored filter input
+ * values that may still become the maximum of the window. Each input value enters and leaves the deque at most once, so
+ * the filter and max operations take amortized constant time. All other operations take constant time. The deque only
+ * tracks values provided through the filter and reset methods; values added directly to the list returned by
+ * getValues() are not considered by the max operation.
  * </p>
  * <p>
  * This class only supports types A and B where B is a subclass of A. If type B is not a subclass of type A,
@@ -42,7 +51,11 @@ import exception.NullValueException;
  *
  * @author Shaun Howard
  */
-public class MaxFilterN<A extends Comparable<A>,B> extends FilterN<A> implements Filter<A,B>, Resettable<A> {
+public class MaxFilterN<A extends Comparable<A>,B> extends FilterN<A> implements Filter<A,B>, Resettable<A>,
+        Snapshottable {
+
+    // The sliding window maximum of the last n filter input values.
+    private SlidingExtremum<A> extremum;
 
     /**
      * Constructs a Max Filter that only filters the last N
@@ -52,6 +65,7 @@ public class MaxFilterN<A extends Comparable<A>,B> extends FilterN<A> implements
      */
     public MaxFilterN(int n){
         super(n);
+        extremum = new SlidingExtremum<>(n, true);
     }
 
     /**
@@ -70,9 +84,45 @@ public class MaxFilterN<A extends Comparable<A>,B> extends FilterN<A> implements
         FilterValidator.throwExceptionWhenNull(value);
         maintainN();
         getValues().add(value);
+        extremum.add(value);
         return max();
     }
 
+    /**
+     * Filters each value in the slice of the input array exactly as filter(A value) does and writes
+     * each maximum to the slice of the output array.
+     *
+     * @param values - the array of values to filter
+     * @param offset - the index of the first value to filter
+     * @param output - the array that receives the filtered values
+     * @param outputOffset - the index that receives the first filtered value
+     * @param length - the number of values to filter
+     * @throws exception.NullValueException - if either array or any input value is null
+     * @throws exception.EmptyListException - if the list of values is null
+     * @throws exception.IncorrectSizeException - if either slice does not lie within its array or n is not in the
+     * range [0, INTEGER_MAX_VALUE]
+     */
+    @Override
+    public void filter(A[] values, int offset, B[] output, int outputOffset, int length)
+            throws NullValueException, EmptyListException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(values, output);
+        FilterValidator.throwWhenSliceOutOfRange(values.length, offset, length);
+        FilterValidator.throwWhenSliceOutOfRange(output.length, outputOffset, length);
+        FilterEvents.BatchEvent event = FilterEvents.beginBatch();
+        List<A> window = getValues();
+        for (int j = 0; j < length; j++) {
+            A value = values[offset + j];
+            FilterValidator.throwExceptionWhenNull(value);
+            maintainN();
+            window.add(value);
+            //the same cast filter(A value) makes, which the class only supports when the values of type A are of type B
+            @SuppressWarnings("unchecked")
+            B filtered = (B) extremum.add(value);
+            output[outputOffset + j] = filtered;
+        }
+        FilterEvents.commitBatch(event, this, length);
+    }
+
     /**
      * Resets the filter with the given value.
      *
@@ -83,6 +133,61 @@ public class MaxFilterN<A extends Comparable<A>,B> extends FilterN<A> implements
         FilterValidator.throwExceptionWhenNull(value);
         getValues().clear();
         getValues().add(value);
+        extremum.clear();
+        extremum.add(value);
+        FilterEvents.reset(this);
+    }
+
+    /**
+     * Writes n, the stored filter input values and the state of the sliding window maximum to the specified output.
+     *
+     * @param out - the output the state is written to
+     * @throws java.io.IOException - if the state cannot be written or a value is of a type unsupported by
+     * FilterSnapshot.writeValue
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(getSnapshotN());
+        List<A> window = getValues();
+        out.writeInt(window.size());
+        for (A value : window) {
+            FilterSnapshot.writeValue(out, value);
+        }
+        extremum.writeState(out);
+    }
+
+    /**
+     * Replaces the stored filter input values and the state of the sliding window maximum with the state
+     * read from the specified input. The whole state is read before any of it is stored, so the filter is left
+     * unchanged when the state cannot be read.
+     * <p>
+     * Every value read must be of the same class as the values the filter holds. Since type A is erased, a
+     * filter which holds no values only checks that the values read share one class, so restoring a snapshot
+     * of a filter of a different type into an empty filter fails with a ClassCastException when a value is
+     * first compared or returned rather than here.
+     * </p>
+     *
+     * @param in - the input the state is read from
+     * @throws java.io.IOException - if the state cannot be read, was written by a filter of a different n, holds
+     * more than n values or holds a value of a different class
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void readState(DataInput in) throws IOException {
+        int n = getSnapshotN();
+        FilterSnapshot.check("n", in.readInt(), n);
+        int count = FilterSnapshot.readSize(in, n);
+        List<A> window = getValues();
+        Class<?> type = window.isEmpty() ? null : window.get(0).getClass();
+        List<A> restored = new ArrayList<>(count);
+        for (int j = 0; j < count; j++) {
+            Object value = FilterSnapshot.readValue(in);
+            type = FilterSnapshot.checkType(value, type);
+            restored.add((A) value);
+        }
+        extremum.readState(in, type);
+        window.clear();
+        window.addAll(restored);
     }
 
     /**
@@ -91,17 +196,7 @@ public class MaxFilterN<A extends Comparable<A>,B> extends FilterN<A> implements
      * @return the max element in the collection of filtered values
      */
     private B max(){
-        A max = null;
-        boolean first = true;
-        for (A value : getValues()){
-            if (first){
-                first = false;
-                max = value;
-            }
-            if (value.compareTo(max) > 0){
-                max = value;
-            }
-        }
+        A max = extremum.getExtremum();
         try {
             return (B)max;
         } catch (ClassCastException cce){
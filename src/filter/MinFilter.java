@@ -1,7 +1,12 @@
 package filter;
 
+import exception.IncorrectSizeException;
 import exception.NullValueException;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * <p>
  * A MinFilter is a generic implementation of the Filter interface designed to filter a given input value based on
@@ -36,7 +41,7 @@ import exception.NullValueException;
  *
  * @author Shaun Howard
  */
-public class MinFilter<A extends Comparable<A>,B> implements Filter<A , B>, Resettable<A> {
+public class MinFilter<A extends Comparable<A>,B> implements Filter<A , B>, Resettable<A>, Snapshottable {
 
     // The minimum value found thus far.
     private A min;
@@ -63,6 +68,39 @@ public class MinFilter<A extends Comparable<A>,B> implements Filter<A , B>, Rese
         }
     }
 
+    /**
+     * Filters each value in the slice of the input array exactly as filter(A value) does and writes
+     * each minimum to the slice of the output array.
+     *
+     * @param values - the array of values to filter
+     * @param offset - the index of the first value to filter
+     * @param output - the array that receives the filtered values
+     * @param outputOffset - the index that receives the first filtered value
+     * @param length - the number of values to filter
+     * @throws exception.NullValueException - if either array or any input value is null
+     * @throws exception.IncorrectSizeException - if either slice does not lie within its array
+     */
+    @Override
+    public void filter(A[] values, int offset, B[] output, int outputOffset, int length)
+            throws NullValueException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(values, output);
+        FilterValidator.throwWhenSliceOutOfRange(values.length, offset, length);
+        FilterValidator.throwWhenSliceOutOfRange(output.length, outputOffset, length);
+        FilterEvents.BatchEvent event = FilterEvents.beginBatch();
+        for (int j = 0; j < length; j++) {
+            A value = values[offset + j];
+            FilterValidator.throwExceptionWhenNull(value);
+            if (min == null || value.compareTo(min) < 0) {
+                min = value;
+            }
+            //the same cast filter(A value) makes, which the class only supports when the values of type A are of type B
+            @SuppressWarnings("unchecked")
+            B filtered = (B) min;
+            output[outputOffset + j] = filtered;
+        }
+        FilterEvents.commitBatch(event, this, length);
+    }
+
     /**
      * Resets the filter with the specified value.
      *
@@ -73,6 +111,7 @@ public class MinFilter<A extends Comparable<A>,B> implements Filter<A , B>, Rese
     public void reset(A value) throws NullValueException {
         FilterValidator.throwExceptionWhenNull(value);
         this.min = value;
+        FilterEvents.reset(this);
     }
 
     /**
@@ -83,4 +122,28 @@ public class MinFilter<A extends Comparable<A>,B> implements Filter<A , B>, Rese
     public A getMin(){
         return this.min;
     }
-}
\ No newline at end of file
+
+    /**
+     * Writes the min value seen thus far to the specified output.
+     *
+     * @param out - the output the state is written to
+     * @throws java.io.IOException - if the state cannot be written or the value is of a type unsupported by
+     * FilterSnapshot.writeValue
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        FilterSnapshot.writeValue(out, min);
+    }
+
+    /**
+     * Replaces the min value seen thus far with the value read from the specified input.
+     *
+     * @param in - the input the state is read from
+     * @throws java.io.IOException - if the state cannot be read
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void readState(DataInput in) throws IOException {
+        min = (A) FilterSnapshot.readValue(in);
+    }
+}
@@ -0,0 +1,34 @@
+package filter;
+
+/**
+ * <p>
+ * A NullPolicy determines how a NullPolicyFilter handles a null input value.
+ * </p>
+ * <p>
+ * THROW rejects the null value with a checked NullValueException, which is how every filter handles null values by
+ * default. SKIP ignores the null value without changing the state of the filter and produces the most recent filtered
+ * value again. SUBSTITUTE filters a substitute value, specified at construction of the NullPolicyFilter, in place of
+ * the null value.
+ * </p>
+ *
+ * @see filter.NullPolicyFilter
+ *
+ * @author Shaun Howard
+ */
+public enum NullPolicy {
+
+    /**
+     * Rejects a null value with a checked NullValueException.
+     */
+    THROW,
+
+    /**
+     * Ignores a null value and produces the most recent filtered value again.
+     */
+    SKIP,
+
+    /**
+     * Filters a substitute value in place of a null value.
+     */
+    SUBSTITUTE
+}
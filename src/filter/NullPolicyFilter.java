@@ -0,0 +1,170 @@
+package filter;
+
+import exception.EmptyListException;
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * <p>
+ * A NullPolicyFilter is a generic implementation of the Filter interface which handles null input values of another
+ * filter according to a NullPolicy, so that a single bad value in a stream of input values does not need to be caught
+ * as a NullValueException by the caller. Implements all Filter operations. Every value which is not null is filtered
+ * by the wrapped filter unchanged.
+ * </p>
+ * <p>
+ * With the THROW policy, a null value is rejected with a checked NullValueException as by any other filter. With the
+ * SKIP policy, a null value is not passed to the wrapped filter, whose state is thus unchanged, and the most recent
+ * value filtered by the NullPolicyFilter is returned again, or null if no value has been filtered yet. With the
+ * SUBSTITUTE policy, the substitute value specified at construction is filtered in place of the null value.
+ * </p>
+ * <p>
+ * A NullPolicyFilter counts the null values it has handled, whatever its policy. All operations run in constant time
+ * in addition to the time taken by the wrapped filter.
+ * </p>
+ * <p>
+ * There is a limitation on the construction values used in a NullPolicyFilter. The SUBSTITUTE policy requires a
+ * substitute value which is not null. If a null substitute is specified, every null input value is rejected with a
+ * checked NullValueException, as with the THROW policy.
+ * </p>
+ *
+ * @param <A> - the comparable type of input element to filter
+ * @param <B> - the type of output element produced by the filter
+ *
+ * @see filter.NullPolicy
+ *
+ * @author Shaun Howard
+ */
+public class NullPolicyFilter<A extends Comparable<A>, B> implements Filter<A, B>, Snapshottable {
+
+    // The filter which filters every value that is not null.
+    private final Filter<A, B> filter;
+
+    // The policy for handling null input values.
+    private final NullPolicy policy;
+
+    // The value filtered in place of a null value with the SUBSTITUTE policy.
+    private final A substitute;
+
+    // The most recent filtered value.
+    private B last;
+
+    // The count of null input values handled.
+    private long nullCount;
+
+    /**
+     * Constructs a NullPolicyFilter which handles null values of the specified
+     * filter with the THROW or SKIP policy.
+     *
+     * @param filter - the filter which filters every value that is not null
+     * @param policy - the policy for handling null input values
+     */
+    public NullPolicyFilter(Filter<A, B> filter, NullPolicy policy) {
+        this(filter, policy, null);
+    }
+
+    /**
+     * Constructs a NullPolicyFilter which handles null values of the specified filter
+     * with the specified policy and substitute value.
+     *
+     * @param filter - the filter which filters every value that is not null
+     * @param policy - the policy for handling null input values
+     * @param substitute - the value filtered in place of a null value with the SUBSTITUTE policy
+     */
+    public NullPolicyFilter(Filter<A, B> filter, NullPolicy policy, A substitute) {
+        this.filter = filter;
+        this.policy = policy;
+        this.substitute = substitute;
+    }
+
+    /**
+     * Filters the specified value with the wrapped filter, handling a null value according to the policy.
+     *
+     * @param value - the value to filter
+     * @return the filtered value, or the most recent filtered value when a null value is skipped
+     * @throws exception.NullValueException - if the value is null and the policy is THROW, or the substitute is null
+     * @throws exception.EmptyListException - if any lists under operation in the wrapped filter are empty
+     * @throws exception.IncorrectSizeException - if any variable sizes in the wrapped filter are out of necessary
+     * operating range
+     */
+    @Override
+    public B filter(A value) throws NullValueException, EmptyListException, IncorrectSizeException {
+        if (value == null) {
+            nullCount++;
+            switch (policy) {
+                case SKIP:
+                    return last;
+                case SUBSTITUTE:
+                    FilterValidator.throwExceptionWhenNull(substitute);
+                    value = substitute;
+                    break;
+                default:
+                    FilterValidator.throwExceptionWhenNull(value);
+                    break;
+            }
+        }
+        last = filter.filter(value);
+        return last;
+    }
+
+    /**
+     * Writes the most recent filtered value, the count of null input values and the class name
+     * and state of the wrapped filter to the specified output.
+     *
+     * @param out - the output the state is written to
+     * @throws java.io.IOException - if the wrapped filter is not Snapshottable, or the state cannot be written
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        FilterSnapshot.writeValue(out, last);
+        out.writeLong(nullCount);
+        FilterSnapshot.writeFilter(out, filter);
+    }
+
+    /**
+     * Replaces the most recent filtered value, the count of null input values and the state
+     * of the wrapped filter with the state read from the specified input.
+     *
+     * @param in - the input the state is read from
+     * @throws java.io.IOException - if the state cannot be read or the wrapped filter does not match the filter written
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void readState(DataInput in) throws IOException {
+        B value = (B) FilterSnapshot.readValue(in);
+        long count = in.readLong();
+        FilterSnapshot.readFilter(in, filter);
+        last = value;
+        nullCount = count;
+    }
+
+    /**
+     * Gets the count of null input values handled since construction.
+     *
+     * @return the count of null input values
+     */
+    public long getNullCount() {
+        return nullCount;
+    }
+
+    /**
+     * Gets the policy for handling null input values.
+     *
+     * @return the policy for handling null input values
+     */
+    public NullPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Gets the filter which filters every value that is not null.
+     *
+     * @return the wrapped filter
+     */
+    public Filter<A, B> getFilter() {
+        return filter;
+    }
+}
@@ -0,0 +1,85 @@
+package filter;
+
+import exception.IncorrectSizeException;
+
+/**
+ * <p>
+ * An OffHeapAveragingFilterN is an AveragingFilterN which stores its window of the last n input values in a direct
+ * buffer outside of the Java heap. The window of an AveragingFilterN of a million values occupies eight megabytes of
+ * heap which the garbage collector must copy as it ages; the window of an OffHeapAveragingFilterN is allocated once
+ * at construction and is never moved, scanned or copied by the garbage collector, so the size of the window does not
+ * add to the pause times of the collector.
+ * </p>
+ * <p>
+ * An OffHeapAveragingFilterN produces exactly the same averages as an AveragingFilterN of the same n, since the
+ * running sum of its window is maintained by the same SlidingMean engine. All operations run in constant time.
+ * </p>
+ * <p>
+ * The memory of the window is owned by the filter and is released by close(), preferably with a try-with-resources
+ * statement, rather than whenever the filter happens to be collected. After close() the filter is empty, its base
+ * average is zero and filtering a value throws an IllegalStateException. Since a direct buffer holds at most
+ * INTEGER_MAX_VALUE bytes, n must be within the range [1, INTEGER_MAX_VALUE / 8].
+ * </p>
+ *
+ * @see filter.AveragingFilterN
+ *
+ * @author Shaun Howard
+ */
+public class OffHeapAveragingFilterN extends AveragingFilterN implements AutoCloseable {
+
+    // The off-heap window of the last n input values.
+    private final OffHeapSlidingMean window;
+
+    /**
+     * Constructs an off-heap Averaging Filter of the last N values
+     * and allocates its window of n values.
+     *
+     * @param n - the number of input values to average
+     * @throws exception.IncorrectSizeException - if n is not within the range [1, INTEGER_MAX_VALUE / 8]
+     */
+    public OffHeapAveragingFilterN(int n) throws IncorrectSizeException {
+        this(n, allocate(n));
+    }
+
+    /**
+     * Constructs an off-heap Averaging Filter of the last N values in the specified window.
+     *
+     * @param n - the number of input values to average
+     * @param window - the off-heap window of the last n input values
+     */
+    private OffHeapAveragingFilterN(int n, OffHeapSlidingMean window) {
+        super(n, window);
+        this.window = window;
+    }
+
+    /**
+     * Releases the memory of the window and forgets all stored input values.
+     * Closing a closed filter has no effect.
+     */
+    @Override
+    public void close() {
+        window.close();
+        baseAverage = 0;
+    }
+
+    /**
+     * Determines whether the memory of the window has been released by close().
+     *
+     * @return true if the filter has been closed
+     */
+    public boolean isClosed() {
+        return window.isClosed();
+    }
+
+    /**
+     * Allocates the off-heap window of n values.
+     *
+     * @param n - the number of input values to average
+     * @return the empty off-heap window
+     * @throws exception.IncorrectSizeException - if n is not within the range [1, INTEGER_MAX_VALUE / 8]
+     */
+    private static OffHeapSlidingMean allocate(int n) throws IncorrectSizeException {
+        FilterValidator.throwWhenOutOfRange(n, 1, OffHeapSlidingMean.MAX_CAPACITY);
+        return new OffHeapSlidingMean(n);
+    }
+}
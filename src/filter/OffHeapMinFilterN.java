@@ -0,0 +1,84 @@
+package filter;
+
+import exception.IncorrectSizeException;
+
+/**
+ * <p>
+ * An OffHeapMinFilterN is a DoubleMinFilterN which stores the monotonic deque of its window in a direct buffer
+ * outside of the Java heap. The deque of a window of n values is allocated once at construction with room for all
+ * n values and is never moved, scanned or copied by the garbage collector, so the size of the window does not add to
+ * the pause times of the collector.
+ * </p>
+ * <p>
+ * An OffHeapMinFilterN produces exactly the same values as a DoubleMinFilterN, and thus a MinFilterN<Double, Double>,
+ * of the same n. The window of a generic MinFilterN holds references to objects, which cannot be stored outside of
+ * the heap, so this filter is the off-heap counterpart of a MinFilterN of Doubles.
+ * </p>
+ * <p>
+ * The memory of the window is owned by the filter and is released by close(), preferably with a try-with-resources
+ * statement. After close() the filter is empty and filtering a value throws an IllegalStateException. Since a direct
+ * buffer holds at most INTEGER_MAX_VALUE bytes and each value of the deque takes sixteen bytes, n must be within the
+ * range [1, INTEGER_MAX_VALUE / 16].
+ * </p>
+ *
+ * @see filter.DoubleMinFilterN
+ *
+ * @author Shaun Howard
+ */
+public class OffHeapMinFilterN extends DoubleMinFilterN implements AutoCloseable {
+
+    // The off-heap sliding window minimum of the last n filter input values.
+    private final OffHeapSlidingExtremum extremum;
+
+    /**
+     * Constructs an off-heap Min Filter that only filters the last N
+     * filter input values and allocates its window of n values.
+     *
+     * @param n - the number of input values to filter
+     * @throws exception.IncorrectSizeException - if n is not within the range [1, INTEGER_MAX_VALUE / 16]
+     */
+    public OffHeapMinFilterN(int n) throws IncorrectSizeException {
+        this(n, allocate(n));
+    }
+
+    /**
+     * Constructs an off-heap Min Filter of the last N filter input values in the specified window.
+     *
+     * @param n - the number of input values to filter
+     * @param extremum - the off-heap sliding window minimum of the last n input values
+     */
+    private OffHeapMinFilterN(int n, OffHeapSlidingExtremum extremum) {
+        super(n, extremum);
+        this.extremum = extremum;
+    }
+
+    /**
+     * Releases the memory of the window and forgets all previous input values.
+     * Closing a closed filter has no effect.
+     */
+    @Override
+    public void close() {
+        extremum.close();
+    }
+
+    /**
+     * Determines whether the memory of the window has been released by close().
+     *
+     * @return true if the filter has been closed
+     */
+    public boolean isClosed() {
+        return extremum.isClosed();
+    }
+
+    /**
+     * Allocates the off-heap window of n values.
+     *
+     * @param n - the number of input values to filter
+     * @return the empty off-heap sliding window minimum
+     * @throws exception.IncorrectSizeException - if n is not within the range [1, INTEGER_MAX_VALUE / 16]
+     */
+    private static OffHeapSlidingExtremum allocate(int n) throws IncorrectSizeException {
+        FilterValidator.throwWhenOutOfRange(n, 1, OffHeapSlidingExtremum.MAX_WINDOW);
+        return new OffHeapSlidingExtremum(n, false);
+    }
+}
@@ -0,0 +1,104 @@
+package filter;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <p>
+ * An OffHeapSlidingExtremum is a DoubleSlidingExtremum which stores its monotonic deque in a direct buffer outside
+ * of the Java heap rather than in primitive arrays. It is the window engine of the OffHeapMaxFilterN and
+ * OffHeapMinFilterN classes and tracks the same extremum as a DoubleSlidingExtremum of the same window.
+ * </p>
+ * <p>
+ * Each slot of the deque holds a candidate value followed by its sequence number, so both are read from the same
+ * cache line. The buffer is allocated for the whole window at construction, since the deque holds every value of the
+ * window when the values arrive in monotonic order, and it never grows. Its memory is released by close(), after
+ * which the window is empty and adding a value throws an IllegalStateException.
+ * </p>
+ *
+ * @author Shaun Howard
+ */
+final class OffHeapSlidingExtremum extends DoubleSlidingExtremum implements AutoCloseable {
+
+    // The number of bytes of each slot, a double value followed by a long sequence number.
+    private static final int SLOT_BYTES = Double.BYTES + Long.BYTES;
+
+    // The largest window whose deque a direct buffer can hold.
+    static final int MAX_WINDOW = Integer.MAX_VALUE / SLOT_BYTES;
+
+    // The direct buffer of the deque.
+    private ByteBuffer buffer;
+
+    // The number of slots of the buffer.
+    private int capacity;
+
+    /**
+     * Constructs an OffHeapSlidingExtremum over the last window values.
+     *
+     * @param window - the number of most recent values the extremum is taken over, in the range [1, MAX_WINDOW]
+     * @param maximum - true to track the maximum, false to track the minimum
+     */
+    OffHeapSlidingExtremum(int window, boolean maximum) {
+        super(window, maximum, 0);
+        capacity = getWindow();
+        buffer = DirectMemory.allocate(capacity * SLOT_BYTES);
+    }
+
+    @Override
+    double valueAt(int slot) {
+        return buffer.getDouble(slot * SLOT_BYTES);
+    }
+
+    @Override
+    long sequenceAt(int slot) {
+        return buffer.getLong(slot * SLOT_BYTES + Double.BYTES);
+    }
+
+    @Override
+    void store(int slot, double value, long number) {
+        int position = slot * SLOT_BYTES;
+        buffer.putDouble(position, value);
+        buffer.putLong(position + Double.BYTES, number);
+    }
+
+    @Override
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Rejects growing the deque, whose buffer already holds the whole window unless it has been closed.
+     *
+     * @param capacity - the capacity of the new buffer
+     * @param head - the slot of the front of the deque
+     * @param size - the number of candidate values
+     * @throws java.lang.IllegalStateException - always, since the deque only fills after it has been closed
+     */
+    @Override
+    void resize(int capacity, int head, int size) {
+        throw new IllegalStateException("The off-heap window has been closed.");
+    }
+
+    /**
+     * Empties the window and releases the memory of the direct buffer. Closing a closed window has no effect.
+     */
+    @Override
+    public void close() {
+        if (buffer == null) {
+            return;
+        }
+        clear();
+        ByteBuffer previous = buffer;
+        buffer = null;
+        capacity = 0;
+        DirectMemory.free(previous);
+    }
+
+    /**
+     * Determines whether the memory of the window has been released by close().
+     *
+     * @return true if the window has been closed
+     */
+    boolean isClosed() {
+        return buffer == null;
+    }
+}
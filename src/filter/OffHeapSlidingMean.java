@@ -0,0 +1,121 @@
+package filter;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+
+/**
+ * <p>
+ * An OffHeapSlidingMean is a SlidingMean which stores its values in a direct buffer outside of the Java heap rather
+ * than in a primitive array. It is the window engine of the OffHeapAveragingFilterN class and maintains its running
+ * sum exactly as a SlidingMean does, so both produce the same means for the same values.
+ * </p>
+ * <p>
+ * The buffer is allocated with the capacity specified at construction and is only grown, by doubling, if more values
+ * are appended than that capacity. Its memory is released by close(), after which the list is empty and appending a
+ * value throws an IllegalStateException. The capacity can never exceed MAX_CAPACITY values.
+ * </p>
+ *
+ * @author Shaun Howard
+ */
+final class OffHeapSlidingMean extends SlidingMean implements AutoCloseable {
+
+    // The largest number of values a direct buffer can hold.
+    static final int MAX_CAPACITY = Integer.MAX_VALUE / Double.BYTES;
+
+    // The direct buffer which owns the memory of the stored values.
+    private ByteBuffer buffer;
+
+    // The view of the direct buffer as double values.
+    private DoubleBuffer values;
+
+    // The number of values the buffer can hold.
+    private int capacity;
+
+    /**
+     * Constructs an empty OffHeapSlidingMean with room for the specified number of values.
+     *
+     * @param capacity - the number of values to allocate room for, in the range [1, MAX_CAPACITY]
+     */
+    OffHeapSlidingMean(int capacity) {
+        super(null);
+        allocate(capacity);
+    }
+
+    @Override
+    double load(int slot) {
+        return values.get(slot);
+    }
+
+    @Override
+    void store(int slot, double value) {
+        values.put(slot, value);
+    }
+
+    @Override
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Replaces the direct buffer with a buffer of up to the specified capacity and frees the previous buffer.
+     *
+     * @param capacity - the capacity of the new buffer
+     * @param head - the slot of the first stored value in the current buffer
+     * @param size - the number of stored values
+     * @throws java.lang.IllegalStateException - if the storage has been closed or already holds MAX_CAPACITY values
+     */
+    @Override
+    void resize(int capacity, int head, int size) {
+        if (buffer == null) {
+            throw new IllegalStateException("The off-heap window has been closed.");
+        }
+        if (this.capacity == MAX_CAPACITY) {
+            throw new IllegalStateException("The off-heap window cannot hold more than " + MAX_CAPACITY + " values.");
+        }
+        ByteBuffer previous = buffer;
+        DoubleBuffer stored = values;
+        int storedCapacity = this.capacity;
+        allocate((int) Math.min(capacity, (long) MAX_CAPACITY));
+        for (int j = 0; j < size; j++) {
+            int slot = head + j;
+            values.put(j, stored.get(slot < storedCapacity ? slot : slot - storedCapacity));
+        }
+        DirectMemory.free(previous);
+    }
+
+    /**
+     * Empties the list and releases the memory of the direct buffer. Closing a closed window has no effect.
+     */
+    @Override
+    public void close() {
+        if (buffer == null) {
+            return;
+        }
+        clear();
+        ByteBuffer previous = buffer;
+        buffer = null;
+        values = null;
+        capacity = 0;
+        DirectMemory.free(previous);
+    }
+
+    /**
+     * Determines whether the memory of the window has been released by close().
+     *
+     * @return true if the window has been closed
+     */
+    boolean isClosed() {
+        return buffer == null;
+    }
+
+    /**
+     * Allocates a direct buffer of the specified capacity as the storage of the values.
+     *
+     * @param capacity - the number of values to allocate room for
+     */
+    private void allocate(int capacity) {
+        buffer = DirectMemory.allocate(capacity * Double.BYTES);
+        values = buffer.asDoubleBuffer();
+        this.capacity = capacity;
+    }
+}
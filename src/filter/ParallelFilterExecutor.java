@@ -0,0 +1,581 @@
+package filter;
+
+import exception.EmptyListException;
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+import exception.UncheckedFilterException;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * A ParallelFilterExecutor filters a large array of recorded values with a single filter on several threads of a
+ * ForkJoinPool. The slice of values is split into chunks of a fixed size and every chunk is filtered by its own task.
+ * The first chunk is filtered by the filter itself; every other chunk is filtered by a fresh worker filter which is
+ * first warmed with the input values that precede the chunk, so that it is in the state the filter would be in after
+ * filtering every value before the chunk. The outputs of the chunks are written directly to their slices of the
+ * output array, and once every chunk has been filtered, the filter is brought to the state it would have after
+ * filtering the whole slice sequentially, so that later calls continue the stream seamlessly.
+ * </p>
+ * <p>
+ * The outputs are bit-identical to those of the batch filter method of the filter for every supported filter:
+ * </p>
+ * <ul>
+ * <li>
+ * A ScalarLinearFilter with no output multipliers (M of at most one), such as a FIRFilter, BinomialFilter or
+ * GainFilter, depends only on the current and previous N - 1 input values. Each worker is a copy of the filter, made in
+ * the calling thread before any chunk is filtered, whose input buffer is restored from the N input values before its
+ * chunk. When the convolution mode of a FIRFilter is FFT or AUTO, each chunk is convolved by its own FFT blocks, so the
+ * outputs agree with sequential filtering within the tolerance documented by the FIRFilter class rather than exactly.
+ * </li>
+ * <li>
+ * A MaxFilterN, MinFilterN, DoubleMaxFilterN or DoubleMinFilterN depends only on the last n input values. Each worker
+ * is a new filter of the same window size warmed with the n - 1 input values before its chunk.
+ * </li>
+ * <li>
+ * An AveragingFilterN keeps a compensated running sum whose rounding depends on every value added since the sum
+ * was last recomputed from the window. Once its window is full, the sum is recomputed at a fixed period of n / 2
+ * values, so the executor finds the last recomputation before each chunk and warms the worker by loading the window
+ * of that point, recomputing its sum and filtering the values from that point to the chunk. The running sum of the
+ * worker then holds exactly the same value as that of the filter.
+ * </li>
+ * </ul>
+ * <p>
+ * A ScalarLinearFilter with output multipliers (M greater than one) is an IIR filter: every output depends on every
+ * previous output through the feedback of the output side of the linear equation, so no finite history of input
+ * values puts a worker in the exact state of the filter at the start of a chunk. Warming a worker for a long time
+ * only makes its error decay when the filter is stable, and never makes the outputs bit-identical. Such a filter is
+ * therefore filtered sequentially in the calling thread, as is any filter whose slice is too short to split. Many
+ * independent IIR channels are filtered efficiently by a LinearFilterBank instead.
+ * </p>
+ * <p>
+ * Each worker repeats the warm-up of its chunk, which costs up to N - 1, n - 1 or 3n / 2 filter operations, so the
+ * chunk size should be much larger than the window of the filter. The filter and the arrays must not be used by any
+ * other thread during a call. When a filter operation throws a checked exception, the exception is rethrown by the
+ * executor, and the output array and the state of the filter are unspecified.
+ * </p>
+ *
+ * @see filter.ScalarLinearFilter
+ * @see filter.AveragingFilterN
+ *
+ * @author Shaun Howard
+ */
+public class ParallelFilterExecutor {
+
+    // The default number of values filtered by each task.
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+
+    // The pool which runs the tasks.
+    private final ForkJoinPool pool;
+
+    // The number of values filtered by each task.
+    private final int chunkSize;
+
+    /**
+     * Constructs a ParallelFilterExecutor which runs its tasks in the common pool
+     * and filters DEFAULT_CHUNK_SIZE values in each task.
+     */
+    public ParallelFilterExecutor() {
+        this.pool = ForkJoinPool.commonPool();
+        this.chunkSize = DEFAULT_CHUNK_SIZE;
+    }
+
+    /**
+     * Constructs a ParallelFilterExecutor which runs its tasks in the specified pool
+     * and filters the specified number of values in each task.
+     *
+     * @param pool - the pool which runs the tasks
+     * @param chunkSize - the number of values filtered by each task
+     * @throws exception.NullValueException - if the pool is null
+     * @throws exception.IncorrectSizeException - if the chunk size is not in the range [1, INTEGER_MAX_VALUE]
+     */
+    public ParallelFilterExecutor(ForkJoinPool pool, int chunkSize) throws NullValueException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(pool);
+        FilterValidator.throwWhenOutOfRange(chunkSize, 1, Integer.MAX_VALUE);
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Filters the slice of the input array with the specified ScalarLinearFilter, such as a FIRFilter, into the
+     * slice of the output array. A filter with no output multipliers is filtered in parallel chunks; any other
+     * filter is filtered sequentially in the calling thread.
+     *
+     * @param filter - the filter of the values
+     * @param values - the array of values to filter
+     * @param offset - the index of the first value to filter
+     * @param output - the array that receives the filtered values, which must not overlap the input slice
+     * @param outputOffset - the index that receives the first filtered value
+     * @param length - the number of values to filter
+     * @throws exception.NullValueException - if the filter, either array or either multiplier list is null
+     * @throws exception.EmptyListException - if multiplier list b is empty
+     * @throws exception.IncorrectSizeException - if either slice does not lie within its array or the size of
+     * multiplier list a or b does not equal M or N
+     */
+    public void filter(ScalarLinearFilter filter, double[] values, int offset, double[] output, int outputOffset,
+                       int length) throws NullValueException, EmptyListException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(filter, values, output);
+        int taps = filter.getN();
+        int first = firstChunk(Math.max(taps, 1));
+        if (!filter.isFiniteImpulse() || length <= first) {
+            filter.filter(values, offset, output, outputOffset, length);
+            return;
+        }
+        checkSlices(values.length, offset, output.length, outputOffset, length);
+        long iteration = filter.getIteration();
+        //copy the filter for every other chunk before any chunk runs, since the first chunk filters with the filter
+        ScalarLinearFilter[] workers = new ScalarLinearFilter[chunks(length, first)];
+        workers[0] = filter;
+        for (int c = 1; c < workers.length; c++) {
+            workers[c] = filter.copy();
+        }
+        run(length, first, (index, start, end) -> {
+            ScalarLinearFilter worker = workers[index];
+            if (start > 0) {
+                worker.restore(values, offset + start, iteration + start, 0.0);
+            }
+            worker.filter(values, offset + start, output, outputOffset + start, end - start);
+        });
+        filter.restore(values, offset + length, iteration + length, output[outputOffset + length - 1]);
+    }
+
+    /**
+     * Filters the slice of the input array with the specified AveragingFilterN into the slice of the output array
+     * in parallel chunks. Each worker is warmed from the last recomputation of the running sum before its chunk.
+     *
+     * @param filter - the filter of the values
+     * @param values - the array of values to filter
+     * @param offset - the index of the first value to filter
+     * @param output - the array that receives the filtered values, which must not overlap the input slice
+     * @param outputOffset - the index that receives the first filtered value
+     * @param length - the number of values to filter
+     * @throws exception.NullValueException - if the filter or either array is null
+     * @throws exception.EmptyListException - if the list of stored input values is empty but must not be
+     * @throws exception.IncorrectSizeException - if either slice does not lie within its array or n is not within
+     * the range [0, INTEGER_MAX_VALUE]
+     */
+    public void filter(AveragingFilterN filter, double[] values, int offset, double[] output, int outputOffset,
+                       int length) throws NullValueException, EmptyListException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(filter, values, output);
+        int n = filter.getN();
+        SlidingMean window = (SlidingMean) filter.getValues();
+        long resync = n < 1 ? -1 : firstResync(window, n, length);
+        int period = Math.max(1, n / 2);
+        int first = resync < 0 ? Integer.MAX_VALUE
+                : firstChunk((int) Math.min(Integer.MAX_VALUE, Math.max(resync + 1, n + period - 1L)));
+        if (length <= first) {
+            filter.filter(values, offset, output, outputOffset, length);
+            return;
+        }
+        checkSlices(values.length, offset, output.length, outputOffset, length);
+        run(length, first, (index, start, end) -> {
+            AveragingFilterN worker = filter;
+            if (start > 0) {
+                worker = new AveragingFilterN(n);
+                warm(worker, values, offset, start, lastResync(resync, period, start));
+            }
+            worker.filter(values, offset + start, output, outputOffset + start, end - start);
+        });
+        filter.reset();
+        warm(filter, values, offset, length, lastResync(resync, period, length));
+    }
+
+    /**
+     * Filters the slice of the input array with the specified DoubleMaxFilterN into the slice of the output array
+     * in parallel chunks. Each worker is warmed with the n - 1 values before its chunk.
+     *
+     * @param filter - the filter of the values
+     * @param values - the array of values to filter
+     * @param offset - the index of the first value to filter
+     * @param output - the array that receives the filtered values, which must not overlap the input slice
+     * @param outputOffset - the index that receives the first filtered value
+     * @param length - the number of values to filter
+     * @throws exception.NullValueException - if the filter or either array is null
+     * @throws exception.IncorrectSizeException - if either slice does not lie within its array or n is not
+     * in the range [1, INTEGER_MAX_VALUE]
+     */
+    public void filter(DoubleMaxFilterN filter, double[] values, int offset, double[] output, int outputOffset,
+                       int length) throws NullValueException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(filter);
+        int n = filter.getN();
+        filterWindowed(filter, () -> new DoubleMaxFilterN(n), n, values, offset, output, outputOffset, length);
+    }
+
+    /**
+     * Filters the slice of the input array with the specified DoubleMinFilterN into the slice of the output array
+     * in parallel chunks. Each worker is warmed with the n - 1 values before its chunk.
+     *
+     * @param filter - the filter of the values
+     * @param values - the array of values to filter
+     * @param offset - the index of the first value to filter
+     * @param output - the array that receives the filtered values, which must not overlap the input slice
+     * @param outputOffset - the index that receives the first filtered value
+     * @param length - the number of values to filter
+     * @throws exception.NullValueException - if the filter or either array is null
+     * @throws exception.IncorrectSizeException - if either slice does not lie within its array or n is not
+     * in the range [1, INTEGER_MAX_VALUE]
+     */
+    public void filter(DoubleMinFilterN filter, double[] values, int offset, double[] output, int outputOffset,
+                       int length) throws NullValueException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(filter);
+        int n = filter.getN();
+        filterWindowed(filter, () -> new DoubleMinFilterN(n), n, values, offset, output, outputOffset, length);
+    }
+
+    /**
+     * Filters the slice of the input array with the specified MaxFilterN into the slice of the output array
+     * in parallel chunks. Each worker is warmed with the n - 1 values before its chunk.
+     *
+     * @param filter - the filter of the values
+     * @param values - the array of values to filter
+     * @param offset - the index of the first value to filter
+     * @param output - the array that receives the filtered values
+     * @param outputOffset - the index that receives the first filtered value
+     * @param length - the number of values to filter
+     * @param <A> - the comparable type of input element to filter
+     * @param <B> - the type of output element produced by the filter
+     * @throws exception.NullValueException - if the filter, either array or any input value is null
+     * @throws exception.EmptyListException - if the list of values is empty but must not be
+     * @throws exception.IncorrectSizeException - if either slice does not lie within its array or n is not in the
+     * range [0, INTEGER_MAX_VALUE]
+     */
+    public <A extends Comparable<A>, B> void filter(MaxFilterN<A, B> filter, A[] values, int offset, B[] output,
+                                                    int outputOffset, int length)
+            throws NullValueException, EmptyListException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(filter);
+        int n = filter.getN();
+        filterWindowed(filter, () -> new MaxFilterN<A, B>(n), n, values, offset, output, outputOffset, length);
+    }
+
+    /**
+     * Filters the slice of the input array with the specified MinFilterN into the slice of the output array
+     * in parallel chunks. Each worker is warmed with the n - 1 values before its chunk.
+     *
+     * @param filter - the filter of the values
+     * @param values - the array of values to filter
+     * @param offset - the index of the first value to filter
+     * @param output - the array that receives the filtered values
+     * @param outputOffset - the index that receives the first filtered value
+     * @param length - the number of values to filter
+     * @param <A> - the comparable type of input element to filter
+     * @param <B> - the type of output element produced by the filter
+     * @throws exception.NullValueException - if the filter, either array or any input value is null
+     * @throws exception.EmptyListException - if the list of values is empty but must not be
+     * @throws exception.IncorrectSizeException - if either slice does not lie within its array or n is not in the
+     * range [0, INTEGER_MAX_VALUE]
+     */
+    public <A extends Comparable<A>, B> void filter(MinFilterN<A, B> filter, A[] values, int offset, B[] output,
+                                                    int outputOffset, int length)
+            throws NullValueException, EmptyListException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(filter);
+        int n = filter.getN();
+        filterWindowed(filter, () -> new MinFilterN<A, B>(n), n, values, offset, output, outputOffset, length);
+    }
+
+    /**
+     * Gets the number of values filtered by each task.
+     *
+     * @return the chunk size
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Filters a primitive slice with a windowed ScalarFilter whose output depends only on the last n values.
+     * After the chunks are filtered, the filter is reset and refilled with the last n values of the slice.
+     *
+     * @param filter - the filter of the values
+     * @param workers - the factory of new filters with the same window size
+     * @param n - the window size
+     * @param values - the array of values to filter
+     * @param offset - the index of the first value to filter
+     * @param output - the array that receives the filtered values
+     * @param outputOffset - the index that receives the first filtered value
+     * @param length - the number of values to filter
+     * @throws exception.NullValueException - if either array is null
+     * @throws exception.IncorrectSizeException - if either slice does not lie within its array or n is not
+     * in the range [1, INTEGER_MAX_VALUE]
+     */
+    private void filterWindowed(ScalarFilter filter, Supplier<ScalarFilter> workers, int n, double[] values,
+                                int offset, double[] output, int outputOffset, int length)
+            throws NullValueException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(values, output);
+        int first = firstChunk(n);
+        try {
+            if (n < 1 || length <= first) {
+                filter.filter(values, offset, output, outputOffset, length);
+                return;
+            }
+            checkSlices(values.length, offset, output.length, outputOffset, length);
+            run(length, first, (index, start, end) -> {
+                ScalarFilter worker = filter;
+                if (start > 0) {
+                    worker = workers.get();
+                    for (int j = start - n + 1; j < start; j++) {
+                        worker.filterDouble(values[offset + j]);
+                    }
+                }
+                worker.filter(values, offset + start, output, outputOffset + start, end - start);
+            });
+            filter.reset();
+            for (int j = length - n; j < length; j++) {
+                filter.filterDouble(values[offset + j]);
+            }
+        } catch (EmptyListException e) {
+            //the windowed double filters never operate on a list
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Filters a slice with a windowed Filter whose output depends only on the last n values. After the chunks
+     * are filtered, the filter is reset with the value n values before the end of the slice and then filters
+     * the rest of the slice.
+     *
+     * @param filter - the filter of the values
+     * @param workers - the factory of new filters with the same window size
+     * @param n - the window size
+     * @param values - the array of values to filter
+     * @param offset - the index of the first value to filter
+     * @param output - the array that receives the filtered values
+     * @param outputOffset - the index that receives the first filtered value
+     * @param length - the number of values to filter
+     * @param <A> - the comparable type of input element to filter
+     * @param <B> - the type of output element produced by the filter
+     * @param <F> - the type of the filter
+     * @throws exception.NullValueException - if either array or any input value is null
+     * @throws exception.EmptyListException - if the list of values is empty but must not be
+     * @throws exception.IncorrectSizeException - if either slice does not lie within its array
+     */
+    private <A extends Comparable<A>, B, F extends Filter<A, B> & Resettable<A>> void filterWindowed(
+            F filter, Supplier<F> workers, int n, A[] values, int offset, B[] output, int outputOffset, int length)
+            throws NullValueException, EmptyListException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(values, output);
+        int first = firstChunk(n);
+        if (n < 1 || length <= first) {
+            filter.filter(values, offset, output, outputOffset, length);
+            return;
+        }
+        checkSlices(values.length, offset, output.length, outputOffset, length);
+        run(length, first, (index, start, end) -> {
+            F worker = filter;
+            if (start > 0) {
+                worker = workers.get();
+                for (int j = start - n + 1; j < start; j++) {
+                    worker.filter(values[offset + j]);
+                }
+            }
+            worker.filter(values, offset + start, output, outputOffset + start, end - start);
+        });
+        filter.reset(values[offset + length - n]);
+        for (int j = length - n + 1; j < length; j++) {
+            filter.filter(values[offset + j]);
+        }
+    }
+
+    /**
+     * Gets the end of the first chunk, which is at least the chunk size and at least
+     * the number of values that must precede the start of every other chunk.
+     *
+     * @param history - the number of values that must precede the start of every other chunk
+     * @return the end of the first chunk
+     */
+    private int firstChunk(int history) {
+        return Math.max(chunkSize, history);
+    }
+
+    /**
+     * Validates that both slices lie within their arrays.
+     *
+     * @param valuesLength - the length of the input array
+     * @param offset - the index of the first value to filter
+     * @param outputLength - the length of the output array
+     * @param outputOffset - the index that receives the first filtered value
+     * @param length - the number of values to filter
+     * @throws exception.IncorrectSizeException - if either slice does not lie within its array
+     */
+    private static void checkSlices(int valuesLength, int offset, int outputLength, int outputOffset, int length)
+            throws IncorrectSizeException {
+        FilterValidator.throwWhenSliceOutOfRange(valuesLength, offset, length);
+        FilterValidator.throwWhenSliceOutOfRange(outputLength, outputOffset, length);
+    }
+
+    /**
+     * Finds the first value of the slice during whose filtering the running sum of the AveragingFilterN
+     * is recomputed while its window is full, by following the number of updates to the running sum,
+     * which does not depend on the values. Every later recomputation follows it at a fixed period of
+     * max(1, n / 2) values, each during the removal of the oldest value of the window.
+     *
+     * @param window - the window of the filter
+     * @param n - the window size
+     * @param length - the number of values in the slice
+     * @return the index of the value, or -1 if the running sum is not recomputed during the slice
+     */
+    private static long firstResync(SlidingMean window, int n, int length) {
+        int size = window.size();
+        int updates = window.getUpdates();
+        for (int j = 0; j < length; j++) {
+            if (size >= n) {
+                size--;
+                if (++updates >= size) {
+                    return j;
+                }
+            }
+            size++;
+            if (++updates >= size) {
+                updates = 0;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the index of the last value before the specified index during whose filtering the
+     * running sum of the AveragingFilterN is recomputed.
+     *
+     * @param first - the index of the first recomputation while the window is full
+     * @param period - the number of values between recomputations
+     * @param start - the index of the first value of a chunk, greater than first
+     * @return the index of the last recomputation before the chunk
+     */
+    private static int lastResync(long first, int period, int start) {
+        return (int) (first + (start - 1 - first) / period * period);
+    }
+
+    /**
+     * Brings an empty AveragingFilterN to the state of the sequentially filtered AveragingFilterN before the
+     * value at the specified start index. The window is loaded with the n - 1 values which remain after the
+     * oldest value is removed at the last recomputation of the running sum, the sum is recomputed from them,
+     * and the values from the recomputation to the start are filtered.
+     *
+     * @param filter - the empty filter to warm
+     * @param values - the array of values to filter
+     * @param offset - the index of the first value of the slice
+     * @param start - the index in the slice of the first value the filter will filter next
+     * @param resync - the index in the slice of the last recomputation before the start
+     * @throws exception.EmptyListException - if the list of stored input values is empty but must not be
+     * @throws exception.IncorrectSizeException - if n is not within the range [0, INTEGER_MAX_VALUE]
+     */
+    private static void warm(AveragingFilterN filter, double[] values, int offset, int start, int resync)
+            throws EmptyListException, IncorrectSizeException {
+        SlidingMean window = (SlidingMean) filter.getValues();
+        for (int j = resync - filter.getN() + 1; j < resync; j++) {
+            window.addDouble(values[offset + j]);
+        }
+        window.resynchronize();
+        for (int j = resync; j < start; j++) {
+            filter.filterDouble(values[offset + j]);
+        }
+    }
+
+    /**
+     * Gets the number of chunks of a slice whose first chunk ends at the specified index and whose
+     * every other chunk holds the chunk size.
+     *
+     * @param length - the number of values in the slice
+     * @param first - the end of the first chunk
+     * @return the number of chunks
+     */
+    private int chunks(int length, int first) {
+        return 1 + (int) ((length - first + (long) chunkSize - 1) / chunkSize);
+    }
+
+    /**
+     * Filters every chunk of a slice with one task per chunk in the pool and waits for them to complete.
+     * The first chunk ends at the specified index and every other chunk holds the chunk size.
+     *
+     * @param length - the number of values in the slice
+     * @param first - the end of the first chunk
+     * @param chunk - the filter operation of a chunk
+     * @throws exception.NullValueException - if a chunk throws a NullValueException
+     * @throws exception.EmptyListException - if a chunk throws an EmptyListException
+     * @throws exception.IncorrectSizeException - if a chunk throws an IncorrectSizeException
+     */
+    private void run(int length, int first, Chunk chunk)
+            throws NullValueException, EmptyListException, IncorrectSizeException {
+        try {
+            pool.invoke(new ChunkAction(chunk, length, first, 0, chunks(length, first)));
+        } catch (UncheckedFilterException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof NullValueException) {
+                throw (NullValueException) cause;
+            } else if (cause instanceof EmptyListException) {
+                throw (EmptyListException) cause;
+            } else if (cause instanceof IncorrectSizeException) {
+                throw (IncorrectSizeException) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * The filter operation of one chunk of a slice.
+     */
+    private interface Chunk {
+
+        /**
+         * Filters the values of the slice from the start index up to the end index.
+         *
+         * @param index - the index of the chunk, where the first chunk is zero
+         * @param start - the index in the slice of the first value of the chunk
+         * @param end - the index in the slice after the last value of the chunk
+         * @throws exception.NullValueException - if a value is null
+         * @throws exception.EmptyListException - if any lists under operation are empty
+         * @throws exception.IncorrectSizeException - if any variable sizes are out of necessary operating range
+         */
+        void filter(int index, int start, int end)
+                throws NullValueException, EmptyListException, IncorrectSizeException;
+    }
+
+    /**
+     * The task which filters a range of chunks, by splitting it in half until a single chunk remains.
+     */
+    private final class ChunkAction extends RecursiveAction {
+
+        // The version of the serialized form of the action.
+        private static final long serialVersionUID = 1L;
+
+        // The filter operation of a chunk.
+        private final Chunk chunk;
+
+        // The number of values in the slice.
+        private final int length;
+
+        // The end of the first chunk.
+        private final int first;
+
+        // The index of the first chunk of the range.
+        private final int from;
+
+        // The index after the last chunk of the range.
+        private final int to;
+
+        ChunkAction(Chunk chunk, int length, int first, int from, int to) {
+            this.chunk = chunk;
+            this.length = length;
+            this.first = first;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ChunkAction(chunk, length, first, from, middle),
+                        new ChunkAction(chunk, length, first, middle, to));
+                return;
+            }
+            int start = from == 0 ? 0 : (int) Math.min(length, first + (long) (from - 1) * chunkSize);
+            int end = (int) Math.min(length, first + (long) from * chunkSize);
+            try {
+                chunk.filter(from, start, end);
+            } catch (NullValueException | EmptyListException | IncorrectSizeException e) {
+                throw new UncheckedFilterException(e);
+            }
+        }
+    }
+}
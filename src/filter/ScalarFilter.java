@@ -37,10 +37,20 @@ import exception.NullValueException;
  * contains zero elements but should contain at least one element for proper filter operation. The latter exception is thrown when
  * the values operated on are not within the ranges necessary for filter operation.
  * </p>
+ * <p>
+ * Every ScalarFilter is also a DoubleScalarFilter. Implementations validate the boxed input value of the filter method
+ * and then delegate to the primitive filterDouble method, which avoids boxing on the hot path when called directly.
+ * An implementation which only implements the filter method inherits a default filterDouble method which boxes the
+ * value and delegates to the filter method, so every ScalarFilter written before filterDouble existed still compiles.
+ * The ScalarFilter interface also provides batch filter methods which filter a primitive array, or a slice of one,
+ * into a caller-supplied primitive output array.
+ * </p>
+ *
+ * @see filter.DoubleScalarFilter
  *
  * @author Shaun Howard
  */
-public interface ScalarFilter extends Filter<Double, Double> {
+public interface ScalarFilter extends Filter<Double, Double>, DoubleScalarFilter {
 
     /**
      * Returns a filtered value of type Double from the specified value of type Double.
@@ -55,6 +65,78 @@ public interface ScalarFilter extends Filter<Double, Double> {
      */
     public Double filter(Double value) throws NullValueException, EmptyListException, IncorrectSizeException;
 
+    /**
+     * Returns a filtered double value from the specified double value by boxing it and calling
+     * filter(Double value). Implementations override this method with a primitive fast path that
+     * the filter method delegates to.
+     *
+     * @param value - specified value to filter
+     * @return value filtered as a primitive double
+     * @throws exception.EmptyListException - if any lists under operation are empty
+     * @throws exception.IncorrectSizeException - if any variable sizes are out of necessary operating range
+     * @throws java.lang.NullPointerException - if the filter method returns null or throws a NullValueException,
+     * which it cannot for the non-null boxed input value
+     */
+    @Override
+    public default double filterDouble(double value) throws EmptyListException, IncorrectSizeException {
+        try {
+            return filter(value);
+        } catch (NullValueException nve) {
+            throw new NullPointerException(nve.getMessage());
+        }
+    }
+
+    /**
+     * Filters every value of the specified primitive input array into the same index of the specified
+     * primitive output array. The result is identical to calling filterDouble(double value) once per
+     * input value in index order.
+     *
+     * @param values - the values to filter
+     * @param output - the array that receives the filtered values, at least as long as values
+     * @throws exception.NullValueException - if either array is null
+     * @throws exception.EmptyListException - if any lists under operation are empty
+     * @throws exception.IncorrectSizeException - if the output array is shorter than the input array or any
+     * variable sizes are out of necessary operating range
+     */
+    public default void filter(double[] values, double[] output)
+            throws NullValueException, EmptyListException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(values, output);
+        filter(values, 0, output, 0, values.length);
+    }
+
+    /**
+     * <p>
+     * Filters the slice of length values of the specified primitive input array starting at offset into the slice
+     * of the primitive output array starting at outputOffset. The result is identical to calling
+     * filterDouble(double value) once per input value in index order. Implementations override this method with
+     * a loop that validates the filter once per call rather than once per value.
+     * </p>
+     * <p>
+     * The output slice may be the same as the input slice, in which case the values are filtered in place.
+     * </p>
+     *
+     * @param values - the array of values to filter
+     * @param offset - the index of the first value to filter
+     * @param output - the array that receives the filtered values
+     * @param outputOffset - the index that receives the first filtered value
+     * @param length - the number of values to filter
+     * @throws exception.NullValueException - if either array is null
+     * @throws exception.EmptyListException - if any lists under operation are empty
+     * @throws exception.IncorrectSizeException - if either slice does not lie within its array or any
+     * variable sizes are out of necessary operating range
+     */
+    public default void filter(double[] values, int offset, double[] output, int outputOffset, int length)
+            throws NullValueException, EmptyListException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(values, output);
+        FilterValidator.throwWhenSliceOutOfRange(values.length, offset, length);
+        FilterValidator.throwWhenSliceOutOfRange(output.length, outputOffset, length);
+        FilterEvents.BatchEvent event = FilterEvents.beginBatch();
+        for (int j = 0; j < length; j++) {
+            output[outputOffset + j] = filterDouble(values[offset + j]);
+        }
+        FilterEvents.commitBatch(event, this, length);
+    }
+
     /**
      * Resets the scalar filter implementation with a Double value equivalent to zero.
      */
@@ -0,0 +1,262 @@
+package filter;
+
+import exception.EmptyListException;
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ * A ScalarFilterCascade is a cascade of ScalarFilters which is compiled into a fused primitive pipeline. Implements
+ * all ScalarFilter operations. Since every stage filters a double into a double, the stage types are checked by the
+ * compiler at construction and no value is cast or boxed between stages.
+ * </p>
+ * <p>
+ * At construction, every run of adjacent unused FIRFilters, including GainFilters and BinomialFilters, is folded
+ * into a single FIRFilter whose multipliers are the convolution of the multipliers of the run. A FIRFilter is unused
+ * when it has not filtered a value since instantiation or its last reset with a zero value, and its multiplier list
+ * has N elements. Folding a run of FIRFilters with N1,..., Nk multipliers produces a single FIRFilter with
+ * N1 +...+ Nk - k + 1 multipliers which filters every value with the same result as the run, up to floating point
+ * rounding of the convolved multipliers. Folded FIRFilters are replaced by the new FIRFilter and are not used or
+ * modified by the cascade. Every other stage is used as is, so it continues from its current state.
+ * </p>
+ * <p>
+ * The filterDouble operation passes the value through each compiled stage in order. The batch filter operation runs
+ * each compiled stage over the whole slice before moving to the next stage, filtering the output slice in place, so
+ * each stage is dispatched once per batch rather than once per value and runs its own optimized batch loop. The
+ * values produced are identical to filtering each value with filterDouble. If a stage throws an exception during a
+ * batch, the stages before it have filtered the whole slice and the stages after it have filtered none of it.
+ * </p>
+ * <p>
+ * The reset operation resets every compiled stage. A ScalarFilterCascade with no stages filters every value into
+ * itself.
+ * </p>
+ *
+ * @see filter.FilterCascade
+ *
+ * @author Shaun Howard
+ */
+public class ScalarFilterCascade implements ScalarFilter, Snapshottable {
+
+    // The compiled stages of the cascade.
+    private final ScalarFilter[] stages;
+
+    /**
+     * Constructs a fused cascade of the specified scalar filters by folding
+     * every run of adjacent unused FIRFilters into a single FIRFilter.
+     *
+     * @param filters - the scalar filters of the cascade in the order they filter values
+     */
+    public ScalarFilterCascade(List<? extends ScalarFilter> filters) {
+        List<ScalarFilter> compiled = new ArrayList<>();
+        double[] run = null;
+        int runLength = 0;
+        for (ScalarFilter filter : filters) {
+            if (isFoldable(filter)) {
+                double[] taps = toArray(((FIRFilter) filter).getB());
+                run = run == null ? taps : convolve(run, taps);
+                runLength++;
+                if (runLength == 1) {
+                    compiled.add(filter);
+                } else {
+                    compiled.set(compiled.size() - 1, newFIRFilter(run));
+                }
+            } else {
+                compiled.add(filter);
+                run = null;
+                runLength = 0;
+            }
+        }
+        stages = compiled.toArray(new ScalarFilter[compiled.size()]);
+        FilterEvents.constructed(this, stages.length);
+    }
+
+    /**
+     * Filters the specified value through every stage of the cascade.
+     *
+     * @param value - the value to filter
+     * @return the value filtered by the last stage of the cascade
+     * @throws exception.NullValueException - if the input value is null
+     * @throws exception.EmptyListException - if any lists under operation in stages are empty
+     * @throws exception.IncorrectSizeException - if any mismatched sizes are found during operation of stages
+     */
+    @Override
+    public Double filter(Double value) throws NullValueException, EmptyListException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(value);
+        return filterDouble(value);
+    }
+
+    /**
+     * Filters the specified primitive value through every stage of the cascade.
+     *
+     * @param value - the value to filter
+     * @return the value filtered by the last stage of the cascade
+     * @throws exception.EmptyListException - if any lists under operation in stages are empty
+     * @throws exception.IncorrectSizeException - if any mismatched sizes are found during operation of stages
+     */
+    @Override
+    public double filterDouble(double value) throws EmptyListException, IncorrectSizeException {
+        for (ScalarFilter stage : stages) {
+            value = stage.filterDouble(value);
+        }
+        return value;
+    }
+
+    /**
+     * Filters the slice of the input array through every stage of the cascade into the slice of the output
+     * array. The first stage filters the input slice into the output slice and every later stage filters the
+     * output slice in place.
+     *
+     * @param values - the array of values to filter
+     * @param offset - the index of the first value to filter
+     * @param output - the array that receives the filtered values
+     * @param outputOffset - the index that receives the first filtered value
+     * @param length - the number of values to filter
+     * @throws exception.NullValueException - if either array is null
+     * @throws exception.EmptyListException - if any lists under operation in stages are empty
+     * @throws exception.IncorrectSizeException - if either slice does not lie within its array or any mismatched
+     * sizes are found during operation of stages
+     */
+    @Override
+    public void filter(double[] values, int offset, double[] output, int outputOffset, int length)
+            throws NullValueException, EmptyListException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(values, output);
+        FilterValidator.throwWhenSliceOutOfRange(values.length, offset, length);
+        FilterValidator.throwWhenSliceOutOfRange(output.length, outputOffset, length);
+        if (stages.length == 0) {
+            System.arraycopy(values, offset, output, outputOffset, length);
+            return;
+        }
+        FilterEvents.BatchEvent event = FilterEvents.beginBatch();
+        FilterEvents.StageEvent stage = FilterEvents.beginStage();
+        stages[0].filter(values, offset, output, outputOffset, length);
+        FilterEvents.commitStage(stage, this, 0, stages[0], length);
+        for (int k = 1; k < stages.length; k++) {
+            stage = FilterEvents.beginStage();
+            stages[k].filter(output, outputOffset, output, outputOffset, length);
+            FilterEvents.commitStage(stage, this, k, stages[k], length);
+        }
+        FilterEvents.commitBatch(event, this, length);
+    }
+
+    /**
+     * Resets every compiled stage of the cascade.
+     */
+    @Override
+    public void reset() {
+        for (ScalarFilter stage : stages) {
+            stage.reset();
+        }
+    }
+
+    /**
+     * Writes the number of compiled stages and the class name and state of every compiled stage
+     * to the specified output.
+     *
+     * @param out - the output the state is written to
+     * @throws java.io.IOException - if a stage is not Snapshottable or its state cannot be written
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(stages.length);
+        for (ScalarFilter stage : stages) {
+            FilterSnapshot.writeFilter(out, stage);
+        }
+    }
+
+    /**
+     * Replaces the state of every compiled stage with the state read from the specified input, which was
+     * written by a cascade compiled into stages of the same classes and configurations.
+     *
+     * @param in - the input the state is read from
+     * @throws java.io.IOException - if the state cannot be read or the stages do not match the stages written
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        FilterSnapshot.check("number of stages", in.readInt(), stages.length);
+        for (ScalarFilter stage : stages) {
+            FilterSnapshot.readFilter(in, stage);
+        }
+    }
+
+    /**
+     * Gets the compiled stages of the cascade, after folding.
+     *
+     * @return an unmodifiable list of the compiled stages
+     */
+    public List<ScalarFilter> getStages() {
+        return Collections.unmodifiableList(Arrays.asList(stages));
+    }
+
+    /**
+     * Determines whether the specified filter is an unused FIRFilter with a
+     * valid multiplier list that can be folded into its neighbours.
+     *
+     * @param filter - the filter to check
+     * @return true if the filter can be folded
+     */
+    private static boolean isFoldable(ScalarFilter filter) {
+        if (!(filter instanceof FIRFilter)) {
+            return false;
+        }
+        FIRFilter fir = (FIRFilter) filter;
+        List<Double> b = fir.getB();
+        if (b == null || b.isEmpty() || b.size() != fir.getN() || b.contains(null)) {
+            return false;
+        }
+        return fir.getIteration() == 0 && fir.getInputSum() == 0 && fir.getOutputSum() == 0;
+    }
+
+    /**
+     * Calculates the multipliers of a FIRFilter equivalent to filtering with the
+     * multipliers first followed by the multipliers second.
+     *
+     * @param first - the multipliers of the first FIRFilter
+     * @param second - the multipliers of the second FIRFilter
+     * @return the convolution of the two lists of multipliers
+     */
+    private static double[] convolve(double[] first, double[] second) {
+        double[] result = new double[first.length + second.length - 1];
+        for (int j = 0; j < first.length; j++) {
+            for (int k = 0; k < second.length; k++) {
+                result[j + k] += first[j] * second[k];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Constructs a FIRFilter with the specified multipliers.
+     *
+     * @param taps - the multipliers of the FIRFilter
+     * @return a FIRFilter with the specified multipliers
+     */
+    private static FIRFilter newFIRFilter(double[] taps) {
+        ArrayList<Double> b = new ArrayList<>(taps.length);
+        for (double tap : taps) {
+            b.add(tap);
+        }
+        return new FIRFilter(taps.length, b);
+    }
+
+    /**
+     * Copies the specified list of multipliers into a primitive array.
+     *
+     * @param list - the list of multipliers to copy
+     * @return a primitive array with the values of the list
+     */
+    private static double[] toArray(List<Double> list) {
+        double[] array = new double[list.size()];
+        for (int n = 0; n < array.length; n++) {
+            array[n] = list.get(n);
+        }
+        return array;
+    }
+}
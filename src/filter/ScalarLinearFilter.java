@@ -4,8 +4,10 @@ import exception.EmptyListException;
 import exception.IncorrectSizeException;
 import exception.NullValueException;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -43,13 +45,43 @@ import java.util.List;
  * Calling the reset() operation simply calls reset(Double value) with a Double zero.
  * </p>
  * <p>
- * A ScalarLinearFilter limits the number of calculations per instance based on the input and output boundary coefficient.
- * The instance must be reset once it's threshold is reached in order to calculate any additional filtered values.
+ * The multiplier lists a and b are validated against the boundary coefficients M and N and copied into primitive
+ * arrays once, at construction and on every reset, rather than on every filter call. Thus, changes made to the list
+ * returned by getB() take effect at the next reset. When the multiplier lists are not valid, the filter operations
+ * throw the same checked exceptions they would if validation took place on every call.
+ * </p>
+ * <p>
+ * The previous input values x and previous output values y are stored in fixed-capacity primitive circular buffers
+ * of sizes N and M respectively. Each call to filter overwrites the oldest stored value rather than growing a list,
+ * so both the memory used by an instance and the cost of each filter call remain constant no matter how many values
+ * have been filtered since construction or the last reset. The first batch filter call of a filter with no output
+ * multipliers also allocates the buffers its FIR kernel convolves, which hold N - 1 values plus the batch, up to
+ * 1024 values, or the FFT block when the FFT convolver is used. The buffers are kept for the batches which follow,
+ * so they only grow when a later batch is longer, and are released with the filter.
+ * </p>
+ * <p>
+ * A ScalarLinearFilter may instead be constructed with a CoefficientSet, an immutable and interned set of multipliers
+ * which any number of filters share. Such a filter neither copies nor boxes its multipliers: it refers to the arrays
+ * of the set, takes the sums used by reset from the set, and returns the unmodifiable lists of the set from getA()
+ * and getB(), so its memory comes down to its circular buffers and the buffers of its batch filter operation.
+ * </p>
+ * <p>
+ * When at most one in four input multipliers is non-zero, as in comb and delay line designs, the filter sums only
+ * the non-zero input multipliers with a SparseKernel in sumInput(), and, when at most one in eight is non-zero, in the
+ * batch filter operation too, so the cost of each output is proportional to the number of non-zero multipliers rather
+ * than to N. The values are exactly those of summing every multiplier, except that an infinite or NaN input value is
+ * not multiplied by a zero multiplier.
  * </p>
  *
  * @author Shaun Howard
  */
-public class ScalarLinearFilter implements ScalarFilter, Resettable<Double> {
+public class ScalarLinearFilter implements ScalarFilter, Resettable<Double>, Snapshottable {
+
+    // The number of values convolved by each pass of the FIR kernel in the batch filter operation.
+    private static final int BLOCK = 1024;
+
+    // The measured cost of one butterfly of the FFT relative to one multiplication and addition of the FIR kernel.
+    private static final double BUTTERFLY_COST = 40.0;
 
     // The output boundary coefficient for the linear equation.
     private int M;
@@ -58,7 +90,7 @@ public class ScalarLinearFilter implements ScalarFilter, Resettable<Double> {
     private int N;
 
     // The current iteration of the filter.
-    private int i;
+    private long i;
 
     // The sum of the input.
     private double inputSum;
@@ -72,15 +104,49 @@ public class ScalarLinearFilter implements ScalarFilter, Resettable<Double> {
     // The input multiplier list.
     private List<Double> b;
 
-    // The previous input list.
-    private List<Double> x;
+    // The circular buffer of previous input values.
+    private double[] x;
+
+    // The circular buffer of previous output values.
+    private double[] y;
+
+    // The index of the most recent input value, x(i), in the input buffer.
+    private int xHead;
+
+    // The index of the most recent output value, y(i - 1), in the output buffer.
+    private int yHead;
+
+    // The output multipliers copied from list a when the filter was last configured.
+    private double[] aCoefficients;
+
+    // The input multipliers copied from list b when the filter was last configured.
+    private double[] bCoefficients;
+
+    // The shared immutable multipliers of the filter, or null when its multipliers are held in the lists a and b.
+    private CoefficientSet coefficients;
 
-    // The previous output list.
-    private List<Double> y;
+    // The non-zero input multipliers and their delays when the input multipliers are sparse, otherwise null.
+    private SparseKernel sparse;
+
+    // Whether the multiplier lists were valid when the filter was last configured.
+    private boolean configured;
+
+    // The contiguous previous and current input values convolved by the FIR kernel, allocated by the first batch.
+    private double[] signal;
+
+    // The input sums computed by the FIR kernel, allocated by the first batch and grown by longer batches.
+    private double[] sums;
+
+    // How the batch filter operation convolves input values when there are no output multipliers.
+    private ConvolutionMode convolutionMode = ConvolutionMode.DIRECT;
+
+    // The FFT convolver of the input multipliers, created on first use after the filter is configured.
+    private FFTConvolver spectrum;
 
     /**
      * Constructs a ScalarLinearFilter with boundary coefficients N and M
      * and lists of multipliers a and b for input and output consecutively.
+     * The multiplier lists are validated and copied once, at construction.
      *
      * @param M - the output boundary coefficient
      * @param N - the input boundary coefficient
@@ -95,8 +161,63 @@ public class ScalarLinearFilter implements ScalarFilter, Resettable<Double> {
         this.i = 0;
         this.inputSum = 0;
         this.outputSum = 0;
-        x = new ArrayList<>(Collections.nCopies(M, 0.0));
-        y = new ArrayList<>(Collections.nCopies(N, 0.0));
+        x = new double[Math.max(N, 1)];
+        y = new double[Math.max(M, 1)];
+        xHead = x.length - 1;
+        yHead = y.length - 1;
+        configureQuietly();
+        FilterEvents.constructed(this, (long) M + N);
+    }
+
+    /**
+     * Constructs a ScalarLinearFilter with the boundary coefficients and multipliers of the specified
+     * CoefficientSet, which the filter shares rather than copies.
+     *
+     * @param coefficients - the shared multipliers of the filter
+     * @throws exception.NullValueException - if the coefficient set is null
+     */
+    public ScalarLinearFilter(CoefficientSet coefficients) throws NullValueException {
+        FilterValidator.throwExceptionWhenNull(coefficients);
+        this.M = coefficients.getM();
+        this.N = coefficients.getN();
+        this.a = coefficients.getA();
+        this.b = coefficients.getB();
+        this.coefficients = coefficients;
+        this.i = 0;
+        this.inputSum = 0;
+        this.outputSum = 0;
+        x = new double[N];
+        y = new double[Math.max(M, 1)];
+        xHead = x.length - 1;
+        yHead = y.length - 1;
+        configureQuietly();
+        FilterEvents.constructed(this, (long) M + N);
+    }
+
+    /**
+     * Constructs a ScalarLinearFilter with the same multipliers, sums, history, iteration
+     * and convolution mode as the specified filter, which shares no mutable state with it.
+     *
+     * @param source - the filter to copy
+     */
+    private ScalarLinearFilter(ScalarLinearFilter source) {
+        this.M = source.M;
+        this.N = source.N;
+        this.a = source.a;
+        this.b = source.b;
+        this.i = source.i;
+        this.inputSum = source.inputSum;
+        this.outputSum = source.outputSum;
+        x = source.x.clone();
+        y = source.y.clone();
+        xHead = source.xHead;
+        yHead = source.yHead;
+        aCoefficients = source.aCoefficients;
+        bCoefficients = source.bCoefficients;
+        coefficients = source.coefficients;
+        sparse = source.sparse;
+        configured = source.configured;
+        convolutionMode = source.convolutionMode;
     }
 
     /**
@@ -109,27 +230,234 @@ public class ScalarLinearFilter implements ScalarFilter, Resettable<Double> {
      * Each call to the filter method increments the iteration of this ScalarLinearFilter instance.
      * </p>
      * <p>
-     * When the current iteration of filtering is beyond the range of either the input or output list's size, a checked
+     * When the size of either multiplier list does not match its boundary coefficient, a checked
      * IncorrectSizeException will be thrown.
      * </p>
      *
      * @param in - the input value to filter based on the scalar linear equation
      * @return the output value y(i) of the linear equation solution
      * @throws exception.NullValueException - if null data structure references on operated structures or null input
-     * @throws exception.IncorrectSizeException - if current iteration is beyond the size of both the input and output
-     * list sizes
+     * @throws exception.IncorrectSizeException - if the size of multiplier list a or b does not equal M or N
      * @throws exception.EmptyListException - if a data structure used for calculation is empty but must not be
      */
     @Override
     public Double filter(Double in) throws NullValueException, IncorrectSizeException, EmptyListException {
-        FilterValidator.throwExceptionWhenNull(in, a, b);
-        FilterValidator.throwWhenOutOfRange(i, 0, x.size());
-        FilterValidator.throwWhenOutOfRange(i, 0, y.size());
-        x.add(i, in);
-        double out = sumInput() - sumOutput();
-        y.add(i, out);
-        i++;
-        return out;
+        FilterValidator.throwExceptionWhenNull(in);
+        if (!configured) {
+            configure();
+        }
+        return step(in);
+    }
+
+    /**
+     * Filters the specified primitive input value with the scalar linear equation exactly as
+     * filter(Double in) does, without boxing the input or output value. When the multiplier lists
+     * are valid, which is checked once at construction or reset, no validation takes place.
+     *
+     * @param in - the input value to filter based on the scalar linear equation
+     * @return the output value y(i) of the linear equation solution
+     * @throws exception.IncorrectSizeException - if the size of multiplier list a or b does not equal M or N
+     * @throws exception.EmptyListException - if a data structure used for calculation is empty but must not be
+     * @throws java.lang.NullPointerException - if multiplier list a or b is null or contains a null value
+     */
+    @Override
+    public double filterDouble(double in) throws IncorrectSizeException, EmptyListException {
+        if (!configured) {
+            try {
+                configure();
+            } catch (NullValueException nve) {
+                throw new NullPointerException(nve.getMessage());
+            }
+        }
+        return step(in);
+    }
+
+    /**
+     * <p>
+     * Filters each value in the slice of the input array exactly as filterDouble(double in) does and writes each
+     * output value y(i) to the slice of the output array.
+     * </p>
+     * <p>
+     * A filter with a single input multiplier and no output multipliers, such as a GainFilter, is filtered with a
+     * dedicated loop that multiplies each input value by b(0). Any other filter with no output multipliers, such as a
+     * FIRFilter or a BinomialFilter, is filtered in blocks by the FIR kernel once N input values are stored: the
+     * previous N - 1 input values and a block of new input values are copied into one contiguous array and the kernel
+     * computes the input sums of the whole block in one pass over the multipliers, using the Java Vector API when it
+     * is available. The kernel sums each output in the same order as filterDouble, so the values are identical.
+     * Every other filter is filtered with a loop that convolves the multipliers with the circular input and output
+     * buffers directly.
+     * </p>
+     *
+     * @param values - the array of values to filter
+     * @param offset - the index of the first value to filter
+     * @param output - the array that receives the filtered values
+     * @param outputOffset - the index that receives the first filtered value
+     * @param length - the number of values to filter
+     * @throws exception.NullValueException - if either array or either multiplier list is null
+     * @throws exception.IncorrectSizeException - if either slice does not lie within its array or the size of
+     * multiplier list a or b does not equal M or N
+     * @throws exception.EmptyListException - if multiplier list b is empty
+     */
+    @Override
+    public void filter(double[] values, int offset, double[] output, int outputOffset, int length)
+            throws NullValueException, IncorrectSizeException, EmptyListException {
+        FilterValidator.throwExceptionWhenNull(values, output);
+        FilterValidator.throwWhenSliceOutOfRange(values.length, offset, length);
+        FilterValidator.throwWhenSliceOutOfRange(output.length, outputOffset, length);
+        FilterEvents.BatchEvent event = FilterEvents.beginBatch();
+        filterSlice(values, offset, output, outputOffset, length);
+        FilterEvents.commitBatch(event, this, length);
+    }
+
+    /**
+     * Filters the validated slice of the input array into the slice of the output array with the
+     * dedicated gain loop, the FIR kernel or the direct convolution loop.
+     *
+     * @param values - the array of values to filter
+     * @param offset - the index of the first value to filter
+     * @param output - the array that receives the filtered values
+     * @param outputOffset - the index that receives the first filtered value
+     * @param length - the number of values to filter
+     * @throws exception.NullValueException - if either multiplier list is null
+     * @throws exception.IncorrectSizeException - if the size of multiplier list a or b does not equal M or N
+     * @throws exception.EmptyListException - if multiplier list b is empty
+     */
+    private void filterSlice(double[] values, int offset, double[] output, int outputOffset, int length)
+            throws NullValueException, IncorrectSizeException, EmptyListException {
+        if (length == 0) {
+            return;
+        }
+        if (!configured) {
+            configure();
+        }
+
+        if (N == 1 && M <= 1) {
+            //a single input multiplier and no output multipliers, so y(i) = b(0)x(i)
+            double gain = bCoefficients[0];
+            double outputTerm = 0.0 + outputSum;
+            double in = 0;
+            double out = 0;
+            for (int j = 0; j < length; j++) {
+                in = values[offset + j];
+                double sum = 0;
+                sum += gain * in;
+                out = (sum + inputSum) - outputTerm;
+                output[outputOffset + j] = out;
+            }
+            x[0] = in;
+            y[0] = out;
+            i += length;
+            return;
+        }
+
+        int j = 0;
+        if (M <= 1) {
+            //fill the input buffer one value at a time, after which every output sums all N input multipliers
+            for (; j < length && i < N - 1; j++) {
+                output[outputOffset + j] = step(values[offset + j]);
+            }
+            if (j < length) {
+                convolveBlocks(values, offset + j, output, outputOffset + j, length - j);
+            }
+            return;
+        }
+
+        for (; j < length; j++) {
+            output[outputOffset + j] = step(values[offset + j]);
+        }
+    }
+
+    /**
+     * Filters the slice of the input array with the FIR kernel, one block at a time. Every input
+     * multiplier is used for every output, so N input values must be stored before this method is
+     * called, and the filter must have no output multipliers.
+     *
+     * @param values - the array of values to filter
+     * @param offset - the index of the first value to filter
+     * @param output - the array that receives the filtered values
+     * @param outputOffset - the index that receives the first filtered value
+     * @param length - the number of values to filter
+     */
+    private void convolveBlocks(double[] values, int offset, double[] output, int outputOffset, int length) {
+        int history = N - 1;
+        FFTConvolver convolver = chooseConvolver(length);
+        int size = convolver == null ? Math.min(BLOCK, length) : convolver.getBlock();
+        if (sums == null || sums.length < size) {
+            signal = new double[history + size];
+            sums = new double[size];
+        }
+        //copy the previous N - 1 input values, oldest first, in front of the first block
+        for (int n = 0, index = xHead; n < history; n++, index = index == 0 ? x.length - 1 : index - 1) {
+            signal[history - 1 - n] = x[index];
+        }
+        double outputTerm = 0.0 + outputSum;
+        double out = 0;
+        for (int start = 0; start < length; start += size) {
+            int block = Math.min(size, length - start);
+            if (start > 0) {
+                //the last N - 1 values of the previous block precede the next block
+                System.arraycopy(signal, size, signal, 0, history);
+            }
+            System.arraycopy(values, offset + start, signal, history, block);
+            if (convolver == null && sparse != null && sparse.isBatchSparse()) {
+                sparse.convolve(signal, history, sums, block);
+            } else if (convolver == null) {
+                FIRKernel.INSTANCE.convolve(bCoefficients, N, signal, history, sums, block);
+            } else {
+                convolver.convolve(signal, history, sums, block);
+            }
+            for (int j = 0; j < block; j++) {
+                out = (sums[j] + inputSum) - outputTerm;
+                output[outputOffset + start + j] = out;
+            }
+            if (start + block == length) {
+                //store the newest N input values, oldest first, so that x(i) is at the end of the input buffer
+                System.arraycopy(signal, block - 1, x, 0, N);
+            }
+        }
+        xHead = N - 1;
+        yHead = 0;
+        y[0] = out;
+        i += length;
+    }
+
+    /**
+     * Chooses the FFT convolver for a batch of the specified number of values when the convolution mode
+     * is FFT, or when it is AUTO and the estimated cost of the FFT convolution of the batch is lower
+     * than the estimated cost of the direct or sparse convolution of the batch.
+     *
+     * @param length - the number of values in the batch
+     * @return the FFT convolver to use, or null to use the FIR kernel
+     */
+    private FFTConvolver chooseConvolver(int length) {
+        int summed = sparse != null && sparse.isBatchSparse() ? sparse.getCount() : N;
+        if (convolutionMode == ConvolutionMode.DIRECT
+                || (convolutionMode == ConvolutionMode.AUTO && !isSpectrumFaster(N, summed, length))) {
+            return null;
+        }
+        if (spectrum == null) {
+            spectrum = new FFTConvolver(bCoefficients, N);
+        }
+        return spectrum;
+    }
+
+    /**
+     * Estimates whether the FFT convolution of a batch is faster than its direct convolution. The direct
+     * convolution costs one multiplication and addition per summed multiplier and value. Each pair of segments
+     * of the FFT convolution costs two complex transforms of size L, which take about L * log2(L) butterflies
+     * each, and L complex multiplications.
+     *
+     * @param taps - the number of multipliers
+     * @param summed - the number of multipliers summed by the direct convolution, which is the number of
+     * non-zero multipliers when they are sparse
+     * @param length - the number of values in the batch
+     * @return true if the FFT convolution is estimated to be faster
+     */
+    static boolean isSpectrumFaster(int taps, int summed, int length) {
+        int size = FFTConvolver.transformSize(taps);
+        long pairs = (length + 2L * (size - taps + 1) - 1) / (2L * (size - taps + 1));
+        double spectrumCost = pairs * (BUTTERFLY_COST * size * Integer.numberOfTrailingZeros(size) + 2.0 * size);
+        return spectrumCost < (double) summed * length;
     }
 
     /**
@@ -146,32 +474,42 @@ public class ScalarLinearFilter implements ScalarFilter, Resettable<Double> {
         }
     }
 
+    /**
+     * Adds the specified input value to the circular input buffer, calculates the output
+     * value y(i) and adds it to the circular output buffer. The multiplier lists must be
+     * configured before this method is called.
+     *
+     * @param in - the input value x(i)
+     * @return the output value y(i) of the linear equation solution
+     */
+    private double step(double in) {
+        if (++xHead == x.length) {
+            xHead = 0;
+        }
+        x[xHead] = in;
+        double out = sumInput() - sumOutput();
+        if (++yHead == y.length) {
+            yHead = 0;
+        }
+        y[yHead] = out;
+        i++;
+        return out;
+    }
+
     /**
      * Calculates the right (input) side of the scalar linear equation.
      * This calculation is the sum of input as b(n) * x(i - n), where n starts at 0 and ends at N
      * and i is the current iteration of filtering.
      *
      * @return the sum of the input side of the scalar linear equation
-     * @throws exception.EmptyListException - if value lists b or x are empty
-     * @throws exception.IncorrectSizeException - if the size of value list b is not equal to N
      */
-    private double sumInput() throws IncorrectSizeException, EmptyListException {
-        FilterValidator.throwExceptionWhenEmpty(b, x);
-        FilterValidator.throwIncorrectSizeException(b, N);
-
-        double sum = 0;
-        IN_SUM_LOOP:
-        for (int n = 0; n < N; n++){
-            //sum = sum + b(n) * x(i-n)
-            if ((i - n) >= 0) {
-                sum += b.get(n) * x.get(i - n);
-            } else {
-                //will only add zeroes to sum, so break
-                break IN_SUM_LOOP;
-            }
+    private double sumInput() {
+        //x(i-n) is zero before the first iteration, so only sum over stored inputs
+        int taps = (int) Math.min(N, i + 1);
+        if (sparse != null) {
+            return sparse.sum(x, xHead, taps) + inputSum;
         }
-
-        return sum + inputSum;
+        return convolve(bCoefficients, 0, x, xHead, taps) + inputSum;
     }
 
     /**
@@ -181,24 +519,96 @@ public class ScalarLinearFilter implements ScalarFilter, Resettable<Double> {
      * and i is the current iteration of filtering.
      *
      * @return the sum of the output side of the scalar linear equation without the output, y(i), included
-     * @throws exception.IncorrectSizeException - if the size of value list a is not equal to M
      */
-    private double sumOutput() throws IncorrectSizeException {
-        FilterValidator.throwIncorrectSizeException(a, M);
+    private double sumOutput() {
+        //y(i-m) is zero before the first iteration, so only sum over stored outputs
+        int taps = (int) Math.min(M - 1, i);
+        return convolve(aCoefficients, 1, y, yHead, taps) + outputSum;
+    }
 
+    /**
+     * Sums the multipliers starting at index first times the most recent taps values of the specified circular
+     * buffer, from the value at head backwards, in order of increasing multiplier index.
+     *
+     * @param coefficients - the multipliers of the sum
+     * @param first - the index of the multiplier applied to the value at head
+     * @param history - the circular buffer of previous values
+     * @param head - the index of the most recent value in the circular buffer
+     * @param taps - the number of values to sum
+     * @return the sum of the multiplied values
+     */
+    private static double convolve(double[] coefficients, int first, double[] history, int head, int taps) {
         double sum = 0;
-        OUT_SUM_LOOP:
-        for (int m = 1; m < M; m++){
-            //sum = sum + a(m) * y(i-m)
-            if ((i - m) >= 0) {
-                sum += a.get(m) * y.get(i - m);
-            } else {
-                //will only add zeroes to sum, so break
-                break OUT_SUM_LOOP;
-            }
+        int n = 0;
+        int wrapped = Math.min(taps, head + 1);
+        for (int index = head; n < wrapped; n++, index--) {
+            //sum = sum + c(first + n) * h(head - n)
+            sum += coefficients[first + n] * history[index];
+        }
+        for (int index = history.length - 1; n < taps; n++, index--) {
+            sum += coefficients[first + n] * history[index];
+        }
+        return sum;
+    }
+
+    /**
+     * Validates the multiplier lists against the boundary coefficients and copies them into
+     * primitive arrays which are used by every filter call until the next reset. The arrays
+     * of a shared CoefficientSet, which was validated when it was interned, are used as they are.
+     *
+     * @throws exception.NullValueException - if multiplier list a or b is null or contains a null value
+     * @throws exception.EmptyListException - if multiplier list b is empty
+     * @throws exception.IncorrectSizeException - if the size of multiplier list a or b does not equal M or N
+     */
+    private void configure() throws NullValueException, EmptyListException, IncorrectSizeException {
+        if (coefficients != null) {
+            bCoefficients = coefficients.b();
+            aCoefficients = coefficients.a();
+            sparse = coefficients.sparse();
+            spectrum = null;
+            configured = true;
+            return;
+        }
+        FilterValidator.throwExceptionWhenNull(a, b);
+        FilterValidator.throwExceptionWhenEmpty(b);
+        FilterValidator.throwIncorrectSizeException(b, N);
+        FilterValidator.throwIncorrectSizeException(a, M);
+        bCoefficients = toArray(b);
+        aCoefficients = toArray(a);
+        sparse = SparseKernel.of(bCoefficients);
+        spectrum = null;
+        configured = true;
+    }
+
+    /**
+     * Configures the filter, leaving it unconfigured when the multiplier lists are not valid.
+     * An unconfigured filter configures itself on its next filter call, which throws the
+     * appropriate checked exception if the multiplier lists are still not valid.
+     */
+    private void configureQuietly() {
+        configured = false;
+        try {
+            configure();
+        } catch (NullValueException | EmptyListException | IncorrectSizeException e) {
+            configured = false;
         }
+    }
 
-        return sum + outputSum;
+    /**
+     * Copies the specified list of multipliers into a primitive array.
+     *
+     * @param list - the list of multipliers to copy
+     * @return a primitive array with the values of the list
+     * @throws exception.NullValueException - if the list contains a null value
+     */
+    static double[] toArray(List<Double> list) throws NullValueException {
+        double[] array = new double[list.size()];
+        for (int n = 0; n < array.length; n++) {
+            Double value = list.get(n);
+            FilterValidator.throwExceptionWhenNull(value);
+            array[n] = value;
+        }
+        return array;
     }
 
     /**
@@ -206,6 +616,8 @@ public class ScalarLinearFilter implements ScalarFilter, Resettable<Double> {
      * Sets the record of previous input value to r.
      * Sets the record of previous output value to the calculation
      * r(sum of b(0) - b(N)) / (1 + sum of a(1) - a(M)).
+     * Validates and copies the multiplier lists again, so any changes made to them
+     * since construction or the last reset take effect.
      *
      * @param r - the value to reset the filter with
      * @throws exception.NullValueException - if any value used in
@@ -216,16 +628,163 @@ public class ScalarLinearFilter implements ScalarFilter, Resettable<Double> {
         FilterValidator.throwExceptionWhenNull(r, b, a);
         double dividend = 0;
         double quotient = 1;
-        for (int n = 0; n < N; n++){
-            dividend += b.get(n);
-        }
-        for (int m = 1; m < M; m++){
-            quotient += a.get(m);
+        if (coefficients != null) {
+            dividend = coefficients.inputGain();
+            quotient = coefficients.outputGain();
+        } else {
+            for (int n = 0; n < N; n++){
+                dividend += b.get(n);
+            }
+            for (int m = 1; m < M; m++){
+                quotient += a.get(m);
+            }
         }
         i = 0;
         inputSum = r;
         dividend = r * dividend;
         outputSum = dividend / quotient;
+        configureQuietly();
+        FilterEvents.reset(this);
+    }
+
+    /**
+     * Writes the boundary coefficients M and N, the iteration, the input and output sums and the previous
+     * input and output values, oldest first, to the specified output. The multiplier lists are not written.
+     *
+     * @param out - the output the state is written to
+     * @throws java.io.IOException - if the state cannot be written
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(M);
+        out.writeInt(N);
+        out.writeLong(i);
+        out.writeDouble(inputSum);
+        out.writeDouble(outputSum);
+        writeHistory(out, x, xHead);
+        writeHistory(out, y, yHead);
+    }
+
+    /**
+     * Replaces the iteration, the input and output sums and the previous input and output values with the
+     * state read from the specified input, so that a filter with the same multipliers produces exactly the
+     * same output values as the filter written.
+     *
+     * @param in - the input the state is read from
+     * @throws java.io.IOException - if the state cannot be read or was written by a filter of a different M or N
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        FilterSnapshot.check("output boundary coefficient M", in.readInt(), M);
+        FilterSnapshot.check("input boundary coefficient N", in.readInt(), N);
+        long iteration = in.readLong();
+        if (iteration < 0) {
+            throw new IOException("The iteration " + iteration + " in the snapshot is negative.");
+        }
+        double input = in.readDouble();
+        double output = in.readDouble();
+        for (int n = 0; n < x.length; n++) {
+            x[n] = in.readDouble();
+        }
+        for (int m = 0; m < y.length; m++) {
+            y[m] = in.readDouble();
+        }
+        xHead = x.length - 1;
+        yHead = y.length - 1;
+        i = iteration;
+        inputSum = input;
+        outputSum = output;
+    }
+
+    /**
+     * Writes the values of the specified circular buffer, oldest first.
+     *
+     * @param out - the output the values are written to
+     * @param history - the circular buffer of previous values
+     * @param head - the index of the most recent value in the circular buffer
+     * @throws java.io.IOException - if the values cannot be written
+     */
+    private static void writeHistory(DataOutput out, double[] history, int head) throws IOException {
+        for (int n = 1; n <= history.length; n++) {
+            int index = head + n;
+            out.writeDouble(history[index < history.length ? index : index - history.length]);
+        }
+    }
+
+    /**
+     * Creates a copy of this filter which filters exactly as this filter would from its current state.
+     * The copy shares the multiplier lists and arrays, which are never modified, and nothing else.
+     *
+     * @return a copy of this filter
+     */
+    ScalarLinearFilter copy() {
+        return new ScalarLinearFilter(this);
+    }
+
+    /**
+     * Determines whether the multiplier lists are valid and there are no output multipliers, so that
+     * each output depends only on the current and previous N - 1 input values.
+     *
+     * @return true if the filter is configured and M is at most one
+     */
+    boolean isFiniteImpulse() {
+        return configured && M <= 1;
+    }
+
+    /**
+     * Restores the state the filter would have after filtering the input values up to the specified index
+     * of the array, when it has no output multipliers. The newest N input values are copied into the input
+     * buffer, oldest first, and the iteration and the most recent output value are set.
+     *
+     * @param values - the array of input values
+     * @param end - the index after the newest input value, at least N
+     * @param iteration - the iteration of the filter after the newest input value
+     * @param last - the output value of the newest input value
+     */
+    void restore(double[] values, int end, long iteration, double last) {
+        System.arraycopy(values, end - N, x, 0, N);
+        xHead = N - 1;
+        yHead = 0;
+        y[0] = last;
+        i = iteration;
+    }
+
+    /**
+     * Sets how the batch filter operation convolves input values when there are no output multipliers.
+     *
+     * @param mode - the convolution mode
+     */
+    void setConvolution(ConvolutionMode mode) {
+        convolutionMode = mode;
+    }
+
+    /**
+     * Gets how the batch filter operation convolves input values when there are no output multipliers.
+     *
+     * @return the convolution mode
+     */
+    ConvolutionMode getConvolution() {
+        return convolutionMode;
+    }
+
+    /**
+     * Determines whether the filter sums only its non-zero input multipliers, which it does when
+     * its multiplier lists are valid and at most one in four input multipliers is non-zero.
+     *
+     * @return true if the input multipliers are summed by a SparseKernel
+     */
+    public boolean isSparse() {
+        return configured && sparse != null;
+    }
+
+    /**
+     * Gets the current iteration of the filter, which is the number of values filtered
+     * since instantiation or the last reset.
+     *
+     * @return the current iteration of the filter
+     */
+    public long getIteration() {
+        return i;
     }
 
     /**
@@ -237,8 +796,28 @@ public class ScalarLinearFilter implements ScalarFilter, Resettable<Double> {
         return N;
     }
 
+    /**
+     * Gets the output boundary coefficient of the scalar linear equation.
+     *
+     * @return the output boundary coefficient of the scalar linear equation
+     */
+    public int getM() {
+        return M;
+    }
+
+    /**
+     * Gets a list representation of output multipliers for the scalar linear equation.
+     * The list of a filter constructed with a CoefficientSet is the unmodifiable list of the set.
+     *
+     * @return a list of output multipliers for the scalar linear equation
+     */
+    public List<Double> getA() {
+        return a;
+    }
+
     /**
      * Gets a list representation of input multipliers for the scalar linear equation.
+     * The list of a filter constructed with a CoefficientSet is the unmodifiable list of the set.
      *
      * @return a list of input multipliers for the scalar linear equation
      */
@@ -246,6 +825,15 @@ public class ScalarLinearFilter implements ScalarFilter, Resettable<Double> {
         return b;
     }
 
+    /**
+     * Gets the shared CoefficientSet the filter was constructed with.
+     *
+     * @return the coefficient set of the filter, or null if its multipliers are held in lists
+     */
+    CoefficientSet getCoefficientSet() {
+        return coefficients;
+    }
+
     /**
      * Gets the filtered input sum calculated on the last iteration of the filter method.
      *
@@ -0,0 +1,640 @@
+package filter;
+
+import exception.IncorrectSizeException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * A SecondOrderSections class factors the transfer function of a linear equation (y(i) + a(1)y(i - 1) +...+
+ * a(M)y(i - M) = b(0)x(i) +...+ b(N)x(i - N)) into a cascade of second order sections for a BiquadFilter. The roots
+ * of the input and output polynomials are found with the Durand-Kerner method and refined with Newton's method,
+ * each complex root is combined with the nearest conjugate of a root in the other half plane into a real quadratic
+ * factor, and the remaining real roots are combined in pairs. A complex root left without a conjugate, such as a
+ * scattered copy of a real root of high multiplicity, is taken to be real. The product of the factors is compared
+ * with the polynomial before the sections are returned, and a factorization which differs from it by more than
+ * FACTOR_TOLERANCE of the size of its coefficients, such as one which drops or repeats a root, is rejected rather
+ * than filtered. The check does not catch the few digits lost to close roots described below. Each pair of poles is
+ * matched with the nearest unmatched pair of zeros, starting with the poles closest to the unit circle, and the
+ * sections are ordered with those poles last, which keeps the gain of every intermediate section small. Leading zero
+ * input multipliers become pure delays of the input.
+ * </p>
+ * <p>
+ * Each section is stored as the five multipliers b(0), b(1), b(2), a(1) and a(2), with a(0) equal to one. The gain
+ * b(0) of the whole equation is applied by the first section. Each quadratic factor of two roots is refined against
+ * the whole polynomial with Bairstow's method, since two close roots are each found to far fewer digits than the
+ * factor they make together. The factorization of a polynomial with clusters of several close roots or with roots
+ * of high multiplicity may still lose several digits, so a high order design should be given as sections whenever
+ * they are known.
+ * </p>
+ *
+ * @see filter.BiquadFilter
+ *
+ * @author Shaun Howard
+ */
+final class SecondOrderSections {
+
+    // The number of multipliers of each section.
+    static final int STRIDE = 5;
+
+    // The largest number of Durand-Kerner iterations.
+    private static final int MAX_ITERATIONS = 1000;
+
+    // The number of Newton iterations refining each root.
+    private static final int POLISH_ITERATIONS = 3;
+
+    // The relative size of the imaginary part below which a root is taken to be real.
+    private static final double REAL_TOLERANCE = 1e-9;
+
+    // The smallest relative distance within which roots are taken to be scattered copies of one multiple root.
+    private static final double CLUSTER_TOLERANCE = 1e-3;
+
+    // The multiple of the m-th root of the machine epsilon within which m roots are taken to be copies of one root.
+    private static final double CLUSTER_SCALE = 8;
+
+    // The largest difference between the product of the factors and the polynomial, relative to its coefficients.
+    private static final double FACTOR_TOLERANCE = 1e-6;
+
+    /**
+     * Prevents instantiation of this class of static methods.
+     */
+    private SecondOrderSections() {
+    }
+
+    /**
+     * A factor of a polynomial in the delay z^-1 of at most second degree, with a
+     * representative root used to match poles with zeros.
+     */
+    private static final class Factor {
+
+        // The coefficients of z^0, z^-1 and z^-2.
+        private final double[] c;
+
+        // The real part of the root of largest magnitude.
+        private final double re;
+
+        // The imaginary part of the root of largest magnitude.
+        private final double im;
+
+        /**
+         * Constructs a factor of the specified coefficients and representative root.
+         *
+         * @param c - the coefficients of z^0, z^-1 and z^-2
+         * @param re - the real part of the representative root
+         * @param im - the imaginary part of the representative root
+         */
+        private Factor(double[] c, double re, double im) {
+            this.c = c;
+            this.re = re;
+            this.im = im;
+        }
+
+        /**
+         * Gets the magnitude of the representative root.
+         *
+         * @return the magnitude of the representative root
+         */
+        private double radius() {
+            return Math.hypot(re, im);
+        }
+    }
+
+    /**
+     * Factors the linear equation of the specified multipliers into second order sections.
+     *
+     * @param a - the output multipliers, where a(0) is ignored and taken to be one
+     * @param b - the non-empty input multipliers
+     * @return the multipliers b(0), b(1), b(2), a(1) and a(2) of every section, in the order the sections filter
+     * @throws exception.IncorrectSizeException - if the product of the factors found for either polynomial differs
+     * from it by more than FACTOR_TOLERANCE of the size of its coefficients
+     */
+    static double[] design(double[] a, double[] b) throws IncorrectSizeException {
+        int first = 0;
+        while (first < b.length && b[first] == 0.0) {
+            first++;
+        }
+        if (first == b.length) {
+            return new double[STRIDE];
+        }
+        int last = b.length - 1;
+        while (b[last] == 0.0) {
+            last--;
+        }
+        double gain = b[first];
+        double[] numerator = new double[last - first + 1];
+        for (int n = 0; n < numerator.length; n++) {
+            numerator[n] = b[first + n] / gain;
+        }
+        int poleLast = a.length - 1;
+        while (poleLast >= 1 && a[poleLast] == 0.0) {
+            poleLast--;
+        }
+        double[] denominator = new double[Math.max(poleLast, 0) + 1];
+        denominator[0] = 1.0;
+        for (int m = 1; m < denominator.length; m++) {
+            denominator[m] = a[m];
+        }
+
+        List<Factor> zeros = factor(numerator, first);
+        List<Factor> poles = factor(denominator, 0);
+        poles.sort((p, q) -> Double.compare(Math.abs(1.0 - q.radius()), Math.abs(1.0 - p.radius())));
+        int count = Math.max(1, Math.max(zeros.size(), poles.size()));
+        double[] sections = new double[count * STRIDE];
+        //match the poles closest to the unit circle first, placing them in the last sections
+        for (int k = count - 1, p = poles.size() - 1; k >= 0; k--, p--) {
+            Factor pole = p >= 0 ? poles.get(p) : null;
+            Factor zero = nearest(zeros, pole);
+            double[] zc = zero == null ? new double[]{1.0, 0.0, 0.0} : zero.c;
+            double[] pc = pole == null ? new double[]{1.0, 0.0, 0.0} : pole.c;
+            int s = k * STRIDE;
+            sections[s] = zc[0];
+            sections[s + 1] = zc[1];
+            sections[s + 2] = zc[2];
+            sections[s + 3] = pc[1];
+            sections[s + 4] = pc[2];
+        }
+        sections[0] *= gain;
+        sections[1] *= gain;
+        sections[2] *= gain;
+        return sections;
+    }
+
+    /**
+     * Removes and returns the factor of the specified zeros whose representative root is nearest
+     * to that of the specified pole, or the first factor when there is no pole.
+     *
+     * @param zeros - the unmatched zero factors
+     * @param pole - the pole factor to match, or null
+     * @return the nearest zero factor, or null if there are none left
+     */
+    private static Factor nearest(List<Factor> zeros, Factor pole) {
+        if (zeros.isEmpty()) {
+            return null;
+        }
+        int best = 0;
+        if (pole != null) {
+            double distance = Double.POSITIVE_INFINITY;
+            for (int z = 0; z < zeros.size(); z++) {
+                Factor zero = zeros.get(z);
+                double d = Math.hypot(zero.re - pole.re, zero.im - pole.im);
+                if (d < distance) {
+                    distance = d;
+                    best = z;
+                }
+            }
+        }
+        return zeros.remove(best);
+    }
+
+    /**
+     * Factors the specified monic polynomial in z^-1, preceded by the specified number of pure delays,
+     * into real factors of at most second degree.
+     *
+     * @param monic - the coefficients of z^0, z^-1 and so on, where the coefficient of z^0 is one
+     * @param delays - the number of factors of z^-1 preceding the polynomial
+     * @return the factors of the polynomial
+     * @throws exception.IncorrectSizeException - if the product of the factors differs from the delayed polynomial
+     * by more than FACTOR_TOLERANCE of the size of its coefficients, so the sections would not be equivalent to it
+     */
+    private static List<Factor> factor(double[] monic, int delays) throws IncorrectSizeException {
+        double[][] roots = roots(monic);
+        double[] re = roots[0];
+        double[] im = roots[1];
+        List<Factor> quadratics = new ArrayList<>();
+        //each first degree factor holds its coefficients of z^0 and z^-1 followed by its root
+        List<double[]> linear = new ArrayList<>();
+        for (int d = 0; d < delays; d++) {
+            linear.add(new double[]{0.0, 1.0, 0.0});
+        }
+        List<Double> reals = new ArrayList<>();
+        List<Integer> upper = new ArrayList<>();
+        List<Integer> lower = new ArrayList<>();
+        for (int r = 0; r < re.length; r++) {
+            if (Math.abs(im[r]) <= REAL_TOLERANCE * Math.max(1.0, Math.hypot(re[r], im[r]))) {
+                reals.add(re[r]);
+            } else if (im[r] > 0) {
+                upper.add(r);
+            } else {
+                lower.add(r);
+            }
+        }
+        //combine each complex root with the nearest conjugate of a root in the other half plane, closest pairs first
+        while (!upper.isEmpty() && !lower.isEmpty()) {
+            int bestUpper = 0;
+            int bestLower = 0;
+            double distance = Double.POSITIVE_INFINITY;
+            for (int u = 0; u < upper.size(); u++) {
+                for (int l = 0; l < lower.size(); l++) {
+                    int p = upper.get(u);
+                    int q = lower.get(l);
+                    double d = Math.hypot(re[p] - re[q], im[p] + im[q]);
+                    if (d < distance) {
+                        distance = d;
+                        bestUpper = u;
+                        bestLower = l;
+                    }
+                }
+            }
+            int p = upper.remove(bestUpper);
+            int q = lower.remove(bestLower);
+            //the pair is taken to be the conjugates of their mean, so the factor has real coefficients
+            double mr = (re[p] + re[q]) / 2;
+            double mi = (im[p] - im[q]) / 2;
+            double[] c = {1.0, -2.0 * mr, mr * mr + mi * mi};
+            refine(monic, c);
+            quadratics.add(new Factor(c, mr, mi));
+        }
+        //a complex root without a conjugate is a scattered copy of a real multiple root
+        for (int r : upper) {
+            reals.add(re[r]);
+        }
+        for (int r : lower) {
+            reals.add(re[r]);
+        }
+        reals.sort((p, q) -> Double.compare(Math.abs(q), Math.abs(p)));
+        for (double root : reals) {
+            linear.add(new double[]{1.0, -root, root});
+        }
+        //combine the first degree factors in pairs, each with the largest remaining root first
+        for (int f = 0; f < linear.size(); f += 2) {
+            double[] p = linear.get(f);
+            if (f + 1 == linear.size()) {
+                quadratics.add(new Factor(new double[]{p[0], p[1], 0.0}, p[2], 0.0));
+            } else {
+                double[] q = linear.get(f + 1);
+                double[] c = {p[0] * q[0], p[0] * q[1] + p[1] * q[0], p[1] * q[1]};
+                //a pure delay is not a root of the polynomial, so only a factor of two of its roots is refined
+                if (c[0] == 1.0) {
+                    refine(monic, c);
+                }
+                double root = Math.abs(p[2]) >= Math.abs(q[2]) ? p[2] : q[2];
+                quadratics.add(new Factor(c, root, 0.0));
+            }
+        }
+        //the factors must multiply back to the delayed polynomial, or the sections would not be equivalent to it
+        double[] product = {1.0};
+        for (Factor quadratic : quadratics) {
+            product = multiply(product, quadratic.c);
+        }
+        double difference = 0;
+        double size = 0;
+        for (int k = 0; k < product.length; k++) {
+            int index = k - delays;
+            double expected = index >= 0 && index < monic.length ? monic[index] : 0.0;
+            difference = Math.max(difference, Math.abs(product[k] - expected));
+            size += Math.abs(expected);
+        }
+        if (difference > FACTOR_TOLERANCE * size) {
+            double relative = difference / size;
+            throw FilterValidator.incorrectSizeException(() -> "The factors of the polynomial differ from it by "
+                    + relative + " of the size of its coefficients");
+        }
+        return quadratics;
+    }
+
+    /**
+     * Refines the specified quadratic factor z^2 + c(1)z + c(2) of the polynomial of the specified coefficients with
+     * Bairstow's method, stopping at the first step which would increase the remainder of dividing the polynomial by
+     * the factor. The roots of a cluster of close roots are each found to within the rounding error divided by their
+     * distances, but a quadratic factor only has to be told apart from the other factors, so refining the factor as a
+     * whole recovers the digits its roots lost.
+     *
+     * @param monic - the coefficients of the polynomial, highest power first, where c(0) is one
+     * @param c - the coefficients 1, c(1) and c(2) of the factor, which receive the refined factor
+     */
+    private static void refine(double[] monic, double[] c) {
+        int n = monic.length - 1;
+        if (n <= 2) {
+            return;
+        }
+        double[] remainder = new double[2];
+        double[] slope = new double[4];
+        double error = divide(monic, c[1], c[2], remainder, slope);
+        for (int iteration = 0; iteration < POLISH_ITERATIONS; iteration++) {
+            //solve for the change of c(1) and c(2) which removes the remainder to first order
+            double det = slope[0] * slope[3] - slope[1] * slope[2];
+            if (det == 0) {
+                return;
+            }
+            double c1 = c[1] - (remainder[0] * slope[3] - remainder[1] * slope[1]) / det;
+            double c2 = c[2] - (remainder[1] * slope[0] - remainder[0] * slope[2]) / det;
+            double[] nextRemainder = new double[2];
+            double[] nextSlope = new double[4];
+            double next = divide(monic, c1, c2, nextRemainder, nextSlope);
+            if (!(next < error)) {
+                return;
+            }
+            c[1] = c1;
+            c[2] = c2;
+            error = next;
+            remainder = nextRemainder;
+            slope = nextSlope;
+        }
+    }
+
+    /**
+     * Divides the polynomial of the specified coefficients by z^2 + c1 z + c2, which leaves the remainder
+     * r1 (z + c1) + r0, giving r1 and r0 and their partial derivatives with respect to c1 and c2.
+     *
+     * @param monic - the coefficients of the polynomial of degree at least three, highest power first
+     * @param c1 - the coefficient of z in the divisor
+     * @param c2 - the constant coefficient of the divisor
+     * @param remainder - the array that receives r1 and r0
+     * @param slope - the array that receives the derivatives of r1 by c1 and c2 and of r0 by c1 and c2
+     * @return the sum of the magnitudes of r1 and r0
+     */
+    private static double divide(double[] monic, double c1, double c2, double[] remainder, double[] slope) {
+        int n = monic.length - 1;
+        //q(k) = p(k) - c1 q(k - 1) - c2 q(k - 2), and d divides q by the factor again in the same way
+        double q1 = 0;
+        double q2 = 0;
+        double d1 = 0;
+        double d2 = 0;
+        double[] q = new double[n + 1];
+        double[] d = new double[n + 1];
+        for (int k = 0; k <= n; k++) {
+            double qk = monic[k] - c1 * q1 - c2 * q2;
+            double dk = qk - c1 * d1 - c2 * d2;
+            q[k] = qk;
+            d[k] = dk;
+            q2 = q1;
+            q1 = qk;
+            d2 = d1;
+            d1 = dk;
+        }
+        //the quotient is q(0) to q(n - 2), with r1 = q(n - 1) and r0 = q(n)
+        remainder[0] = q[n - 1];
+        remainder[1] = q[n];
+        //the derivatives of q(k) by c1 and c2 are -d(k - 1) and -d(k - 2)
+        slope[0] = -d[n - 2];
+        slope[1] = -d[n - 3];
+        slope[2] = -d[n - 1];
+        slope[3] = -d[n - 2];
+        return Math.abs(remainder[0]) + Math.abs(remainder[1]);
+    }
+
+    /**
+     * Multiplies the polynomials of the specified coefficients.
+     *
+     * @param p - the coefficients of the first polynomial, lowest power first
+     * @param q - the coefficients of the second polynomial, lowest power first
+     * @return the coefficients of the product, lowest power first
+     */
+    private static double[] multiply(double[] p, double[] q) {
+        double[] product = new double[p.length + q.length - 1];
+        for (int j = 0; j < p.length; j++) {
+            for (int k = 0; k < q.length; k++) {
+                product[j + k] += p[j] * q[k];
+            }
+        }
+        return product;
+    }
+
+    /**
+     * Finds the roots of the polynomial z^n + c(1)z^(n - 1) +...+ c(n) with the Durand-Kerner method,
+     * refining each root with Newton's method.
+     *
+     * @param c - the coefficients c(0) to c(n), where c(0) is one
+     * @return the real parts and the imaginary parts of the n roots
+     */
+    static double[][] roots(double[] c) {
+        int n = c.length - 1;
+        double[] re = new double[n];
+        double[] im = new double[n];
+        if (n == 0) {
+            return new double[][]{re, im};
+        }
+        //start on a circle enclosing every root, at angles which avoid any symmetry of the roots
+        double bound = 0;
+        for (int k = 1; k <= n; k++) {
+            bound = Math.max(bound, Math.pow(Math.abs(c[k]), 1.0 / k));
+        }
+        bound = 2 * bound + 1e-3;
+        for (int k = 0; k < n; k++) {
+            double angle = 2 * Math.PI * k / n + 0.4;
+            re[k] = bound * Math.cos(angle);
+            im[k] = bound * Math.sin(angle);
+        }
+        double[] value = new double[2];
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            double change = 0;
+            for (int k = 0; k < n; k++) {
+                evaluate(c, re[k], im[k], value);
+                double dr = 1;
+                double di = 0;
+                for (int j = 0; j < n; j++) {
+                    if (j != k) {
+                        double xr = re[k] - re[j];
+                        double xi = im[k] - im[j];
+                        double t = dr * xr - di * xi;
+                        di = dr * xi + di * xr;
+                        dr = t;
+                    }
+                }
+                double norm = dr * dr + di * di;
+                if (norm == 0) {
+                    dr = 1e-12;
+                    norm = dr * dr;
+                }
+                double qr = (value[0] * dr + value[1] * di) / norm;
+                double qi = (value[1] * dr - value[0] * di) / norm;
+                re[k] -= qr;
+                im[k] -= qi;
+                change = Math.max(change, Math.hypot(qr, qi) / Math.max(1.0, Math.hypot(re[k], im[k])));
+            }
+            if (change < 1e-15) {
+                break;
+            }
+        }
+        double[] root = new double[2];
+        for (int k = 0; k < n; k++) {
+            root[0] = re[k];
+            root[1] = im[k];
+            polish(c, root);
+            re[k] = root[0];
+            im[k] = root[1];
+        }
+        mergeMultipleRoots(c, re, im);
+        return new double[][]{re, im};
+    }
+
+    /**
+     * Replaces every cluster of roots which are scattered copies of one multiple root by that root. A root of
+     * multiplicity m is only found to within about the m-th root of the rounding error, so its copies lie around
+     * it, and it is recovered as the simple root of the (m - 1)th derivative near their centroid. The m roots nearest
+     * a root are taken as a cluster when they lie within twice CLUSTER_SCALE times the m-th root of the machine
+     * epsilon of it, or twice CLUSTER_TOLERANCE if larger, so the copies of a root of high multiplicity, which
+     * scatter further, are all gathered. A cluster is only replaced when the roots with the cluster replaced
+     * reproduce the coefficients of the polynomial as closely as the roots found, up to rounding. Replacing distinct
+     * roots which are merely close by their double root changes the coefficients by about the square of their
+     * distance, which is far more than rounding, so such roots are kept.
+     *
+     * @param c - the coefficients of the polynomial, highest power first
+     * @param re - the real parts of the roots
+     * @param im - the imaginary parts of the roots
+     */
+    private static void mergeMultipleRoots(double[] c, double[] re, double[] im) {
+        int n = re.length;
+        boolean[] merged = new boolean[n];
+        int[] cluster = new int[n];
+        double[] distances = new double[n];
+        double[] root = new double[2];
+        double[] mergedRe = new double[n];
+        double[] mergedIm = new double[n];
+        double error = residual(c, re, im);
+        for (int k = 0; k < n; k++) {
+            if (merged[k]) {
+                continue;
+            }
+            //order the unmerged roots by their distance from root k, which comes first
+            int count = 0;
+            for (int j = k; j < n; j++) {
+                if (!merged[j]) {
+                    double distance = Math.hypot(re[j] - re[k], im[j] - im[k]);
+                    int at = count++;
+                    while (at > 0 && distances[at - 1] > distance) {
+                        distances[at] = distances[at - 1];
+                        cluster[at] = cluster[at - 1];
+                        at--;
+                    }
+                    distances[at] = distance;
+                    cluster[at] = j;
+                }
+            }
+            //try the largest multiplicity first, as a cluster of too few copies may also appear to vanish
+            double size = Math.max(1.0, Math.hypot(re[k], im[k]));
+            for (int m = count; m >= 2; m--) {
+                double scatter = Math.max(CLUSTER_TOLERANCE, CLUSTER_SCALE * Math.pow(Math.ulp(1.0), 1.0 / m));
+                if (distances[m - 1] > 2 * scatter * size) {
+                    continue;
+                }
+                root[0] = 0;
+                root[1] = 0;
+                for (int j = 0; j < m; j++) {
+                    root[0] += re[cluster[j]] / m;
+                    root[1] += im[cluster[j]] / m;
+                }
+                double[] d = c;
+                for (int order = 1; order < m; order++) {
+                    d = differentiate(d);
+                }
+                polish(d, root);
+                System.arraycopy(re, 0, mergedRe, 0, n);
+                System.arraycopy(im, 0, mergedIm, 0, n);
+                for (int j = 0; j < m; j++) {
+                    mergedRe[cluster[j]] = root[0];
+                    mergedIm[cluster[j]] = root[1];
+                }
+                double mergedError = residual(c, mergedRe, mergedIm);
+                if (mergedError <= error + n * Math.ulp(1.0)) {
+                    for (int j = 0; j < m; j++) {
+                        re[cluster[j]] = root[0];
+                        im[cluster[j]] = root[1];
+                        merged[cluster[j]] = true;
+                    }
+                    error = Math.min(error, mergedError);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the largest difference between the coefficients of the product of z - r over the specified roots r and
+     * the coefficients of the polynomial, relative to the sum of the magnitudes of its coefficients.
+     *
+     * @param c - the coefficients of the polynomial, highest power first, where c(0) is one
+     * @param re - the real parts of the roots
+     * @param im - the imaginary parts of the roots
+     * @return the relative difference of the coefficients
+     */
+    private static double residual(double[] c, double[] re, double[] im) {
+        int n = re.length;
+        double[] pr = new double[n + 1];
+        double[] pi = new double[n + 1];
+        pr[0] = 1.0;
+        for (int k = 0; k < n; k++) {
+            //multiply the product of the first k factors, of degree k, by z - r
+            for (int j = k + 1; j >= 1; j--) {
+                double tr = pr[j] - (pr[j - 1] * re[k] - pi[j - 1] * im[k]);
+                double ti = pi[j] - (pr[j - 1] * im[k] + pi[j - 1] * re[k]);
+                pr[j] = tr;
+                pi[j] = ti;
+            }
+        }
+        double difference = 0;
+        double size = 0;
+        for (int j = 0; j <= n; j++) {
+            difference = Math.max(difference, Math.hypot(pr[j] - c[j], pi[j]));
+            size += Math.abs(c[j]);
+        }
+        return difference / size;
+    }
+
+    /**
+     * Refines the specified root of the polynomial of the specified coefficients with Newton's method, stopping
+     * at the first step which would increase the magnitude of the polynomial. Near a multiple root the value of the
+     * polynomial is mostly rounding error, so such a step would throw the root far from the cluster of its copies.
+     *
+     * @param c - the coefficients of the polynomial, highest power first
+     * @param root - the real and imaginary parts of the root, which receive the refined root
+     */
+    private static void polish(double[] c, double[] root) {
+        double[] d = differentiate(c);
+        double[] value = new double[2];
+        double[] slope = new double[2];
+        for (int iteration = 0; iteration < POLISH_ITERATIONS; iteration++) {
+            evaluate(c, root[0], root[1], value);
+            evaluate(d, root[0], root[1], slope);
+            double norm = slope[0] * slope[0] + slope[1] * slope[1];
+            if (norm == 0) {
+                return;
+            }
+            double xr = root[0] - (value[0] * slope[0] + value[1] * slope[1]) / norm;
+            double xi = root[1] - (value[1] * slope[0] - value[0] * slope[1]) / norm;
+            double magnitude = Math.hypot(value[0], value[1]);
+            evaluate(c, xr, xi, value);
+            if (Math.hypot(value[0], value[1]) > magnitude) {
+                return;
+            }
+            root[0] = xr;
+            root[1] = xi;
+        }
+    }
+
+    /**
+     * Evaluates the polynomial of the specified coefficients at a complex point with Horner's method.
+     *
+     * @param c - the coefficients, highest power first
+     * @param xr - the real part of the point
+     * @param xi - the imaginary part of the point
+     * @param result - the array that receives the real and imaginary parts of the value
+     */
+    private static void evaluate(double[] c, double xr, double xi, double[] result) {
+        double vr = c[0];
+        double vi = 0;
+        for (int k = 1; k < c.length; k++) {
+            double t = vr * xr - vi * xi + c[k];
+            vi = vr * xi + vi * xr;
+            vr = t;
+        }
+        result[0] = vr;
+        result[1] = vi;
+    }
+
+    /**
+     * Gets the coefficients of the derivative of the polynomial of the specified coefficients.
+     *
+     * @param c - the coefficients, highest power first
+     * @return the coefficients of the derivative, highest power first
+     */
+    private static double[] differentiate(double[] c) {
+        int n = c.length - 1;
+        double[] d = new double[Math.max(n, 1)];
+        for (int k = 0; k < n; k++) {
+            d[k] = c[k] * (n - k);
+        }
+        return d;
+    }
+}
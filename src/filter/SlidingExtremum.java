@@ -0,0 +1,231 @@
+package filter;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * <p>
+ * A SlidingExtremum tracks either the maximum or the minimum of the last n values added to it with a monotonic
+ * deque. It is the sliding window engine behind MaxFilterN and MinFilterN and only relies on the compareTo method
+ * of the Comparable interface to order values.
+ * </p>
+ * <p>
+ * The deque stores the values of the window that may still become the extremum, ordered from the current extremum
+ * at the front to the most recently added value at the back. When a value is added, the values at the back that it
+ * dominates are discarded since they can never become the extremum while the new value remains in the window, and the
+ * value at the front is discarded once it falls out of the window. Each value is thus added to and removed from the
+ * deque at most once, so the add operation runs in amortized constant time. All other operations run in constant time
+ * except clear, which runs in linear time to release references to the stored values.
+ * </p>
+ * <p>
+ * When several values in the window compare as equal to the extremum, the earliest of them is reported, which matches
+ * a linear scan of the window that only replaces the extremum with a strictly greater (or smaller) value.
+ * </p>
+ * <p>
+ * The deque never holds more than n values. Its backing arrays start small and double in capacity as needed, up to
+ * the size of the window. A window size of less than one is treated as a window size of one.
+ * </p>
+ *
+ * @param <A> - the comparable type of value to track the extremum of
+ *
+ * @see filter.DoubleSlidingExtremum
+ *
+ * @author Shaun Howard
+ */
+public class SlidingExtremum<A extends Comparable<A>> {
+
+    // The initial capacity of the deque.
+    private static final int INITIAL_CAPACITY = 16;
+
+    // The number of most recent values the extremum is taken over.
+    private final int window;
+
+    // Whether the maximum (true) or the minimum (false) is tracked.
+    private final boolean maximum;
+
+    // The circular array of candidate values.
+    private Object[] values;
+
+    // The sequence number of each candidate value.
+    private long[] sequence;
+
+    // The index of the front of the deque.
+    private int head;
+
+    // The number of candidate values in the deque.
+    private int size;
+
+    // The sequence number of the next value added.
+    private long next;
+
+    /**
+     * Constructs a SlidingExtremum over the last window values.
+     *
+     * @param window - the number of most recent values the extremum is taken over
+     * @param maximum - true to track the maximum, false to track the minimum
+     */
+    public SlidingExtremum(int window, boolean maximum) {
+        this.window = Math.max(window, 1);
+        this.maximum = maximum;
+        int capacity = Math.min(this.window, INITIAL_CAPACITY);
+        values = new Object[capacity];
+        sequence = new long[capacity];
+    }
+
+    /**
+     * Adds the specified value to the window, evicting the oldest value once more than
+     * n values have been added, and returns the extremum of the window.
+     *
+     * @param value - the value to add to the window
+     * @return the extremum of the last n values added
+     */
+    public A add(A value) {
+        long evict = next - window;
+        while (size > 0 && sequence[head] <= evict) {
+            values[head] = null;
+            head = wrap(head + 1);
+            size--;
+        }
+        while (size > 0 && dominates(value, back())) {
+            int tail = wrap(head + size - 1);
+            values[tail] = null;
+            size--;
+        }
+        if (size == values.length) {
+            grow();
+        }
+        int tail = wrap(head + size);
+        values[tail] = value;
+        sequence[tail] = next++;
+        size++;
+        return getExtremum();
+    }
+
+    /**
+     * Gets the extremum of the last n values added.
+     *
+     * @return the extremum of the window or null if no value has been added since construction or the last clear
+     */
+    @SuppressWarnings("unchecked")
+    public A getExtremum() {
+        return size == 0 ? null : (A) values[head];
+    }
+
+    /**
+     * Removes all values from the window.
+     */
+    public void clear() {
+        for (int j = 0; j < size; j++) {
+            values[wrap(head + j)] = null;
+        }
+        head = 0;
+        size = 0;
+        next = 0;
+    }
+
+    /**
+     * Writes the size of the window, the sequence number of the next value and the candidate values of
+     * the deque with their sequence numbers, from front to back, to the specified output.
+     *
+     * @param out - the output the state is written to
+     * @throws java.io.IOException - if the state cannot be written or a candidate value is of an unsupported type
+     */
+    void writeState(DataOutput out) throws IOException {
+        out.writeInt(window);
+        out.writeLong(next);
+        out.writeInt(size);
+        for (int j = 0; j < size; j++) {
+            int slot = wrap(head + j);
+            FilterSnapshot.writeValue(out, values[slot]);
+            out.writeLong(sequence[slot]);
+        }
+    }
+
+    /**
+     * Replaces the deque with the state read from the specified input, which was written by
+     * writeState of a SlidingExtremum of the same window and type. The whole state is read before any of it is
+     * stored, so the deque is left unchanged when the state cannot be read.
+     *
+     * @param in - the input the state is read from
+     * @param type - the type every candidate value must be of, or null to only require that they share a type
+     * @throws java.io.IOException - if the state cannot be read, its window does not match this window or a
+     * candidate value is not of the type
+     */
+    void readState(DataInput in, Class<?> type) throws IOException {
+        FilterSnapshot.check("window", in.readInt(), window);
+        long number = in.readLong();
+        int count = FilterSnapshot.readSize(in, window);
+        Object[] restored = new Object[Math.max(count, Math.min(window, INITIAL_CAPACITY))];
+        long[] numbers = new long[restored.length];
+        for (int j = 0; j < count; j++) {
+            restored[j] = FilterSnapshot.readValue(in);
+            type = FilterSnapshot.checkType(restored[j], type);
+            numbers[j] = in.readLong();
+        }
+        values = restored;
+        sequence = numbers;
+        head = 0;
+        size = count;
+        next = number;
+    }
+
+    /**
+     * Gets the number of most recent values the extremum is taken over.
+     *
+     * @return the size of the window
+     */
+    public int getWindow() {
+        return window;
+    }
+
+    /**
+     * Determines whether the specified value makes the candidate obsolete, meaning the candidate can never
+     * be the extremum while the value remains in the window.
+     *
+     * @param value - the value being added
+     * @param candidate - the candidate value at the back of the deque
+     * @return true if the candidate is strictly less (or greater, when tracking the minimum) than the value
+     */
+    private boolean dominates(A value, A candidate) {
+        int comparison = candidate.compareTo(value);
+        return maximum ? comparison < 0 : comparison > 0;
+    }
+
+    /**
+     * Gets the value at the back of the deque.
+     *
+     * @return the most recently added candidate value
+     */
+    @SuppressWarnings("unchecked")
+    private A back() {
+        return (A) values[wrap(head + size - 1)];
+    }
+
+    /**
+     * Doubles the capacity of the deque, up to the size of the window, and moves
+     * the candidate values to the front of the new arrays.
+     */
+    private void grow() {
+        int capacity = (int) Math.min((long) values.length * 2, window);
+        Object[] grownValues = new Object[capacity];
+        long[] grownSequence = new long[capacity];
+        for (int j = 0; j < size; j++) {
+            grownValues[j] = values[wrap(head + j)];
+            grownSequence[j] = sequence[wrap(head + j)];
+        }
+        values = grownValues;
+        sequence = grownSequence;
+        head = 0;
+    }
+
+    /**
+     * Wraps an index that may have passed the end of the backing arrays.
+     *
+     * @param index - an index in the range [0, 2 * capacity)
+     * @return the index within the backing arrays
+     */
+    private int wrap(int index) {
+        return index < values.length ? index : index - values.length;
+    }
+}
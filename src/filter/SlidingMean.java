@@ -0,0 +1,410 @@
+package filter;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * <p>
+ * A SlidingMean is a list of primitive double values stored in a circular buffer that maintains the mean of its
+ * elements as values are appended to the end and removed from the front. It is the window engine of the
+ * AveragingFilterN class and may also be used directly through the addDouble(double value), removeFirst() and
+ * getMean() methods, which never box a value.
+ * </p>
+ * <p>
+ * The sum of the stored values is kept as a compensated running sum using Neumaier's variant of Kahan summation,
+ * so the rounding error of each addition and subtraction is carried in a separate compensation term rather than
+ * accumulating in the sum. Once the number of updates since the last resynchronization reaches the number of
+ * stored values, the sum is recomputed from the stored values with compensated summation, so the error of the running
+ * sum is bounded by the values currently in the window no matter how many values have passed through it.
+ * </p>
+ * <p>
+ * The getMean, get, set, size, addDouble, removeFirst, add and remove(0) operations run in constant time, where
+ * appending runs in amortized constant time because the backing array doubles in capacity when it is full and each
+ * resynchronization is amortized over the updates preceding it. The resynchronization runs inline, in the call whose
+ * update triggers it, and takes linear time in the number of stored values, so on a large window every n-th update
+ * takes noticeably longer than the others. Inserting or removing at any other index runs in linear time. A SlidingMean does not permit null elements. Its iterators are fail-fast as documented by AbstractList.
+ * </p>
+ *
+ * @author Shaun Howard
+ */
+public class SlidingMean extends AbstractList<Double> implements RandomAccess {
+
+    // The initial capacity of the backing array.
+    private static final int INITIAL_CAPACITY = 16;
+
+    // The circular array of stored values.
+    private double[] values;
+
+    // The index of the first value in the backing array.
+    private int head;
+
+    // The number of values in the list.
+    private int size;
+
+    // The running sum of the stored values.
+    private double sum;
+
+    // The accumulated rounding error of the running sum.
+    private double compensation;
+
+    // The number of updates to the running sum since it was last recomputed.
+    private int updates;
+
+    /**
+     * Constructs an empty SlidingMean.
+     */
+    public SlidingMean() {
+        values = new double[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Constructs an empty SlidingMean for a subclass which stores its values elsewhere
+     * by overriding the load, store, capacity and resize methods.
+     *
+     * @param values - the backing array, or null if the subclass provides its own storage
+     */
+    SlidingMean(double[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Appends the specified value to the end of the list and adds it to the running sum.
+     *
+     * @param value - the value to append
+     */
+    public void addDouble(double value) {
+        ensureCapacity();
+        store(physical(size), value);
+        size++;
+        modCount++;
+        accumulate(value);
+    }
+
+    /**
+     * Removes the first value of the list and subtracts it from the running sum.
+     *
+     * @return the removed value
+     */
+    public double removeFirst() {
+        checkIndex(0, size);
+        double removed = load(head);
+        head = physical(1);
+        size--;
+        modCount++;
+        accumulate(-removed);
+        return removed;
+    }
+
+    /**
+     * Gets the mean of the stored values. The mean of an empty list is zero.
+     *
+     * @return the mean of the stored values
+     */
+    public double getMean() {
+        return size == 0 ? 0.0 : (sum + compensation) / size;
+    }
+
+    /**
+     * Gets the compensated sum of the stored values.
+     *
+     * @return the sum of the stored values
+     */
+    public double getSum() {
+        return sum + compensation;
+    }
+
+    /**
+     * Gets the number of updates to the running sum since it was last recomputed.
+     *
+     * @return the number of updates since the last resynchronization
+     */
+    int getUpdates() {
+        return updates;
+    }
+
+    /**
+     * Recomputes the running sum from the stored values with compensated summation, as is done
+     * once the number of updates reaches the number of stored values.
+     */
+    void resynchronize() {
+        resync();
+    }
+
+    /**
+     * Writes the stored values, from first to last, the running sum, its compensation and the number
+     * of updates since the last resynchronization to the specified output.
+     *
+     * @param out - the output the state is written to
+     * @throws java.io.IOException - if the state cannot be written
+     */
+    void writeState(DataOutput out) throws IOException {
+        out.writeInt(size);
+        for (int j = 0; j < size; j++) {
+            out.writeDouble(load(physical(j)));
+        }
+        out.writeDouble(sum);
+        out.writeDouble(compensation);
+        out.writeInt(updates);
+    }
+
+    /**
+     * Replaces the stored values and the running sum with the state read from the specified input, which
+     * was written by writeState, so that the list maintains exactly the same sums as the list written. The whole
+     * state is read before any of it is stored, so the list is left unchanged when the state cannot be read.
+     *
+     * @param in - the input the state is read from
+     * @param max - the largest number of stored values the state may hold
+     * @throws java.io.IOException - if the state cannot be read or holds more than max values
+     */
+    void readState(DataInput in, int max) throws IOException {
+        double[] restored = new double[FilterSnapshot.readSize(in, max)];
+        for (int j = 0; j < restored.length; j++) {
+            restored[j] = in.readDouble();
+        }
+        double restoredSum = in.readDouble();
+        double restoredCompensation = in.readDouble();
+        int restoredUpdates = in.readInt();
+        clear();
+        for (double value : restored) {
+            ensureCapacity();
+            store(physical(size), value);
+            size++;
+        }
+        sum = restoredSum;
+        compensation = restoredCompensation;
+        updates = restoredUpdates;
+    }
+
+    /**
+     * Gets the value at the specified index of the list.
+     *
+     * @param index - the index of the value to get
+     * @return the value at the specified index
+     */
+    @Override
+    public Double get(int index) {
+        checkIndex(index, size);
+        return load(physical(index));
+    }
+
+    /**
+     * Replaces the value at the specified index of the list and updates the running sum.
+     *
+     * @param index - the index of the value to replace
+     * @param element - the value to store at the index
+     * @return the value previously at the specified index
+     */
+    @Override
+    public Double set(int index, Double element) {
+        checkIndex(index, size);
+        double value = element;
+        int physical = physical(index);
+        double previous = load(physical);
+        store(physical, value);
+        accumulate(-previous);
+        accumulate(value);
+        return previous;
+    }
+
+    /**
+     * Gets the number of values in the list.
+     *
+     * @return the number of values in the list
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Appends the specified value to the end of the list.
+     *
+     * @param element - the value to append
+     * @return true, as specified by Collection.add
+     */
+    @Override
+    public boolean add(Double element) {
+        addDouble(element);
+        return true;
+    }
+
+    /**
+     * Inserts the specified value at the specified index of the list, shifting
+     * any subsequent values one position towards the end.
+     *
+     * @param index - the index to insert the value at
+     * @param element - the value to insert
+     */
+    @Override
+    public void add(int index, Double element) {
+        checkIndex(index, size + 1);
+        double value = element;
+        ensureCapacity();
+        for (int j = size; j > index; j--) {
+            store(physical(j), load(physical(j - 1)));
+        }
+        store(physical(index), value);
+        size++;
+        modCount++;
+        accumulate(value);
+    }
+
+    /**
+     * Removes the value at the specified index of the list. Removing the first value
+     * advances the head of the circular buffer and does not shift any values.
+     *
+     * @param index - the index of the value to remove
+     * @return the removed value
+     */
+    @Override
+    public Double remove(int index) {
+        if (index == 0) {
+            return removeFirst();
+        }
+        checkIndex(index, size);
+        double removed = load(physical(index));
+        for (int j = index; j < size - 1; j++) {
+            store(physical(j), load(physical(j + 1)));
+        }
+        size--;
+        modCount++;
+        accumulate(-removed);
+        return removed;
+    }
+
+    /**
+     * Removes all values from the list and zeroes the running sum.
+     */
+    @Override
+    public void clear() {
+        head = 0;
+        size = 0;
+        modCount++;
+        resync();
+    }
+
+    /**
+     * Adds the specified value to the running sum with Neumaier compensation and recomputes
+     * the sum from the stored values once the number of updates reaches the number of values.
+     *
+     * @param value - the value to add to the running sum
+     */
+    private void accumulate(double value) {
+        if (++updates >= size) {
+            resync();
+            return;
+        }
+        double total = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - total) + value;
+        } else {
+            compensation += (value - total) + sum;
+        }
+        sum = total;
+    }
+
+    /**
+     * Recomputes the running sum from the stored values with Neumaier compensation.
+     */
+    private void resync() {
+        double total = 0.0;
+        double error = 0.0;
+        for (int j = 0; j < size; j++) {
+            double value = load(physical(j));
+            double next = total + value;
+            if (Math.abs(total) >= Math.abs(value)) {
+                error += (total - next) + value;
+            } else {
+                error += (value - next) + total;
+            }
+            total = next;
+        }
+        sum = total;
+        compensation = error;
+        updates = 0;
+    }
+
+    /**
+     * Doubles the capacity of the backing array when it is full and
+     * moves the stored values to the front of the new array.
+     */
+    private void ensureCapacity() {
+        if (size == capacity()) {
+            resize(capacity() * 2, head, size);
+            head = 0;
+        }
+    }
+
+    /**
+     * Gets the value stored in the specified slot of the backing array.
+     *
+     * @param slot - the index within the backing array
+     * @return the value stored in the slot
+     */
+    double load(int slot) {
+        return values[slot];
+    }
+
+    /**
+     * Stores the specified value in the specified slot of the backing array.
+     *
+     * @param slot - the index within the backing array
+     * @param value - the value to store
+     */
+    void store(int slot, double value) {
+        values[slot] = value;
+    }
+
+    /**
+     * Gets the number of slots of the backing array.
+     *
+     * @return the capacity of the backing array
+     */
+    int capacity() {
+        return values.length;
+    }
+
+    /**
+     * Replaces the backing array with an array of the specified capacity which holds, from its first slot,
+     * the specified number of values stored in order from the specified slot of the current array.
+     *
+     * @param capacity - the capacity of the new array
+     * @param head - the slot of the first stored value in the current array
+     * @param size - the number of stored values
+     */
+    void resize(int capacity, int head, int size) {
+        double[] grown = new double[capacity];
+        for (int j = 0; j < size; j++) {
+            int slot = head + j;
+            grown[j] = values[slot < values.length ? slot : slot - values.length];
+        }
+        values = grown;
+    }
+
+    /**
+     * Converts a logical list index into an index of the backing array.
+     *
+     * @param index - the logical index within the list
+     * @return the index within the backing array
+     */
+    private int physical(int index) {
+        int physical = head + index;
+        int capacity = capacity();
+        return physical < capacity ? physical : physical - capacity;
+    }
+
+    /**
+     * Throws an IndexOutOfBoundsException when the index is not within [0, bound).
+     *
+     * @param index - the index to check
+     * @param bound - the exclusive upper bound of the index
+     */
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + bound);
+        }
+    }
+}
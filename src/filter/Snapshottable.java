@@ -0,0 +1,50 @@
+package filter;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * <p>
+ * A snapshottable interface designed to let the state of a filter be saved and later restored into another filter
+ * of the same class and configuration, such as the filter of a hot standby, so that it continues exactly where the
+ * saved filter left off without filtering the values seen by the saved filter again.
+ * </p>
+ * <p>
+ * The state written by writeState is the mutable state of the filter, such as its stored input and output values,
+ * running sums, iteration and extremum, together with the sizes of its configuration, such as n or the boundary
+ * coefficients, which readState checks against its own. The configuration itself, such as the multiplier lists, is
+ * not written, since the restoring filter is constructed with it. The format is compact binary with values in
+ * big-endian order and is read by readState of the same class only. Snapshots are usually taken and restored through
+ * the FilterSnapshot class, which adds a header identifying the class of the filter.
+ * </p>
+ * <p>
+ * When the state cannot be written, such as when a stage of a cascade or a stored value cannot be written, or
+ * when it cannot be read, such as when the configuration of the snapshot does not match the configuration of the
+ * filter, a checked IOException is thrown. A filter whose readState throws an exception may have restored part
+ * of the state and should be reset before it is used.
+ * </p>
+ *
+ * @see filter.FilterSnapshot
+ *
+ * @author Shaun Howard
+ */
+public interface Snapshottable {
+
+    /**
+     * Writes the state of the filter to the specified output.
+     *
+     * @param out - the output the state is written to
+     * @throws java.io.IOException - if the state cannot be written
+     */
+    public void writeState(DataOutput out) throws IOException;
+
+    /**
+     * Replaces the state of the filter with the state read from the specified input,
+     * which was written by writeState of a filter of the same class and configuration.
+     *
+     * @param in - the input the state is read from
+     * @throws java.io.IOException - if the state cannot be read or does not match the configuration of the filter
+     */
+    public void readState(DataInput in) throws IOException;
+}
@@ -0,0 +1,171 @@
+package filter;
+
+/**
+ * <p>
+ * A SparseKernel holds only the non-zero input multipliers of a ScalarLinearFilter together with their delays, such as
+ * those of a comb or delay line design, whose multiplier lists are mostly zeros. A filter whose input multipliers are
+ * sparse sums only the non-zero multipliers, so the cost of each output is proportional to the number of non-zero
+ * multipliers rather than to N, both when filtering a single value and in the batch filter operation.
+ * </p>
+ * <p>
+ * The non-zero multipliers are summed in order of increasing delay starting from zero, which is the order of the
+ * direct sum with its zero terms left out. Adding a zero product never changes such a sum, so a SparseKernel produces
+ * exactly the values of the direct sum for finite input values. An infinite or NaN input value times a zero
+ * multiplier is not summed, so it only affects the outputs of the multipliers which are not zero.
+ * </p>
+ * <p>
+ * Multipliers are considered sparse when at most one in SPARSITY of them is non-zero, below which the indirect loads
+ * of the delays cost less than the multiplications they skip when filtering a single value. The batch filter operation
+ * competes with the FIR kernel, which vectorizes the direct sum, so it only uses the sparse kernel when at most one in
+ * BATCH_SPARSITY multipliers is non-zero, which is where the two were measured to break even with the vector kernel.
+ * </p>
+ *
+ * @see filter.ScalarLinearFilter
+ *
+ * @author Shaun Howard
+ */
+final class SparseKernel {
+
+    // The smallest ratio of multipliers to non-zero multipliers for which the multipliers are sparse.
+    static final int SPARSITY = 4;
+
+    // The smallest ratio of multipliers to non-zero multipliers for which the batch filter operation is sparse.
+    static final int BATCH_SPARSITY = 8;
+
+    // The non-zero multipliers in order of increasing delay.
+    private final double[] taps;
+
+    // The delay, or index in the multiplier list, of each non-zero multiplier.
+    private final int[] delays;
+
+    // Whether the multipliers are sparse enough for the batch filter operation to use the kernel.
+    private final boolean batch;
+
+    /**
+     * Constructs a SparseKernel of the specified non-zero multipliers and delays.
+     *
+     * @param taps - the non-zero multipliers in order of increasing delay
+     * @param delays - the delay of each non-zero multiplier
+     * @param batch - whether the batch filter operation uses the kernel
+     */
+    private SparseKernel(double[] taps, int[] delays, boolean batch) {
+        this.taps = taps;
+        this.delays = delays;
+        this.batch = batch;
+    }
+
+    /**
+     * Creates a SparseKernel of the specified multipliers when they are sparse.
+     *
+     * @param coefficients - the input multipliers b(0) to b(N)
+     * @return the SparseKernel of the multipliers, or null if more than one in SPARSITY of them is non-zero
+     */
+    static SparseKernel of(double[] coefficients) {
+        int count = 0;
+        for (double coefficient : coefficients) {
+            if (coefficient != 0.0) {
+                count++;
+            }
+        }
+        if ((long) count * SPARSITY > coefficients.length) {
+            return null;
+        }
+        double[] taps = new double[count];
+        int[] delays = new int[count];
+        for (int n = 0, k = 0; n < coefficients.length; n++) {
+            if (coefficients[n] != 0.0) {
+                taps[k] = coefficients[n];
+                delays[k++] = n;
+            }
+        }
+        return new SparseKernel(taps, delays, (long) count * BATCH_SPARSITY <= coefficients.length);
+    }
+
+    /**
+     * Sums the non-zero multipliers whose delay is less than available times the values of the
+     * specified circular buffer at their delays back from the value at head.
+     *
+     * @param history - the circular buffer of previous input values
+     * @param head - the index of the most recent input value in the circular buffer
+     * @param available - the number of input values stored, at most the length of the buffer
+     * @return the sum of the multiplied values
+     */
+    double sum(double[] history, int head, int available) {
+        int count = taps.length;
+        if (available < history.length) {
+            while (count > 0 && delays[count - 1] >= available) {
+                count--;
+            }
+        }
+        double sum = 0;
+        int k = 0;
+        for (; k < count && delays[k] <= head; k++) {
+            //sum = sum + b(d) * x(i - d)
+            sum += taps[k] * history[head - delays[k]];
+        }
+        for (int wrapped = head + history.length; k < count; k++) {
+            sum += taps[k] * history[wrapped - delays[k]];
+        }
+        return sum;
+    }
+
+    /**
+     * Computes length outputs of the convolution of the multipliers with the signal, where output j is the sum of
+     * b(d) * signal[last + j - d] over the non-zero multipliers, summed in order of increasing delay starting from
+     * zero. Four adjacent outputs are accumulated at a time in registers, so each multiplier and delay is loaded once
+     * for every four outputs. The signal must hold N - 1 values before index last.
+     *
+     * @param signal - the contiguous input values
+     * @param last - the index of the newest input value of the first output
+     * @param sums - the array that receives the outputs
+     * @param length - the number of outputs
+     */
+    void convolve(double[] signal, int last, double[] sums, int length) {
+        int j = 0;
+        for (; j <= length - 4; j += 4) {
+            double sum0 = 0;
+            double sum1 = 0;
+            double sum2 = 0;
+            double sum3 = 0;
+            int newest = last + j;
+            for (int k = 0; k < taps.length; k++) {
+                double tap = taps[k];
+                int index = newest - delays[k];
+                sum0 += tap * signal[index];
+                sum1 += tap * signal[index + 1];
+                sum2 += tap * signal[index + 2];
+                sum3 += tap * signal[index + 3];
+            }
+            sums[j] = sum0;
+            sums[j + 1] = sum1;
+            sums[j + 2] = sum2;
+            sums[j + 3] = sum3;
+        }
+        for (; j < length; j++) {
+            double sum = 0;
+            int newest = last + j;
+            for (int k = 0; k < taps.length; k++) {
+                sum += taps[k] * signal[newest - delays[k]];
+            }
+            sums[j] = sum;
+        }
+    }
+
+    /**
+     * Gets the number of non-zero multipliers.
+     *
+     * @return the number of non-zero multipliers
+     */
+    int getCount() {
+        return taps.length;
+    }
+
+    /**
+     * Determines whether the multipliers are sparse enough for the batch filter operation to use the kernel.
+     *
+     * @return true if at most one in BATCH_SPARSITY multipliers is non-zero
+     */
+    boolean isBatchSparse() {
+        return batch;
+    }
+}
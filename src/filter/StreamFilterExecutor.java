@@ -0,0 +1,357 @@
+package filter;
+
+import exception.EmptyListException;
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>
+ * A StreamFilterExecutor drives many independent streams of values, such as one feed per device, each through its
+ * own Filter or FilterCascade, on a shared Executor. Every stream has a bounded mailbox of values waiting to be
+ * filtered, and a stream is drained by at most one task at a time, so the values of a stream are filtered one at a
+ * time in the order in which they were accepted and its filter needs no lock. Streams never wait for one another:
+ * thousands of streams share the threads of the executor, and a stream only occupies a thread while it has values
+ * waiting in its mailbox.
+ * </p>
+ * <p>
+ * A value is accepted by offer, which returns false at once when the mailbox of the stream is full, or by put, which
+ * waits for room in the mailbox, so a fast producer is held back rather than allowed to exhaust the memory. Each
+ * filtered value is passed to the Listener of the executor together with the key of its stream, from the thread
+ * which filtered it. When the filter throws a checked exception for a value, the exception is passed to the listener
+ * and the stream goes on with its next value. A task drains at most DRAIN_BATCH values before it yields its thread
+ * to other streams, so a busy stream cannot starve the others.
+ * </p>
+ * <p>
+ * The default executor is the common ForkJoinPool. Any Executor may be used, such as a fixed thread pool or, on a
+ * Java release which has them, an executor which starts a virtual thread per task. The depth of the mailbox of each
+ * stream is reported by getQueueDepth and getQueueDepths. The executor does not own its Executor and never shuts it
+ * down.
+ * </p>
+ *
+ * @param <K> - the type of key of each stream
+ * @param <A> - the comparable type of input element to filter
+ * @param <B> - the type of output element produced by the filters
+ *
+ * @see filter.FilterProcessor
+ *
+ * @author Shaun Howard
+ */
+public class StreamFilterExecutor<K, A extends Comparable<A>, B> {
+
+    // The largest number of values a task filters before it yields its thread to other streams.
+    public static final int DRAIN_BATCH = 64;
+
+    /**
+     * <p>
+     * A Listener receives the filtered values and the exceptions of every stream of a StreamFilterExecutor.
+     * The calls for one stream are made one at a time, in the order of the values of the stream, but calls
+     * for different streams may be made concurrently from different threads.
+     * </p>
+     *
+     * @param <K> - the type of key of each stream
+     * @param <B> - the type of output element produced by the filters
+     */
+    public interface Listener<K, B> {
+
+        /**
+         * Receives a value filtered by the filter of the specified stream.
+         *
+         * @param stream - the key of the stream
+         * @param value - the filtered value
+         */
+        public void onFiltered(K stream, B value);
+
+        /**
+         * Receives the checked exception thrown by the filter of the specified stream for a value.
+         *
+         * @param stream - the key of the stream
+         * @param error - the NullValueException, EmptyListException or IncorrectSizeException thrown
+         */
+        public void onError(K stream, Exception error);
+    }
+
+    // The executor which runs the tasks draining the mailboxes.
+    private final Executor executor;
+
+    // The largest number of values waiting in the mailbox of a stream.
+    private final int capacity;
+
+    // The listener of the filtered values.
+    private final Listener<K, B> listener;
+
+    // The mailbox of every open stream by key.
+    private final ConcurrentHashMap<K, Mailbox> streams = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a StreamFilterExecutor which drains the mailboxes of the streams in the common ForkJoinPool.
+     *
+     * @param capacity - the largest number of values waiting in the mailbox of a stream
+     * @param listener - the listener of the filtered values
+     * @throws exception.NullValueException - if the listener is null
+     * @throws exception.IncorrectSizeException - if the capacity is not in the range [1, INTEGER_MAX_VALUE]
+     */
+    public StreamFilterExecutor(int capacity, Listener<K, B> listener)
+            throws NullValueException, IncorrectSizeException {
+        this(ForkJoinPool.commonPool(), capacity, listener);
+    }
+
+    /**
+     * Constructs a StreamFilterExecutor which drains the mailboxes of the streams with the specified executor.
+     *
+     * @param executor - the executor which runs the tasks draining the mailboxes
+     * @param capacity - the largest number of values waiting in the mailbox of a stream
+     * @param listener - the listener of the filtered values
+     * @throws exception.NullValueException - if the executor or the listener is null
+     * @throws exception.IncorrectSizeException - if the capacity is not in the range [1, INTEGER_MAX_VALUE]
+     */
+    public StreamFilterExecutor(Executor executor, int capacity, Listener<K, B> listener)
+            throws NullValueException, IncorrectSizeException {
+        FilterValidator.throwExceptionWhenNull(executor, listener);
+        FilterValidator.throwWhenOutOfRange(capacity, 1, Integer.MAX_VALUE);
+        this.executor = executor;
+        this.capacity = capacity;
+        this.listener = listener;
+    }
+
+    /**
+     * Opens a stream of the specified key whose values are filtered by the specified filter. The filter must
+     * not be used by any other thread while the stream is open.
+     *
+     * @param stream - the key of the stream
+     * @param filter - the filter of the values of the stream
+     * @return true if the stream was opened, false if a stream of the key is already open
+     * @throws exception.NullValueException - if the key or the filter is null
+     */
+    public boolean open(K stream, Filter<A, B> filter) throws NullValueException {
+        FilterValidator.throwExceptionWhenNull(stream, filter);
+        return streams.putIfAbsent(stream, new Mailbox(stream, filter)) == null;
+    }
+
+    /**
+     * Closes the stream of the specified key. Values already accepted are still filtered
+     * and passed to the listener, but no further value is accepted.
+     *
+     * @param stream - the key of the stream
+     * @return true if the stream was open
+     */
+    public boolean close(K stream) {
+        return stream != null && streams.remove(stream) != null;
+    }
+
+    /**
+     * Accepts the specified value into the mailbox of the specified stream if the mailbox has room.
+     *
+     * @param stream - the key of the stream
+     * @param value - the value to filter
+     * @return true if the value was accepted, false if the mailbox is full
+     * @throws exception.NullValueException - if the key or the value is null
+     * @throws java.lang.IllegalStateException - if no stream of the key is open
+     * @throws java.util.concurrent.RejectedExecutionException - if the executor rejects the task filtering the
+     * value, in which case the value is not accepted
+     */
+    public boolean offer(K stream, A value) throws NullValueException {
+        FilterValidator.throwExceptionWhenNull(stream, value);
+        Mailbox mailbox = mailbox(stream);
+        if (!mailbox.permits.tryAcquire()) {
+            return false;
+        }
+        mailbox.enqueue(value);
+        return true;
+    }
+
+    /**
+     * Accepts the specified value into the mailbox of the specified stream, waiting for room if it is full.
+     *
+     * @param stream - the key of the stream
+     * @param value - the value to filter
+     * @throws exception.NullValueException - if the key or the value is null
+     * @throws java.lang.InterruptedException - if the thread is interrupted while waiting
+     * @throws java.lang.IllegalStateException - if no stream of the key is open
+     * @throws java.util.concurrent.RejectedExecutionException - if the executor rejects the task filtering the
+     * value, in which case the value is not accepted
+     */
+    public void put(K stream, A value) throws NullValueException, InterruptedException {
+        FilterValidator.throwExceptionWhenNull(stream, value);
+        Mailbox mailbox = mailbox(stream);
+        mailbox.permits.acquire();
+        mailbox.enqueue(value);
+    }
+
+    /**
+     * Gets the number of values waiting in the mailbox of the specified stream.
+     *
+     * @param stream - the key of the stream
+     * @return the number of values waiting, or zero if no stream of the key is open
+     */
+    public int getQueueDepth(K stream) {
+        Mailbox mailbox = stream == null ? null : streams.get(stream);
+        return mailbox == null ? 0 : mailbox.depth();
+    }
+
+    /**
+     * Gets the number of values waiting in the mailbox of every open stream.
+     *
+     * @return a new map from the key of every open stream to the number of its values waiting
+     */
+    public Map<K, Integer> getQueueDepths() {
+        Map<K, Integer> depths = new HashMap<>();
+        for (Map.Entry<K, Mailbox> entry : streams.entrySet()) {
+            depths.put(entry.getKey(), entry.getValue().depth());
+        }
+        return depths;
+    }
+
+    /**
+     * Gets the number of open streams.
+     *
+     * @return the number of open streams
+     */
+    public int getStreamCount() {
+        return streams.size();
+    }
+
+    /**
+     * Gets the largest number of values waiting in the mailbox of a stream.
+     *
+     * @return the capacity of each mailbox
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the mailbox of the specified open stream.
+     *
+     * @param stream - the key of the stream
+     * @return the mailbox of the stream
+     * @throws java.lang.IllegalStateException - if no stream of the key is open
+     */
+    private Mailbox mailbox(K stream) {
+        Mailbox mailbox = streams.get(stream);
+        if (mailbox == null) {
+            throw new IllegalStateException("No stream " + stream + " is open.");
+        }
+        return mailbox;
+    }
+
+    /**
+     * The mailbox of one stream, which holds the values waiting to be filtered and is drained
+     * by at most one task at a time.
+     */
+    private final class Mailbox implements Runnable {
+
+        // The key of the stream.
+        private final K stream;
+
+        // The filter of the values of the stream.
+        private final Filter<A, B> filter;
+
+        // The values waiting to be filtered, oldest first.
+        private final Queue<A> values = new ConcurrentLinkedQueue<>();
+
+        // The room left in the mailbox.
+        private final Semaphore permits = new Semaphore(capacity);
+
+        // Whether a task draining the mailbox has been submitted and has not yet finished.
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        /**
+         * Constructs the empty mailbox of the specified stream.
+         *
+         * @param stream - the key of the stream
+         * @param filter - the filter of the values of the stream
+         */
+        private Mailbox(K stream, Filter<A, B> filter) {
+            this.stream = stream;
+            this.filter = filter;
+        }
+
+        /**
+         * Schedules the mailbox to be drained and adds a value for which room has been acquired. The task is
+         * submitted before the value is added, so when the executor rejects it the value is never added and its
+         * room is released before the RejectedExecutionException is rethrown.
+         *
+         * @param value - the value to filter
+         * @throws java.util.concurrent.RejectedExecutionException - if the executor rejects the task draining
+         * the mailbox
+         */
+        private void enqueue(A value) {
+            try {
+                schedule();
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                throw e;
+            }
+            values.add(value);
+            if (!scheduled.get()) {
+                //the task may have found the mailbox empty and finished before the value was added
+                try {
+                    schedule();
+                } catch (RejectedExecutionException e) {
+                    //the value was accepted, and is filtered once the mailbox is next scheduled
+                }
+            }
+        }
+
+        /**
+         * Submits a task draining the mailbox unless one is already submitted.
+         */
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    throw e;
+                }
+            }
+        }
+
+        /**
+         * Gets the number of values waiting in the mailbox.
+         *
+         * @return the number of values waiting
+         */
+        private int depth() {
+            return capacity - permits.availablePermits();
+        }
+
+        /**
+         * Filters up to DRAIN_BATCH waiting values in order and passes each result to the listener, then
+         * schedules the mailbox again if values are still waiting.
+         */
+        @Override
+        public void run() {
+            try {
+                A value;
+                for (int count = 0; count < DRAIN_BATCH && (value = values.poll()) != null; count++) {
+                    permits.release();
+                    B filtered;
+                    try {
+                        filtered = filter.filter(value);
+                    } catch (NullValueException | EmptyListException | IncorrectSizeException e) {
+                        listener.onError(stream, e);
+                        continue;
+                    }
+                    listener.onFiltered(stream, filtered);
+                }
+            } finally {
+                scheduled.set(false);
+                if (!values.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package filter;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * <p>
+ * A FIRKernel implemented with the incubating Java Vector API. Each pass over the multipliers accumulates four
+ * vectors of adjacent outputs in registers, broadcasting each multiplier once and applying it to every lane, so the
+ * sum of every output is accumulated in order of increasing multiplier index exactly as the scalar kernel does.
+ * The multiplication and addition are kept separate rather than fused, so every output equals the output of the
+ * scalar kernel. Outputs left over after the last full group of vectors are summed by a scalar loop.
+ * </p>
+ * <p>
+ * This class depends on the jdk.incubator.vector module, so it is compiled from a separate source directory with
+ * the option --add-modules jdk.incubator.vector and is only loaded by FIRKernel when that module is available.
+ * </p>
+ *
+ * @author Shaun Howard
+ */
+final class VectorFIRKernel extends FIRKernel {
+
+    // The preferred vector shape of doubles on this platform.
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    // The number of outputs in each vector.
+    private static final int LANES = SPECIES.length();
+
+    // The number of outputs accumulated together in registers.
+    private static final int GROUP = 4 * LANES;
+
+    @Override
+    void convolve(double[] coefficients, int taps, double[] signal, int last, double[] sums, int length) {
+        int j = 0;
+        for (; j <= length - GROUP; j += GROUP) {
+            DoubleVector sum0 = DoubleVector.zero(SPECIES);
+            DoubleVector sum1 = DoubleVector.zero(SPECIES);
+            DoubleVector sum2 = DoubleVector.zero(SPECIES);
+            DoubleVector sum3 = DoubleVector.zero(SPECIES);
+            for (int n = 0; n < taps; n++) {
+                DoubleVector coefficient = DoubleVector.broadcast(SPECIES, coefficients[n]);
+                int base = last - n + j;
+                sum0 = sum0.add(coefficient.mul(DoubleVector.fromArray(SPECIES, signal, base)));
+                sum1 = sum1.add(coefficient.mul(DoubleVector.fromArray(SPECIES, signal, base + LANES)));
+                sum2 = sum2.add(coefficient.mul(DoubleVector.fromArray(SPECIES, signal, base + 2 * LANES)));
+                sum3 = sum3.add(coefficient.mul(DoubleVector.fromArray(SPECIES, signal, base + 3 * LANES)));
+            }
+            sum0.intoArray(sums, j);
+            sum1.intoArray(sums, j + LANES);
+            sum2.intoArray(sums, j + 2 * LANES);
+            sum3.intoArray(sums, j + 3 * LANES);
+        }
+        for (; j < length; j++) {
+            double sum = 0;
+            for (int n = 0; n < taps; n++) {
+                sum += coefficients[n] * signal[last + j - n];
+            }
+            sums[j] = sum;
+        }
+    }
+
+    @Override
+    String getName() {
+        return "vector(" + LANES + " lanes)";
+    }
+}
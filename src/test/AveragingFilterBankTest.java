@@ -0,0 +1,54 @@
+package test;
+
+import filter.AveragingFilter;
+import filter.AveragingFilterBank;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A test class for the AveragingFilterBank class.
+ *
+ * @author Shaun Howard
+ */
+public class AveragingFilterBankTest {
+
+    /**
+     * Method: filterPlanar(double[][] values, int offset, double[][] output, int outputOffset, int frames)
+     * Type: Data-flow, compared against AveragingFilter
+     */
+    @Test
+    public void testFilterPlanar() throws Exception {
+        double[][] values = {
+                {300.0, 300.0, 123123412312.012312312312, 0.234234234656450, -3245645600.4787560},
+                {-1.5, 2.25, 1.0e-9, 7.0, 4.0}
+        };
+        double[][] output = new double[2][5];
+        AveragingFilterBank bank = new AveragingFilterBank(2);
+        bank.filterPlanar(values, 0, output, 0, 5);
+        for (int c = 0; c < 2; c++) {
+            AveragingFilter single = new AveragingFilter();
+            for (int t = 0; t < 5; t++) {
+                assertEquals(single.filter(values[c][t]), output[c][t], 0.0);
+            }
+            assertEquals(single.getBaseAverage(), bank.getBaseAverage(c), 0.0);
+        }
+        assertEquals(5, bank.getCount());
+    }
+
+    /**
+     * Method: reset()
+     * Type: Structured basis
+     */
+    @Test
+    public void testReset() throws Exception {
+        AveragingFilterBank bank = new AveragingFilterBank(2);
+        double[] output = new double[2];
+        bank.filterFrame(new double[]{4.0, 8.0}, output);
+        bank.reset();
+        bank.filterFrame(new double[]{1.0, 2.0}, output);
+        assertEquals(1.0, output[0], 0.0);
+        assertEquals(2.0, output[1], 0.0);
+        assertEquals(1, bank.getCount());
+    }
+}
@@ -79,7 +79,7 @@ public class AveragingFilterNTest {
             if (i < LARGE_SIZE - 1) {
                 avgFilterPositiveBoundary.filter(value);
             } else {
-                assertEquals(2.6726761760069965E18, avgFilterPositiveBoundary.filter(value), .01);
+                assertEquals(2.6726761760070001E18, avgFilterPositiveBoundary.filter(value), .01);
             }
         }
     }
@@ -157,4 +157,77 @@ try {
 */
     }
 
+    /**
+     * Method: filterDouble(double value)
+     * Type: Good data
+     */
+    @Test
+    public void testFilterDoubleGoodData() throws Exception {
+        assertEquals(300.0, avgFilterNomimal.filterDouble(300.0), 0.01);
+        assertEquals(300.0, avgFilterNomimal.filter(300.0), 0.01);
+        assertEquals(4.104113763733744E10, avgFilterNomimal.filterDouble(123123412312.012312312312), 0.01);
+        assertEquals(3.078085322806164E10, avgFilterNomimal.filterDouble(0.234234234656450), 0.01);
+        assertEquals(2.397555346235356E10, avgFilterNomimal.filterDouble(-3245645600.4787560), 0.01);
+    }
+
+    /**
+     * Method: filter(double[] values, double[] output)
+     * Type: Data-flow, compared against filter(Double value)
+     */
+    @Test
+    public void testFilterBatch() throws Exception {
+        AveragingFilterN single = new AveragingFilterN(NOM_SIZE);
+        double[] values = new double[3 * NOM_SIZE];
+        for (int j = 0; j < values.length; j++) {
+            values[j] = (j % 7) * 1234.5678 - 3000.0;
+        }
+        double[] output = new double[values.length];
+        avgFilterNomimal.filter(values, output);
+        for (int j = 0; j < values.length; j++) {
+            assertEquals(single.filter(values[j]), output[j], 0.0);
+        }
+    }
+
+
+    /**
+     * Method: filter(Double value)
+     * Type: At boundary, structured basis
+     */
+    @Test
+    public void testFilterSingleValueWindow() throws Exception {
+        AveragingFilterN filter = new AveragingFilterN(1);
+        assertEquals(300.0, filter.filter(300.0), 0.0);
+        assertEquals(-2.5, filter.filter(-2.5), 0.0);
+        assertEquals(1, filter.getValues().size());
+    }
+
+    /**
+     * Method: filterDouble(double value)
+     * Type: Stress
+     */
+    @Test
+    public void testFilterDoubleCancellation() throws Exception {
+        AveragingFilterN filter = new AveragingFilterN(3);
+        double average = 0.0;
+        for (int i = 0; i < 3000000; i++) {
+            double value = i % 3 == 0 ? 1.0e16 : i % 3 == 1 ? 1.0 : -1.0e16;
+            average = filter.filterDouble(value);
+        }
+        assertEquals(1.0 / 3.0, average, 0.0);
+    }
+
+    /**
+     * Method: maintainN()
+     * Type: Structured basis
+     */
+    @Test
+    public void testMaintainNUpdatesAverage() throws Exception {
+        AveragingFilterN filter = new AveragingFilterN(2);
+        filter.getValues().add(1.0);
+        filter.getValues().add(3.0);
+        filter.maintainN();
+        assertEquals(6.0, filter.filter(9.0), 0.0);
+        filter.reset();
+        assertEquals(4.0, filter.filter(4.0), 0.0);
+    }
 } 
@@ -70,4 +70,32 @@ public class AveragingFilterTest {
         assertEquals(0.0, avgFilter.getBaseAverage(), 0.01);
         assertEquals(0, avgFilter.getCount());
     }
+
+    /**
+     * Method: filterDouble(double value)
+     * Type: Good data
+     */
+    @Test
+    public void testFilterDoubleGoodData() throws Exception {
+        assertEquals(300.0, avgFilter.filterDouble(300.0), .01);
+        assertEquals(1171321.1065, avgFilter.filterDouble(2342342.213), .01);
+        assertEquals(2.8032019402177875E11, avgFilter.filter(840958239423.123213123), .01);
+        assertEquals(2.1024014551633405E11, avgFilter.filterDouble(0.000001232123), .01);
+    }
+
+    /**
+     * Method: filter(double[] values, double[] output)
+     * Type: Data-flow
+     */
+    @Test
+    public void testFilterBatch() throws Exception {
+        double[] values = {300.0, 2342342.213, 840958239423.123213123, 0.000001232123};
+        double[] output = new double[values.length];
+        avgFilter.filter(values, output);
+        assertEquals(300.0, output[0], .01);
+        assertEquals(1171321.1065, output[1], .01);
+        assertEquals(2.8032019402177875E11, output[2], .01);
+        assertEquals(2.1024014551633405E11, output[3], .01);
+        assertEquals(4, avgFilter.getCount());
+    }
 } 
@@ -1,12 +1,19 @@
 package test;
 
+import exception.IncorrectSizeException;
 import filter.BinomialFilter;
+import filter.CoefficientSet;
 import org.junit.Test;
 import org.junit.Before;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 /**
  * A test class for the BinomialFilter class.
@@ -47,38 +54,98 @@ public class BinomialFilterTest {
 
     /**
      * Method: setBinomials()
+     * Type: Structured Basis, Good data
      */
     @Test
     public void testSetBinomials() throws Exception {
-//TODO: Test goes here... 
-/* 
-try { 
-   Method method = BinomialFilter.getClass().getMethod("setBinomials"); 
-   method.setAccessible(true); 
-   method.invoke(<Object>, <Parameters>); 
-} catch(NoSuchMethodException e) { 
-} catch(IllegalAccessException e) { 
-} catch(InvocationTargetException e) { 
-} 
-*/
+        BinomialFilter filter = new BinomialFilter(5, new ArrayList<>(Arrays.asList(0.0, 0.0, 0.0, 0.0, 0.0)));
+        assertEquals(Arrays.asList(1.0, 5.0, 10.0, 10.0, 5.0), filter.getB());
     }
 
     /**
-     * Method: binomialC(int n, int i)
+     * Method: setBinomials()
+     * Type: Boundary, coefficients past the range of an int are exact
      */
     @Test
-    public void testBinomialC() throws Exception {
-//TODO: Test goes here... 
-/* 
-try { 
-   Method method = BinomialFilter.getClass().getMethod("binomialC", int.class, int.class); 
-   method.setAccessible(true); 
-   method.invoke(<Object>, <Parameters>); 
-} catch(NoSuchMethodException e) { 
-} catch(IllegalAccessException e) { 
-} catch(InvocationTargetException e) { 
-} 
-*/
+    public void testSetBinomialsLarge() throws Exception {
+        BinomialFilter filter = new BinomialFilter(40);
+        assertEquals(137846528820.0, filter.getB().get(20), 0.0);
+        assertEquals(40.0, filter.getB().get(39), 0.0);
+    }
+
+    /**
+     * Method: setBinomials()
+     * Type: Boundary, every coefficient equals the exact coefficient rounded once, so those up to 2^53 are exact
+     */
+    @Test
+    public void testSetBinomialsExact() throws Exception {
+        assertEquals(3560597348629860.0, new BinomialFilter(55).getB().get(26), 0.0);
+        int[] sizes = new int[72];
+        for (int n = 1; n <= 70; n++) {
+            sizes[n - 1] = n;
+        }
+        sizes[70] = 1000;
+        sizes[71] = 1100;
+        for (int n : sizes) {
+            BinomialFilter filter = new BinomialFilter(n);
+            BigInteger coefficient = BigInteger.ONE;
+            assertEquals(1.0, filter.getB().get(0), 0.0);
+            for (int i = 1; i < n; i++) {
+                coefficient = coefficient.multiply(BigInteger.valueOf(n - i + 1)).divide(BigInteger.valueOf(i));
+                assertEquals(coefficient.doubleValue(), filter.getB().get(i), 0.0);
+            }
+        }
     }
 
+    /**
+     * Method: BinomialFilter(int N)
+     * Type: Data-flow, filters of a cached size share one coefficient set and larger filters do not
+     */
+    @Test
+    public void testConstructNShared() throws Exception {
+        BinomialFilter first = new BinomialFilter(12);
+        BinomialFilter second = new BinomialFilter(12);
+        BinomialFilter filled = new BinomialFilter(12, new ArrayList<>(Collections.nCopies(12, 0.0)));
+        assertSame(first.getB(), second.getB());
+        assertSame(CoefficientSet.of(first), CoefficientSet.of(filled));
+        BinomialFilter large = new BinomialFilter(300);
+        assertNotSame(large.getB(), new BinomialFilter(300).getB());
+        assertSame(CoefficientSet.of(large), CoefficientSet.of(new BinomialFilter(300)));
+    }
+
+    /**
+     * Method: BinomialFilter(int N)
+     * Type: Data-flow, compared against BinomialFilter(int N, ArrayList b)
+     */
+    @Test
+    public void testConstructN() throws Exception {
+        BinomialFilter filter = new BinomialFilter(bfList.size());
+        assertEquals(bf.getB(), filter.getB());
+        assertEquals(45.3, filter.filter(45.3), 0.01);
+        assertEquals(527.864, filter.filter(346.664), 0.01);
+    }
+
+    /**
+     * Method: BinomialFilter(int N)
+     * Type: Bad data
+     */
+    @Test(expected = IncorrectSizeException.class)
+    public void testConstructNZero() throws Exception {
+        new BinomialFilter(0);
+    }
+
+    /**
+     * Method: filter(double[] values, double[] output)
+     * Type: Data-flow, compared against filterDouble(double in)
+     */
+    @Test
+    public void testFilterBatch() throws Exception {
+        BinomialFilter single = new BinomialFilter(bfList.size(), new ArrayList<>(bfList));
+        double[] values = {45.3, 346.664, .0000000234234, 1232421342352452., 45.3, -483829295.23445234, 0.5, -7.0};
+        double[] output = new double[values.length];
+        bf.filter(values, output);
+        for (int j = 0; j < values.length; j++) {
+            assertEquals(single.filterDouble(values[j]), output[j], 0.0);
+        }
+    }
 } 
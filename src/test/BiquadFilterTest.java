@@ -0,0 +1,260 @@
+package test;
+
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+import filter.BiquadFilter;
+import filter.FilterSnapshot;
+import filter.ScalarLinearFilter;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A test class for the BiquadFilter class.
+ *
+ * @author Shaun Howard
+ */
+public class BiquadFilterTest {
+
+    // The output multipliers of a fourth order Butterworth low pass filter with a cutoff of 0.2 of Nyquist.
+    private static final Double[] BUTTERWORTH_A = {1.0, -2.369513007182038, 2.313988414415880, -1.054665405878568,
+            0.187379492368185};
+
+    // The input multipliers of a fourth order Butterworth low pass filter with a cutoff of 0.2 of Nyquist.
+    private static final Double[] BUTTERWORTH_B = {0.004824343357716228, 0.019297373430864913,
+            0.02894606014629737, 0.019297373430864913, 0.004824343357716228};
+
+    // The output multipliers of a sixth order Butterworth low pass filter with a cutoff of 0.2 of Nyquist.
+    private static final Double[] BUTTERWORTH_6_A = {1.0, -3.5794347983311923, 5.658667165933625, -4.96541522877857,
+            2.529494905841447, -0.7052741145099007, 0.08375647961867896};
+
+    // The input multipliers of a sixth order Butterworth low pass filter with a cutoff of 0.2 of Nyquist.
+    private static final Double[] BUTTERWORTH_6_B = {0.00034053765272012764, 0.002043225916320766,
+            0.005108064790801914, 0.006810753054402553, 0.005108064790801914, 0.002043225916320766,
+            0.00034053765272012764};
+
+    // The output multipliers of an eighth order Butterworth low pass filter with a cutoff of 0.2 of Nyquist.
+    private static final Double[] BUTTERWORTH_8_A = {1.0, -4.784514894995809, 10.445041065534662, -13.457719890241549,
+            11.129331039163972, -6.025260397297647, 2.079273803011876, -0.41721715698978196, 0.03720010070484521};
+
+    // The input multipliers of an eighth order Butterworth low pass filter with a cutoff of 0.2 of Nyquist.
+    private static final Double[] BUTTERWORTH_8_B = {2.3959644103776166e-05, 0.00019167715283020933,
+            0.0006708700349057327, 0.0013417400698114653, 0.0016771750872643315, 0.0013417400698114653,
+            0.0006708700349057327, 0.00019167715283020933, 2.3959644103776166e-05};
+
+    /**
+     * Creates an array of random values.
+     *
+     * @param length - the number of values
+     * @return the random values
+     */
+    private static double[] randomValues(int length) {
+        Random random = new Random(7);
+        double[] values = new double[length];
+        for (int j = 0; j < length; j++) {
+            values[j] = random.nextGaussian();
+        }
+        return values;
+    }
+
+    /**
+     * Method: filterDouble(double value)
+     * Type: Structured Basis, Good Data, a single section solves its linear equation
+     */
+    @Test
+    public void testSingleSection() throws Exception {
+        BiquadFilter filter = new BiquadFilter(new double[]{1.0, 0.5, 0.25, -0.5, 0.0});
+        //y(i) = x(i) + 0.5x(i - 1) + 0.25x(i - 2) + 0.5y(i - 1)
+        assertEquals(1.0, filter.filterDouble(1.0), 0.0);
+        assertEquals(1.0, filter.filterDouble(0.0), 0.0);
+        assertEquals(0.75, filter.filterDouble(0.0), 0.0);
+        assertEquals(0.375, filter.filter(0.0), 0.0);
+        assertEquals(1, filter.getSectionCount());
+    }
+
+    /**
+     * Method: fromLinear(ScalarLinearFilter filter)
+     * Type: Data-flow, the sections of an IIR filter produce the values of its direct form
+     */
+    @Test
+    public void testFromLinearIir() throws Exception {
+        ScalarLinearFilter direct = new ScalarLinearFilter(5, 5, new ArrayList<>(Arrays.asList(BUTTERWORTH_A)),
+                new ArrayList<>(Arrays.asList(BUTTERWORTH_B)));
+        BiquadFilter biquad = BiquadFilter.fromLinear(direct);
+        assertEquals(2, biquad.getSectionCount());
+        for (double value : randomValues(500)) {
+            assertEquals(direct.filterDouble(value), biquad.filterDouble(value), 1e-12);
+        }
+    }
+
+    /**
+     * Method: fromLinear(ScalarLinearFilter filter)
+     * Type: Data-flow, the six repeated zeros of a sixth order filter make three sections of its direct form
+     */
+    @Test
+    public void testFromLinearSixthOrder() throws Exception {
+        assertFromLinear(BUTTERWORTH_6_A, BUTTERWORTH_6_B);
+    }
+
+    /**
+     * Method: fromLinear(ScalarLinearFilter filter)
+     * Type: Data-flow, the eight repeated zeros of an eighth order filter make four sections of its direct form
+     */
+    @Test
+    public void testFromLinearEighthOrder() throws Exception {
+        assertFromLinear(BUTTERWORTH_8_A, BUTTERWORTH_8_B);
+    }
+
+    /**
+     * Method: fromLinear(int M, int N, List a, List b)
+     * Type: Data-flow, random designs with pairs of distinct real poles closer than the scatter of a multiple root
+     */
+    @Test
+    public void testFromLinearClosePoles() throws Exception {
+        Random random = new Random(11);
+        for (int design = 0; design < 50; design++) {
+            //two pairs of close real poles and two pairs of complex conjugate poles
+            ArrayList<Double> a = new ArrayList<>(Arrays.asList(1.0));
+            for (int pair = 0; pair < 2; pair++) {
+                double pole = random.nextDouble() * 1.6 - 0.8;
+                double gap = 1e-4 + random.nextDouble() * 1e-3;
+                a = multiply(a, 1.0, -pole);
+                a = multiply(a, 1.0, -(pole + gap));
+                double radius = 0.3 + random.nextDouble() * 0.6;
+                double angle = random.nextDouble() * Math.PI;
+                a = multiply(a, 1.0, -2 * radius * Math.cos(angle), radius * radius);
+            }
+            ArrayList<Double> b = new ArrayList<>(Arrays.asList(random.nextGaussian(), random.nextGaussian(),
+                    random.nextGaussian()));
+            ScalarLinearFilter direct = new ScalarLinearFilter(a.size(), b.size(), a, b);
+            BiquadFilter biquad = BiquadFilter.fromLinear(a.size(), b.size(), a, b);
+            assertEquals(4, biquad.getSectionCount());
+            for (double value : randomValues(500)) {
+                double expected = direct.filterDouble(value);
+                assertEquals(expected, biquad.filterDouble(value), 1e-6 * Math.max(1.0, Math.abs(expected)));
+            }
+        }
+    }
+
+    /**
+     * Multiplies the polynomial in z^-1 of the specified coefficients by the polynomial of the specified factor.
+     *
+     * @param p - the coefficients of z^0, z^-1 and so on
+     * @param factor - the coefficients of the factor
+     * @return the coefficients of the product
+     */
+    private static ArrayList<Double> multiply(ArrayList<Double> p, double... factor) {
+        ArrayList<Double> product = new ArrayList<>();
+        for (int k = 0; k < p.size() + factor.length - 1; k++) {
+            product.add(0.0);
+        }
+        for (int j = 0; j < p.size(); j++) {
+            for (int k = 0; k < factor.length; k++) {
+                product.set(j + k, product.get(j + k) + p.get(j) * factor[k]);
+            }
+        }
+        return product;
+    }
+
+    /**
+     * Asserts that the BiquadFilter of the specified multipliers of even order has one section for every
+     * two poles and produces the values of a ScalarLinearFilter of the multipliers.
+     *
+     * @param a - the output multipliers
+     * @param b - the input multipliers
+     */
+    private static void assertFromLinear(Double[] a, Double[] b) throws Exception {
+        ScalarLinearFilter direct = new ScalarLinearFilter(a.length, b.length, new ArrayList<>(Arrays.asList(a)),
+                new ArrayList<>(Arrays.asList(b)));
+        BiquadFilter biquad = BiquadFilter.fromLinear(direct);
+        assertEquals((a.length - 1) / 2, biquad.getSectionCount());
+        for (double value : randomValues(500)) {
+            assertEquals(direct.filterDouble(value), biquad.filterDouble(value), 1e-11);
+        }
+    }
+
+    /**
+     * Method: fromLinear(int M, int N, List a, List b)
+     * Type: Data-flow, leading zero input multipliers delay the input
+     */
+    @Test
+    public void testFromLinearDelay() throws Exception {
+        ArrayList<Double> b = new ArrayList<>(Arrays.asList(0.0, 0.0, 2.0, 1.0));
+        BiquadFilter biquad = BiquadFilter.fromLinear(0, 4, new ArrayList<Double>(), b);
+        ScalarLinearFilter direct = new ScalarLinearFilter(0, 4, new ArrayList<Double>(), b);
+        for (double value : randomValues(50)) {
+            assertEquals(direct.filterDouble(value), biquad.filterDouble(value), 1e-12);
+        }
+    }
+
+    /**
+     * Method: filter(double[] values, int offset, double[] output, int outputOffset, int length)
+     * Type: Data-flow, a batch produces exactly the values of filtering each value on its own
+     */
+    @Test
+    public void testBatchEqualsSingle() throws Exception {
+        BiquadFilter batch = BiquadFilter.fromLinear(5, 5, Arrays.asList(BUTTERWORTH_A), Arrays.asList(BUTTERWORTH_B));
+        BiquadFilter single = BiquadFilter.fromLinear(5, 5, Arrays.asList(BUTTERWORTH_A),
+                Arrays.asList(BUTTERWORTH_B));
+        double[] values = randomValues(300);
+        double[] output = new double[300];
+        batch.filter(values, 0, output, 0, 100);
+        batch.filter(values, 100, output, 100, 200);
+        double[] expected = new double[300];
+        for (int j = 0; j < values.length; j++) {
+            expected[j] = single.filterDouble(values[j]);
+        }
+        assertArrayEquals(expected, output, 0.0);
+    }
+
+    /**
+     * Method: writeState(DataOutput out), readState(DataInput in), reset()
+     * Type: Data-flow, a restored filter continues exactly where the saved filter left off
+     */
+    @Test
+    public void testSnapshotAndReset() throws Exception {
+        BiquadFilter filter = BiquadFilter.fromLinear(5, 5, Arrays.asList(BUTTERWORTH_A),
+                Arrays.asList(BUTTERWORTH_B));
+        BiquadFilter restored = new BiquadFilter(toArray(filter));
+        for (double value : randomValues(20)) {
+            filter.filterDouble(value);
+        }
+        FilterSnapshot.restore(restored, FilterSnapshot.snapshot(filter));
+        assertEquals(filter.filterDouble(1.0), restored.filterDouble(1.0), 0.0);
+        filter.reset();
+        assertEquals(BUTTERWORTH_B[0], filter.filterDouble(1.0), 1e-12);
+    }
+
+    /**
+     * Method: BiquadFilter(double[] sections)
+     * Type: Bad Data, the length of the sections is not a multiple of five
+     */
+    @Test(expected = IncorrectSizeException.class)
+    public void testIncorrectSections() throws Exception {
+        new BiquadFilter(new double[6]);
+    }
+
+    /**
+     * Method: fromLinear(int M, int N, List a, List b)
+     * Type: Bad Data, a multiplier list is null
+     */
+    @Test(expected = NullValueException.class)
+    public void testNullMultipliers() throws Exception {
+        BiquadFilter.fromLinear(0, 1, null, Arrays.asList(1.0));
+    }
+
+    /**
+     * Gets the multipliers of every section of the specified filter as an array.
+     *
+     * @param filter - the filter whose sections to get
+     * @return the multipliers of every section
+     */
+    private static double[] toArray(BiquadFilter filter) {
+        return filter.getSections().stream().mapToDouble(Double::doubleValue).toArray();
+    }
+}
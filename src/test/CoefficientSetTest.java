@@ -0,0 +1,230 @@
+package test;
+
+import exception.EmptyListException;
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+import filter.CoefficientSet;
+import filter.FIRFilter;
+import filter.GainFilter;
+import filter.ScalarLinearFilter;
+import org.junit.Test;
+import org.junit.Before;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * A test class for the CoefficientSet class and the filters which share one.
+ *
+ * @author Shaun Howard
+ */
+public class CoefficientSetTest {
+
+    ArrayList<Double> aList;
+    ArrayList<Double> bList;
+    CoefficientSet set;
+
+    @Before
+    public void before() throws Exception {
+        aList = new ArrayList<>(Arrays.asList(1.0, -0.5, 0.25));
+        bList = new ArrayList<>(Arrays.asList(0.5, 0.3, 0.2, 0.1));
+        set = CoefficientSet.of(3, 4, aList, bList);
+    }
+
+    /**
+     * Method: of(int M, int N, List a, List b)
+     * Type: Data-flow, equal multipliers are interned to one set
+     */
+    @Test
+    public void testOfInterned() throws Exception {
+        CoefficientSet same = CoefficientSet.of(3, 4, Arrays.asList(1.0, -0.5, 0.25), Arrays.asList(0.5, 0.3, 0.2, 0.1));
+        CoefficientSet other = CoefficientSet.of(3, 4, aList, Arrays.asList(0.5, 0.3, 0.2, -0.1));
+        assertSame(set, same);
+        assertNotSame(set, other);
+        assertEquals(3, set.getM());
+        assertEquals(4, set.getN());
+        assertEquals(aList, set.getA());
+        assertEquals(bList, set.getB());
+    }
+
+    /**
+     * Method: of(int M, int N, List a, List b)
+     * Type: Data-flow, the set does not change with the list it was made from
+     */
+    @Test
+    public void testOfCopies() throws Exception {
+        bList.set(0, 9.0);
+        assertEquals(0.5, set.getB().get(0), 0.0);
+    }
+
+    /**
+     * Method: getB()
+     * Type: Bad data
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testGetBUnmodifiable() throws Exception {
+        set.getB().set(0, 9.0);
+    }
+
+    /**
+     * Method: of(int M, int N, List a, List b)
+     * Type: Bad data
+     */
+    @Test(expected = IncorrectSizeException.class)
+    public void testOfIncorrectSize() throws Exception {
+        CoefficientSet.of(3, 5, aList, bList);
+    }
+
+    /**
+     * Method: of(int M, int N, List a, List b)
+     * Type: Bad data
+     */
+    @Test(expected = EmptyListException.class)
+    public void testOfEmpty() throws Exception {
+        CoefficientSet.of(3, 0, aList, new ArrayList<Double>());
+    }
+
+    /**
+     * Method: of(int M, int N, List a, List b)
+     * Type: Bad data
+     */
+    @Test(expected = NullValueException.class)
+    public void testOfNullValue() throws Exception {
+        CoefficientSet.of(3, 4, aList, Arrays.asList(0.5, null, 0.2, 0.1));
+    }
+
+    /**
+     * Method: of(int M, int N, List a, List b)
+     * Type: Data-flow, an interned set which nothing refers to is collected and interned anew
+     */
+    @Test
+    public void testOfCollected() throws Exception {
+        WeakReference<CoefficientSet> interned = new WeakReference<>(
+                CoefficientSet.of(0, 3, Collections.<Double>emptyList(), Arrays.asList(0.7, -0.11, 0.013)));
+        for (int j = 0; j < 100 && interned.get() != null; j++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(interned.get());
+        List<Double> b = Arrays.asList(0.7, -0.11, 0.013);
+        CoefficientSet fresh = CoefficientSet.of(0, 3, Collections.<Double>emptyList(), b);
+        assertSame(fresh, CoefficientSet.of(0, 3, Collections.<Double>emptyList(), b));
+    }
+
+    /**
+     * Method: of(ScalarLinearFilter filter)
+     * Type: Data-flow, the set of a filter of lists and of a filter of the set
+     */
+    @Test
+    public void testOfFilter() throws Exception {
+        assertSame(set, CoefficientSet.of(new ScalarLinearFilter(3, 4, aList, bList)));
+        assertSame(set, CoefficientSet.of(new ScalarLinearFilter(set)));
+    }
+
+    /**
+     * Method: ScalarLinearFilter(CoefficientSet coefficients)
+     * Type: Data-flow, compared against a filter of the same lists through filtering and reset
+     */
+    @Test
+    public void testScalarLinearFilter() throws Exception {
+        ScalarLinearFilter shared = new ScalarLinearFilter(set);
+        ScalarLinearFilter owned = new ScalarLinearFilter(3, 4, aList, bList);
+        assertSame(set.getB(), shared.getB());
+        double[] values = {1.0, -2.0, 3.5, 0.25, 8.0, -1.0, 2.0};
+        for (double value : values) {
+            assertEquals(owned.filterDouble(value), shared.filterDouble(value), 0.0);
+        }
+        shared.reset(2.0);
+        owned.reset(2.0);
+        double[] sharedOutput = new double[values.length];
+        double[] ownedOutput = new double[values.length];
+        shared.filter(values, sharedOutput);
+        owned.filter(values, ownedOutput);
+        for (int j = 0; j < values.length; j++) {
+            assertEquals(ownedOutput[j], sharedOutput[j], 0.0);
+        }
+    }
+
+    /**
+     * Method: ScalarLinearFilter(CoefficientSet coefficients)
+     * Type: Data-flow, filters of one set keep their own history
+     */
+    @Test
+    public void testFiltersIndependent() throws Exception {
+        ScalarLinearFilter first = new ScalarLinearFilter(set);
+        ScalarLinearFilter second = new ScalarLinearFilter(set);
+        first.filterDouble(100.0);
+        assertEquals(0.5, second.filterDouble(1.0), 0.0);
+        assertEquals(1, second.getIteration());
+    }
+
+    /**
+     * Method: ScalarLinearFilter(CoefficientSet coefficients)
+     * Type: Bad data
+     */
+    @Test(expected = NullValueException.class)
+    public void testScalarLinearFilterNull() throws Exception {
+        new ScalarLinearFilter((CoefficientSet) null);
+    }
+
+    /**
+     * Method: FIRFilter(CoefficientSet coefficients)
+     * Type: Data-flow, compared against a FIRFilter of the same list in the batch filter operation
+     */
+    @Test
+    public void testFIRFilter() throws Exception {
+        FIRFilter shared = new FIRFilter(CoefficientSet.of(0, 4, Collections.<Double>emptyList(), bList));
+        FIRFilter owned = new FIRFilter(4, bList);
+        double[] values = new double[50];
+        for (int j = 0; j < values.length; j++) {
+            values[j] = Math.sin(j) * 10.0;
+        }
+        double[] sharedOutput = new double[values.length];
+        double[] ownedOutput = new double[values.length];
+        shared.filter(values, sharedOutput);
+        owned.filter(values, ownedOutput);
+        for (int j = 0; j < values.length; j++) {
+            assertEquals(ownedOutput[j], sharedOutput[j], 0.0);
+        }
+    }
+
+    /**
+     * Method: FIRFilter(CoefficientSet coefficients)
+     * Type: Bad data
+     */
+    @Test(expected = IncorrectSizeException.class)
+    public void testFIRFilterOutputMultipliers() throws Exception {
+        new FIRFilter(set);
+    }
+
+    /**
+     * Method: GainFilter(CoefficientSet coefficients)
+     * Type: Structured Basis, Good data
+     */
+    @Test
+    public void testGainFilter() throws Exception {
+        CoefficientSet gain = CoefficientSet.of(0, 1, Collections.<Double>emptyList(), Arrays.asList(2.5));
+        GainFilter first = new GainFilter(gain);
+        GainFilter second = new GainFilter(gain);
+        assertSame(first.getB(), second.getB());
+        assertEquals(5.0, first.filter(2.0), 0.0);
+        assertEquals(-2.5, second.filterDouble(-1.0), 0.0);
+    }
+
+    /**
+     * Method: GainFilter(CoefficientSet coefficients)
+     * Type: Bad data
+     */
+    @Test(expected = IncorrectSizeException.class)
+    public void testGainFilterSize() throws Exception {
+        new GainFilter(CoefficientSet.of(0, 4, Collections.<Double>emptyList(), bList));
+    }
+}
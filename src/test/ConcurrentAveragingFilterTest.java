@@ -0,0 +1,214 @@
+package test;
+
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+import filter.ConcurrentAveragingFilter;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A test class for the ConcurrentAveragingFilter class.
+ *
+ * @author Shaun Howard
+ */
+public class ConcurrentAveragingFilterTest {
+    ConcurrentAveragingFilter averagingFilter;
+
+    @Before
+    public void before() throws Exception {
+        averagingFilter = new ConcurrentAveragingFilter(4);
+    }
+
+    /**
+     * Method: filter(Double value)
+     * Type: Structured Basis, Good Data
+     */
+    @Test
+    public void testFilterGoodData() throws Exception {
+        assertEquals(0.0, averagingFilter.getBaseAverage(), 0.0);
+        assertEquals(4.0, averagingFilter.filter(4.0), 0.0);
+        assertEquals(3.0, averagingFilter.filter(2.0), 0.0);
+        assertEquals(4.0, averagingFilter.filterDouble(6.0), 0.0);
+        assertEquals(3, averagingFilter.getCount());
+    }
+
+    /**
+     * Method: filterDouble(double value)
+     * Type: Data-flow, several threads filter at once and the combined average includes every value
+     */
+    @Test
+    public void testFilterConcurrently() throws Exception {
+        int threads = 4;
+        int count = 25000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int first = t;
+                results.add(executor.submit(() -> {
+                    for (int j = first; j < count * threads; j += threads) {
+                        averagingFilter.filterDouble(j);
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(count * threads, averagingFilter.getCount());
+        assertEquals((count * threads - 1) / 2.0, averagingFilter.getBaseAverage(), 0.0);
+    }
+
+    /**
+     * Method: add(double value)
+     * Type: Data-flow, several threads add at once while another reads the average
+     */
+    @Test
+    public void testAddConcurrently() throws Exception {
+        int threads = 4;
+        int count = 25000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    for (int j = 0; j < count; j++) {
+                        averagingFilter.add(2.0);
+                    }
+                }));
+            }
+            Future<?> reader = executor.submit(() -> {
+                for (int j = 0; j < count; j++) {
+                    double average = averagingFilter.getBaseAverage();
+                    if (average != 0.0 && average != 2.0) {
+                        throw new AssertionError("Read an inconsistent average of " + average);
+                    }
+                }
+            });
+            for (Future<?> result : results) {
+                result.get();
+            }
+            reader.get();
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(count * threads, averagingFilter.getCount());
+        assertEquals(2.0, averagingFilter.getBaseAverage(), 0.0);
+    }
+
+    /**
+     * Method: filter(double[] values, int offset, double[] output, int outputOffset, int length)
+     * Type: Data-flow, the batch outputs equal the single value outputs
+     */
+    @Test
+    public void testFilterBatch() throws Exception {
+        ConcurrentAveragingFilter single = new ConcurrentAveragingFilter(4);
+        double[] values = {1.5, -2.25, 1e9, 3.0, -7.5, 0.125};
+        double[] output = new double[values.length];
+        averagingFilter.filterDouble(10.0);
+        single.filterDouble(10.0);
+        averagingFilter.filter(values, output);
+        for (int j = 0; j < values.length; j++) {
+            assertEquals(single.filterDouble(values[j]), output[j], 0.0);
+        }
+        assertEquals(single.getCount(), averagingFilter.getCount());
+    }
+
+    /**
+     * Method: filter(double[] values, int offset, double[] output, int outputOffset, int length)
+     * Type: Boundary, a slice longer than one block of the stripe lock equals the single value outputs
+     */
+    @Test
+    public void testFilterBatchBlocks() throws Exception {
+        ConcurrentAveragingFilter single = new ConcurrentAveragingFilter(4);
+        double[] values = new double[1000];
+        for (int j = 0; j < values.length; j++) {
+            values[j] = (j % 7) * 0.5 - j;
+        }
+        double[] output = new double[values.length];
+        averagingFilter.filter(values, output);
+        for (int j = 0; j < values.length; j++) {
+            assertEquals(single.filterDouble(values[j]), output[j], 0.0);
+        }
+        assertEquals(values.length, averagingFilter.getCount());
+    }
+
+    /**
+     * Method: add(double value), filter(double[] values, double[] output)
+     * Type: Data-flow, more threads than stripes add values and batches at once without losing any value
+     */
+    @Test
+    public void testAddContended() throws Exception {
+        ConcurrentAveragingFilter contended = new ConcurrentAveragingFilter(2);
+        int threads = 8;
+        int count = 10000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int batch = t % 2;
+                results.add(executor.submit(() -> {
+                    double[] values = new double[count];
+                    Arrays.fill(values, 3.0);
+                    if (batch == 0) {
+                        contended.filter(values, new double[count]);
+                    } else {
+                        for (double value : values) {
+                            contended.add(value);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(count * threads, contended.getCount());
+        assertEquals(3.0, contended.getBaseAverage(), 0.0);
+    }
+
+    /**
+     * Method: reset()
+     * Type: Structured Basis
+     */
+    @Test
+    public void testReset() throws Exception {
+        averagingFilter.filter(4.0);
+        averagingFilter.reset();
+        assertEquals(0, averagingFilter.getCount());
+        assertEquals(0.0, averagingFilter.getBaseAverage(), 0.0);
+        assertEquals(2.0, averagingFilter.filter(2.0), 0.0);
+    }
+
+    /**
+     * Method: ConcurrentAveragingFilter(int stripes)
+     * Type: Bad data
+     */
+    @Test(expected = IncorrectSizeException.class)
+    public void testConstructorBadStripes() throws Exception {
+        new ConcurrentAveragingFilter(0);
+    }
+
+    /**
+     * Method: filter(Double value)
+     * Type: Bad data
+     */
+    @Test(expected = NullValueException.class)
+    public void testFilterNull() throws Exception {
+        averagingFilter.filter(null);
+    }
+}
@@ -0,0 +1,92 @@
+package test;
+
+import exception.NullValueException;
+import filter.ConcurrentMinFilter;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for the ConcurrentMinFilter class.
+ *
+ * @author Shaun Howard
+ */
+public class ConcurrentMinFilterTest {
+    ConcurrentMinFilter<Double, Double> minFilter;
+
+    @Before
+    public void before() throws Exception {
+        minFilter = new ConcurrentMinFilter<>();
+    }
+
+    /**
+     * Method: filter(Double value)
+     * Type: Structured Basis, Good Data
+     */
+    @Test
+    public void testFilterGoodData() throws Exception {
+        assertEquals(300.0, minFilter.filter(300.0), 0.0);
+        assertEquals(300.0, minFilter.filter(2342342.213), 0.0);
+        assertEquals(-123210.000001232123, minFilter.filter(-123210.000001232123), 0.0);
+        assertEquals(-123210.000001232123, minFilter.getMin(), 0.0);
+    }
+
+    /**
+     * Method: filter(Double value)
+     * Type: Data-flow, several threads filter at once and each output is at most its own input
+     */
+    @Test
+    public void testFilterConcurrently() throws Exception {
+        int threads = 4;
+        int count = 20000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int first = t;
+                results.add(executor.submit(() -> {
+                    boolean valid = true;
+                    for (int j = first; j < count * threads; j += threads) {
+                        valid &= minFilter.filter((double) -j) <= -j;
+                    }
+                    return valid;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1 - count * threads, minFilter.getMin(), 0.0);
+    }
+
+    /**
+     * Method: reset(Double value)
+     * Type: Structured Basis
+     */
+    @Test
+    public void testReset() throws Exception {
+        minFilter.filter(-10.0);
+        minFilter.reset(5.0);
+        assertEquals(5.0, minFilter.getMin(), 0.0);
+        assertEquals(1.0, minFilter.filter(1.0), 0.0);
+    }
+
+    /**
+     * Method: filter(Double value)
+     * Type: Bad data
+     */
+    @Test(expected = NullValueException.class)
+    public void testFilterNull() throws Exception {
+        minFilter.filter(null);
+    }
+}
@@ -0,0 +1,96 @@
+package test;
+
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+import filter.DoubleMaxFilterN;
+import filter.MaxFilterN;
+import org.junit.Test;
+import org.junit.Before;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A test class for the DoubleMaxFilterN class.
+ * The numbers chosen to filter demonstrate the
+ * class' support for signed and unsigned small, normal, and large-sized numbers but are
+ * arbitrarily chosen and do not precisely represent any cases that have issues.
+ *
+ * @author Shaun Howard
+ */
+public class DoubleMaxFilterNTest {
+
+    DoubleMaxFilterN maxFilterNomimal, maxFilterAtBoundary;
+    static final int BOUND = 0;
+    static final int NOM_SIZE = 5;
+
+    @Before
+    public void before() throws Exception {
+        maxFilterNomimal = new DoubleMaxFilterN(NOM_SIZE);
+        maxFilterAtBoundary = new DoubleMaxFilterN(BOUND);
+    }
+
+    /**
+     * Method: filterDouble(double value)
+     * Type: Good data
+     */
+    @Test
+    public void testFilterDoubleGoodData() throws Exception {
+        assertEquals(300.0, maxFilterNomimal.filterDouble(300.0), 0.01);
+        assertEquals(300.0, maxFilterNomimal.filterDouble(300.0), 0.01);
+        assertEquals(123123412312.012312312312, maxFilterNomimal.filterDouble(123123412312.012312312312), 0.01);
+        assertEquals(123123412312.012312312312, maxFilterNomimal.filter(0.234234234656450), 0.01);
+        assertEquals(123123412312.012312312312, maxFilterNomimal.filterDouble(-3245645600.4787560), 0.01);
+        assertEquals(123123412312.012312312312, maxFilterNomimal.filterDouble(-1.0), 0.01);
+        assertEquals(123123412312.012312312312, maxFilterNomimal.filterDouble(-2.0), 0.01);
+        assertEquals(0.234234234656450, maxFilterNomimal.filterDouble(-3.0), 0.01);
+    }
+
+    /**
+     * Method: filter(Double value)
+     * Type: Bad data
+     */
+    @Test(expected = NullValueException.class)
+    public void testFilterBadData() throws Exception {
+        maxFilterNomimal.filter(null);
+    }
+
+    /**
+     * Method: filterDouble(double value)
+     * Type: At boundary
+     */
+    @Test(expected = IncorrectSizeException.class)
+    public void testFilterAtBoundary() throws Exception {
+        maxFilterAtBoundary.filterDouble(1.0);
+    }
+
+    /**
+     * Method: filterDouble(double value)
+     * Type: Stress, compared against the generic MaxFilterN
+     */
+    @Test
+    public void testFilterMatchesMaxFilterN() throws Exception {
+        MaxFilterN<Double, Double> generic = new MaxFilterN<>(37);
+        DoubleMaxFilterN primitive = new DoubleMaxFilterN(37);
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            double value = random.nextInt(1000) - 500.0;
+            assertEquals(generic.filter(value), primitive.filterDouble(value), 0.0);
+        }
+    }
+
+    /**
+     * Method: reset(Double value)
+     * Type: Structured basis
+     */
+    @Test
+    public void testReset() throws Exception {
+        maxFilterNomimal.filterDouble(23423423.5423);
+        maxFilterNomimal.reset(0.0);
+        assertEquals(0.0, maxFilterNomimal.getMax(), 0.01);
+        assertEquals(1.0, maxFilterNomimal.filterDouble(1.0), 0.01);
+        maxFilterNomimal.reset();
+        assertEquals(-1.0, maxFilterNomimal.filterDouble(-1.0), 0.01);
+    }
+}
@@ -0,0 +1,98 @@
+package test;
+
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+import filter.DoubleMinFilterN;
+import filter.MinFilterN;
+import org.junit.Test;
+import org.junit.Before;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A test class for the DoubleMinFilterN class.
+ * The numbers chosen to filter demonstrate the
+ * class' support for signed and unsigned small, normal, and large-sized numbers but are
+ * arbitrarily chosen and do not precisely represent any cases that have issues.
+ *
+ * @author Shaun Howard
+ */
+public class DoubleMinFilterNTest {
+
+    DoubleMinFilterN minFilterNomimal, minFilterAtBoundary;
+    static final int BOUND = 0;
+    static final int NOM_SIZE = 5;
+
+    @Before
+    public void before() throws Exception {
+        minFilterNomimal = new DoubleMinFilterN(NOM_SIZE);
+        minFilterAtBoundary = new DoubleMinFilterN(BOUND);
+    }
+
+    /**
+     * Method: filterDouble(double value)
+     * Type: Good data
+     */
+    @Test
+    public void testFilterDoubleGoodData() throws Exception {
+        assertEquals(300.0, minFilterNomimal.filterDouble(300.0), 0.01);
+        assertEquals(300.0, minFilterNomimal.filterDouble(300.0), 0.01);
+        assertEquals(300.0, minFilterNomimal.filterDouble(123123412312.012312312312), 0.01);
+        assertEquals(0.234234234656450, minFilterNomimal.filter(0.234234234656450), 0.01);
+        assertEquals(-3245645600.4787560, minFilterNomimal.filterDouble(-3245645600.4787560), 0.01);
+        assertEquals(-3245645600.4787560, minFilterNomimal.filterDouble(1.0), 0.01);
+        assertEquals(-3245645600.4787560, minFilterNomimal.filterDouble(2.0), 0.01);
+        assertEquals(-3245645600.4787560, minFilterNomimal.filterDouble(3.0), 0.01);
+        assertEquals(-3245645600.4787560, minFilterNomimal.filterDouble(4.0), 0.01);
+        assertEquals(1.0, minFilterNomimal.filterDouble(5.0), 0.01);
+    }
+
+    /**
+     * Method: filter(Double value)
+     * Type: Bad data
+     */
+    @Test(expected = NullValueException.class)
+    public void testFilterBadData() throws Exception {
+        minFilterNomimal.filter(null);
+    }
+
+    /**
+     * Method: filterDouble(double value)
+     * Type: At boundary
+     */
+    @Test(expected = IncorrectSizeException.class)
+    public void testFilterAtBoundary() throws Exception {
+        minFilterAtBoundary.filterDouble(1.0);
+    }
+
+    /**
+     * Method: filterDouble(double value)
+     * Type: Stress, compared against the generic MinFilterN
+     */
+    @Test
+    public void testFilterMatchesMinFilterN() throws Exception {
+        MinFilterN<Double, Double> generic = new MinFilterN<>(37);
+        DoubleMinFilterN primitive = new DoubleMinFilterN(37);
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            double value = random.nextInt(1000) - 500.0;
+            assertEquals(generic.filter(value), primitive.filterDouble(value), 0.0);
+        }
+    }
+
+    /**
+     * Method: reset(Double value)
+     * Type: Structured basis
+     */
+    @Test
+    public void testReset() throws Exception {
+        minFilterNomimal.filterDouble(23423423.5423);
+        minFilterNomimal.reset(0.0);
+        assertEquals(0.0, minFilterNomimal.getMin(), 0.01);
+        assertEquals(0.0, minFilterNomimal.filterDouble(1.0), 0.01);
+        minFilterNomimal.reset();
+        assertEquals(-1.0, minFilterNomimal.filterDouble(-1.0), 0.01);
+    }
+}
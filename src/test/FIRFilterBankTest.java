@@ -0,0 +1,53 @@
+package test;
+
+import exception.EmptyListException;
+import filter.FIRFilter;
+import filter.FIRFilterBank;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A test class for the FIRFilterBank class.
+ *
+ * @author Shaun Howard
+ */
+public class FIRFilterBankTest {
+
+    /**
+     * Method: filterInterleaved(double[] values, int offset, double[] output, int outputOffset, int frames)
+     * Type: Data-flow, compared against FIRFilter
+     */
+    @Test
+    public void testFilterInterleaved() throws Exception {
+        ArrayList<Double> b = new ArrayList<>(Arrays.asList(0.25, 0.5, 0.25, -1.0e-3, 7.0));
+        int channels = 9;
+        int frames = 30;
+        FIRFilterBank bank = new FIRFilterBank(channels, 5, b);
+        FIRFilter[] filters = new FIRFilter[channels];
+        for (int c = 0; c < channels; c++) {
+            filters[c] = new FIRFilter(5, b);
+        }
+        double[] values = new double[channels * frames];
+        for (int j = 0; j < values.length; j++) {
+            values[j] = (j * 7919 % 101) - 50.25;
+        }
+        double[] output = new double[values.length];
+        bank.filterInterleaved(values, 0, output, 0, frames);
+        for (int j = 0; j < values.length; j++) {
+            assertEquals(filters[j % channels].filter(values[j]), output[j], 0.0);
+        }
+    }
+
+    /**
+     * Method: FIRFilterBank(int channels, int N, List b)
+     * Type: Bad data
+     */
+    @Test(expected = EmptyListException.class)
+    public void testConstructorEmptyMultipliers() throws Exception {
+        new FIRFilterBank(3, 0, new ArrayList<Double>());
+    }
+}
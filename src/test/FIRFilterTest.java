@@ -1,12 +1,17 @@
 package test;
 
+import exception.NullValueException;
+import filter.ConvolutionMode;
 import filter.FIRFilter;
 import org.junit.Test;
 import org.junit.Before;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /** 
 * A test class for the FIRFilter class.
@@ -44,4 +49,208 @@ public class FIRFilterTest {
         assertEquals(9.8633514597559654E17, firFilter.filter(45.3), 0.01);
         assertEquals(2.886765391313484E27, firFilter.filter(-483829295.23445234), 0.01);
     }
-} 
+
+    /**
+     * Method: filter(double[] values, double[] output)
+     * Type: Data-flow, filtered in place
+     */
+    @Test
+    public void testFilterBatch() throws Exception {
+        double[] values = {45.3, 346.664, .0000000234234, 1232421342352452., 45.3, -483829295.23445234};
+        firFilter.filter(values, values);
+        assertEquals(203.85, values[0], 0.01);
+        assertEquals(37814.6199, values[1], 0.01);
+        assertEquals(1.0610857510696169E14, values[2], 0.01);
+        assertEquals(6.357905377996635E15, values[3], 0.01);
+        assertEquals(9.8633514597559654E17, values[4], 0.01);
+        assertEquals(2.886765391313484E27, values[5], 0.01);
+    }
+
+
+    /**
+     * Method: filter(double[] values, int offset, double[] output, int outputOffset, int length)
+     * Type: Stress, compared against filterDouble(double in)
+     */
+    @Test
+    public void testFilterBatchLongKernel() throws Exception {
+        ArrayList<Double> taps = new ArrayList<>();
+        for (int n = 0; n < 257; n++) {
+            taps.add(Math.cos(n * 0.05) / (n + 1));
+        }
+        FIRFilter batch = new FIRFilter(taps.size(), taps);
+        FIRFilter single = new FIRFilter(taps.size(), taps);
+        double[] values = new double[5000];
+        for (int j = 0; j < values.length; j++) {
+            values[j] = Math.sin(j * 0.013) * 1000.0 + (j % 17) - 8.0;
+        }
+        double[] output = new double[values.length];
+        int[] lengths = {1, 100, 300, 1024, 2500, 1075};
+        int offset = 0;
+        for (int length : lengths) {
+            batch.filter(values, offset, output, offset, length);
+            offset += length;
+        }
+        for (int j = 0; j < values.length; j++) {
+            assertEquals(single.filterDouble(values[j]), output[j], 0.0);
+        }
+
+        batch.reset(3.0);
+        single.reset(3.0);
+        batch.filter(values, values);
+        for (int j = 0; j < output.length; j++) {
+            output[j] = Math.sin(j * 0.013) * 1000.0 + (j % 17) - 8.0;
+            assertEquals(single.filterDouble(output[j]), values[j], 0.0);
+        }
+    }
+
+
+    /**
+     * Method: filter(double[] values, double[] output)
+     * Type: Stress, FFT convolution compared against the direct sums within the documented tolerance
+     */
+    @Test
+    public void testFilterBatchFFT() throws Exception {
+        ArrayList<Double> taps = new ArrayList<>();
+        double magnitude = 0;
+        for (int n = 0; n < 4096; n++) {
+            taps.add(Math.sin(n * 0.7) / (n + 1));
+            magnitude += Math.abs(taps.get(n));
+        }
+        FIRFilter direct = new FIRFilter(taps.size(), taps);
+        FIRFilter spectral = new FIRFilter(taps.size(), taps);
+        spectral.setConvolutionMode(ConvolutionMode.FFT);
+        assertEquals(ConvolutionMode.DIRECT, direct.getConvolutionMode());
+        double[] values = new double[40000];
+        for (int j = 0; j < values.length; j++) {
+            values[j] = Math.cos(j * 0.011) * 500.0 - (j % 13);
+        }
+        double[] expected = new double[values.length];
+        double[] output = new double[values.length];
+        direct.filter(values, expected);
+        spectral.filter(values, 0, output, 0, 10000);
+        spectral.filter(values, 10000, output, 10000, 30000);
+        for (int j = 0; j < values.length; j++) {
+            assertEquals(expected[j], output[j], 1e-12 * magnitude * 512.0);
+        }
+    }
+
+    /**
+     * Method: setConvolutionMode(ConvolutionMode mode)
+     * Type: Data-flow, multipliers changed before a reset take effect in the FFT convolution
+     */
+    @Test
+    public void testConvolutionModeReset() throws Exception {
+        ArrayList<Double> taps = new ArrayList<>();
+        for (int n = 0; n < 300; n++) {
+            taps.add(1.0 / 300);
+        }
+        FIRFilter spectral = new FIRFilter(taps.size(), taps);
+        spectral.setConvolutionMode(ConvolutionMode.AUTO);
+        double[] values = new double[20000];
+        Arrays.fill(values, 2.0);
+        double[] output = new double[values.length];
+        spectral.filter(values, output);
+        assertEquals(2.0, output[values.length - 1], 1e-12);
+        for (int n = 0; n < taps.size(); n++) {
+            taps.set(n, 3.0 / 300);
+        }
+        spectral.reset();
+        spectral.filter(values, output);
+        assertEquals(6.0, output[values.length - 1], 1e-12);
+    }
+
+    /**
+     * Method: setConvolutionMode(ConvolutionMode mode)
+     * Type: Bad data
+     */
+    @Test(expected = NullValueException.class)
+    public void testSetConvolutionModeBadData() throws Exception {
+        firFilter.setConvolutionMode(null);
+    }
+
+    /**
+     * Method: isSparse()
+     * Type: Structured Basis, a comb is sparse and a dense list is not
+     */
+    @Test
+    public void testIsSparse() throws Exception {
+        assertTrue(new FIRFilter(64, comb(64, 16)).isSparse());
+        assertFalse(new FIRFilter(64, comb(64, 2)).isSparse());
+        assertFalse(firFilter.isSparse());
+    }
+
+    /**
+     * Method: filterDouble(double in)
+     * Type: Data-flow, a sparse comb compared against the direct sum of every multiplier
+     */
+    @Test
+    public void testFilterSparse() throws Exception {
+        ArrayList<Double> taps = comb(40, 8);
+        FIRFilter sparse = new FIRFilter(taps.size(), taps);
+        double[] values = new double[100];
+        for (int j = 0; j < values.length; j++) {
+            values[j] = Math.sin(j) * 100.0 + j;
+        }
+        for (int j = 0; j < values.length; j++) {
+            double expected = 0;
+            for (int n = 0; n < taps.size() && n <= j; n++) {
+                expected += taps.get(n) * values[j - n];
+            }
+            assertEquals(expected, sparse.filterDouble(values[j]), 0.0);
+        }
+    }
+
+    /**
+     * Method: filter(double[] values, double[] output)
+     * Type: Data-flow, a sparse delay line over several blocks compared against filterDouble(double in)
+     */
+    @Test
+    public void testFilterBatchSparse() throws Exception {
+        ArrayList<Double> taps = comb(600, 100);
+        taps.set(599, -0.25);
+        FIRFilter batch = new FIRFilter(taps.size(), taps);
+        FIRFilter single = new FIRFilter(taps.size(), new ArrayList<>(taps));
+        double[] values = new double[5000];
+        for (int j = 0; j < values.length; j++) {
+            values[j] = Math.cos(j * 0.1) * 3.0 - j;
+        }
+        double[] output = new double[values.length];
+        batch.filter(values, 0, output, 0, 1234);
+        batch.filter(values, 1234, output, 1234, values.length - 1234);
+        for (int j = 0; j < values.length; j++) {
+            assertEquals(single.filterDouble(values[j]), output[j], 0.0);
+        }
+    }
+
+    /**
+     * Creates a list of multipliers which is zero except at every specified number of delays.
+     *
+     * @param taps - the number of multipliers
+     * @param every - the number of delays between non-zero multipliers
+     * @return the list of multipliers
+     */
+    private static ArrayList<Double> comb(int taps, int every) {
+        ArrayList<Double> list = new ArrayList<>();
+        for (int n = 0; n < taps; n++) {
+            list.add(n % every == 0 ? 1.0 / (n + 2) : 0.0);
+        }
+        return list;
+    }
+
+    /**
+     * Method: getKernelName()
+     * Type: Structured Basis, the vector kernel is in use exactly when it is expected, as set by the build, or
+     * otherwise when the jdk.incubator.vector module and the compiled VectorFIRKernel are both available
+     */
+    @Test
+    public void testKernelInUse() throws Exception {
+        String expected = System.getProperty("filter.expectedKernel");
+        if (expected == null) {
+            boolean vector = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+                    && Boolean.parseBoolean(System.getProperty("filter.vectorKernel", "true"))
+                    && FIRFilter.class.getClassLoader().getResource("filter/VectorFIRKernel.class") != null;
+            expected = vector ? "vector" : "scalar";
+        }
+        assertTrue(FIRFilter.getKernelName(), FIRFilter.getKernelName().startsWith(expected));
+    }
+}
@@ -0,0 +1,122 @@
+package test;
+
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+import exception.UncheckedFilterException;
+import filter.AveragingFilter;
+import filter.DoubleMaxFilterN;
+import filter.Filter;
+import filter.FilterAdapters;
+import filter.FilterCascade;
+import filter.GainFilter;
+import filter.MaxFilter;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * A test class for the FilterAdapters class.
+ *
+ * @author Shaun Howard
+ */
+public class FilterAdaptersTest {
+
+    /**
+     * Method: asOperator(ScalarFilter filter)
+     * Type: Structured Basis, Good data
+     */
+    @Test
+    public void testAsOperator() throws Exception {
+        DoubleUnaryOperator operator = FilterAdapters.asOperator(new AveragingFilter());
+        assertEquals(4.0, operator.applyAsDouble(4.0), 0.0);
+        assertEquals(3.0, operator.applyAsDouble(2.0), 0.0);
+        DoubleUnaryOperator gain = FilterAdapters.asOperator(new GainFilter(2.0)).andThen(operator);
+        assertEquals(16.0 / 3.0, gain.applyAsDouble(5.0), 0.0);
+    }
+
+    /**
+     * Method: asOperator(Filter filter)
+     * Type: Data-flow, a FilterCascade adapted to an operator
+     */
+    @Test
+    public void testAsOperatorCascade() throws Exception {
+        List<Filter<Double, Double>> filters = new ArrayList<>();
+        filters.add(new GainFilter(3.0));
+        filters.add(new MaxFilter<Double, Double>());
+        DoubleUnaryOperator operator = FilterAdapters.asOperator(new FilterCascade<Double, Double>(filters));
+        assertEquals(6.0, operator.applyAsDouble(2.0), 0.0);
+        assertEquals(6.0, operator.applyAsDouble(1.0), 0.0);
+        assertEquals(9.0, operator.applyAsDouble(3.0), 0.0);
+    }
+
+    /**
+     * Method: filter(DoubleStream stream, ScalarFilter filter)
+     * Type: Data-flow, a parallel stream is filtered sequentially in encounter order
+     */
+    @Test
+    public void testFilterDoubleStream() throws Exception {
+        double[] values = DoubleStream.iterate(0.0, v -> v + 1.0).limit(1000).toArray();
+        double[] averages = FilterAdapters.filter(DoubleStream.of(values).parallel(), new AveragingFilter()).toArray();
+        for (int j = 0; j < values.length; j++) {
+            assertEquals(j / 2.0, averages[j], 1e-9);
+        }
+    }
+
+    /**
+     * Method: filter(Stream stream, Filter filter)
+     * Type: Structured Basis, Good data
+     */
+    @Test
+    public void testFilterStream() throws Exception {
+        List<Double> maxima = FilterAdapters.filter(Stream.of(1.0, 5.0, 2.0, 7.0), new MaxFilter<Double, Double>())
+                .collect(Collectors.toList());
+        assertArrayEquals(new Double[]{1.0, 5.0, 5.0, 7.0}, maxima.toArray(new Double[0]));
+    }
+
+    /**
+     * Method: asFunction(Filter filter)
+     * Type: Bad data, the checked exception is the cause of the unchecked exception
+     */
+    @Test
+    public void testAsFunctionBadData() throws Exception {
+        try {
+            FilterAdapters.asFunction(new MaxFilter<Double, Double>()).apply(null);
+            fail("A null value must not be filtered.");
+        } catch (UncheckedFilterException e) {
+            assertTrue(e.getCause() instanceof NullValueException);
+        }
+    }
+
+    /**
+     * Method: asOperator(ScalarFilter filter)
+     * Type: Bad data, the checked exception is the cause of the unchecked exception
+     */
+    @Test
+    public void testAsOperatorBadSize() throws Exception {
+        try {
+            FilterAdapters.asOperator(new DoubleMaxFilterN(0)).applyAsDouble(1.0);
+            fail("A filter of size zero must not filter.");
+        } catch (UncheckedFilterException e) {
+            assertTrue(e.getCause() instanceof IncorrectSizeException);
+        }
+    }
+
+    /**
+     * Method: asOperator(ScalarFilter filter)
+     * Type: Bad data
+     */
+    @Test(expected = NullValueException.class)
+    public void testAsOperatorNullFilter() throws Exception {
+        FilterAdapters.asOperator((GainFilter) null);
+    }
+}
@@ -59,4 +59,34 @@ public class FilterCascadeTest {
     public void testBadFilter() throws Exception {
         assertEquals(null, badFCascade.filter(23423425));
     }
-} 
+
+    /**
+     * Method: FilterCascadeBuilder.build()
+     * Type: Structured Basis
+     */
+    @Test
+    public void testBuilder() throws Exception {
+        FilterCascade<Double, Double> built = FilterCascadeBuilder.startWith(new AveragingFilter())
+                .then(new FIRFilter(2, firValues))
+                .then(new MaxFilter<Double, Double>())
+                .build();
+        assertEquals(5.493416389280824E13, built.filter(2345256.23423423), 0);
+    }
+
+    /**
+     * Method: FilterCascadeBuilder.then(Filter next)
+     * Type: Data-flow, branches of one builder hold only their own stages
+     */
+    @Test
+    public void testBuilderBranch() throws Exception {
+        FilterCascadeBuilder<Double, Double> start = FilterCascadeBuilder.startWith(new GainFilter(2.0));
+        FilterCascadeBuilder<Double, Double> tripled = start.then(new GainFilter(3.0));
+        FilterCascadeBuilder<Double, Double> quintupled = start.then(new GainFilter(5.0));
+        assertEquals(1, start.size());
+        assertEquals(2, tripled.size());
+        assertEquals(2, quintupled.size());
+        assertEquals(2.0, start.build().filter(1.0), 0);
+        assertEquals(6.0, tripled.build().filter(1.0), 0);
+        assertEquals(10.0, quintupled.build().filter(1.0), 0);
+    }
+}
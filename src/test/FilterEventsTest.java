@@ -0,0 +1,152 @@
+package test;
+
+import exception.NullValueException;
+import filter.AveragingFilterN;
+import filter.Filter;
+import filter.FilterCascade;
+import filter.GainFilter;
+import filter.MaxFilterN;
+import filter.ScalarFilter;
+import filter.ScalarFilterCascade;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * A test class for the flight recorder events emitted by the filters.
+ *
+ * @author Shaun Howard
+ */
+public class FilterEventsTest {
+
+    /**
+     * Records the filter events emitted while the specified action runs, with every filter event
+     * enabled and no threshold.
+     *
+     * @param action - the action that emits the events
+     * @return the filter events recorded
+     */
+    private static List<RecordedEvent> record(Action action) throws Exception {
+        Path file = Files.createTempFile("filter", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : Arrays.asList("filter.Construction", "filter.Reset", "filter.Batch", "filter.Stage",
+                    "filter.Rejection")) {
+                recording.enable(name).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().startsWith("filter."))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Counts the recorded events of the specified name.
+     *
+     * @param events - the events recorded
+     * @param name - the name of the events to count
+     * @return the number of events of the name
+     */
+    private static long count(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).count();
+    }
+
+    /**
+     * An action which emits filter events.
+     */
+    private interface Action {
+        void run() throws Exception;
+    }
+
+    /**
+     * Method: AveragingFilterN(int n), reset(), filter(double[] values, double[] output)
+     * Type: Data-flow, construction, reset and batch events are recorded with their filter class
+     */
+    @Test
+    public void testConstructionResetAndBatch() throws Exception {
+        List<RecordedEvent> events = record(() -> {
+            AveragingFilterN filter = new AveragingFilterN(4);
+            filter.filter(new double[8], new double[8]);
+            filter.reset();
+        });
+        RecordedEvent construction = events.stream()
+                .filter(event -> event.getEventType().getName().equals("filter.Construction")).findFirst().get();
+        assertEquals(AveragingFilterN.class.getName(), construction.getClass("filterClass").getName());
+        assertEquals(4, construction.getLong("size"));
+        RecordedEvent batch = events.stream()
+                .filter(event -> event.getEventType().getName().equals("filter.Batch")).findFirst().get();
+        assertEquals(8, batch.getLong("values"));
+        assertEquals(1, count(events, "filter.Reset"));
+    }
+
+    /**
+     * Method: filter(double[] values, int offset, double[] output, int outputOffset, int length)
+     * Type: Data-flow, a scalar cascade records one stage event for each stage of a batch
+     */
+    @Test
+    public void testScalarCascadeStages() throws Exception {
+        List<ScalarFilter> filters = Arrays.asList(new GainFilter(2.0), new AveragingFilterN(2));
+        ScalarFilterCascade cascade = new ScalarFilterCascade(filters);
+        List<RecordedEvent> events = record(() -> cascade.filter(new double[16], new double[16]));
+        List<RecordedEvent> stages = events.stream()
+                .filter(event -> event.getEventType().getName().equals("filter.Stage"))
+                .collect(Collectors.toList());
+        assertEquals(2, stages.size());
+        assertEquals(0, stages.get(0).getInt("stage"));
+        assertEquals(AveragingFilterN.class.getName(), stages.get(1).getClass("filterClass").getName());
+        assertEquals(16, stages.get(1).getLong("values"));
+    }
+
+    /**
+     * Method: filter(A value)
+     * Type: Data-flow, a cascade records one stage event for each filter of a value
+     */
+    @Test
+    public void testCascadeStages() throws Exception {
+        List<Filter<Integer, Integer>> filters = new ArrayList<>();
+        filters.add(new MaxFilterN<Integer, Integer>(2));
+        filters.add(new MaxFilterN<Integer, Integer>(3));
+        FilterCascade<Integer, Integer> cascade = new FilterCascade<>(filters);
+        List<RecordedEvent> events = record(() -> assertEquals(Integer.valueOf(5), cascade.filter(5)));
+        assertEquals(2, count(events, "filter.Stage"));
+    }
+
+    /**
+     * Method: filter(A value)
+     * Type: Bad Data, a rejected value records a rejection event with the exception class
+     */
+    @Test
+    public void testRejection() throws Exception {
+        MaxFilterN<Integer, Integer> filter = new MaxFilterN<>(2);
+        List<RecordedEvent> events = record(() -> {
+            try {
+                filter.filter((Integer) null);
+                fail();
+            } catch (NullValueException e) {
+                // expected
+            }
+        });
+        RecordedEvent rejection = events.stream()
+                .filter(event -> event.getEventType().getName().equals("filter.Rejection")).findFirst().get();
+        assertEquals(NullValueException.class.getName(), rejection.getClass("exceptionClass").getName());
+        assertTrue(rejection.getString("message").length() > 0);
+    }
+}
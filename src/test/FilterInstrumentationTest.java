@@ -0,0 +1,91 @@
+package test;
+
+import filter.AveragingFilterN;
+import filter.Filter;
+import filter.FilterCascade;
+import filter.FilterInstrumentation;
+import filter.FilterMetrics;
+import filter.GainFilter;
+import filter.MaxFilterN;
+import filter.ScalarFilter;
+import filter.ScalarFilterCascade;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for the FilterInstrumentation class.
+ *
+ * @author Shaun Howard
+ */
+public class FilterInstrumentationTest {
+
+    /**
+     * Method: instrumentStages(FilterCascade cascade, String name)
+     * Type: Data-flow, every stage records its own samples
+     */
+    @Test
+    public void testInstrumentCascadeStages() throws Exception {
+        List<Filter<Integer, Integer>> filters = new ArrayList<>();
+        filters.add(new MaxFilterN<Integer, Integer>(2));
+        filters.add(new MaxFilterN<Integer, Integer>(3));
+        FilterCascade<Integer, Integer> cascade =
+                FilterInstrumentation.instrumentStages(new FilterCascade<>(filters), "cascade");
+        assertEquals(Integer.valueOf(3), cascade.filter(3));
+        assertEquals(Integer.valueOf(3), cascade.filter(1));
+        List<FilterMetrics> metrics = FilterInstrumentation.getStageMetrics(cascade);
+        assertEquals(2, metrics.size());
+        assertEquals("cascade.stage0", metrics.get(0).getName());
+        assertEquals("cascade.stage1", metrics.get(1).getName());
+        assertEquals(2, metrics.get(0).getSampleCount());
+        assertEquals(2, metrics.get(1).getSampleCount());
+    }
+
+    /**
+     * Method: instrumentStages(ScalarFilterCascade cascade, String name)
+     * Type: Data-flow, the instrumented cascade filters exactly as the cascade it was built from
+     */
+    @Test
+    public void testInstrumentScalarCascadeStages() throws Exception {
+        List<ScalarFilter> filters = Arrays.asList(new GainFilter(2.0), new AveragingFilterN(2));
+        ScalarFilterCascade cascade =
+                FilterInstrumentation.instrumentStages(new ScalarFilterCascade(filters), "scalar");
+        double[] output = new double[3];
+        cascade.filter(new double[]{1.0, 3.0, 5.0}, output);
+        assertEquals(8.0, output[2], 0.0);
+        List<FilterMetrics> metrics = FilterInstrumentation.getStageMetrics(cascade);
+        assertEquals(2, metrics.size());
+        assertEquals(3, metrics.get(1).getSampleCount());
+    }
+
+    /**
+     * Method: register(FilterMetrics metrics), unregister(String name)
+     * Type: Data-flow, the metrics are read and disabled through the platform MBeanServer
+     */
+    @Test
+    public void testRegister() throws Exception {
+        FilterMetrics metrics = FilterInstrumentation.instrument(new AveragingFilterN(2), "jmx test").getMetrics();
+        metrics.recordSamples(100, 4);
+        ObjectName name = FilterInstrumentation.register(metrics);
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            assertEquals(4L, server.getAttribute(name, "SampleCount"));
+            assertEquals("jmx test", server.getAttribute(name, "Name"));
+            server.setAttribute(name, new Attribute("Enabled", false));
+            assertFalse(metrics.isEnabled());
+        } finally {
+            assertTrue(FilterInstrumentation.unregister("jmx test"));
+        }
+        assertFalse(FilterInstrumentation.unregister("jmx test"));
+    }
+}
@@ -0,0 +1,220 @@
+package test;
+
+import exception.NullValueException;
+import filter.AveragingFilter;
+import filter.FilterProcessor;
+import filter.MaxFilter;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for the FilterProcessor class.
+ *
+ * @author Shaun Howard
+ */
+public class FilterProcessorTest {
+
+    /**
+     * A publisher which publishes the values 1, 2,..., count synchronously when they are
+     * requested and records every request it receives.
+     */
+    static class CountingPublisher implements Flow.Publisher<Double> {
+        final int count;
+        final List<Long> requests = new ArrayList<>();
+        boolean cancelled;
+        int published;
+
+        CountingPublisher(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Double> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    requests.add(n);
+                    for (long k = 0; k < n && published < count && !cancelled; k++) {
+                        subscriber.onNext((double) ++published);
+                    }
+                    if (published == count && !cancelled) {
+                        cancelled = true;
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+
+    /**
+     * A subscriber which requests one value at a time and records every value and signal it receives.
+     */
+    static class RecordingSubscriber implements Flow.Subscriber<Double> {
+        final List<Double> values = new ArrayList<>();
+        final CountDownLatch finished = new CountDownLatch(1);
+        Flow.Subscription subscription;
+        Throwable error;
+        boolean complete;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(Double item) {
+            values.add(item);
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            finished.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            complete = true;
+            finished.countDown();
+        }
+    }
+
+    /**
+     * Method: onNext(A item)
+     * Type: Data-flow, requests to the publisher are batched and bounded by the demand
+     */
+    @Test
+    public void testBackpressure() throws Exception {
+        CountingPublisher publisher = new CountingPublisher(100);
+        FilterProcessor<Double, Double> processor = new FilterProcessor<>(new AveragingFilter(), 8);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        processor.subscribe(subscriber);
+        publisher.subscribe(processor);
+        assertTrue(subscriber.complete);
+        assertEquals(100, subscriber.values.size());
+        assertEquals(50.5, subscriber.values.get(99), 1e-9);
+        for (long request : publisher.requests) {
+            assertEquals(1, request);
+        }
+    }
+
+    /**
+     * Method: onNext(A item)
+     * Type: Data-flow, a large demand is requested from the publisher in batches
+     */
+    @Test
+    public void testRequestBatching() throws Exception {
+        CountingPublisher publisher = new CountingPublisher(100);
+        FilterProcessor<Double, Double> processor = new FilterProcessor<>(new MaxFilter<Double, Double>(), 16);
+        RecordingSubscriber subscriber = new RecordingSubscriber() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Double item) {
+                values.add(item);
+            }
+        };
+        processor.subscribe(subscriber);
+        publisher.subscribe(processor);
+        assertTrue(subscriber.complete);
+        assertEquals(100, subscriber.values.size());
+        for (long request : publisher.requests) {
+            assertTrue(request <= 16);
+        }
+        assertTrue(publisher.requests.size() < 100 / 4);
+    }
+
+    /**
+     * Method: onNext(A item)
+     * Type: Bad data, the checked exception is signalled to the subscriber and the publisher is cancelled
+     */
+    @Test
+    public void testFilterException() throws Exception {
+        FilterProcessor<Double, Double> processor = new FilterProcessor<>(new MaxFilter<Double, Double>());
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        processor.subscribe(subscriber);
+        SubmissionPublisher<Double> publisher = new SubmissionPublisher<>();
+        publisher.subscribe(processor);
+        publisher.submit(3.0);
+        processor.onNext(null);
+        assertTrue(subscriber.finished.await(5, TimeUnit.SECONDS));
+        assertTrue(subscriber.error instanceof NullValueException);
+        publisher.close();
+    }
+
+    /**
+     * Method: Link.request(long n)
+     * Type: Bad data, the error of a non-positive request made within onNext is signalled after onNext returns
+     */
+    @Test
+    public void testBadRequestSerial() throws Exception {
+        CountingPublisher publisher = new CountingPublisher(100);
+        FilterProcessor<Double, Double> processor = new FilterProcessor<>(new MaxFilter<Double, Double>(), 8);
+        final boolean[] overlapped = new boolean[1];
+        RecordingSubscriber subscriber = new RecordingSubscriber() {
+            boolean inOnNext;
+
+            @Override
+            public void onNext(Double item) {
+                inOnNext = true;
+                values.add(item);
+                subscription.request(values.size() == 3 ? 0 : 1);
+                inOnNext = false;
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                overlapped[0] = inOnNext;
+                super.onError(throwable);
+            }
+        };
+        processor.subscribe(subscriber);
+        publisher.subscribe(processor);
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertFalse(overlapped[0]);
+        assertEquals(3, subscriber.values.size());
+        assertTrue(publisher.cancelled);
+    }
+
+    /**
+     * Method: subscribe(Flow.Subscriber subscriber)
+     * Type: Data-flow, an asynchronous publisher
+     */
+    @Test
+    public void testSubmissionPublisher() throws Exception {
+        FilterProcessor<Double, Double> processor = new FilterProcessor<>(new AveragingFilter());
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        processor.subscribe(subscriber);
+        try (SubmissionPublisher<Double> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(processor);
+            for (int j = 1; j <= 1000; j++) {
+                publisher.submit((double) j);
+            }
+        }
+        assertTrue(subscriber.finished.await(5, TimeUnit.SECONDS));
+        assertTrue(subscriber.complete);
+        assertEquals(1000, subscriber.values.size());
+        assertEquals(500.5, subscriber.values.get(999), 1e-9);
+    }
+}
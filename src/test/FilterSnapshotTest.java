@@ -0,0 +1,469 @@
+package test;
+
+import filter.AveragingFilter;
+import filter.AveragingFilterBank;
+import filter.AveragingFilterN;
+import filter.ConcurrentAveragingFilter;
+import filter.DoubleMaxFilterN;
+import filter.DoubleMinFilterN;
+import filter.FIRFilter;
+import filter.Filter;
+import filter.FilterCascade;
+import filter.FilterSnapshot;
+import filter.IdentityFilter;
+import filter.LinearFilterBank;
+import filter.LinearizableScalarFilter;
+import filter.MaxFilter;
+import filter.MaxFilterN;
+import filter.MinFilterN;
+import filter.NullPolicy;
+import filter.NullPolicyFilter;
+import filter.OffHeapAveragingFilterN;
+import filter.ScalarFilter;
+import filter.ScalarFilterCascade;
+import filter.ScalarLinearFilter;
+import filter.Snapshottable;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A test class for the FilterSnapshot class.
+ * Each filter filters half of the values, its snapshot is restored into a new filter of the same
+ * configuration, and both filters must then produce exactly the same values for the other half.
+ *
+ * @author Shaun Howard
+ */
+public class FilterSnapshotTest {
+
+    static final int LENGTH = 4000;
+
+    /**
+     * Method: snapshot(Snapshottable filter), restore(Snapshottable filter, byte[] snapshot)
+     * Type: Data-flow, AveragingFilterN with a window far into its running sum
+     */
+    @Test
+    public void testAveragingFilterN() throws Exception {
+        assertResumes(new AveragingFilterN(300), new AveragingFilterN(300));
+        assertResumes(new AveragingFilter(), new AveragingFilter());
+    }
+
+    /**
+     * Method: snapshot(Snapshottable filter), restore(Snapshottable filter, byte[] snapshot)
+     * Type: Data-flow, off-heap window
+     */
+    @Test
+    public void testOffHeapAveragingFilterN() throws Exception {
+        try (OffHeapAveragingFilterN source = new OffHeapAveragingFilterN(300);
+             OffHeapAveragingFilterN target = new OffHeapAveragingFilterN(300)) {
+            assertResumes(source, target);
+        }
+    }
+
+    /**
+     * Method: snapshot(Snapshottable filter), restore(Snapshottable filter, byte[] snapshot)
+     * Type: Data-flow, IIR and FIR ScalarLinearFilters
+     */
+    @Test
+    public void testScalarLinearFilter() throws Exception {
+        assertResumes(newIIRFilter(), newIIRFilter());
+        assertResumes(newFIRFilter(), newFIRFilter());
+    }
+
+    /**
+     * Method: snapshot(Snapshottable filter), restore(Snapshottable filter, byte[] snapshot)
+     * Type: Data-flow, primitive max and min filters
+     */
+    @Test
+    public void testDoubleExtremumFilters() throws Exception {
+        assertResumes(new DoubleMaxFilterN(97), new DoubleMaxFilterN(97));
+        assertResumes(new DoubleMinFilterN(97), new DoubleMinFilterN(97));
+    }
+
+    /**
+     * Method: snapshot(Snapshottable filter), restore(Snapshottable filter, byte[] snapshot)
+     * Type: Data-flow, ScalarFilterCascade and LinearizableScalarFilter
+     */
+    @Test
+    public void testScalarFilterCascade() throws Exception {
+        assertResumes(newScalarCascade(), newScalarCascade());
+        assertResumes(new LinearizableScalarFilter(newIIRFilter()), new LinearizableScalarFilter(newIIRFilter()));
+    }
+
+    /**
+     * Method: snapshot(Snapshottable filter), restore(Snapshottable filter, byte[] snapshot)
+     * Type: Data-flow, FilterCascade of generic and scalar filters
+     */
+    @Test
+    public void testFilterCascade() throws Exception {
+        FilterCascade<Double, Double> source = newCascade();
+        FilterCascade<Double, Double> target = newCascade();
+        double[] values = values();
+        for (int i = 0; i < LENGTH / 2; i++) {
+            source.filter(values[i]);
+        }
+        FilterSnapshot.restore(target, FilterSnapshot.snapshot(source));
+        for (int i = LENGTH / 2; i < LENGTH; i++) {
+            assertEquals(source.filter(values[i]), target.filter(values[i]));
+        }
+    }
+
+    /**
+     * Method: snapshot(Snapshottable filter), restore(Snapshottable filter, byte[] snapshot)
+     * Type: Data-flow, generic MaxFilterN of Strings and MaxFilter
+     */
+    @Test
+    public void testGenericFilters() throws Exception {
+        MaxFilterN<String, String> source = new MaxFilterN<>(3);
+        for (String value : Arrays.asList("kiwi", "apple", "pear", "fig")) {
+            source.filter(value);
+        }
+        MaxFilterN<String, String> target = new MaxFilterN<>(3);
+        FilterSnapshot.restore(target, FilterSnapshot.snapshot(source));
+        assertEquals(source.getValues(), target.getValues());
+        assertEquals(source.filter("banana"), target.filter("banana"));
+        assertEquals(source.filter("cherry"), target.filter("cherry"));
+
+        MaxFilter<Integer, Integer> max = new MaxFilter<>();
+        max.filter(42);
+        MaxFilter<Integer, Integer> restored = new MaxFilter<>();
+        FilterSnapshot.restore(restored, FilterSnapshot.snapshot(max));
+        assertEquals(Integer.valueOf(42), restored.getMax());
+    }
+
+    /**
+     * Method: snapshot(Snapshottable filter), restore(Snapshottable filter, byte[] snapshot)
+     * Type: Data-flow, NullPolicyFilter with its wrapped filter
+     */
+    @Test
+    public void testNullPolicyFilter() throws Exception {
+        NullPolicyFilter<Double, Double> source = new NullPolicyFilter<>(new AveragingFilterN(4), NullPolicy.SKIP);
+        source.filter(2.0);
+        source.filter(null);
+        source.filter(4.0);
+        NullPolicyFilter<Double, Double> target = new NullPolicyFilter<>(new AveragingFilterN(4), NullPolicy.SKIP);
+        FilterSnapshot.restore(target, FilterSnapshot.snapshot(source));
+        assertEquals(1, target.getNullCount());
+        assertEquals(3.0, target.filter(null), 0.0);
+        assertEquals(source.filter(9.0), target.filter(9.0));
+    }
+
+    /**
+     * Method: snapshot(Snapshottable filter), restore(Snapshottable filter, byte[] snapshot)
+     * Type: Data-flow, filter banks
+     */
+    @Test
+    public void testFilterBanks() throws Exception {
+        LinearFilterBank source = new LinearFilterBank(3, 3, 2, Arrays.asList(1.0, -0.5, 0.25), Arrays.asList(0.5, 0.5));
+        LinearFilterBank target = new LinearFilterBank(3, 3, 2, Arrays.asList(1.0, -0.5, 0.25), Arrays.asList(0.5, 0.5));
+        AveragingFilterBank averages = new AveragingFilterBank(3);
+        AveragingFilterBank restoredAverages = new AveragingFilterBank(3);
+        double[] values = values();
+        double[] expected = new double[LENGTH];
+        double[] actual = new double[LENGTH];
+        source.filterInterleaved(values, 0, expected, 0, 600);
+        averages.filterInterleaved(values, 0, expected, 0, 600);
+        FilterSnapshot.restore(target, FilterSnapshot.snapshot(source));
+        FilterSnapshot.restore(restoredAverages, FilterSnapshot.snapshot(averages));
+        source.filterInterleaved(values, 1800, expected, 0, 700);
+        target.filterInterleaved(values, 1800, actual, 0, 700);
+        assertArrayEquals(expected, actual, 0.0);
+        averages.filterInterleaved(values, 1800, expected, 0, 700);
+        restoredAverages.filterInterleaved(values, 1800, actual, 0, 700);
+        assertArrayEquals(expected, actual, 0.0);
+    }
+
+    /**
+     * Method: snapshot(Snapshottable filter), restore(Snapshottable filter, byte[] snapshot)
+     * Type: Data-flow, ConcurrentAveragingFilter restored with a different number of stripes
+     */
+    @Test
+    public void testConcurrentAveragingFilter() throws Exception {
+        ConcurrentAveragingFilter source = new ConcurrentAveragingFilter(4);
+        for (double value : values()) {
+            source.filterDouble(value);
+        }
+        ConcurrentAveragingFilter target = new ConcurrentAveragingFilter(3);
+        FilterSnapshot.restore(target, FilterSnapshot.snapshot(source));
+        assertEquals(source.getCount(), target.getCount());
+        assertEquals(source.getBaseAverage(), target.getBaseAverage(), 1e-12);
+    }
+
+    /**
+     * Method: write(Snapshottable filter, OutputStream stream), read(Snapshottable filter, InputStream stream)
+     * Type: Data-flow, several snapshots in one stream
+     */
+    @Test
+    public void testStreams() throws Exception {
+        AveragingFilterN first = new AveragingFilterN(3);
+        DoubleMaxFilterN second = new DoubleMaxFilterN(3);
+        first.filterDouble(3.0);
+        second.filterDouble(5.0);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        FilterSnapshot.write(first, bytes);
+        FilterSnapshot.write(second, bytes);
+        AveragingFilterN restoredFirst = new AveragingFilterN(3);
+        DoubleMaxFilterN restoredSecond = new DoubleMaxFilterN(3);
+        ByteArrayInputStream in = new ByteArrayInputStream(bytes.toByteArray());
+        FilterSnapshot.read(restoredFirst, in);
+        FilterSnapshot.read(restoredSecond, in);
+        assertEquals(0, in.available());
+        assertEquals(4.0, restoredFirst.filterDouble(5.0), 0.0);
+        assertEquals(5.0, restoredSecond.getMax(), 0.0);
+    }
+
+    /**
+     * Method: writeValue(DataOutput out, Object value), readValue(DataInput in)
+     * Type: Good data
+     */
+    @Test
+    public void testValues() throws Exception {
+        List<Object> values = Arrays.asList(null, 1.5, 2.5f, 3L, 4, (short) 5, (byte) 6, 'x', true, "snapshot é");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (Object value : values) {
+            FilterSnapshot.writeValue(out, value);
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        for (Object value : values) {
+            assertEquals(value, FilterSnapshot.readValue(in));
+        }
+    }
+
+    /**
+     * Method: restore(Snapshottable filter, byte[] snapshot)
+     * Type: Bad data, different class of filter
+     */
+    @Test(expected = IOException.class)
+    public void testRestoreDifferentClass() throws Exception {
+        FilterSnapshot.restore(new DoubleMinFilterN(5), FilterSnapshot.snapshot(new DoubleMaxFilterN(5)));
+    }
+
+    /**
+     * Method: restore(Snapshottable filter, byte[] snapshot)
+     * Type: Bad data, different n
+     */
+    @Test(expected = IOException.class)
+    public void testRestoreDifferentN() throws Exception {
+        FilterSnapshot.restore(new AveragingFilterN(6), FilterSnapshot.snapshot(new AveragingFilterN(5)));
+    }
+
+    /**
+     * Method: restore(Snapshottable filter, byte[] snapshot)
+     * Type: Bad data, different stages
+     */
+    @Test(expected = IOException.class)
+    public void testRestoreDifferentStages() throws Exception {
+        List<Filter<Double, Double>> stages = new ArrayList<>();
+        stages.add(new AveragingFilterN(5));
+        FilterSnapshot.restore(newCascade(), FilterSnapshot.snapshot(new FilterCascade<>(stages)));
+    }
+
+    /**
+     * Method: restore(Snapshottable filter, byte[] snapshot)
+     * Type: Bad data, not a snapshot and a snapshot with trailing bytes
+     */
+    @Test
+    public void testRestoreCorrupt() throws Exception {
+        assertThrowsIOException(new AveragingFilter(), new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        byte[] snapshot = FilterSnapshot.snapshot(new AveragingFilter());
+        assertThrowsIOException(new AveragingFilter(), Arrays.copyOf(snapshot, snapshot.length + 1));
+        assertThrowsIOException(new AveragingFilter(), Arrays.copyOf(snapshot, snapshot.length - 1));
+    }
+
+    /**
+     * Method: restore(Snapshottable filter, byte[] snapshot)
+     * Type: Bad data, a truncated snapshot leaves the windowed filters unchanged
+     */
+    @Test
+    public void testRestoreTruncatedUnchanged() throws Exception {
+        AveragingFilterN average = new AveragingFilterN(5);
+        AveragingFilterN averageTwin = new AveragingFilterN(5);
+        MaxFilterN<String, String> max = new MaxFilterN<>(3);
+        MaxFilterN<String, String> maxTwin = new MaxFilterN<>(3);
+        MinFilterN<String, String> min = new MinFilterN<>(3);
+        MinFilterN<String, String> minTwin = new MinFilterN<>(3);
+        for (int j = 0; j < 4; j++) {
+            assertEquals(average.filterDouble(j), averageTwin.filterDouble(j), 0.0);
+            assertEquals(max.filter("v" + j), maxTwin.filter("v" + j));
+            assertEquals(min.filter("v" + j), minTwin.filter("v" + j));
+        }
+        AveragingFilterN averageSource = new AveragingFilterN(5);
+        MaxFilterN<String, String> maxSource = new MaxFilterN<>(3);
+        MinFilterN<String, String> minSource = new MinFilterN<>(3);
+        for (String value : Arrays.asList("kiwi", "apple", "pear")) {
+            averageSource.filterDouble(value.length());
+            maxSource.filter(value);
+            minSource.filter(value);
+        }
+        byte[] snapshot = FilterSnapshot.snapshot(averageSource);
+        assertThrowsIOException(average, Arrays.copyOf(snapshot, snapshot.length - 9));
+        snapshot = FilterSnapshot.snapshot(maxSource);
+        assertThrowsIOException(max, Arrays.copyOf(snapshot, snapshot.length - 9));
+        snapshot = FilterSnapshot.snapshot(minSource);
+        assertThrowsIOException(min, Arrays.copyOf(snapshot, snapshot.length - 9));
+        assertEquals(averageTwin.filterDouble(9.0), average.filterDouble(9.0), 0.0);
+        assertEquals(maxTwin.getValues(), max.getValues());
+        assertEquals(maxTwin.filter("a"), max.filter("a"));
+        assertEquals(minTwin.getValues(), min.getValues());
+        assertEquals(minTwin.filter("z"), min.filter("z"));
+    }
+
+    /**
+     * Method: readState(DataInput in)
+     * Type: Bad data, a snapshot which holds more than n values
+     */
+    @Test
+    public void testRestoreMoreThanN() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(3);
+        out.writeDouble(0.0);
+        out.writeInt(Integer.MAX_VALUE);
+        try {
+            new AveragingFilterN(3).readState(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+            throw new AssertionError("Restored more values than the window holds.");
+        } catch (IOException e) {
+            assertEquals("The size 2147483647 in the snapshot is not in the range [0, 3].", e.getMessage());
+        }
+        bytes.reset();
+        out.writeInt(3);
+        out.writeInt(4);
+        try {
+            new MaxFilterN<String, String>(3).readState(
+                    new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+            throw new AssertionError("Restored more values than the window holds.");
+        } catch (IOException e) {
+            assertEquals("The size 4 in the snapshot is not in the range [0, 3].", e.getMessage());
+        }
+    }
+
+    /**
+     * Method: restore(Snapshottable filter, byte[] snapshot)
+     * Type: Bad data, a snapshot of Strings restored into a filter of Integers
+     */
+    @Test
+    public void testRestoreDifferentType() throws Exception {
+        MaxFilterN<String, String> source = new MaxFilterN<>(3);
+        source.filter("kiwi");
+        MaxFilterN<Integer, Integer> target = new MaxFilterN<>(3);
+        target.filter(7);
+        assertThrowsIOException(target, FilterSnapshot.snapshot(source));
+        assertEquals(Integer.valueOf(8), target.filter(8));
+    }
+
+    /**
+     * Method: snapshot(Snapshottable filter)
+     * Type: Bad data, a stage which is not Snapshottable and an unsupported value
+     */
+    @Test
+    public void testSnapshotUnsupported() throws Exception {
+        List<Filter<Double, Double>> stages = new ArrayList<>();
+        stages.add(value -> value);
+        assertThrowsIOException(new FilterCascade<>(stages));
+        MaxFilter<BigDecimal, BigDecimal> max = new MaxFilter<>();
+        max.filter(BigDecimal.ONE);
+        assertThrowsIOException(max);
+    }
+
+    /**
+     * Filters the first half of the values with the source filter, restores its snapshot into the target
+     * filter and asserts that both filter the second half of the values into identical values.
+     *
+     * @param source - the filter whose snapshot is taken
+     * @param target - the filter the snapshot is restored into
+     */
+    private static void assertResumes(ScalarFilter source, ScalarFilter target) throws Exception {
+        double[] values = values();
+        double[] expected = new double[LENGTH];
+        double[] actual = new double[LENGTH];
+        source.filter(values, 0, expected, 0, LENGTH / 2);
+        FilterSnapshot.restore((Snapshottable) target, FilterSnapshot.snapshot((Snapshottable) source));
+        for (int i = LENGTH / 2; i < 3 * LENGTH / 4; i++) {
+            expected[i] = source.filterDouble(values[i]);
+            actual[i] = target.filterDouble(values[i]);
+        }
+        source.filter(values, 3 * LENGTH / 4, expected, 3 * LENGTH / 4, LENGTH / 4);
+        target.filter(values, 3 * LENGTH / 4, actual, 3 * LENGTH / 4, LENGTH / 4);
+        for (int i = LENGTH / 2; i < LENGTH; i++) {
+            assertEquals(Double.doubleToLongBits(expected[i]), Double.doubleToLongBits(actual[i]));
+        }
+    }
+
+    /**
+     * Asserts that restoring the specified data into the filter throws an IOException.
+     *
+     * @param filter - the filter to restore
+     * @param snapshot - the data to restore the filter from
+     */
+    private static void assertThrowsIOException(Snapshottable filter, byte[] snapshot) throws Exception {
+        try {
+            FilterSnapshot.restore(filter, snapshot);
+        } catch (IOException expected) {
+            return;
+        }
+        throw new AssertionError("Restoring the snapshot did not throw an IOException.");
+    }
+
+    /**
+     * Asserts that taking a snapshot of the filter throws an IOException.
+     *
+     * @param filter - the filter to take a snapshot of
+     */
+    private static void assertThrowsIOException(Snapshottable filter) throws Exception {
+        try {
+            FilterSnapshot.snapshot(filter);
+        } catch (IOException expected) {
+            return;
+        }
+        throw new AssertionError("Taking the snapshot did not throw an IOException.");
+    }
+
+    private static double[] values() {
+        Random random = new Random(7);
+        double[] values = new double[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            values[i] = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(6));
+        }
+        return values;
+    }
+
+    private static ScalarLinearFilter newIIRFilter() {
+        return new ScalarLinearFilter(3, 4, new ArrayList<>(Arrays.asList(1.0, -0.4, 0.1)),
+                new ArrayList<>(Arrays.asList(0.2, 0.3, 0.3, 0.2)));
+    }
+
+    private static FIRFilter newFIRFilter() {
+        ArrayList<Double> taps = new ArrayList<>();
+        for (int n = 0; n < 40; n++) {
+            taps.add(1.0 / (n + 1));
+        }
+        return new FIRFilter(taps.size(), taps);
+    }
+
+    private static ScalarFilterCascade newScalarCascade() {
+        return new ScalarFilterCascade(Arrays.asList(newFIRFilter(), new AveragingFilterN(50), newIIRFilter(),
+                new DoubleMaxFilterN(20)));
+    }
+
+    private static FilterCascade<Double, Double> newCascade() {
+        List<Filter<Double, Double>> stages = new ArrayList<>();
+        stages.add(new AveragingFilterN(25));
+        stages.add(new MinFilterN<>(10));
+        stages.add(new IdentityFilter<>());
+        stages.add(newIIRFilter());
+        return new FilterCascade<>(stages);
+    }
+}
@@ -0,0 +1,33 @@
+package test;
+
+import filter.GainFilter;
+import filter.GainFilterBank;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A test class for the GainFilterBank class.
+ *
+ * @author Shaun Howard
+ */
+public class GainFilterBankTest {
+    static final double GAIN = 5.5;
+
+    /**
+     * Method: filterFrame(double[] frame, double[] output)
+     * Type: Structured Basis, Good data
+     */
+    @Test
+    public void testFilterFrame() throws Exception {
+        GainFilterBank bank = new GainFilterBank(3, GAIN);
+        GainFilter single = new GainFilter(GAIN);
+        double[] frame = {45.3, -0.0, -483829295.23445234};
+        double[] output = new double[3];
+        bank.filterFrame(frame, output);
+        for (int c = 0; c < frame.length; c++) {
+            assertEquals(single.filter(frame[c]), output[c], 0.0);
+        }
+        assertEquals(3, bank.getChannels());
+    }
+}
@@ -44,4 +44,19 @@ public class GainFilterTest {
         assertEquals(249.14999999999998, gainFilter.filter(45.3), 0.01);
         assertEquals(-2.661061123789488E9, gainFilter.filter(-483829295.23445234), 0.01);
     }
+
+    /**
+     * Method: filter(double[] values, double[] output)
+     * Type: Data-flow, compared against filter(value)
+     */
+    @Test
+    public void testFilterBatch() throws Exception {
+        GainFilter single = new GainFilter(GAIN);
+        double[] values = {45.3, 346.664, .0000000234234, 1232421342352452., -0.0, -483829295.23445234};
+        double[] output = new double[values.length];
+        gainFilter.filter(values, output);
+        for (int j = 0; j < values.length; j++) {
+            assertEquals(single.filter(values[j]), output[j], 0.0);
+        }
+    }
 } 
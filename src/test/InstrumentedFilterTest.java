@@ -0,0 +1,95 @@
+package test;
+
+import exception.NullValueException;
+import filter.FilterMetrics;
+import filter.InstrumentedFilter;
+import filter.MaxFilterN;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+/**
+ * A test class for the InstrumentedFilter class.
+ *
+ * @author Shaun Howard
+ */
+public class InstrumentedFilterTest {
+
+    /**
+     * Method: filter(A value)
+     * Type: Structured Basis, Good Data
+     */
+    @Test
+    public void testFilterGoodData() throws Exception {
+        InstrumentedFilter<Integer, Integer> filter = new InstrumentedFilter<>(new MaxFilterN<Integer, Integer>(2), "max");
+        assertEquals(Integer.valueOf(3), filter.filter(3));
+        assertEquals(Integer.valueOf(3), filter.filter(1));
+        assertEquals(Integer.valueOf(2), filter.filter(2));
+        FilterMetrics metrics = filter.getMetrics();
+        assertEquals("max", metrics.getName());
+        assertEquals(3, metrics.getSampleCount());
+        assertEquals(0, metrics.getNullValueRejections());
+    }
+
+    /**
+     * Method: filter(A[] values, int offset, B[] output, int outputOffset, int length)
+     * Type: Data-flow, a batch records one sample for each value
+     */
+    @Test
+    public void testFilterBatch() throws Exception {
+        InstrumentedFilter<Integer, Integer> filter = new InstrumentedFilter<>(new MaxFilterN<Integer, Integer>(2), "max");
+        Integer[] output = new Integer[4];
+        filter.filter(new Integer[]{1, 4, 2, 0}, 0, output, 0, 4);
+        assertArrayEquals(new Integer[]{1, 4, 4, 2}, output);
+        assertEquals(4, filter.getMetrics().getSampleCount());
+    }
+
+    /**
+     * Method: filter(A value)
+     * Type: Bad Data, a rejection is counted by its exception and rethrown
+     */
+    @Test
+    public void testRejectionCounted() throws Exception {
+        InstrumentedFilter<Integer, Integer> filter = new InstrumentedFilter<>(new MaxFilterN<Integer, Integer>(2), "max");
+        try {
+            filter.filter((Integer) null);
+            fail();
+        } catch (NullValueException e) {
+            // expected
+        }
+        assertEquals(1, filter.getMetrics().getNullValueRejections());
+        assertEquals(0, filter.getMetrics().getSampleCount());
+    }
+
+    /**
+     * Method: filter(A value)
+     * Type: Data-flow, disabled metrics record nothing while values are still filtered
+     */
+    @Test
+    public void testDisabled() throws Exception {
+        InstrumentedFilter<Integer, Integer> filter = new InstrumentedFilter<>(new MaxFilterN<Integer, Integer>(2), "max");
+        filter.getMetrics().setEnabled(false);
+        assertFalse(filter.getMetrics().isEnabled());
+        assertEquals(Integer.valueOf(5), filter.filter(5));
+        try {
+            filter.filter((Integer) null);
+            fail();
+        } catch (NullValueException e) {
+            // expected
+        }
+        assertEquals(0, filter.getMetrics().getSampleCount());
+        assertEquals(0, filter.getMetrics().getNullValueRejections());
+    }
+
+    /**
+     * Method: InstrumentedFilter(Filter filter, FilterMetrics metrics)
+     * Type: Bad Data, the metrics are null
+     */
+    @Test(expected = NullValueException.class)
+    public void testNullMetrics() throws Exception {
+        new InstrumentedFilter<>(new MaxFilterN<Integer, Integer>(2), (FilterMetrics) null);
+    }
+}
@@ -0,0 +1,80 @@
+package test;
+
+import exception.IncorrectSizeException;
+import filter.AveragingFilterN;
+import filter.FilterMetrics;
+import filter.FilterSnapshot;
+import filter.InstrumentedScalarFilter;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * A test class for the InstrumentedScalarFilter class.
+ *
+ * @author Shaun Howard
+ */
+public class InstrumentedScalarFilterTest {
+
+    /**
+     * Method: filterDouble(double value)
+     * Type: Structured Basis, Good Data
+     */
+    @Test
+    public void testFilterGoodData() throws Exception {
+        InstrumentedScalarFilter filter = new InstrumentedScalarFilter(new AveragingFilterN(2), "mean");
+        assertEquals(4.0, filter.filterDouble(4.0), 0.0);
+        assertEquals(3.0, filter.filter(2.0), 0.0);
+        FilterMetrics metrics = filter.getMetrics();
+        assertEquals(2, metrics.getSampleCount());
+        assertTrue(metrics.getMaxLatency() >= metrics.getLatency50());
+    }
+
+    /**
+     * Method: filter(double[] values, int offset, double[] output, int outputOffset, int length)
+     * Type: Data-flow, a batch records one sample for each value
+     */
+    @Test
+    public void testFilterBatch() throws Exception {
+        InstrumentedScalarFilter filter = new InstrumentedScalarFilter(new AveragingFilterN(2), "mean");
+        double[] output = new double[3];
+        filter.filter(new double[]{2.0, 4.0, 8.0}, 0, output, 0, 3);
+        assertArrayEquals(new double[]{2.0, 3.0, 6.0}, output, 0.0);
+        assertEquals(3, filter.getMetrics().getSampleCount());
+    }
+
+    /**
+     * Method: filter(double[] values, int offset, double[] output, int outputOffset, int length)
+     * Type: Bad Data, an out of range slice is counted as an incorrect size rejection
+     */
+    @Test
+    public void testIncorrectSizeRejection() throws Exception {
+        InstrumentedScalarFilter filter = new InstrumentedScalarFilter(new AveragingFilterN(2), "mean");
+        try {
+            filter.filter(new double[2], 1, new double[2], 0, 2);
+            fail();
+        } catch (IncorrectSizeException e) {
+            // expected
+        }
+        assertEquals(1, filter.getMetrics().getIncorrectSizeRejections());
+        filter.getMetrics().reset();
+        assertEquals(0, filter.getMetrics().getIncorrectSizeRejections());
+    }
+
+    /**
+     * Method: writeState(DataOutput out), readState(DataInput in)
+     * Type: Data-flow, the state of the wrapped filter is saved and restored
+     */
+    @Test
+    public void testSnapshot() throws Exception {
+        InstrumentedScalarFilter filter = new InstrumentedScalarFilter(new AveragingFilterN(2), "mean");
+        filter.filterDouble(2.0);
+        filter.filterDouble(4.0);
+        InstrumentedScalarFilter restored = new InstrumentedScalarFilter(new AveragingFilterN(2), "copy");
+        FilterSnapshot.restore(restored, FilterSnapshot.snapshot(filter));
+        assertEquals(filter.filterDouble(10.0), restored.filterDouble(10.0), 0.0);
+    }
+}
@@ -0,0 +1,91 @@
+package test;
+
+import exception.IncorrectSizeException;
+import filter.LatencyHistogram;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for the LatencyHistogram class.
+ *
+ * @author Shaun Howard
+ */
+public class LatencyHistogramTest {
+
+    /**
+     * Method: getValueAtPercentile(double percentile)
+     * Type: Structured Basis, Good Data, small latencies are recorded exactly
+     */
+    @Test
+    public void testSmallLatenciesExact() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 100; nanos++) {
+            histogram.record(nanos);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(50.5, histogram.getMean(), 0.0);
+        assertEquals(100, histogram.getMax());
+        assertEquals(1, histogram.getValueAtPercentile(0.0));
+        assertEquals(50, histogram.getValueAtPercentile(50.0));
+        assertEquals(99, histogram.getValueAtPercentile(99.0));
+        assertEquals(100, histogram.getValueAtPercentile(100.0));
+    }
+
+    /**
+     * Method: getValueAtPercentile(double percentile)
+     * Type: Data-flow, large latencies are reported within the precision of the buckets
+     */
+    @Test
+    public void testLargeLatenciesWithinPrecision() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1000; nanos <= 1000000; nanos += 1000) {
+            histogram.record(nanos);
+        }
+        long median = histogram.getValueAtPercentile(50.0);
+        long p99 = histogram.getValueAtPercentile(99.0);
+        assertTrue(Math.abs(median - 500000) <= 500000 / 64);
+        assertTrue(Math.abs(p99 - 990000) <= 990000 / 64);
+        assertEquals(1000000, histogram.getValueAtPercentile(100.0));
+    }
+
+    /**
+     * Method: record(long nanos, long times)
+     * Type: Data-flow, a latency recorded several times counts once for each time
+     */
+    @Test
+    public void testRecordTimes() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10, 99);
+        histogram.record(Long.MAX_VALUE / 2, 1);
+        histogram.record(-5, 0);
+        assertEquals(100, histogram.getCount());
+        assertEquals(10, histogram.getValueAtPercentile(99.0));
+        assertEquals(Long.MAX_VALUE / 2, histogram.getValueAtPercentile(99.9));
+    }
+
+    /**
+     * Method: reset()
+     * Type: Structured Basis, Good Data
+     */
+    @Test
+    public void testReset() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(500);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0.0, histogram.getMean(), 0.0);
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(50.0));
+    }
+
+    /**
+     * Method: getValueAtPercentile(double percentile)
+     * Type: Bad Data, the percentile is out of range
+     */
+    @Test(expected = IncorrectSizeException.class)
+    public void testPercentileOutOfRange() throws Exception {
+        new LatencyHistogram().getValueAtPercentile(100.5);
+    }
+}
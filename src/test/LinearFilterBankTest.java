@@ -0,0 +1,141 @@
+package test;
+
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+import filter.LinearFilterBank;
+import filter.ScalarLinearFilter;
+import org.junit.Test;
+import org.junit.Before;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A test class for the LinearFilterBank class.
+ * Every channel is compared against a ScalarLinearFilter constructed with the same
+ * arguments, which must produce exactly the same values.
+ *
+ * @author Shaun Howard
+ */
+public class LinearFilterBankTest {
+    static final int CHANNELS = 5;
+    static final int FRAMES = 40;
+    ArrayList<Double> a, b;
+    LinearFilterBank bank;
+    ScalarLinearFilter[] filters;
+    double[] interleaved;
+
+    @Before
+    public void before() throws Exception {
+        a = new ArrayList<>(Arrays.asList(1.0, 0.5, -0.25));
+        b = new ArrayList<>(Arrays.asList(0.3, 0.2, 0.1, -0.05));
+        bank = new LinearFilterBank(CHANNELS, 3, 4, a, b);
+        filters = new ScalarLinearFilter[CHANNELS];
+        for (int c = 0; c < CHANNELS; c++) {
+            filters[c] = new ScalarLinearFilter(3, 4, a, b);
+        }
+        interleaved = new double[FRAMES * CHANNELS];
+        for (int j = 0; j < interleaved.length; j++) {
+            interleaved[j] = Math.sin(j * 0.37) * (j % 7) - 3.0;
+        }
+    }
+
+    /**
+     * Method: filterInterleaved(double[] values, int offset, double[] output, int outputOffset, int frames)
+     * Type: Data-flow, compared against ScalarLinearFilter
+     */
+    @Test
+    public void testFilterInterleaved() throws Exception {
+        double[] output = new double[interleaved.length];
+        bank.filterInterleaved(interleaved, 0, output, 0, FRAMES);
+        for (int t = 0; t < FRAMES; t++) {
+            for (int c = 0; c < CHANNELS; c++) {
+                assertEquals(filters[c].filterDouble(interleaved[t * CHANNELS + c]), output[t * CHANNELS + c], 0.0);
+            }
+        }
+        assertEquals(FRAMES, bank.getIteration());
+    }
+
+    /**
+     * Method: filterPlanar(double[][] values, int offset, double[][] output, int outputOffset, int frames)
+     * Type: Data-flow, compared against filterInterleaved
+     */
+    @Test
+    public void testFilterPlanar() throws Exception {
+        double[][] planar = new double[CHANNELS][FRAMES];
+        for (int t = 0; t < FRAMES; t++) {
+            for (int c = 0; c < CHANNELS; c++) {
+                planar[c][t] = interleaved[t * CHANNELS + c];
+            }
+        }
+        double[][] output = new double[CHANNELS][FRAMES];
+        bank.filterPlanar(planar, 0, output, 0, FRAMES);
+        LinearFilterBank other = new LinearFilterBank(CHANNELS, 3, 4, a, b);
+        other.filterInterleaved(interleaved, 0, interleaved, 0, FRAMES);
+        for (int t = 0; t < FRAMES; t++) {
+            for (int c = 0; c < CHANNELS; c++) {
+                assertEquals(interleaved[t * CHANNELS + c], output[c][t], 0.0);
+            }
+        }
+    }
+
+    /**
+     * Method: reset(Double r)
+     * Type: Data-flow, compared against ScalarLinearFilter
+     */
+    @Test
+    public void testReset() throws Exception {
+        double[] frame = new double[CHANNELS];
+        double[] output = new double[CHANNELS];
+        bank.filterInterleaved(interleaved, 0, interleaved, 0, 3);
+        bank.reset(2.5);
+        for (int c = 0; c < CHANNELS; c++) {
+            filters[c].reset(2.5);
+            frame[c] = c - 1.5;
+        }
+        for (int t = 0; t < 6; t++) {
+            bank.filterFrame(frame, output);
+            for (int c = 0; c < CHANNELS; c++) {
+                assertEquals(filters[c].filterDouble(frame[c]), output[c], 0.0);
+            }
+        }
+    }
+
+    /**
+     * Method: LinearFilterBank(int channels, int M, int N, List a, List b)
+     * Type: Bad data
+     */
+    @Test(expected = IncorrectSizeException.class)
+    public void testConstructorBadChannels() throws Exception {
+        new LinearFilterBank(0, 3, 4, a, b);
+    }
+
+    /**
+     * Method: LinearFilterBank(int channels, int M, int N, List a, List b)
+     * Type: Bad data
+     */
+    @Test(expected = IncorrectSizeException.class)
+    public void testConstructorBadSize() throws Exception {
+        new LinearFilterBank(CHANNELS, 2, 4, a, b);
+    }
+
+    /**
+     * Method: filterFrame(double[] frame, double[] output)
+     * Type: Bad data
+     */
+    @Test(expected = NullValueException.class)
+    public void testFilterFrameBadData() throws Exception {
+        bank.filterFrame(null, new double[CHANNELS]);
+    }
+
+    /**
+     * Method: filterInterleaved(double[] values, int offset, double[] output, int outputOffset, int frames)
+     * Type: Bad data
+     */
+    @Test(expected = IncorrectSizeException.class)
+    public void testFilterInterleavedOutOfRange() throws Exception {
+        bank.filterInterleaved(interleaved, 1, new double[interleaved.length], 0, FRAMES);
+    }
+}
@@ -0,0 +1,102 @@
+package test;
+
+import exception.NullValueException;
+import filter.LinearizableFilter;
+import filter.MaxFilterN;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A test class for the LinearizableFilter class.
+ *
+ * @author Shaun Howard
+ */
+public class LinearizableFilterTest {
+
+    /**
+     * Method: filter(Double value)
+     * Type: Structured Basis, Good Data
+     */
+    @Test
+    public void testFilterGoodData() throws Exception {
+        LinearizableFilter<Double, Double> filter = new LinearizableFilter<>(new MaxFilterN<Double, Double>(2));
+        assertEquals(3.0, filter.filter(3.0), 0.0);
+        assertEquals(3.0, filter.filter(1.0), 0.0);
+        assertEquals(2.0, filter.filter(2.0), 0.0);
+    }
+
+    /**
+     * Method: filter(Double[] values, int offset, Double[] output, int outputOffset, int length)
+     * Type: Data-flow, batches from several threads are never interleaved
+     */
+    @Test
+    public void testFilterBatchConcurrently() throws Exception {
+        int threads = 4;
+        int batches = 500;
+        int length = 8;
+        LinearizableFilter<Double, Double> filter =
+                new LinearizableFilter<>(new MaxFilterN<Double, Double>(length), true);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                double base = t;
+                results.add(executor.submit(() -> {
+                    int mismatches = 0;
+                    Double[] values = new Double[length];
+                    Double[] output = new Double[length];
+                    for (int b = 0; b < batches; b++) {
+                        //a descending batch of the same window size hides every earlier value
+                        for (int j = 0; j < length; j++) {
+                            values[j] = base + 10.0 * (length - j);
+                        }
+                        filter.filter(values, output);
+                        if (!output[length - 1].equals(values[0])) {
+                            mismatches++;
+                        }
+                    }
+                    return mismatches;
+                }));
+            }
+            for (Future<Integer> result : results) {
+                assertEquals(0, (int) result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Method: getLock()
+     * Type: Data-flow, the lock makes other operations of the wrapped filter atomic
+     */
+    @Test
+    public void testGetLock() throws Exception {
+        MaxFilterN<Double, Double> maxFilter = new MaxFilterN<>(4);
+        LinearizableFilter<Double, Double> filter = new LinearizableFilter<>(maxFilter);
+        filter.filter(9.0);
+        filter.getLock().lock();
+        try {
+            maxFilter.reset(1.0);
+        } finally {
+            filter.getLock().unlock();
+        }
+        assertEquals(1.0, filter.filter(0.5), 0.0);
+    }
+
+    /**
+     * Method: LinearizableFilter(Filter filter)
+     * Type: Bad data
+     */
+    @Test(expected = NullValueException.class)
+    public void testConstructorNull() throws Exception {
+        new LinearizableFilter<Double, Double>(null);
+    }
+}
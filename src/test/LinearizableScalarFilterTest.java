@@ -0,0 +1,89 @@
+package test;
+
+import exception.NullValueException;
+import filter.AveragingFilterN;
+import filter.LinearizableScalarFilter;
+import filter.ScalarLinearFilter;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A test class for the LinearizableScalarFilter class.
+ *
+ * @author Shaun Howard
+ */
+public class LinearizableScalarFilterTest {
+
+    /**
+     * Method: filterDouble(double value)
+     * Type: Structured Basis, Good Data
+     */
+    @Test
+    public void testFilterGoodData() throws Exception {
+        LinearizableScalarFilter filter = new LinearizableScalarFilter(new AveragingFilterN(2));
+        assertEquals(4.0, filter.filterDouble(4.0), 0.0);
+        assertEquals(3.0, filter.filter(2.0), 0.0);
+        assertEquals(5.0, filter.filterDouble(8.0), 0.0);
+    }
+
+    /**
+     * Method: filterDouble(double value)
+     * Type: Data-flow, concurrent calls leave the filter as if the values were filtered one at a time
+     */
+    @Test
+    public void testFilterConcurrently() throws Exception {
+        int threads = 4;
+        int count = 5000;
+        ArrayList<Double> b = new ArrayList<>(Arrays.asList(1.0, 1.0));
+        LinearizableScalarFilter filter = new LinearizableScalarFilter(
+                new ScalarLinearFilter(0, 2, new ArrayList<Double>(), b));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    for (int j = 0; j < count; j++) {
+                        filter.filterDouble(1.0);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(2.0, filter.filterDouble(1.0), 0.0);
+        assertEquals(threads * count + 1, ((ScalarLinearFilter) filter.getFilter()).getIteration());
+    }
+
+    /**
+     * Method: reset()
+     * Type: Structured Basis
+     */
+    @Test
+    public void testReset() throws Exception {
+        LinearizableScalarFilter filter = new LinearizableScalarFilter(new AveragingFilterN(3));
+        filter.filterDouble(9.0);
+        filter.reset();
+        assertEquals(3.0, filter.filterDouble(3.0), 0.0);
+    }
+
+    /**
+     * Method: LinearizableScalarFilter(ScalarFilter filter)
+     * Type: Bad data
+     */
+    @Test(expected = NullValueException.class)
+    public void testConstructorNull() throws Exception {
+        new LinearizableScalarFilter(null);
+    }
+}
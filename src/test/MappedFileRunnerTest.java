@@ -0,0 +1,145 @@
+package test;
+
+import filter.AveragingFilterN;
+import filter.FIRFilter;
+import filter.Filter;
+import filter.FilterCascade;
+import filter.GainFilter;
+import filter.MappedFileRunner;
+import filter.MaxFilter;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A test class for the MappedFileRunner class. The region size of the runner is chosen so
+ * that blocks and regions end at different positions of the file.
+ *
+ * @author Shaun Howard
+ */
+public class MappedFileRunnerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    MappedFileRunner runner;
+    double[] values;
+    Path input;
+    Path output;
+
+    @Before
+    public void before() throws Exception {
+        runner = new MappedFileRunner(64, 1000);
+        Random random = new Random(16);
+        values = new double[4321];
+        for (int j = 0; j < values.length; j++) {
+            values[j] = random.nextGaussian();
+        }
+        input = folder.newFile("input.bin").toPath();
+        output = folder.getRoot().toPath().resolve("output.bin");
+        write(input, values);
+    }
+
+    /**
+     * Writes the values to the file as little-endian doubles.
+     *
+     * @param file - the file to write
+     * @param doubles - the values to write
+     */
+    private static void write(Path file, double[] doubles) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(doubles.length * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asDoubleBuffer().put(doubles);
+        Files.write(file, buffer.array());
+    }
+
+    /**
+     * Reads the little-endian doubles of the file.
+     *
+     * @param file - the file to read
+     * @return the values of the file
+     */
+    private static double[] read(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        double[] doubles = new double[buffer.remaining() / Double.BYTES];
+        buffer.asDoubleBuffer().get(doubles);
+        return doubles;
+    }
+
+    /**
+     * Method: run(ScalarFilter filter, Path input, Path output)
+     * Type: Data-flow, the output file equals the batch output of an identical filter
+     */
+    @Test
+    public void testRunScalarFilter() throws Exception {
+        double[] expected = new double[values.length];
+        new AveragingFilterN(100).filter(values, expected);
+        assertEquals(values.length, runner.run(new AveragingFilterN(100), input, output));
+        assertArrayEquals(expected, read(output), 0.0);
+    }
+
+    /**
+     * Method: run(Filter filter, Path input, Path output)
+     * Type: Data-flow, a cascade of scalar filters and a cascade with a generic filter
+     */
+    @Test
+    public void testRunCascade() throws Exception {
+        ArrayList<Double> b = new ArrayList<>();
+        b.add(0.5);
+        b.add(0.25);
+        b.add(0.25);
+        ArrayList<Filter<Double, Double>> stages = new ArrayList<>();
+        stages.add(new GainFilter(3.0));
+        stages.add(new FIRFilter(3, b));
+        FilterCascade<Double, Double> reference = new FilterCascade<>(stages);
+        double[] expected = new double[values.length];
+        for (int j = 0; j < values.length; j++) {
+            expected[j] = reference.filter(values[j]);
+        }
+        ArrayList<Filter<Double, Double>> fresh = new ArrayList<>();
+        fresh.add(new GainFilter(3.0));
+        fresh.add(new FIRFilter(3, b));
+        runner.run(new FilterCascade<Double, Double>(fresh), input, output);
+        assertArrayEquals(expected, read(output), 0.0);
+
+        fresh.add(new MaxFilter<Double, Double>());
+        stages.add(new MaxFilter<Double, Double>());
+        for (int j = 0; j < values.length; j++) {
+            expected[j] = reference.filter(values[j]);
+        }
+        runner.run(new FilterCascade<Double, Double>(fresh), input, output);
+        assertArrayEquals(expected, read(output), 0.0);
+    }
+
+    /**
+     * Method: run(ScalarFilter filter, Path input, Path output)
+     * Type: Boundary, an empty input file and an existing longer output file
+     */
+    @Test
+    public void testRunEmpty() throws Exception {
+        write(output, values);
+        write(input, new double[0]);
+        assertEquals(0, runner.run(new GainFilter(2.0), input, output));
+        assertEquals(0, Files.size(output));
+    }
+
+    /**
+     * Method: run(ScalarFilter filter, Path input, Path output)
+     * Type: Bad data, the input file is not a whole number of doubles
+     */
+    @Test(expected = IOException.class)
+    public void testRunPartialValue() throws Exception {
+        Files.write(input, new byte[12]);
+        runner.run(new GainFilter(2.0), input, output);
+    }
+}
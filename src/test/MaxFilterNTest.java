@@ -155,6 +155,20 @@ try {
 } catch(InvocationTargetException e) { 
 } 
 */ 
-} 
+}
 
+    /**
+     * Method: filter(A[] values, B[] output)
+     * Type: Data-flow
+     */
+    @Test
+    public void testFilterBatch() throws Exception {
+        Double[] values = {300.0, 300.0, 123123412312.012312312312, 0.234234234656450, -3245645600.4787560,
+                -1.0, -2.0, -3.0};
+        Double[] output = new Double[values.length];
+        maxFilterNomimal.filter(values, output);
+        assertEquals(300.0, output[1], 0.01);
+        assertEquals(123123412312.012312312312, output[6], 0.01);
+        assertEquals(0.234234234656450, output[7], 0.01);
+    }
 } 
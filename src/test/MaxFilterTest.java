@@ -8,6 +8,7 @@ import org.junit.Before;
 import java.util.Vector;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 /** 
 * A test class for the MaxFilter class.
@@ -94,4 +95,23 @@ public class MaxFilterTest {
         assertEquals(840958239423.123213123, maxFilter.filter(0.000001232123), .01);
         maxFilter.reset(null);
     }
+
+    /**
+     * Method: filter(A[] values, B[] output)
+     * Type: Bad data
+     */
+    @Test
+    public void testFilterBatchBadData() throws Exception {
+        Double[] values = {3.0, 5.0, null, 7.0};
+        Double[] output = new Double[values.length];
+        try {
+            maxFilter.filter(values, output);
+        } catch (NullValueException nve) {
+            assertEquals(5.0, output[1], 0.01);
+            assertEquals(null, output[2]);
+            assertEquals(5.0, maxFilter.getMax(), 0.01);
+            return;
+        }
+        fail("Expected a NullValueException.");
+    }
 } 
@@ -0,0 +1,128 @@
+package test;
+
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+import filter.AveragingFilter;
+import filter.FilterValidator;
+import filter.NullPolicy;
+import filter.NullPolicyFilter;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * A test class for the NullPolicyFilter class and the lightweight exception mode of the FilterValidator.
+ * The numbers chosen to filter are arbitrarily chosen and do not precisely represent any cases that have issues.
+ *
+ * @author Shaun Howard
+ */
+public class NullPolicyFilterTest {
+
+    @After
+    public void after() throws Exception {
+        FilterValidator.setLightweightExceptions(false);
+    }
+
+    /**
+     * Method: filter(A value)
+     * Type: Bad data, THROW policy
+     */
+    @Test(expected = NullValueException.class)
+    public void testFilterThrow() throws Exception {
+        new NullPolicyFilter<Double, Double>(new AveragingFilter(), NullPolicy.THROW).filter(null);
+    }
+
+    /**
+     * Method: filter(A value)
+     * Type: Bad data, SKIP policy
+     */
+    @Test
+    public void testFilterSkip() throws Exception {
+        AveragingFilter avgFilter = new AveragingFilter();
+        NullPolicyFilter<Double, Double> skipFilter = new NullPolicyFilter<>(avgFilter, NullPolicy.SKIP);
+        assertNull(skipFilter.filter(null));
+        assertEquals(300.0, skipFilter.filter(300.0), .01);
+        assertEquals(300.0, skipFilter.filter(null), .01);
+        assertEquals(200.0, skipFilter.filter(100.0), .01);
+        assertEquals(2, avgFilter.getCount());
+        assertEquals(2, skipFilter.getNullCount());
+    }
+
+    /**
+     * Method: filter(A value)
+     * Type: Bad data, SUBSTITUTE policy
+     */
+    @Test
+    public void testFilterSubstitute() throws Exception {
+        NullPolicyFilter<Double, Double> substituteFilter =
+                new NullPolicyFilter<Double, Double>(new AveragingFilter(), NullPolicy.SUBSTITUTE, 0.0);
+        Double[] values = {300.0, null, 300.0};
+        Double[] output = new Double[values.length];
+        substituteFilter.filter(values, output);
+        assertEquals(150.0, output[1], .01);
+        assertEquals(200.0, output[2], .01);
+        assertEquals(1, substituteFilter.getNullCount());
+    }
+
+    /**
+     * Method: FilterValidator.throwExceptionWhenNull(Object obj)
+     * Type: Lightweight exception mode
+     */
+    @Test
+    public void testLightweightNullValueException() throws Exception {
+        FilterValidator.setLightweightExceptions(true);
+        NullValueException first = null;
+        NullValueException second = null;
+        try {
+            new AveragingFilter().filter(null);
+        } catch (NullValueException nve) {
+            first = nve;
+        }
+        try {
+            new AveragingFilter().filter(null);
+        } catch (NullValueException nve) {
+            second = nve;
+        }
+        assertSame(first, second);
+        assertEquals(0, first.getStackTrace().length);
+        assertEquals("An object is null.", first.getMessage());
+    }
+
+    /**
+     * Method: FilterValidator.throwIncorrectSizeException(List list, int size)
+     * Type: Lightweight exception mode, the message describes the list when thrown and survives serialization
+     */
+    @Test
+    public void testLightweightIncorrectSizeExceptionSerialized() throws Exception {
+        FilterValidator.setLightweightExceptions(true);
+        List<Double> list = new ArrayList<>(Arrays.asList(1.0, 2.0));
+        IncorrectSizeException thrown = null;
+        try {
+            FilterValidator.throwIncorrectSizeException(list, 3);
+        } catch (IncorrectSizeException ise) {
+            thrown = ise;
+        }
+        list.add(3.0);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(thrown);
+        }
+        IncorrectSizeException restored;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            restored = (IncorrectSizeException) in.readObject();
+        }
+        assertEquals("The list of size: 2 does not have 3 elements.", thrown.getMessage());
+        assertEquals(thrown.getMessage(), restored.getMessage());
+    }
+}
@@ -0,0 +1,137 @@
+package test;
+
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+import filter.AveragingFilterN;
+import filter.OffHeapAveragingFilterN;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for the OffHeapAveragingFilterN class.
+ * The off-heap filter is compared against an AveragingFilterN of the same n,
+ * which must produce exactly the same averages.
+ *
+ * @author Shaun Howard
+ */
+public class OffHeapAveragingFilterNTest {
+
+    OffHeapAveragingFilterN averagingFilter;
+    static final int NOM_SIZE = 3;
+
+    @Before
+    public void before() throws Exception {
+        averagingFilter = new OffHeapAveragingFilterN(NOM_SIZE);
+    }
+
+    @After
+    public void after() {
+        averagingFilter.close();
+    }
+
+    /**
+     * Method: filter(Double value)
+     * Type: Good data
+     */
+    @Test
+    public void testFilterGoodData() throws Exception {
+        assertEquals(3.0, averagingFilter.filter(3.0), 0.0);
+        assertEquals(4.0, averagingFilter.filter(5.0), 0.0);
+        assertEquals(5.0, averagingFilter.filter(7.0), 0.0);
+        assertEquals(7.0, averagingFilter.filter(9.0), 0.0);
+        assertEquals(NOM_SIZE, averagingFilter.getValues().size());
+    }
+
+    /**
+     * Method: filter(Double value)
+     * Type: Bad data
+     */
+    @Test(expected = NullValueException.class)
+    public void testFilterBadData() throws Exception {
+        averagingFilter.filter(null);
+    }
+
+    /**
+     * Method: OffHeapAveragingFilterN(int n)
+     * Type: At boundary
+     */
+    @Test(expected = IncorrectSizeException.class)
+    public void testConstructAtBoundary() throws Exception {
+        new OffHeapAveragingFilterN(0);
+    }
+
+    /**
+     * Method: filterDouble(double value), filter(double[] values, int offset, double[] output, int outputOffset, int length)
+     * Type: Stress, compared bit for bit against AveragingFilterN
+     */
+    @Test
+    public void testFilterMatchesAveragingFilterN() throws Exception {
+        Random random = new Random(42);
+        double[] values = new double[20000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(12));
+        }
+        AveragingFilterN reference = new AveragingFilterN(1000);
+        double[] expected = new double[values.length];
+        double[] actual = new double[values.length];
+        try (OffHeapAveragingFilterN offHeap = new OffHeapAveragingFilterN(1000)) {
+            for (int i = 0; i < values.length / 2; i++) {
+                expected[i] = reference.filterDouble(values[i]);
+                actual[i] = offHeap.filterDouble(values[i]);
+            }
+            int half = values.length / 2;
+            reference.filter(values, half, expected, half, values.length - half);
+            offHeap.filter(values, half, actual, half, values.length - half);
+        }
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(Double.doubleToLongBits(expected[i]), Double.doubleToLongBits(actual[i]));
+        }
+    }
+
+    /**
+     * Method: getValues()
+     * Type: Good data, grows past the allocated window
+     */
+    @Test
+    public void testValuesGrowPastWindow() throws Exception {
+        for (int i = 1; i <= 10; i++) {
+            averagingFilter.getValues().add((double) i);
+        }
+        assertEquals(10, averagingFilter.getValues().size());
+        assertEquals(10.0, averagingFilter.getValues().get(9), 0.0);
+        assertEquals(6.6, averagingFilter.filter(12.0), 1e-12);
+    }
+
+    /**
+     * Method: close()
+     * Type: Good data
+     */
+    @Test
+    public void testClose() throws Exception {
+        averagingFilter.filter(3.0);
+        assertFalse(averagingFilter.isClosed());
+        averagingFilter.close();
+        averagingFilter.close();
+        assertTrue(averagingFilter.isClosed());
+        assertTrue(averagingFilter.getValues().isEmpty());
+        averagingFilter.reset();
+        assertTrue(averagingFilter.getValues().isEmpty());
+    }
+
+    /**
+     * Method: filter(Double value)
+     * Type: Bad data, after close
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testFilterAfterClose() throws Exception {
+        averagingFilter.close();
+        averagingFilter.filter(3.0);
+    }
+}
@@ -0,0 +1,123 @@
+package test;
+
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+import filter.DoubleMaxFilterN;
+import filter.OffHeapMaxFilterN;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for the OffHeapMaxFilterN class.
+ * The off-heap filter is compared against a DoubleMaxFilterN of the same n,
+ * which must produce exactly the same values.
+ *
+ * @author Shaun Howard
+ */
+public class OffHeapMaxFilterNTest {
+
+    OffHeapMaxFilterN maxFilter;
+    static final int NOM_SIZE = 5;
+
+    @Before
+    public void before() throws Exception {
+        maxFilter = new OffHeapMaxFilterN(NOM_SIZE);
+    }
+
+    @After
+    public void after() {
+        maxFilter.close();
+    }
+
+    /**
+     * Method: filterDouble(double value)
+     * Type: Good data
+     */
+    @Test
+    public void testFilterDoubleGoodData() throws Exception {
+        assertEquals(300.0, maxFilter.filterDouble(300.0), 0.0);
+        assertEquals(300.0, maxFilter.filterDouble(-1.0), 0.0);
+        assertEquals(300.0, maxFilter.filterDouble(-2.0), 0.0);
+        assertEquals(300.0, maxFilter.filterDouble(-3.0), 0.0);
+        assertEquals(300.0, maxFilter.filterDouble(-4.0), 0.0);
+        assertEquals(-1.0, maxFilter.filterDouble(-5.0), 0.0);
+        assertEquals(-1.0, maxFilter.getMax(), 0.0);
+    }
+
+    /**
+     * Method: filter(Double value)
+     * Type: Bad data
+     */
+    @Test(expected = NullValueException.class)
+    public void testFilterBadData() throws Exception {
+        maxFilter.filter(null);
+    }
+
+    /**
+     * Method: OffHeapMaxFilterN(int n)
+     * Type: At boundary
+     */
+    @Test(expected = IncorrectSizeException.class)
+    public void testConstructAtBoundary() throws Exception {
+        new OffHeapMaxFilterN(0);
+    }
+
+    /**
+     * Method: filterDouble(double value), filter(double[] values, int offset, double[] output, int outputOffset, int length)
+     * Type: Stress, compared against DoubleMaxFilterN with monotonic runs that fill the window
+     */
+    @Test
+    public void testFilterMatchesDoubleMaxFilterN() throws Exception {
+        Random random = new Random(42);
+        double[] values = new double[20000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i % 3000 < 1000 ? -i : random.nextInt(1000) - 500.0;
+        }
+        DoubleMaxFilterN reference = new DoubleMaxFilterN(257);
+        double[] expected = new double[values.length];
+        double[] actual = new double[values.length];
+        try (OffHeapMaxFilterN offHeap = new OffHeapMaxFilterN(257)) {
+            for (int i = 0; i < values.length / 2; i++) {
+                expected[i] = reference.filterDouble(values[i]);
+                actual[i] = offHeap.filterDouble(values[i]);
+            }
+            int half = values.length / 2;
+            reference.filter(values, half, expected, half, values.length - half);
+            offHeap.filter(values, half, actual, half, values.length - half);
+        }
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(expected[i], actual[i], 0.0);
+        }
+    }
+
+    /**
+     * Method: close()
+     * Type: Good data
+     */
+    @Test
+    public void testClose() throws Exception {
+        maxFilter.filterDouble(3.0);
+        assertFalse(maxFilter.isClosed());
+        maxFilter.close();
+        maxFilter.close();
+        assertTrue(maxFilter.isClosed());
+        assertTrue(Double.isNaN(maxFilter.getMax()));
+    }
+
+    /**
+     * Method: filterDouble(double value)
+     * Type: Bad data, after close
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testFilterAfterClose() throws Exception {
+        maxFilter.close();
+        maxFilter.filterDouble(3.0);
+    }
+}
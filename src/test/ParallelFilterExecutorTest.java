@@ -0,0 +1,242 @@
+package test;
+
+import exception.IncorrectSizeException;
+import exception.NullValueException;
+import filter.AveragingFilterN;
+import filter.BinomialFilter;
+import filter.DoubleMaxFilterN;
+import filter.DoubleMinFilterN;
+import filter.FIRFilter;
+import filter.GainFilter;
+import filter.MaxFilterN;
+import filter.MinFilterN;
+import filter.ParallelFilterExecutor;
+import filter.ScalarFilter;
+import filter.ScalarLinearFilter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A test class for the ParallelFilterExecutor class. Every parallel output is compared
+ * bit for bit with the output of an identical filter used sequentially, and both filters
+ * then filter more values to verify that the state of the filter was stitched correctly.
+ *
+ * @author Shaun Howard
+ */
+public class ParallelFilterExecutorTest {
+    ForkJoinPool pool;
+    ParallelFilterExecutor executor;
+    double[] values;
+
+    @Before
+    public void before() throws Exception {
+        pool = new ForkJoinPool(4);
+        executor = new ParallelFilterExecutor(pool, 1000);
+        Random random = new Random(15);
+        values = new double[10000];
+        for (int j = 0; j < values.length; j++) {
+            values[j] = random.nextGaussian() * 1e3 + (j % 7 == 0 ? 1e9 : 0.0);
+        }
+    }
+
+    @After
+    public void after() throws Exception {
+        pool.shutdown();
+    }
+
+    /**
+     * Filters the values with the parallel filter through the executor and with the sequential filter
+     * through its batch method, then filters a few more values with both, and compares every output.
+     *
+     * @param parallel - the filter used through the executor
+     * @param sequential - an identical filter used sequentially
+     * @param run - the call of the executor
+     */
+    private void assertSameOutputs(ScalarFilter parallel, ScalarFilter sequential, ParallelRun run) throws Exception {
+        double[] expected = new double[values.length];
+        double[] actual = new double[values.length];
+        sequential.filter(values, expected);
+        run.filter(values, actual);
+        assertArrayEquals(expected, actual, 0.0);
+        for (int j = 0; j < 100; j++) {
+            assertEquals(sequential.filterDouble(values[j]), parallel.filterDouble(values[j]), 0.0);
+        }
+    }
+
+    /**
+     * A call of the executor with a filter.
+     */
+    interface ParallelRun {
+        void filter(double[] values, double[] output) throws Exception;
+    }
+
+    /**
+     * Creates a list of the specified number of random multipliers.
+     *
+     * @param count - the number of multipliers
+     * @return the list of multipliers
+     */
+    private static ArrayList<Double> coefficients(int count) {
+        Random random = new Random(count);
+        ArrayList<Double> list = new ArrayList<>();
+        for (int n = 0; n < count; n++) {
+            list.add(random.nextDouble() - 0.5);
+        }
+        return list;
+    }
+
+    /**
+     * Method: filter(ScalarLinearFilter filter, double[] values, int offset, double[] output, int outputOffset, int length)
+     * Type: Data-flow, FIR filters of several lengths are bit-identical to sequential filtering
+     */
+    @Test
+    public void testFilterFIR() throws Exception {
+        for (int taps : new int[]{1, 2, 5, 64, 999, 1500}) {
+            FIRFilter parallel = new FIRFilter(taps, coefficients(taps));
+            FIRFilter sequential = new FIRFilter(taps, coefficients(taps));
+            assertSameOutputs(parallel, sequential,
+                    (in, out) -> executor.filter(parallel, in, 0, out, 0, in.length));
+            assertEquals(sequential.getIteration(), parallel.getIteration());
+        }
+    }
+
+    /**
+     * Method: filter(ScalarLinearFilter filter, double[] values, int offset, double[] output, int outputOffset, int length)
+     * Type: Data-flow, filters with previous state and a reset value
+     */
+    @Test
+    public void testFilterFIRWithState() throws Exception {
+        BinomialFilter parallel = new BinomialFilter(16, coefficients(16));
+        BinomialFilter sequential = new BinomialFilter(16, coefficients(16));
+        parallel.reset(2.5);
+        sequential.reset(2.5);
+        for (int j = 0; j < 7; j++) {
+            parallel.filterDouble(j);
+            sequential.filterDouble(j);
+        }
+        assertSameOutputs(parallel, sequential, (in, out) -> executor.filter(parallel, in, 0, out, 0, in.length));
+        GainFilter gain = new GainFilter(0.3);
+        assertSameOutputs(gain, new GainFilter(0.3), (in, out) -> executor.filter(gain, in, 0, out, 0, in.length));
+    }
+
+    /**
+     * Method: filter(ScalarLinearFilter filter, double[] values, int offset, double[] output, int outputOffset, int length)
+     * Type: Data-flow, an IIR filter is filtered sequentially
+     */
+    @Test
+    public void testFilterIIR() throws Exception {
+        ArrayList<Double> a = new ArrayList<>();
+        a.add(1.0);
+        a.add(-0.5);
+        ScalarLinearFilter parallel = new ScalarLinearFilter(2, 3, a, coefficients(3));
+        ScalarLinearFilter sequential = new ScalarLinearFilter(2, 3, a, coefficients(3));
+        assertSameOutputs(parallel, sequential, (in, out) -> executor.filter(parallel, in, 0, out, 0, in.length));
+    }
+
+    /**
+     * Method: filter(AveragingFilterN filter, double[] values, int offset, double[] output, int outputOffset, int length)
+     * Type: Data-flow, the compensated running sum is bit-identical to sequential filtering for many window sizes
+     */
+    @Test
+    public void testFilterAveraging() throws Exception {
+        for (int n : new int[]{1, 2, 3, 4, 5, 6, 7, 16, 17, 100, 999, 1000, 1001, 3000}) {
+            for (int prefix : new int[]{0, 3, n + 1}) {
+                AveragingFilterN parallel = new AveragingFilterN(n);
+                AveragingFilterN sequential = new AveragingFilterN(n);
+                for (int j = 0; j < prefix; j++) {
+                    parallel.filterDouble(values[values.length - 1 - j]);
+                    sequential.filterDouble(values[values.length - 1 - j]);
+                }
+                assertSameOutputs(parallel, sequential,
+                        (in, out) -> executor.filter(parallel, in, 0, out, 0, in.length));
+                assertEquals(sequential.getValues(), parallel.getValues());
+            }
+        }
+    }
+
+    /**
+     * Method: filter(DoubleMaxFilterN filter, double[] values, int offset, double[] output, int outputOffset, int length)
+     * Type: Data-flow, windowed primitive filters are bit-identical to sequential filtering
+     */
+    @Test
+    public void testFilterDoubleExtrema() throws Exception {
+        for (int n : new int[]{1, 2, 50, 1000, 2500}) {
+            DoubleMaxFilterN max = new DoubleMaxFilterN(n);
+            assertSameOutputs(max, new DoubleMaxFilterN(n),
+                    (in, out) -> executor.filter(max, in, 0, out, 0, in.length));
+            DoubleMinFilterN min = new DoubleMinFilterN(n);
+            assertSameOutputs(min, new DoubleMinFilterN(n),
+                    (in, out) -> executor.filter(min, in, 0, out, 0, in.length));
+        }
+    }
+
+    /**
+     * Method: filter(MaxFilterN filter, A[] values, int offset, B[] output, int outputOffset, int length)
+     * Type: Data-flow, windowed generic filters produce the same values and keep the same window
+     */
+    @Test
+    public void testFilterExtrema() throws Exception {
+        Integer[] boxed = new Integer[values.length];
+        for (int j = 0; j < boxed.length; j++) {
+            boxed[j] = (int) values[j];
+        }
+        for (int n : new int[]{1, 3, 1000, 2500}) {
+            MaxFilterN<Integer, Integer> max = new MaxFilterN<>(n);
+            MaxFilterN<Integer, Integer> maxSequential = new MaxFilterN<>(n);
+            Integer[] expected = new Integer[boxed.length];
+            Integer[] actual = new Integer[boxed.length];
+            maxSequential.filter(boxed, expected);
+            executor.filter(max, boxed, 0, actual, 0, boxed.length);
+            assertArrayEquals(expected, actual);
+            assertEquals(maxSequential.getValues(), max.getValues());
+            assertEquals(maxSequential.filter(-5), max.filter(-5));
+
+            MinFilterN<Integer, Integer> min = new MinFilterN<>(n);
+            MinFilterN<Integer, Integer> minSequential = new MinFilterN<>(n);
+            minSequential.filter(boxed, expected);
+            executor.filter(min, boxed, 0, actual, 0, boxed.length);
+            assertArrayEquals(expected, actual);
+            assertEquals(minSequential.filter(5), min.filter(5));
+        }
+    }
+
+    /**
+     * Method: filter(MaxFilterN filter, A[] values, int offset, B[] output, int outputOffset, int length)
+     * Type: Bad data, a null value in any chunk is reported
+     */
+    @Test(expected = NullValueException.class)
+    public void testFilterNullValue() throws Exception {
+        Double[] boxed = new Double[values.length];
+        for (int j = 0; j < boxed.length; j++) {
+            boxed[j] = values[j];
+        }
+        boxed[8765] = null;
+        executor.filter(new MaxFilterN<Double, Double>(4), boxed, 0, new Double[boxed.length], 0, boxed.length);
+    }
+
+    /**
+     * Method: filter(ScalarLinearFilter filter, double[] values, int offset, double[] output, int outputOffset, int length)
+     * Type: Bad data
+     */
+    @Test(expected = IncorrectSizeException.class)
+    public void testFilterBadSlice() throws Exception {
+        executor.filter(new FIRFilter(2, coefficients(2)), values, 1, new double[values.length], 0, values.length);
+    }
+
+    /**
+     * Method: ParallelFilterExecutor(ForkJoinPool pool, int chunkSize)
+     * Type: Bad data
+     */
+    @Test(expected = IncorrectSizeException.class)
+    public void testConstructorBadChunkSize() throws Exception {
+        new ParallelFilterExecutor(pool, 0);
+    }
+}
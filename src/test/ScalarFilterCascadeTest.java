@@ -0,0 +1,115 @@
+package test;
+
+import filter.*;
+import org.junit.Test;
+import org.junit.Before;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for the ScalarFilterCascade class.
+ * The numbers chosen to filter demonstrate the
+ * class' support for signed and unsigned small and large-sized numbers but are
+ * arbitrarily chosen and do not precisely represent any cases that have issues.
+ *
+ * @author Shaun Howard
+ */
+public class ScalarFilterCascadeTest {
+
+    ScalarFilterCascade fused;
+    FilterCascade<Double, Double> reference;
+    double[] values = {2345256.23423423, -3.5, 0.0001, 783.25, -99.0, 12.0, 0.5, 1e6, -1e-6, 42.0};
+
+    @Before
+    public void before() throws Exception {
+        fused = new ScalarFilterCascade(stages());
+        List<Filter<Double, Double>> referenceStages = new ArrayList<Filter<Double, Double>>(stages());
+        reference = new FilterCascade<>(referenceStages);
+    }
+
+    /**
+     * Creates the stages of the cascade under test: two gains and a FIR which fold
+     * into one FIR, an averaging filter, and a gain which stays on its own.
+     *
+     * @return the stages of the cascade
+     */
+    private List<ScalarFilter> stages() {
+        return Arrays.<ScalarFilter>asList(
+                new GainFilter(2.0),
+                new FIRFilter(3, new ArrayList<>(Arrays.asList(0.25, 0.5, 0.25))),
+                new GainFilter(-1.5),
+                new AveragingFilter(),
+                new GainFilter(4.0));
+    }
+
+    /**
+     * Method: ScalarFilterCascade(List stages)
+     * Type: Structured Basis
+     */
+    @Test
+    public void testFolding() throws Exception {
+        List<ScalarFilter> compiled = fused.getStages();
+        assertEquals(3, compiled.size());
+        assertTrue(compiled.get(0) instanceof FIRFilter);
+        assertEquals(Arrays.asList(-0.75, -1.5, -0.75), ((FIRFilter) compiled.get(0)).getB());
+        assertTrue(compiled.get(1) instanceof AveragingFilter);
+    }
+
+    /**
+     * Method: ScalarFilterCascade(List stages)
+     * Type: Data-flow, a used FIRFilter is not folded
+     */
+    @Test
+    public void testUsedFilterNotFolded() throws Exception {
+        GainFilter used = new GainFilter(3.0);
+        used.filter(1.0);
+        ScalarFilterCascade cascade = new ScalarFilterCascade(Arrays.asList(new GainFilter(2.0), used));
+        assertEquals(2, cascade.getStages().size());
+        assertSame(used, cascade.getStages().get(1));
+    }
+
+    /**
+     * Method: filterDouble(double value)
+     * Type: Good data, compared against FilterCascade
+     */
+    @Test
+    public void testFilterDouble() throws Exception {
+        for (double value : values) {
+            double expected = reference.filter(value);
+            assertEquals(expected, fused.filterDouble(value), Math.abs(expected) * 1e-12);
+        }
+    }
+
+    /**
+     * Method: filter(double[] values, double[] output)
+     * Type: Data-flow, compared against filterDouble(double value)
+     */
+    @Test
+    public void testFilterBatch() throws Exception {
+        ScalarFilterCascade single = new ScalarFilterCascade(stages());
+        double[] output = new double[values.length];
+        fused.filter(values, output);
+        for (int j = 0; j < values.length; j++) {
+            assertEquals(single.filterDouble(values[j]), output[j], 0.0);
+        }
+    }
+
+    /**
+     * Method: filter(double[] values, double[] output)
+     * Type: Structured Basis, no stages
+     */
+    @Test
+    public void testEmptyCascade() throws Exception {
+        ScalarFilterCascade empty = new ScalarFilterCascade(new ArrayList<ScalarFilter>());
+        double[] output = new double[values.length];
+        empty.filter(values, output);
+        assertEquals(values[3], output[3], 0.0);
+        assertEquals(values[4], empty.filter(values[4]), 0.0);
+    }
+}
@@ -0,0 +1,57 @@
+package test;
+
+import exception.NullValueException;
+import filter.ScalarFilter;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A test class for the default methods of the ScalarFilter interface, used by an
+ * implementation which only implements the boxed filter method.
+ *
+ * @author Shaun Howard
+ */
+public class ScalarFilterTest {
+
+    /**
+     * A ScalarFilter which doubles each value and implements only filter(Double) and reset().
+     */
+    private static class DoublingFilter implements ScalarFilter {
+
+        @Override
+        public Double filter(Double value) throws NullValueException {
+            if (value == null) {
+                throw new NullValueException("The value is null.");
+            }
+            return value * 2.0;
+        }
+
+        @Override
+        public void reset() {
+        }
+    }
+
+    /**
+     * Method: filterDouble(double value)
+     * Type: Data-flow, the default delegates to filter(Double value)
+     */
+    @Test
+    public void testFilterDouble() throws Exception {
+        assertEquals(-7.0, new DoublingFilter().filterDouble(-3.5), 0.0);
+    }
+
+    /**
+     * Method: filter(double[] values, double[] output)
+     * Type: Data-flow, the default batch method uses the default filterDouble
+     */
+    @Test
+    public void testFilterBatch() throws Exception {
+        double[] values = {1.0, 2.5, -4.0};
+        double[] output = new double[values.length];
+        new DoublingFilter().filter(values, output);
+        assertEquals(2.0, output[0], 0.0);
+        assertEquals(5.0, output[1], 0.0);
+        assertEquals(-8.0, output[2], 0.0);
+    }
+}
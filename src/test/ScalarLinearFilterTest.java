@@ -1,5 +1,6 @@
 package test;
 
+import exception.IncorrectSizeException;
 import filter.ScalarLinearFilter;
 import org.junit.Test;
 import org.junit.Before;
@@ -126,4 +127,85 @@ try {
 */
     }
 
+    /**
+     * Method: filterDouble(double in)
+     * Type: Structured Basis
+     */
+    @Test
+    public void testFilterDouble() throws Exception {
+        assertEquals(16.5, slFilter.filterDouble(3.0), 0.01);
+        assertEquals(1778737.4550000003, slFilter.filter(323423.01), 0.01);
+        assertEquals(-1.8116376712127987E10, slFilter.filterDouble(-3.023423), 0.01);
+        assertEquals(-1.9518097868128412E15, slFilter.filterDouble(0.00000123423), 0.01);
+    }
+
+    /**
+     * Method: filter(Double in)
+     * Type: Stress
+     */
+    @Test
+    public void testFilterStress() throws Exception {
+        ArrayList<Double> aStress = new ArrayList<Double>();
+        ArrayList<Double> bStress = new ArrayList<Double>();
+        aStress.add(1.0);
+        aStress.add(0.5);
+        bStress.add(1.0);
+        ScalarLinearFilter stressFilter = new ScalarLinearFilter(2, 1, aStress, bStress);
+        double out = 0.0;
+        for (int i = 0; i < 1000000; i++) {
+            out = stressFilter.filterDouble(1.0);
+        }
+        assertEquals(2.0 / 3.0, out, 0.0000001);
+        stressFilter.reset();
+        assertEquals(1.0, stressFilter.filter(1.0), 0.0000001);
+        assertEquals(0.5, stressFilter.filter(1.0), 0.0000001);
+    }
+
+    /**
+     * Method: filter(double[] values, int offset, double[] output, int outputOffset, int length)
+     * Type: Data-flow, compared against filter(Double in)
+     */
+    @Test
+    public void testFilterBatch() throws Exception {
+        ScalarLinearFilter single = new ScalarLinearFilter(4, 4, a, b);
+        double[] values = {3.0, 323423.01, -3.023423, 0.00000123423, 45.3, -0.5, 7.0};
+        double[] output = new double[values.length + 2];
+        slFilter.filter(values, 0, output, 2, 3);
+        slFilter.filter(values, 3, output, 5, values.length - 3);
+        for (int j = 0; j < values.length; j++) {
+            assertEquals(single.filter(values[j]), output[j + 2], 0.0);
+        }
+        assertEquals(single.filter(1.0), slFilter.filter(1.0), 0.0);
+    }
+
+    /**
+     * Method: filter(double[] values, int offset, double[] output, int outputOffset, int length)
+     * Type: Bad data
+     */
+    @Test(expected = IncorrectSizeException.class)
+    public void testFilterBatchOutOfRange() throws Exception {
+        slFilter.filter(new double[4], 1, new double[4], 0, 4);
+    }
+
+    /**
+     * Method: filter(Double in)
+     * Type: Bad data, validated at construction
+     */
+    @Test(expected = IncorrectSizeException.class)
+    public void testFilterIncorrectSize() throws Exception {
+        ScalarLinearFilter badFilter = new ScalarLinearFilter(4, 3, a, b);
+        badFilter.filter(3.0);
+    }
+
+    /**
+     * Method: reset()
+     * Type: Data-flow, multipliers changed since construction
+     */
+    @Test
+    public void testResetReconfigures() throws Exception {
+        slFilter.getB().set(0, 1.0);
+        assertEquals(16.5, slFilter.filter(3.0), 0.01);
+        slFilter.reset();
+        assertEquals(3.0, slFilter.filter(3.0), 0.01);
+    }
 } 
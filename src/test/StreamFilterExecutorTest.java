@@ -0,0 +1,191 @@
+package test;
+
+import exception.NullValueException;
+import filter.AveragingFilterN;
+import filter.Filter;
+import filter.MaxFilterN;
+import filter.StreamFilterExecutor;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for the StreamFilterExecutor class.
+ *
+ * @author Shaun Howard
+ */
+public class StreamFilterExecutorTest {
+
+    /**
+     * A listener which collects the filtered values and errors of every stream.
+     */
+    private static class Collector<K, B> implements StreamFilterExecutor.Listener<K, B> {
+
+        // The filtered values of every stream, in the order received.
+        private final Map<K, List<B>> values = new ConcurrentHashMap<>();
+
+        // The errors of every stream.
+        private final List<Exception> errors = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onFiltered(K stream, B value) {
+            values.computeIfAbsent(stream, key -> new CopyOnWriteArrayList<>()).add(value);
+        }
+
+        @Override
+        public void onError(K stream, Exception error) {
+            errors.add(error);
+        }
+    }
+
+    /**
+     * Method: put(K stream, A value)
+     * Type: Data-flow, the values of every stream are filtered in order while many streams share a pool
+     */
+    @Test
+    public void testManyStreamsKeepOrder() throws Exception {
+        int streams = 200;
+        int count = 100;
+        Collector<Integer, Double> collector = new Collector<>();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            StreamFilterExecutor<Integer, Double, Double> executor = new StreamFilterExecutor<>(pool, 8, collector);
+            for (int s = 0; s < streams; s++) {
+                assertTrue(executor.open(s, new AveragingFilterN(1)));
+            }
+            for (int j = 0; j < count; j++) {
+                for (int s = 0; s < streams; s++) {
+                    executor.put(s, (double) j);
+                }
+            }
+            for (int s = 0; s < streams; s++) {
+                executor.close(s);
+            }
+        } finally {
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        assertEquals(streams, collector.values.size());
+        for (List<Double> values : collector.values.values()) {
+            assertEquals(count, values.size());
+            for (int j = 0; j < count; j++) {
+                assertEquals(j, values.get(j), 0.0);
+            }
+        }
+    }
+
+    /**
+     * Method: offer(K stream, A value), getQueueDepth(K stream)
+     * Type: Boundary, a full mailbox rejects values until it is drained
+     */
+    @Test
+    public void testBoundedMailbox() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        Collector<String, Integer> collector = new Collector<>();
+        StreamFilterExecutor<String, Integer, Integer> executor =
+                new StreamFilterExecutor<>(tasks::add, 2, collector);
+        executor.open("a", new MaxFilterN<Integer, Integer>(2));
+        executor.open("b", new MaxFilterN<Integer, Integer>(2));
+        assertTrue(executor.offer("a", 1));
+        assertTrue(executor.offer("a", 3));
+        assertFalse(executor.offer("a", 2));
+        assertTrue(executor.offer("b", 5));
+        assertEquals(2, executor.getQueueDepth("a"));
+        assertEquals(Integer.valueOf(1), executor.getQueueDepths().get("b"));
+        assertEquals(2, tasks.size());
+
+        tasks.remove(0).run();
+        assertEquals(0, executor.getQueueDepth("a"));
+        assertTrue(executor.offer("a", 2));
+        tasks.remove(tasks.size() - 1).run();
+        tasks.remove(0).run();
+        assertTrue(tasks.isEmpty());
+        assertEquals(List.of(1, 3, 3), collector.values.get("a"));
+        assertEquals(List.of(5), collector.values.get("b"));
+    }
+
+    /**
+     * Method: offer(K stream, A value), put(K stream, A value)
+     * Type: Bad Data, a value whose task the executor rejects is neither enqueued nor holds room in the mailbox
+     */
+    @Test
+    public void testRejectedExecution() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        boolean[] rejecting = {true};
+        Collector<String, Integer> collector = new Collector<>();
+        StreamFilterExecutor<String, Integer, Integer> executor = new StreamFilterExecutor<>(task -> {
+            if (rejecting[0]) {
+                throw new RejectedExecutionException();
+            }
+            tasks.add(task);
+        }, 1, collector);
+        executor.open("a", new MaxFilterN<Integer, Integer>(2));
+        for (int j = 0; j < 2; j++) {
+            try {
+                if (j == 0) {
+                    executor.offer("a", 7);
+                } else {
+                    executor.put("a", 7);
+                }
+                throw new AssertionError("The rejected value was accepted.");
+            } catch (RejectedExecutionException e) {
+                assertEquals(0, executor.getQueueDepth("a"));
+            }
+        }
+        rejecting[0] = false;
+        assertTrue(executor.offer("a", 4));
+        assertEquals(1, tasks.size());
+        tasks.remove(0).run();
+        assertTrue(tasks.isEmpty());
+        assertEquals(List.of(4), collector.values.get("a"));
+    }
+
+    /**
+     * Method: put(K stream, A value)
+     * Type: Bad Data, a value rejected by the filter is reported and the stream goes on
+     */
+    @Test
+    public void testErrorReported() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        Collector<String, Integer> collector = new Collector<>();
+        StreamFilterExecutor<String, Integer, Integer> executor =
+                new StreamFilterExecutor<>(tasks::add, 4, collector);
+        Filter<Integer, Integer> failing = value -> {
+            if (value < 0) {
+                throw new NullValueException("negative");
+            }
+            return value;
+        };
+        executor.open("a", failing);
+        executor.put("a", -1);
+        executor.put("a", 7);
+        tasks.remove(0).run();
+        assertEquals(1, collector.errors.size());
+        assertEquals(List.of(7), collector.values.get("a"));
+    }
+
+    /**
+     * Method: offer(K stream, A value)
+     * Type: Bad Data, no stream of the key is open
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testStreamNotOpen() throws Exception {
+        StreamFilterExecutor<String, Integer, Integer> executor =
+                new StreamFilterExecutor<>(1, new Collector<String, Integer>());
+        assertFalse(executor.close("a"));
+        executor.offer("a", 1);
+    }
+}